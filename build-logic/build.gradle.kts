@@ -7,6 +7,7 @@ dependencies {
   implementation("com.github.spotbugs:com.github.spotbugs.gradle.plugin:${libs.versions.spotbugs.plugin.get()}")
   implementation("net.ltgt.errorprone:net.ltgt.errorprone.gradle.plugin:${libs.versions.errorprone.plugin.get()}")
   implementation("info.solidsoft.pitest:info.solidsoft.pitest.gradle.plugin:${libs.versions.pitest.plugin.get()}")
+  implementation("me.champeau.jmh:me.champeau.jmh.gradle.plugin:${libs.versions.jmh.plugin.get()}")
 
   implementation("nl.littlerobots.version-catalog-update:nl.littlerobots.version-catalog-update.gradle.plugin:${libs.versions.version.catalog.update.plugin.get()}")
 
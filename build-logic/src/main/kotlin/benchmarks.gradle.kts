@@ -0,0 +1,21 @@
+import net.ltgt.gradle.errorprone.errorprone
+import org.checkerframework.gradle.plugin.CheckerFrameworkTaskExtension
+import org.gradle.accessors.dm.LibrariesForLibs
+
+plugins {
+  `java`
+  id("me.champeau.jmh")
+}
+
+val libs = the<LibrariesForLibs>()
+
+jmh {
+  jmhVersion.set(libs.versions.jmh.core.get())
+  includeTests.set(false)
+}
+
+// The JMH generated harness is not ours to lint.
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+  options.errorprone.isEnabled.set(false)
+  extensions.findByType<CheckerFrameworkTaskExtension>()?.skipCheckerFramework = true
+}
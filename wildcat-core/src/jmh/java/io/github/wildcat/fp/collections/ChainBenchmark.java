@@ -0,0 +1,76 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Chain} with immutable lists that are copied on every concatenation, accumulating
+ * one entry per step the way a log or a list of errors grows, and then reading all the entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainBenchmark {
+
+  @Param({"100", "10000"})
+  public int size;
+
+  @Benchmark
+  public long accumulateChain() {
+    Chain<Integer> log = Chain.empty();
+    for (int i = 0; i < size; i++) {
+      log = log.concat(Chain.of(i));
+    }
+    long sum = 0;
+    for (final Integer entry : log) {
+      sum += entry;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long accumulateCopiedList() {
+    List<Integer> log = List.of();
+    for (int i = 0; i < size; i++) {
+      final List<Integer> next = new ArrayList<>(log.size() + 1);
+      next.addAll(log);
+      next.add(i);
+      log = List.copyOf(next);
+    }
+    long sum = 0;
+    for (final Integer entry : log) {
+      sum += entry;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long unconsChain() {
+    Chain<Integer> log = Chain.empty();
+    for (int i = 0; i < size; i++) {
+      log = Chain.of(i).concat(log).append(-i);
+    }
+    long sum = 0;
+    while (log.uncons() instanceof Option.Present<Tuple2<Integer, Chain<Integer>>>(final Tuple2<Integer, Chain<Integer>> split)) {
+      sum += split.a();
+      log = split.b();
+    }
+    return sum;
+  }
+}
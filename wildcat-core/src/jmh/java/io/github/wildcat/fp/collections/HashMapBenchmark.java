@@ -0,0 +1,103 @@
+package io.github.wildcat.fp.collections;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link HashMap} with the copy-on-write use of {@link java.util.HashMap} it replaces for
+ * configuration snapshots, where every update copies the whole table: putting random keys one
+ * snapshot at a time, and looking them up. {@code build} shows what bulk loading costs with a
+ * builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBenchmark {
+
+  private static final int UPDATES = 1_000;
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private HashMap<String, Integer> map = HashMap.empty();
+  private Map<String, Integer> table = Map.of();
+  private String[] names = new String[0];
+  private String[] keys = new String[0];
+
+  @Setup
+  public void setup() {
+    names = new String[size];
+    final java.util.HashMap<String, Integer> entries = new java.util.HashMap<>();
+    for (int i = 0; i < size; i++) {
+      names[i] = "key" + i;
+      entries.put(names[i], i);
+    }
+    map = HashMap.from(entries);
+    table = Collections.unmodifiableMap(entries);
+    final SplittableRandom random = new SplittableRandom(42);
+    keys = random.ints(UPDATES, 0, size).mapToObj(i -> names[i]).toArray(String[]::new);
+  }
+
+  @Benchmark
+  public HashMap<String, Integer> build() {
+    final HashMap.Builder<String, Integer> builder = HashMap.builder();
+    for (int i = 0; i < size; i++) {
+      builder.put(names[i], i);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public HashMap<String, Integer> putHashMap() {
+    HashMap<String, Integer> result = map;
+    for (final String key : keys) {
+      result = result.put(key, -1);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Map<String, Integer> putCopyOnWrite() {
+    Map<String, Integer> result = table;
+    for (final String key : keys) {
+      final java.util.HashMap<String, Integer> copy = new java.util.HashMap<>(result);
+      copy.put(key, -1);
+      result = Collections.unmodifiableMap(copy);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public long getHashMap() {
+    long sum = 0;
+    for (final String key : keys) {
+      sum += map.get(key).fold(() -> 0, value -> value);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long getTable() {
+    long sum = 0;
+    for (final String key : keys) {
+      sum += table.get(key);
+    }
+    return sum;
+  }
+}
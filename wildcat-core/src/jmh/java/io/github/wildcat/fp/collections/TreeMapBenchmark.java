@@ -0,0 +1,132 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.typeclasses.equivalence.Order;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TreeMap} with {@link java.util.TreeMap} used immutably, where every update makes
+ * a defensive copy: putting random keys one version at a time, finding the nearest keys, reading a
+ * range of a hundred keys, and building from sorted entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeMapBenchmark {
+
+  private static final int UPDATES = 1_000;
+  private static final int RANGE = 100;
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private TreeMap<Integer, Integer> map = TreeMap.empty();
+  private NavigableMap<Integer, Integer> table = Collections.emptyNavigableMap();
+  private List<Tuple2<Integer, Integer>> sorted = List.of();
+  private int[] keys = new int[0];
+
+  @Setup
+  public void setup() {
+    // Even keys only, so that half the lookups fall between two keys.
+    final List<Tuple2<Integer, Integer>> entries = new ArrayList<>(size);
+    final java.util.TreeMap<Integer, Integer> copy = new java.util.TreeMap<>();
+    for (int i = 0; i < size; i++) {
+      entries.add(Tuple2.of(2 * i, i));
+      copy.put(2 * i, i);
+    }
+    sorted = entries;
+    map = TreeMap.fromSorted(Order.natural(), entries);
+    table = Collections.unmodifiableNavigableMap(copy);
+    final SplittableRandom random = new SplittableRandom(42);
+    keys = random.ints(UPDATES, 0, 2 * size).toArray();
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> putTreeMap() {
+    TreeMap<Integer, Integer> result = map;
+    for (final int key : keys) {
+      result = result.put(key, -1);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public NavigableMap<Integer, Integer> putDefensiveCopy() {
+    NavigableMap<Integer, Integer> result = table;
+    for (final int key : keys) {
+      final java.util.TreeMap<Integer, Integer> copy = new java.util.TreeMap<>(result);
+      copy.put(key, -1);
+      result = Collections.unmodifiableNavigableMap(copy);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public long floorTreeMap() {
+    long sum = 0;
+    for (final int key : keys) {
+      sum += map.floor(key).fold(() -> 0, Tuple2::b);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long floorJavaTreeMap() {
+    long sum = 0;
+    for (final int key : keys) {
+      sum += table.floorEntry(key).getValue();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long rangeTreeMap() {
+    long sum = 0;
+    for (final Tuple2<Integer, Integer> entry : map.range(size, size + 2 * RANGE)) {
+      sum += entry.b();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long rangeJavaTreeMap() {
+    long sum = 0;
+    for (final Integer value : table.subMap(size, size + 2 * RANGE).values()) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> buildSorted() {
+    return TreeMap.fromSorted(Order.natural(), sorted);
+  }
+
+  @Benchmark
+  public NavigableMap<Integer, Integer> buildJavaTreeMap() {
+    final java.util.TreeMap<Integer, Integer> result = new java.util.TreeMap<>();
+    for (final Tuple2<Integer, Integer> entry : sorted) {
+      result.put(entry.a(), entry.b());
+    }
+    return Collections.unmodifiableNavigableMap(result);
+  }
+}
@@ -0,0 +1,123 @@
+package io.github.wildcat.fp.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Vector} with the copy-on-write use of {@link ArrayList} it replaces, where every
+ * functional update copies the whole list: appending one element at a time, updating random
+ * indices, and iterating. {@code builder} shows what bulk construction costs without intermediate
+ * vectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+
+  private static final int UPDATES = 1_000;
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Vector<Integer> vector = Vector.empty();
+  private List<Integer> list = List.of();
+  private int[] indices = new int[0];
+
+  @Setup
+  public void setup() {
+    final Vector.Builder<Integer> builder = Vector.builder();
+    for (int i = 0; i < size; i++) {
+      builder.add(i);
+    }
+    vector = builder.build();
+    list = Collections.unmodifiableList(new ArrayList<>(vector.toList()));
+    final SplittableRandom random = new SplittableRandom(42);
+    indices = random.ints(UPDATES, 0, size).toArray();
+  }
+
+  @Benchmark
+  public Vector<Integer> appendVector() {
+    Vector<Integer> result = Vector.empty();
+    for (int i = 0; i < size; i++) {
+      result = result.appended(i);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Vector<Integer> appendBuilder() {
+    final Vector.Builder<Integer> builder = Vector.builder();
+    for (int i = 0; i < size; i++) {
+      builder.add(i);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public List<Integer> appendCopyOnWrite() {
+    // Quadratic, so only the first thousand appends are measured whatever the size.
+    List<Integer> result = List.of();
+    for (int i = 0; i < Math.min(size, 1_000); i++) {
+      final List<Integer> copy = new ArrayList<>(result.size() + 1);
+      copy.addAll(result);
+      copy.add(i);
+      result = Collections.unmodifiableList(copy);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Vector<Integer> updateVector() {
+    Vector<Integer> result = vector;
+    for (final int index : indices) {
+      result = result.updated(index, -index);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<Integer> updateCopyOnWrite() {
+    List<Integer> result = list;
+    for (final int index : indices) {
+      final List<Integer> copy = new ArrayList<>(result);
+      copy.set(index, -index);
+      result = Collections.unmodifiableList(copy);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public long iterateVector() {
+    long sum = 0;
+    for (final Integer value : vector) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long iterateList() {
+    long sum = 0;
+    for (final Integer value : list) {
+      sum += value;
+    }
+    return sum;
+  }
+}
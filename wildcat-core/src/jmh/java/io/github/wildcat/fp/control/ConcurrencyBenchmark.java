@@ -0,0 +1,81 @@
+package io.github.wildcat.fp.control;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Ref}, {@link Deferred}, {@link Semaphore} and {@link Queue} under contention: the
+ * same total number of operations is split across an increasing number of fibers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyBenchmark {
+
+  private static final int OPERATIONS = 65_536;
+
+  @Param({"1", "4", "16", "64"})
+  public int fibers;
+
+  private static <A> IO<A> times(final IO<A> io, final int count) {
+    return io.repeat(Schedule.recurs(count - 1));
+  }
+
+  private <A> IO<List<A>> inParallel(final IO<A> perFiber) {
+    return IO.parSequence(Collections.nCopies(fibers, perFiber));
+  }
+
+  @Benchmark
+  public Integer refUpdate() {
+    return Ref.of(0).flatMap(
+        ref -> inParallel(times(ref.update(value -> value + 1), OPERATIONS / fibers)).flatMap(units -> ref.get())
+    ).unsafeRunSync();
+  }
+
+  @Benchmark
+  public List<Integer> deferredWakeUp() {
+    return Deferred.<Integer>make().flatMap(
+        deferred -> IO.parMap2(inParallel(deferred.get()), deferred.complete(1), (values, completed) -> values)
+    ).unsafeRunSync();
+  }
+
+  @Benchmark
+  public List<Unit> semaphoreWithPermit() {
+    return Semaphore.make(4).flatMap(
+        semaphore -> inParallel(times(semaphore.withPermit(IO.unit()), OPERATIONS / fibers))
+    ).unsafeRunSync();
+  }
+
+  @Benchmark
+  public List<Integer> boundedQueueHandOff() {
+    return Queue.<Integer>bounded(64).flatMap(this::handOff).unsafeRunSync();
+  }
+
+  @Benchmark
+  public List<Integer> unboundedQueueHandOff() {
+    return Queue.<Integer>unbounded().flatMap(this::handOff).unsafeRunSync();
+  }
+
+  private IO<List<Integer>> handOff(final Queue<Integer> queue) {
+    final int perFiber = OPERATIONS / fibers;
+    return IO.parMap2(
+        inParallel(times(queue.offer(1), perFiber)),
+        inParallel(times(queue.take(), perFiber)),
+        (offered, taken) -> taken
+    );
+  }
+}
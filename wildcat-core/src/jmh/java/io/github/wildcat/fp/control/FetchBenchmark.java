@@ -0,0 +1,82 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading keys one at a time with {@link IO} against reading them with {@link Fetch}, from
+ * an in-memory data source that takes a millisecond to answer each call, as a remote one would.
+ * Half of the keys are duplicates, so the naive lookups also pay for reading the same key twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FetchBenchmark {
+
+  private static final Duration LATENCY = Duration.ofMillis(1);
+
+  @Param({"10", "100", "1000"})
+  public int keys;
+
+  private final Users users = new Users();
+
+  private List<Integer> ids;
+
+  private static final class Users implements DataSource<Integer, String> {
+
+    IO<String> fetchOne(final Integer id) {
+      return IO.sleep(LATENCY).map(unit -> "user-" + id);
+    }
+
+    @Override
+    public IO<Map<Integer, String>> fetchMany(final Set<Integer> ids) {
+      return IO.sleep(LATENCY).map(unit -> {
+        final Map<Integer, String> found = new HashMap<>();
+        ids.forEach(id -> found.put(id, "user-" + id));
+        return found;
+      });
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    ids = IntStream.range(0, keys).map(index -> index / 2).boxed().toList();
+  }
+
+  @Benchmark
+  public List<String> sequentialIO() {
+    IO<List<String>> io = IO.pure(new ArrayList<>(keys));
+    for (final Integer id : ids) {
+      io = io.flatMap(found -> users.fetchOne(id).map(user -> {
+        found.add(user);
+        return found;
+      }));
+    }
+    return io.unsafeRunSync();
+  }
+
+  @Benchmark
+  public List<String> batchedFetch() {
+    return Fetch.traverse(ids, id -> Fetch.of(users, id)).run().unsafeRunSync();
+  }
+}
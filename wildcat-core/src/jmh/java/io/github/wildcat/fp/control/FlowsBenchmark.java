@@ -0,0 +1,70 @@
+package io.github.wildcat.fp.control;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link Flows#fromPublisher(Flow.Publisher, int)} for growing batch
+ * sizes, reading from a publisher that emits from within {@code request}, so that the cost measured
+ * is that of the adapter and not of the publisher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowsBenchmark {
+
+  private static final int ELEMENTS = 100_000;
+
+  @Param({"1", "16", "256", "4096"})
+  public int batchSize;
+
+  private final Flow.Publisher<Integer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+    private int next;
+    private long demand;
+    private boolean emitting;
+    private boolean canceled;
+
+    @Override
+    public void request(final long n) {
+      demand += n;
+      if (emitting) {
+        return;
+      }
+      emitting = true;
+      while (demand > 0 && next < ELEMENTS && !canceled) {
+        demand--;
+        subscriber.onNext(next++);
+      }
+      if (next == ELEMENTS && !canceled) {
+        canceled = true;
+        subscriber.onComplete();
+      }
+      emitting = false;
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+    }
+  });
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public long fromPublisher() {
+    return Flows.<Integer>fromPublisher(publisher, batchSize).fold(0L, (sum, n) -> sum + n).unsafeRunSync();
+  }
+}
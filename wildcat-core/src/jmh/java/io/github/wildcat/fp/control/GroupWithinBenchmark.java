@@ -0,0 +1,55 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of batching with {@link Stream#groupWithin(int, Duration)} against plain
+ * {@link Stream#chunkN(int)}, which batches by size alone and pulls everything in one fiber. The
+ * source arrives in small chunks, as rows from a cursor would, and every batch is handed to a cheap
+ * write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupWithinBenchmark {
+
+  private static final int ELEMENTS = 1_000_000;
+
+  @Param({"16", "256"})
+  public int sourceChunk;
+
+  @Param({"100", "1000"})
+  public int batchSize;
+
+  private Stream<Integer> source() {
+    return Stream.range(0, ELEMENTS).chunkN(sourceChunk).flatMap(Stream::chunk);
+  }
+
+  private static IO<Long> write(final Chunk<Integer> batch) {
+    return IO.delay(() -> (long) batch.size());
+  }
+
+  @Benchmark
+  public long chunkN() {
+    return source().chunkN(batchSize).evalMap(GroupWithinBenchmark::write).fold(0L, Long::sum).unsafeRunSync();
+  }
+
+  @Benchmark
+  public long groupWithin() {
+    return source().groupWithin(batchSize, Duration.ofMillis(10)).evalMap(GroupWithinBenchmark::write).fold(0L, Long::sum).unsafeRunSync();
+  }
+}
@@ -0,0 +1,54 @@
+package io.github.wildcat.fp.control;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares how {@link IO#unsafeRunSync()} copes with left-nested and right-nested chains of binds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IOFlatMapBenchmark {
+  
+  @Param({"10000", "100000", "1000000"})
+  public int size;
+  
+  private IO<Integer> leftNested = IO.pure(0);
+  
+  @Setup
+  public void setup() {
+    IO<Integer> io = IO.pure(0);
+    for (int i = 0; i < size; i++) {
+      io = io.flatMap(value -> IO.pure(value + 1));
+    }
+    leftNested = io;
+  }
+  
+  private static IO<Integer> rightNested(final int remaining, final int acc) {
+    return IO.pure(acc).flatMap(value -> remaining == 0 ? IO.pure(value) : rightNested(remaining - 1, value + 1));
+  }
+  
+  @Benchmark
+  public Integer leftNested() {
+    return leftNested.unsafeRunSync();
+  }
+  
+  @Benchmark
+  public Integer rightNested() {
+    return rightNested(size, 0).unsafeRunSync();
+  }
+}
@@ -0,0 +1,85 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Stream#parEvalMap(int, io.github.wildcat.fp.fns.nonnull.NonNullFunction)} with
+ * {@link Stream#parEvalMapUnordered(int, io.github.wildcat.fp.fns.nonnull.NonNullFunction)}, and
+ * with plain {@link Stream#evalMap(io.github.wildcat.fp.fns.nonnull.NonNullFunction)}, over steps
+ * that are CPU-bound, latency-bound, or both. The latencies vary from element to element, which is
+ * where keeping the order costs the most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParEvalMapBenchmark {
+
+  private static final int ELEMENTS = 1_000;
+
+  @Param({"4", "16"})
+  public int parallelism;
+
+  @Param({"cpu", "latency", "mixed"})
+  public String workload;
+
+  private long[] latencies = new long[0];
+
+  @Setup
+  public void setup() {
+    final SplittableRandom random = new SplittableRandom(42);
+    latencies = new long[ELEMENTS];
+    for (int i = 0; i < ELEMENTS; i++) {
+      latencies[i] = 100 + random.nextInt(1_900);
+    }
+  }
+
+  private IO<Long> step(final Integer n) {
+    final IO<Long> cpu = IO.delay(() -> hash(n));
+    final IO<Long> latency = IO.sleep(Duration.ofNanos(latencies[n] * 1_000L)).map(unit -> (long) n);
+    return switch (workload) {
+      case "cpu" -> cpu;
+      case "latency" -> latency;
+      default -> cpu.flatMap(hash -> latency.map(value -> hash ^ value));
+    };
+  }
+
+  private static long hash(final int seed) {
+    long hash = seed;
+    for (int i = 0; i < 20_000; i++) {
+      hash = hash * 6364136223846793005L + 1442695040888963407L;
+      hash ^= hash >>> 29;
+    }
+    return hash;
+  }
+
+  @Benchmark
+  public long sequential() {
+    return Stream.range(0, ELEMENTS).evalMap(this::step).fold(0L, (sum, n) -> sum ^ n).unsafeRunSync();
+  }
+
+  @Benchmark
+  public long ordered() {
+    return Stream.range(0, ELEMENTS).parEvalMap(parallelism, this::step).fold(0L, (sum, n) -> sum ^ n).unsafeRunSync();
+  }
+
+  @Benchmark
+  public long unordered() {
+    return Stream.range(0, ELEMENTS).parEvalMapUnordered(parallelism, this::step).fold(0L, (sum, n) -> sum ^ n).unsafeRunSync();
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.collections.NonEmptyChain;
+import io.github.wildcat.fp.collections.Vector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validates a payload of two hundred fields, some of them invalid, with {@link Validated} and with
+ * immutable lists of errors and values copied at every field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatedBenchmark {
+
+  private static final int FIELDS = 200;
+
+  @Param({"0", "10"})
+  public int invalid;
+
+  private List<Integer> payload = List.of();
+
+  @Setup
+  public void setup() {
+    final int every = invalid == 0 ? Integer.MAX_VALUE : FIELDS / invalid;
+    payload = IntStream.range(0, FIELDS).map(i -> i % every == every - 1 ? -i : i + 1).boxed().toList();
+  }
+
+  private static Validated<NonEmptyChain<String>, Integer> positive(final int value) {
+    return value > 0 ? Validated.valid(value) : Validated.invalidChain("not positive");
+  }
+
+  @Benchmark
+  public Validated<NonEmptyChain<String>, Vector<Integer>> traverseValidated() {
+    return Validated.traverse(payload, ValidatedBenchmark::positive, NonEmptyChain.semigroup());
+  }
+
+  @Benchmark
+  public Either<List<String>, List<Integer>> accumulateCopiedLists() {
+    List<String> errors = List.of();
+    List<Integer> values = List.of();
+    for (final Integer value : payload) {
+      if (value > 0) {
+        final List<Integer> next = new ArrayList<>(values);
+        next.add(value);
+        values = List.copyOf(next);
+      } else {
+        final List<String> next = new ArrayList<>(errors);
+        next.add("not positive");
+        errors = List.copyOf(next);
+      }
+    }
+    return errors.isEmpty() ? Either.right(values) : Either.left(errors);
+  }
+}
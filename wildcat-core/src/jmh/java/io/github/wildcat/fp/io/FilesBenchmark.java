@@ -0,0 +1,117 @@
+package io.github.wildcat.fp.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a whole file with {@link java.nio.file.Files#readAllBytes(Path)} against
+ * streaming it with {@link Files#readChunks(Path, int)}, from 1 MB to 4 GB. Both read every byte of
+ * the file, so that the mapped pages are actually brought in.
+ *
+ * <p>{@code readAllBytes} cannot read files larger than 2 GB into a single array, so the 4 GB file
+ * is only read as a stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class FilesBenchmark {
+
+  private static final int CHUNK_SIZE = 1024 * 1024;
+
+  @State(Scope.Benchmark)
+  public static class Small {
+    @Param({"1", "64", "1024"})
+    public int megabytes;
+
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      file = createFile(megabytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      java.nio.file.Files.deleteIfExists(file);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Large {
+    @Param({"1", "64", "1024", "4096"})
+    public int megabytes;
+
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      file = createFile(megabytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      java.nio.file.Files.deleteIfExists(file);
+    }
+  }
+
+  private static Path createFile(final int megabytes) throws IOException {
+    final Path file = java.nio.file.Files.createTempFile("files-benchmark", ".bin");
+    final byte[] block = new byte[CHUNK_SIZE];
+    final SplittableRandom random = new SplittableRandom(42);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      for (int i = 0; i < megabytes; i++) {
+        for (int j = 0; j < block.length; j++) {
+          block[j] = (byte) random.nextInt();
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    }
+    return file;
+  }
+
+  private static long checksum(final long seed, final ByteBuffer buffer) {
+    final ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    long checksum = seed;
+    while (view.remaining() >= Long.BYTES) {
+      checksum ^= view.getLong();
+    }
+    while (view.hasRemaining()) {
+      checksum ^= view.get();
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public long readAllBytes(final Small state) throws IOException {
+    return checksum(0L, ByteBuffer.wrap(java.nio.file.Files.readAllBytes(state.file)));
+  }
+
+  @Benchmark
+  public long readChunks(final Large state) {
+    return Files.readChunks(state.file, CHUNK_SIZE).fold(0L, FilesBenchmark::checksum).unsafeRunSync();
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.wildcat.fp.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares splitting a UTF-8 log file into lines with {@link BufferedReader#readLine()} against
+ * streaming it through {@link Text#utf8Decode()} and {@link Text#lines()}. Both count the lines and
+ * their characters, so that every line is looked at.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextBenchmark {
+
+  private static final int CHUNK_SIZE = 1024 * 1024;
+
+  private static final String[] LEVELS = {"DEBUG", "INFO", "WARN", "ERROR"};
+
+  @Param({"1024"})
+  public int megabytes;
+
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = java.nio.file.Files.createTempFile("text-benchmark", ".log");
+    final SplittableRandom random = new SplittableRandom(42);
+    final long size = megabytes * 1024L * 1024L;
+    long written = 0L;
+    try (BufferedWriter writer = java.nio.file.Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (long line = 0; written < size; line++) {
+        final String entry = "2024-01-01T00:00:00." + line % 1000 + "Z " + LEVELS[random.nextInt(LEVELS.length)]
+            + " [worker-" + random.nextInt(16) + "] request " + random.nextLong()
+            + (random.nextInt(10) == 0 ? " user=Zoë €" : "") + " took " + random.nextInt(1000) + "ms\n";
+        writer.write(entry);
+        written += entry.length();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    java.nio.file.Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public long bufferedReader() throws IOException {
+    long characters = 0L;
+    try (BufferedReader reader = java.nio.file.Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        characters += line.length() + 1;
+      }
+    }
+    return characters;
+  }
+
+  @Benchmark
+  public long streamLines() {
+    return Files.readChunks(file, CHUNK_SIZE)
+        .through(Text.utf8Decode())
+        .through(Text.lines())
+        .fold(0L, (characters, line) -> characters + line.length() + 1)
+        .unsafeRunSync();
+  }
+}
@@ -0,0 +1,640 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.algebraic.MonoidK;
+import io.github.wildcat.fp.typeclasses.core.Applicative;
+import io.github.wildcat.fp.typeclasses.core.Functor;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import io.github.wildcat.fp.typeclasses.core.Monoid;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import io.github.wildcat.fp.typeclasses.traversal.Traverse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable sequence of elements that can be concatenated in constant time, whatever their
+ * sizes.
+ *
+ * <p>A chain is a tree: concatenating two chains, or adding an element at either end, creates a
+ * single node above them. This makes a chain the structure to accumulate into, e.g. errors or log
+ * entries, where repeated concatenation of lists would copy the elements over and over. Taking
+ * the first element off a chain rotates the tree on the way down, so that it takes amortized
+ * constant time; iterating a chain keeps the nodes still to visit on a stack, and never recurses,
+ * however deep the tree.
+ *
+ * <p>Chains are not indexed; use a {@link Vector} for random access.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public abstract sealed class Chain<A extends @NonNull Object> implements Kind<Chain.k, A>, Iterable<A> {
+  private static final Chain<?> EMPTY = new Empty<>();
+
+  private Chain() {
+  }
+
+  /**
+   * Returns the empty chain.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty chain.
+   */
+  public static <A extends @NonNull Object> Chain<A> empty() {
+    return genericCast(EMPTY);
+  }
+
+  /**
+   * Creates a chain of a single element.
+   *
+   * @param value
+   *   The element.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chain of {@code value}.
+   */
+  public static <A extends @NonNull Object> Chain<A> of(final A value) {
+    parameterIsNotNull(value, "Value cannot be null");
+    return new Singleton<>(value);
+  }
+
+  /**
+   * Creates a chain of the given elements.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chain of {@code values}, in order.
+   */
+  @SafeVarargs
+  public static <A extends @NonNull Object> Chain<A> of(final A... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final Vector.Builder<A> builder = Vector.builder();
+    for (final A value : values) {
+      builder.add(value);
+    }
+    return wrap(builder.build());
+  }
+
+  /**
+   * Creates a chain of the elements of an iterable. A {@link Vector} is not copied.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chain of {@code values}, in order.
+   */
+  public static <A extends @NonNull Object> Chain<A> from(final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    if (values instanceof Chain<? extends A> chain) {
+      return genericCast(chain);
+    }
+    return wrap(Vector.from(values));
+  }
+
+  private static <A extends @NonNull Object> Chain<A> wrap(final Vector<A> values) {
+    return switch (values.size()) {
+      case 0 -> empty();
+      case 1 -> new Singleton<>(values.get(0));
+      default -> new Wrap<>(values, 0, values.size());
+    };
+  }
+
+  /**
+   * Returns the {@link Functor} instance for {@code Chain}.
+   *
+   * @return The functor instance.
+   */
+  public static Functor<Chain.k> functor() {
+    return chain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code Chain}.
+   *
+   * @return The monad instance.
+   */
+  public static Monad<Chain.k> monad() {
+    return chain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code Chain}.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<Chain.k> foldable() {
+    return chain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Traverse} instance for {@code Chain}.
+   *
+   * @return The traverse instance.
+   */
+  public static Traverse<Chain.k> traverse() {
+    return chain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link MonoidK} instance for {@code Chain}, which concatenates chains.
+   *
+   * @return The monoidK instance.
+   */
+  public static MonoidK<Chain.k> monoidK() {
+    return chain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Monoid} of the chains of a type, which concatenates them.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The concatenation monoid.
+   */
+  public static <A extends @NonNull Object> Monoid<Chain<A>> monoid() {
+    final Semigroup<Chain<A>> concat = Chain::concat;
+    return Monoid.forT(Chain.<A>empty(), concat);
+  }
+
+  /**
+   * Returns the number of elements of this chain.
+   *
+   * @return The size of this chain.
+   */
+  public abstract int size();
+
+  /**
+   * Returns whether this chain has no elements.
+   *
+   * @return {@code true} if this chain is empty.
+   */
+  public boolean isEmpty() {
+    return this instanceof Empty;
+  }
+
+  /**
+   * Returns this chain preceded by an element.
+   *
+   * @param value
+   *   The element to prepend.
+   *
+   * @return A chain with {@code value} before the elements of this one.
+   */
+  public Chain<A> prepend(final A value) {
+    return of(value).concat(this);
+  }
+
+  /**
+   * Returns this chain followed by an element.
+   *
+   * @param value
+   *   The element to append.
+   *
+   * @return A chain with {@code value} after the elements of this one.
+   */
+  public Chain<A> append(final A value) {
+    return concat(of(value));
+  }
+
+  /**
+   * Returns this chain followed by another one, in constant time.
+   *
+   * @param other
+   *   The chain to follow this one.
+   *
+   * @return The concatenation of both chains.
+   */
+  public Chain<A> concat(final Chain<? extends A> other) {
+    parameterIsNotNull(other, "Chain cannot be null");
+    if (other.isEmpty()) {
+      return this;
+    }
+    return isEmpty() ? genericCast(other) : new Append<>(this, genericCast(other));
+  }
+
+  /**
+   * Returns the first element of this chain, walking down the left sides without rebuilding
+   * anything.
+   *
+   * @return The first element, or {@code null} if this chain is empty.
+   */
+  @Nullable A first() {
+    Chain<A> current = this;
+    while (current instanceof Append<A> append) {
+      current = append.left;
+    }
+    return switch (current) {
+      case Empty<A> ignored -> null;
+      case Singleton<A> singleton -> singleton.value;
+      case Wrap<A> wrap -> wrap.values.get(wrap.from);
+      case Append<A> ignored -> throw new IllegalStateException();
+    };
+  }
+
+  /**
+   * Splits this chain into its first element and the others, in amortized constant time.
+   *
+   * @return The first element and a chain of the others, or an empty option if this chain is empty.
+   */
+  public Option<Tuple2<A, Chain<A>>> uncons() {
+    // The right sides of the nodes on the way to the first element, outermost first.
+    final List<Chain<A>> rights = new ArrayList<>();
+    Chain<A> current = this;
+    while (current instanceof Append<A> append) {
+      rights.add(append.right);
+      current = append.left;
+    }
+    final A head;
+    final Chain<A> rest;
+    switch (current) {
+      case Empty<A> ignored -> {
+        return Option.empty();
+      }
+      case Singleton<A> singleton -> {
+        head = singleton.value;
+        rest = empty();
+      }
+      case Wrap<A> wrap -> {
+        head = wrap.values.get(wrap.from);
+        rest = wrap.from + 2 == wrap.until
+            ? new Singleton<>(wrap.values.get(wrap.from + 1))
+            : new Wrap<>(wrap.values, wrap.from + 1, wrap.until);
+      }
+      case Append<A> ignored -> throw new IllegalStateException();
+    }
+    // Nesting the right sides to the right leaves the next element near the top of the tree.
+    Chain<A> others = empty();
+    for (final Chain<A> right : rights) {
+      others = right.concat(others);
+    }
+    return Option.present(Tuple2.of(head, rest.concat(others)));
+  }
+
+  /**
+   * Transforms every element of this chain.
+   *
+   * @param f
+   *   The function to apply to every element.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A chain of the transformed elements.
+   */
+  public <B extends @NonNull Object> Chain<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final Vector.Builder<B> builder = Vector.builder();
+    for (final A value : this) {
+      builder.add(f.apply(value));
+    }
+    return wrap(builder.build());
+  }
+
+  /**
+   * Replaces every element of this chain with the elements of the chain produced from it.
+   *
+   * @param f
+   *   The function producing a chain from every element.
+   * @param <B>
+   *   The type of the elements of the produced chains.
+   *
+   * @return A chain of the elements of the produced chains, in order.
+   */
+  public <B extends @NonNull Object> Chain<B> flatMap(final NonNullFunction<? super A, ? extends Chain<? extends B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    Chain<B> result = empty();
+    for (final A value : this) {
+      result = result.concat(f.apply(value));
+    }
+    return result;
+  }
+
+  /**
+   * Keeps the elements of this chain that satisfy a predicate.
+   *
+   * @param predicate
+   *   The predicate to test the elements with.
+   *
+   * @return A chain of the elements satisfying {@code predicate}, in order.
+   */
+  public Chain<A> filter(final Predicate<? super A> predicate) {
+    parameterIsNotNull(predicate, "Predicate cannot be null");
+    final Vector.Builder<A> builder = Vector.builder();
+    for (final A value : this) {
+      if (predicate.test(value)) {
+        builder.add(value);
+      }
+    }
+    return builder.size() == size() ? this : wrap(builder.build());
+  }
+
+  /**
+   * Combines the elements of this chain, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    B result = initial;
+    for (final A value : this) {
+      result = f.apply(result, value);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the elements of this chain as a vector.
+   *
+   * @return A vector of the elements of this chain, in order.
+   */
+  public Vector<A> toVector() {
+    if (this instanceof Wrap<A> wrap && wrap.from == 0 && wrap.until == wrap.values.size()) {
+      return wrap.values;
+    }
+    return Vector.<A>builder().addAll(this).build();
+  }
+
+  /**
+   * Returns the elements of this chain as an unmodifiable list.
+   *
+   * @return A list of the elements of this chain.
+   */
+  public List<A> toList() {
+    final List<A> values = new ArrayList<>(size());
+    for (final A value : this) {
+      values.add(value);
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return new Walker<>(this);
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Chain<?> that) || that.size() != size()) {
+      return false;
+    }
+    final Iterator<?> those = that.iterator();
+    for (final A value : this) {
+      if (!value.equals(those.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (final A value : this) {
+      hash = 31 * hash + value.hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("Chain[");
+    for (final A value : this) {
+      if (builder.length() > "Chain[".length()) {
+        builder.append(", ");
+      }
+      builder.append(value);
+    }
+    return builder.append(']').toString();
+  }
+
+  private static final class Empty<A extends @NonNull Object> extends Chain<A> {
+    @Override
+    public int size() {
+      return 0;
+    }
+  }
+
+  private static final class Singleton<A extends @NonNull Object> extends Chain<A> {
+    private final A value;
+
+    Singleton(final A value) {
+      this.value = value;
+    }
+
+    @Override
+    public int size() {
+      return 1;
+    }
+  }
+
+  /** The concatenation of two non-empty chains. */
+  private static final class Append<A extends @NonNull Object> extends Chain<A> {
+    private final Chain<A> left;
+    private final Chain<A> right;
+    private final int size;
+
+    Append(final Chain<A> left, final Chain<A> right) {
+      this.left = left;
+      this.right = right;
+      this.size = left.size() + right.size();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /** The elements of a vector from an index, included, until another one, excluded: at least two. */
+  private static final class Wrap<A extends @NonNull Object> extends Chain<A> {
+    private final Vector<A> values;
+    private final int from;
+    private final int until;
+
+    Wrap(final Vector<A> values, final int from, final int until) {
+      this.values = values;
+      this.from = from;
+      this.until = until;
+    }
+
+    @Override
+    public int size() {
+      return until - from;
+    }
+  }
+
+  /** An iterator of the elements of a chain, keeping the right sides still to visit on a stack. */
+  private static final class Walker<A extends @NonNull Object> implements Iterator<A> {
+    private final ArrayDeque<Chain<A>> rights = new ArrayDeque<>();
+    private Chain<A> leaf;
+    private int index;
+    private int until;
+
+    Walker(final Chain<A> chain) {
+      leaf = chain;
+      descend(chain);
+    }
+
+    private void descend(final Chain<A> chain) {
+      Chain<A> current = chain;
+      while (current instanceof Append<A> append) {
+        rights.push(append.right);
+        current = append.left;
+      }
+      leaf = current;
+      if (current instanceof Wrap<A> wrap) {
+        index = wrap.from;
+        until = wrap.until;
+      } else {
+        index = 0;
+        until = current.size();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (index == until) {
+        final @Nullable Chain<A> next = rights.poll();
+        if (next == null) {
+          return false;
+        }
+        descend(next);
+      }
+      return true;
+    }
+
+    @Override
+    public A next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      if (leaf instanceof Wrap<A> wrap) {
+        return wrap.values.get(index++);
+      }
+      index++;
+      return ((Singleton<A>) leaf).value;
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Monad.k, Traverse.k, MonoidK.k {
+  }
+}
+
+final class chain_instances implements Monad<Chain.k>, Traverse<Chain.k>, MonoidK<Chain.k> {
+  private static final chain_instances instance = new chain_instances();
+
+  private chain_instances() {
+  }
+
+  static chain_instances instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Chain<B> map(
+      final Kind<Chain.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final Chain<A> chain = fa.fix();
+    return chain.map(f);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Chain<B> ap(
+      final Kind<Chain.k, A> fa,
+      final Kind<Chain.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final Chain<A> chain = fa.fix();
+    final Chain<@NonNull NonNullFunction<? super A, ? extends B>> functions = f.fix();
+    return functions.flatMap(chain::map);
+  }
+
+  @Override
+  public <T extends @NonNull Object> Chain<T> pure(final T value) {
+    return Chain.of(value);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Chain<B> flatMap(
+      final Kind<Chain.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<Chain.k, B>> f
+  ) {
+    final Chain<A> chain = fa.fix();
+    return chain.flatMap(value -> f.apply(value).<Chain<B>>fix());
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<Chain.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final Chain<Input> chain = foldable.fix();
+    return chain.foldLeft(empty, f);
+  }
+
+  @Override
+  public <G extends Applicative.k, A extends @NonNull Object, B extends @NonNull Object> Kind<G, Kind<Chain.k, B>> traverse(
+      final Applicative<G> applicative,
+      final NonNullFunction<? super A, ? extends Kind<G, B>> f,
+      final Kind<Chain.k, A> traversable
+  ) {
+    final Chain<A> chain = traversable.fix();
+    Kind<G, Chain<B>> result = applicative.pure(Chain.empty());
+    for (final A value : chain) {
+      final Kind<G, Chain<B>> previous = result;
+      result = applicative.ap(
+          f.apply(value),
+          applicative.map(previous, done -> (NonNullFunction<B, Chain<B>>) done::append)
+      );
+    }
+    return genericCast(result);
+  }
+
+  @Override
+  public <T extends @NonNull Object> Chain<T> emptyK() {
+    return Chain.empty();
+  }
+
+  @Override
+  public <T extends @NonNull Object> Chain<T> combineK(final Kind<Chain.k, T> a, final Kind<Chain.k, T> b) {
+    final Chain<T> first = a.fix();
+    final Chain<T> second = b.fix();
+    return first.concat(second);
+  }
+}
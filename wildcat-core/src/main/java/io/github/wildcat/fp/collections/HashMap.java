@@ -0,0 +1,954 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction3;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Monoid;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import io.github.wildcat.fp.typeclasses.equivalence.Hash;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable map from keys to values, whose updates return new maps sharing most of their
+ * structure with the original.
+ *
+ * <p>A hash map is a compressed hash-array mapped prefix trie (CHAMP): every node holds up to 32
+ * entries and sub-nodes, indexed by five bits of the hash of the keys, and a bitmap of which of
+ * them are present, so that its array has no empty slots. Finding, adding or removing a key only
+ * visits one node per level, and there are at most seven, so all take effectively constant time;
+ * updates copy one node per level, and share all the others with the original map. Building a map
+ * from many entries is cheaper still with a {@link Builder}, which changes the nodes it created in
+ * place.
+ *
+ * <p>Keys are compared with a {@link Hash} instance, which defaults to their own {@code equals}
+ * and {@code hashCode}. Keys with the same hash are kept together in a list, and are found in
+ * linear time.
+ *
+ * @param <K>
+ *   The type of the keys.
+ * @param <V>
+ *   The type of the values.
+ */
+public final class HashMap<K extends @NonNull Object, V extends @NonNull Object> implements Kind<HashMap.k, V>, Iterable<Tuple2<K, V>> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  /** The most nodes on a path from the root: one per five bits of a hash, and a collision node. */
+  private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS + 1;
+  private static final Hash<Object> NATURAL = Hash.natural();
+  private static final HashMap<?, ?> EMPTY = new HashMap<>(NATURAL, BitmapNode.EMPTY, 0);
+
+  private final Hash<Object> hash;
+  private final Node root;
+  private final int size;
+
+  private HashMap(final Hash<Object> hash, final Node root, final int size) {
+    this.hash = hash;
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns the empty map, comparing keys with their own {@code equals} and {@code hashCode}.
+   *
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return The empty map.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> HashMap<K, V> empty() {
+    return genericCast(EMPTY);
+  }
+
+  /**
+   * Returns the empty map, comparing keys with a {@link Hash} instance.
+   *
+   * @param hash
+   *   The equality and hash function of the keys.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return The empty map.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> HashMap<K, V> empty(final Hash<? super K> hash) {
+    parameterIsNotNull(hash, "Hash cannot be null");
+    return new HashMap<>(genericCast(hash), BitmapNode.EMPTY, 0);
+  }
+
+  /**
+   * Creates a map of a single entry.
+   *
+   * @param key
+   *   The key.
+   * @param value
+   *   The value of {@code key}.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return A map from {@code key} to {@code value}.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> HashMap<K, V> of(final K key, final V value) {
+    return HashMap.<K, V>empty().put(key, value);
+  }
+
+  /**
+   * Creates a map of the entries of a {@link Map}.
+   *
+   * @param entries
+   *   The entries.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return A map of the entries of {@code entries}.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> HashMap<K, V> from(final Map<? extends K, ? extends V> entries) {
+    parameterIsNotNull(entries, "Entries cannot be null");
+    final Builder<K, V> builder = builder();
+    entries.forEach(builder::put);
+    return builder.build();
+  }
+
+  /**
+   * Returns a builder starting from no entries, comparing keys with their own {@code equals} and
+   * {@code hashCode}.
+   *
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return An empty builder.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> Builder<K, V> builder() {
+    return new Builder<>(NATURAL, BitmapNode.EMPTY, 0);
+  }
+
+  /**
+   * Returns a builder starting from no entries, comparing keys with a {@link Hash} instance.
+   *
+   * @param hash
+   *   The equality and hash function of the keys.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return An empty builder.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> Builder<K, V> builder(final Hash<? super K> hash) {
+    parameterIsNotNull(hash, "Hash cannot be null");
+    return new Builder<>(genericCast(hash), BitmapNode.EMPTY, 0);
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code HashMap}, which folds the values of a map in
+   * no particular order.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<HashMap.k> foldable() {
+    return hashmap_foldable.instance();
+  }
+
+  /**
+   * Returns the {@link Monoid} of the union of maps, combining the values of the keys in both maps
+   * with a {@link Semigroup}. The empty map compares keys with their own {@code equals} and
+   * {@code hashCode}.
+   *
+   * @param values
+   *   The semigroup combining the values of a key in both maps, first map first.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return The union monoid.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> Monoid<HashMap<K, V>> monoid(final Semigroup<V> values) {
+    parameterIsNotNull(values, "Semigroup cannot be null");
+    final Semigroup<HashMap<K, V>> union = (a, b) -> a.union(b, values);
+    return Monoid.forT(HashMap.<K, V>empty(), union);
+  }
+
+  /**
+   * Returns the number of entries of this map.
+   *
+   * @return The size of this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether this map has no entries.
+   *
+   * @return {@code true} if this map is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return The value of {@code key}, or an empty option if this map does not have it.
+   */
+  public Option<V> get(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    final @Nullable Object value = root.find(hash, key, hash.hash(key), 0);
+    if (value == null) {
+      return Option.empty();
+    }
+    final V present = genericCast(value);
+    return Option.present(present);
+  }
+
+  /**
+   * Returns whether this map has a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return {@code true} if this map has a value for {@code key}.
+   */
+  public boolean containsKey(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    return root.find(hash, key, hash.hash(key), 0) != null;
+  }
+
+  /**
+   * Returns this map with the value of a key set, replacing the previous one if any.
+   *
+   * @param key
+   *   The key.
+   * @param value
+   *   The new value of {@code key}.
+   *
+   * @return A map from {@code key} to {@code value}, or this map if that was already its value.
+   */
+  public HashMap<K, V> put(final K key, final V value) {
+    parameterIsNotNull(key, "Key cannot be null");
+    parameterIsNotNull(value, "Value cannot be null");
+    final Change change = new Change();
+    final Node newRoot = root.updated(null, hash, key, value, hash.hash(key), 0, change);
+    if (!change.modified) {
+      return this;
+    }
+    return new HashMap<>(hash, newRoot, change.previous == null ? size + 1 : size);
+  }
+
+  /**
+   * Returns this map without a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return A map without {@code key}, or this map if it does not have it.
+   */
+  public HashMap<K, V> remove(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    final Change change = new Change();
+    final Node newRoot = root.removed(null, hash, key, hash.hash(key), 0, change);
+    return change.modified ? new HashMap<>(hash, newRoot, size - 1) : this;
+  }
+
+  /**
+   * Returns the entries of this map and another one, combining the values of the keys in both
+   * maps. The result compares keys with the {@link Hash} of this map. When both maps use the same
+   * {@code Hash}, only the entries of the smaller map are added to the larger one.
+   *
+   * @param other
+   *   The other map.
+   * @param values
+   *   The semigroup combining the values of a key in both maps, this map first.
+   *
+   * @return The union of both maps.
+   */
+  public HashMap<K, V> union(final HashMap<K, V> other, final Semigroup<V> values) {
+    parameterIsNotNull(other, "Map cannot be null");
+    parameterIsNotNull(values, "Semigroup cannot be null");
+    if (other.hash == hash && other.size > size) {
+      return other.union(this, (a, b) -> values.combine(b, a));
+    }
+    if (other.isEmpty()) {
+      return this;
+    }
+    final Builder<K, V> builder = toBuilder();
+    for (final Tuple2<K, V> entry : other) {
+      final @Nullable Object previous = builder.root.find(hash, entry.a(), hash.hash(entry.a()), 0);
+      builder.put(entry.a(), previous == null ? entry.b() : values.combine(genericCast(previous), entry.b()));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Combines the entries of this map, in no particular order.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the key and value of the next entry.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullFunction3<? super B, ? super K, ? super V, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return foldLeft(root, initial, f);
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object, B extends @NonNull Object> B foldLeft(
+      final Node node,
+      final B initial,
+      final NonNullFunction3<? super B, ? super K, ? super V, ? extends B> f
+  ) {
+    B result = initial;
+    for (int i = 0; i < node.payloadArity(); i++) {
+      result = f.apply(result, genericCast(node.keyAt(i)), genericCast(node.valueAt(i)));
+    }
+    for (int i = 0; i < node.nodeArity(); i++) {
+      result = foldLeft(node.nodeAt(i), result, f);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a builder starting from the entries of this map. The builder shares the structure of
+   * this map, and only copies the nodes it changes, once.
+   *
+   * @return A builder of this map and the entries put into it.
+   */
+  public Builder<K, V> toBuilder() {
+    return new Builder<>(hash, root, size);
+  }
+
+  @Override
+  public Iterator<Tuple2<K, V>> iterator() {
+    return new Cursor<>(root) {
+      @Override
+      Tuple2<K, V> element(final Node node, final int index) {
+        return Tuple2.of(genericCast(node.keyAt(index)), genericCast(node.valueAt(index)));
+      }
+    };
+  }
+
+  /** Returns an iterator of the keys of this map, for {@link HashSet}. */
+  Iterator<K> keyIterator() {
+    return new Cursor<>(root) {
+      @Override
+      K element(final Node node, final int index) {
+        return genericCast(node.keyAt(index));
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Two hash maps are equal if they have the same keys, according to the {@link Hash} instance
+   * of {@code other}, and equal values for them.
+   */
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof HashMap<?, ?> that) || that.size != size) {
+      return false;
+    }
+    if (that.root == root) {
+      return true;
+    }
+    for (final Tuple2<K, V> entry : this) {
+      if (!entry.b().equals(that.root.find(that.hash, entry.a(), that.hash.hash(entry.a()), 0))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return foldLeft(0, (result, key, value) -> result + (hash.hash(key) ^ value.hashCode()));
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("HashMap{");
+    for (final Tuple2<K, V> entry : this) {
+      if (builder.length() > "HashMap{".length()) {
+        builder.append(", ");
+      }
+      builder.append(entry.a()).append('=').append(entry.b());
+    }
+    return builder.append('}').toString();
+  }
+
+  /** The five bits of {@code hash} indexing a node at {@code shift}, as a bitmap position. */
+  private static int bit(final int hash, final int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /** The index of {@code bit} among the bits set in {@code bitmap}. */
+  private static int index(final int bitmap, final int bit) {
+    return Integer.bitCount(bitmap & (bit - 1));
+  }
+
+  /** What an update did: whether it changed the map, and the value it replaced or removed. */
+  private static final class Change {
+    boolean modified;
+    @Nullable Object previous;
+  }
+
+  /**
+   * A node of the trie. Nodes are immutable, except those created by a builder, which it changes in
+   * place until it builds a map: {@code owner} is then the token of the builder.
+   */
+  abstract static sealed class Node permits BitmapNode, CollisionNode {
+    final @Nullable Object owner;
+
+    Node(final @Nullable Object owner) {
+      this.owner = owner;
+    }
+
+    abstract @Nullable Object find(Hash<Object> hash, Object key, int keyHash, int shift);
+
+    abstract Node updated(@Nullable Object owner, Hash<Object> hash, Object key, Object value, int keyHash, int shift, Change change);
+
+    abstract Node removed(@Nullable Object owner, Hash<Object> hash, Object key, int keyHash, int shift, Change change);
+
+    abstract int payloadArity();
+
+    abstract int nodeArity();
+
+    abstract Object keyAt(int index);
+
+    abstract Object valueAt(int index);
+
+    abstract Node nodeAt(int index);
+
+    /** Whether this node is a single entry, which its parent should hold instead. */
+    final boolean isSingleton() {
+      return nodeArity() == 0 && payloadArity() == 1;
+    }
+
+    final boolean isOwnedBy(final @Nullable Object owner) {
+      return owner != null && this.owner == owner;
+    }
+  }
+
+  /**
+   * A node of up to 32 entries and sub-nodes. Its array holds the keys and values of the entries in
+   * the order of their bits, followed by the sub-nodes in the reverse order of theirs.
+   */
+  static final class BitmapNode extends Node {
+    static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+    private int dataMap;
+    private int nodeMap;
+    private Object[] content;
+
+    BitmapNode(final @Nullable Object owner, final int dataMap, final int nodeMap, final Object[] content) {
+      super(owner);
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    @Override
+    @Nullable Object find(final Hash<Object> hash, final Object key, final int keyHash, final int shift) {
+      final int bit = bit(keyHash, shift);
+      if ((dataMap & bit) != 0) {
+        final int index = index(dataMap, bit);
+        return hash.eqv(keyAt(index), key) ? valueAt(index) : null;
+      }
+      if ((nodeMap & bit) != 0) {
+        return nodeAt(index(nodeMap, bit)).find(hash, key, keyHash, shift + BITS);
+      }
+      return null;
+    }
+
+    @Override
+    Node updated(
+        final @Nullable Object owner,
+        final Hash<Object> hash,
+        final Object key,
+        final Object value,
+        final int keyHash,
+        final int shift,
+        final Change change
+    ) {
+      final int bit = bit(keyHash, shift);
+      if ((dataMap & bit) != 0) {
+        final int index = index(dataMap, bit);
+        final Object existing = keyAt(index);
+        if (hash.eqv(existing, key)) {
+          change.previous = valueAt(index);
+          if (change.previous == value) {
+            return this;
+          }
+          change.modified = true;
+          return withValue(owner, index, value);
+        }
+        change.modified = true;
+        final Node child = merged(owner, existing, valueAt(index), hash.hash(existing), key, value, keyHash, shift + BITS);
+        return withNodeForEntry(owner, bit, child);
+      }
+      if ((nodeMap & bit) != 0) {
+        final int index = index(nodeMap, bit);
+        final Node child = nodeAt(index);
+        final Node updated = child.updated(owner, hash, key, value, keyHash, shift + BITS, change);
+        return updated == child ? this : withNode(owner, index, updated);
+      }
+      change.modified = true;
+      return withEntry(owner, bit, key, value);
+    }
+
+    @Override
+    Node removed(
+        final @Nullable Object owner,
+        final Hash<Object> hash,
+        final Object key,
+        final int keyHash,
+        final int shift,
+        final Change change
+    ) {
+      final int bit = bit(keyHash, shift);
+      if ((dataMap & bit) != 0) {
+        final int index = index(dataMap, bit);
+        if (!hash.eqv(keyAt(index), key)) {
+          return this;
+        }
+        change.modified = true;
+        change.previous = valueAt(index);
+        if (shift > 0 && nodeMap == 0 && content.length == 4) {
+          // The remaining entry goes up to the parent, or becomes the root, so it is indexed for the root.
+          return new BitmapNode(owner, bit(keyHash, 0), 0, new Object[] { keyAt(1 - index), valueAt(1 - index) });
+        }
+        return withoutEntry(owner, bit, index);
+      }
+      if ((nodeMap & bit) != 0) {
+        final int index = index(nodeMap, bit);
+        final Node removed = nodeAt(index).removed(owner, hash, key, keyHash, shift + BITS, change);
+        if (!change.modified) {
+          return this;
+        }
+        if (removed.isSingleton()) {
+          return dataMap == 0 && content.length == 1 ? removed : withEntryForNode(owner, bit, index, removed);
+        }
+        return withNode(owner, index, removed);
+      }
+      return this;
+    }
+
+    @Override
+    int payloadArity() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    int nodeArity() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Object keyAt(final int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object valueAt(final int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    Node nodeAt(final int index) {
+      return (Node) content[content.length - 1 - index];
+    }
+
+    /** Returns a node of two entries, or of a path to where their hashes differ. */
+    private static Node merged(
+        final @Nullable Object owner,
+        final Object key0,
+        final Object value0,
+        final int hash0,
+        final Object key1,
+        final Object value1,
+        final int hash1,
+        final int shift
+    ) {
+      if (shift >= Integer.SIZE) {
+        return new CollisionNode(owner, hash0, new Object[] { key0, value0, key1, value1 });
+      }
+      final int bit0 = bit(hash0, shift);
+      final int bit1 = bit(hash1, shift);
+      if (bit0 == bit1) {
+        return new BitmapNode(owner, 0, bit0, new Object[] { merged(owner, key0, value0, hash0, key1, value1, hash1, shift + BITS) });
+      }
+      final Object[] content = Integer.compareUnsigned(bit0, bit1) < 0
+          ? new Object[] { key0, value0, key1, value1 }
+          : new Object[] { key1, value1, key0, value0 };
+      return new BitmapNode(owner, bit0 | bit1, 0, content);
+    }
+
+    private Node with(final @Nullable Object owner, final int dataMap, final int nodeMap, final Object[] content) {
+      if (isOwnedBy(owner)) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+        return this;
+      }
+      return new BitmapNode(owner, dataMap, nodeMap, content);
+    }
+
+    private Node withValue(final @Nullable Object owner, final int index, final Object value) {
+      final Object[] copy = isOwnedBy(owner) ? content : content.clone();
+      copy[2 * index + 1] = value;
+      return with(owner, dataMap, nodeMap, copy);
+    }
+
+    private Node withNode(final @Nullable Object owner, final int index, final Node node) {
+      final Object[] copy = isOwnedBy(owner) ? content : content.clone();
+      copy[content.length - 1 - index] = node;
+      return with(owner, dataMap, nodeMap, copy);
+    }
+
+    private Node withEntry(final @Nullable Object owner, final int bit, final Object key, final Object value) {
+      final int at = 2 * index(dataMap, bit);
+      final Object[] copy = new Object[content.length + 2];
+      System.arraycopy(content, 0, copy, 0, at);
+      copy[at] = key;
+      copy[at + 1] = value;
+      System.arraycopy(content, at, copy, at + 2, content.length - at);
+      return with(owner, dataMap | bit, nodeMap, copy);
+    }
+
+    private Node withoutEntry(final @Nullable Object owner, final int bit, final int index) {
+      final int at = 2 * index;
+      final Object[] copy = new Object[content.length - 2];
+      System.arraycopy(content, 0, copy, 0, at);
+      System.arraycopy(content, at + 2, copy, at, content.length - at - 2);
+      return with(owner, dataMap ^ bit, nodeMap, copy);
+    }
+
+    /** Replaces the entry at {@code bit} with a sub-node. */
+    private Node withNodeForEntry(final @Nullable Object owner, final int bit, final Node node) {
+      final int at = 2 * index(dataMap, bit);
+      final int nodes = 2 * payloadArity();
+      final int index = index(nodeMap, bit);
+      final Object[] copy = new Object[content.length - 1];
+      System.arraycopy(content, 0, copy, 0, at);
+      System.arraycopy(content, at + 2, copy, at, nodes - at - 2);
+      System.arraycopy(content, nodes, copy, nodes - 2, nodeArity() - index);
+      copy[copy.length - 1 - index] = node;
+      System.arraycopy(content, content.length - index, copy, copy.length - index, index);
+      return with(owner, dataMap ^ bit, nodeMap | bit, copy);
+    }
+
+    /** Replaces the sub-node at {@code bit} with the single entry of {@code node}. */
+    private Node withEntryForNode(final @Nullable Object owner, final int bit, final int index, final Node node) {
+      final int at = 2 * index(dataMap, bit);
+      final int nodes = 2 * payloadArity();
+      final Object[] copy = new Object[content.length + 1];
+      System.arraycopy(content, 0, copy, 0, at);
+      copy[at] = node.keyAt(0);
+      copy[at + 1] = node.valueAt(0);
+      System.arraycopy(content, at, copy, at + 2, nodes - at);
+      System.arraycopy(content, nodes, copy, nodes + 2, nodeArity() - 1 - index);
+      System.arraycopy(content, content.length - index, copy, copy.length - index, index);
+      return with(owner, dataMap | bit, nodeMap ^ bit, copy);
+    }
+  }
+
+  /** A node of the entries whose keys have the same hash, but are not equal. */
+  static final class CollisionNode extends Node {
+    private final int hash;
+    private Object[] content;
+
+    CollisionNode(final @Nullable Object owner, final int hash, final Object[] content) {
+      super(owner);
+      this.hash = hash;
+      this.content = content;
+    }
+
+    private int indexOf(final Hash<Object> hash, final Object key) {
+      for (int i = 0; i < content.length; i += 2) {
+        if (hash.eqv(content[i], key)) {
+          return i / 2;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    @Nullable Object find(final Hash<Object> hash, final Object key, final int keyHash, final int shift) {
+      final int index = indexOf(hash, key);
+      return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    Node updated(
+        final @Nullable Object owner,
+        final Hash<Object> hash,
+        final Object key,
+        final Object value,
+        final int keyHash,
+        final int shift,
+        final Change change
+    ) {
+      final int index = indexOf(hash, key);
+      final Object[] copy;
+      if (index >= 0) {
+        change.previous = valueAt(index);
+        if (change.previous == value) {
+          return this;
+        }
+        copy = isOwnedBy(owner) ? content : content.clone();
+        copy[2 * index + 1] = value;
+      } else {
+        copy = new Object[content.length + 2];
+        System.arraycopy(content, 0, copy, 0, content.length);
+        copy[content.length] = key;
+        copy[content.length + 1] = value;
+      }
+      change.modified = true;
+      return with(owner, copy);
+    }
+
+    @Override
+    Node removed(
+        final @Nullable Object owner,
+        final Hash<Object> hash,
+        final Object key,
+        final int keyHash,
+        final int shift,
+        final Change change
+    ) {
+      final int index = indexOf(hash, key);
+      if (index < 0) {
+        return this;
+      }
+      change.modified = true;
+      change.previous = valueAt(index);
+      if (content.length == 4) {
+        return new BitmapNode(owner, bit(this.hash, 0), 0, new Object[] { keyAt(1 - index), valueAt(1 - index) });
+      }
+      final Object[] copy = new Object[content.length - 2];
+      System.arraycopy(content, 0, copy, 0, 2 * index);
+      System.arraycopy(content, 2 * index + 2, copy, 2 * index, content.length - 2 * index - 2);
+      return with(owner, copy);
+    }
+
+    private Node with(final @Nullable Object owner, final Object[] content) {
+      if (isOwnedBy(owner)) {
+        this.content = content;
+        return this;
+      }
+      return new CollisionNode(owner, hash, content);
+    }
+
+    @Override
+    int payloadArity() {
+      return content.length / 2;
+    }
+
+    @Override
+    int nodeArity() {
+      return 0;
+    }
+
+    @Override
+    Object keyAt(final int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object valueAt(final int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    Node nodeAt(final int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  }
+
+  /** An iterator of the entries of a trie, depth first, keeping the path to the current node. */
+  private abstract static class Cursor<T> implements Iterator<T> {
+    private final Node[] path = new Node[MAX_DEPTH];
+    private final int[] nextChild = new int[MAX_DEPTH];
+    private int depth = -1;
+    private Node current;
+    private int nextEntry;
+
+    Cursor(final Node root) {
+      current = root;
+      if (root.nodeArity() > 0) {
+        path[++depth] = root;
+      }
+    }
+
+    abstract T element(Node node, int index);
+
+    @Override
+    public boolean hasNext() {
+      while (nextEntry == current.payloadArity()) {
+        if (depth < 0) {
+          return false;
+        }
+        final Node parent = path[depth];
+        if (nextChild[depth] == parent.nodeArity()) {
+          depth--;
+          continue;
+        }
+        current = parent.nodeAt(nextChild[depth]++);
+        nextEntry = 0;
+        if (current.nodeArity() > 0) {
+          path[++depth] = current;
+          nextChild[depth] = 0;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return element(current, nextEntry++);
+    }
+  }
+
+  /**
+   * A mutable builder of a {@link HashMap}, changing the nodes it created in place instead of
+   * copying them on every entry. A builder can go on being used once it has built a map: it then
+   * copies the nodes it shares with that map before changing them.
+   *
+   * <p>A builder is not thread-safe.
+   *
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   */
+  public static final class Builder<K extends @NonNull Object, V extends @NonNull Object> {
+    private final Hash<Object> hash;
+    private Node root;
+    private int size;
+    /** The token of the nodes this builder may change in place. */
+    private Object owner = new Object();
+
+    private Builder(final Hash<Object> hash, final Node root, final int size) {
+      this.hash = hash;
+      this.root = root;
+      this.size = size;
+    }
+
+    /**
+     * Returns the number of entries put so far.
+     *
+     * @return The size of the map being built.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Sets the value of a key, replacing the previous one if any.
+     *
+     * @param key
+     *   The key.
+     * @param value
+     *   The new value of {@code key}.
+     *
+     * @return This builder.
+     */
+    public Builder<K, V> put(final K key, final V value) {
+      parameterIsNotNull(key, "Key cannot be null");
+      parameterIsNotNull(value, "Value cannot be null");
+      final Change change = new Change();
+      root = root.updated(owner, hash, key, value, hash.hash(key), 0, change);
+      if (change.modified && change.previous == null) {
+        size++;
+      }
+      return this;
+    }
+
+    /**
+     * Removes a key, if it was put.
+     *
+     * @param key
+     *   The key.
+     *
+     * @return This builder.
+     */
+    public Builder<K, V> remove(final K key) {
+      parameterIsNotNull(key, "Key cannot be null");
+      final Change change = new Change();
+      root = root.removed(owner, hash, key, hash.hash(key), 0, change);
+      if (change.modified) {
+        size--;
+      }
+      return this;
+    }
+
+    /**
+     * Returns a map of the entries put so far.
+     *
+     * @return The built map.
+     */
+    public HashMap<K, V> build() {
+      owner = new Object();
+      return new HashMap<>(hash, root, size);
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Foldable.k {
+  }
+}
+
+final class hashmap_foldable implements Foldable<HashMap.k> {
+  private static final hashmap_foldable instance = new hashmap_foldable();
+
+  private hashmap_foldable() {
+  }
+
+  static hashmap_foldable instance() {
+    return instance;
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<HashMap.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final HashMap<?, Input> map = foldable.fix();
+    return map.foldLeft(empty, (result, key, value) -> f.apply(result, value));
+  }
+}
@@ -0,0 +1,388 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.control.Unit;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Monoid;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import io.github.wildcat.fp.typeclasses.equivalence.Hash;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import java.util.Iterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable set of elements, whose updates return new sets sharing most of their structure with
+ * the original.
+ *
+ * <p>A hash set is a {@link HashMap} from its elements to {@link Unit}, and has the same costs:
+ * checking, adding or removing an element takes effectively constant time, and only copies one node
+ * per level of the trie.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class HashSet<A extends @NonNull Object> implements Kind<HashSet.k, A>, Iterable<A> {
+  private static final HashSet<?> EMPTY = new HashSet<>(HashMap.empty());
+
+  private final HashMap<A, Unit> map;
+
+  private HashSet(final HashMap<A, Unit> map) {
+    this.map = map;
+  }
+
+  /**
+   * Returns the empty set, comparing elements with their own {@code equals} and {@code hashCode}.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty set.
+   */
+  public static <A extends @NonNull Object> HashSet<A> empty() {
+    return genericCast(EMPTY);
+  }
+
+  /**
+   * Returns the empty set, comparing elements with a {@link Hash} instance.
+   *
+   * @param hash
+   *   The equality and hash function of the elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty set.
+   */
+  public static <A extends @NonNull Object> HashSet<A> empty(final Hash<? super A> hash) {
+    return new HashSet<>(HashMap.empty(hash));
+  }
+
+  /**
+   * Creates a set of the given elements.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A set of {@code values}.
+   */
+  @SafeVarargs
+  public static <A extends @NonNull Object> HashSet<A> of(final A... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final Builder<A> builder = builder();
+    for (final A value : values) {
+      builder.add(value);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a set of the elements of an iterable.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A set of {@code values}.
+   */
+  public static <A extends @NonNull Object> HashSet<A> from(final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    if (values instanceof HashSet<? extends A> set) {
+      return genericCast(set);
+    }
+    return HashSet.<A>builder().addAll(values).build();
+  }
+
+  /**
+   * Returns a builder starting from no elements, comparing elements with their own {@code equals}
+   * and {@code hashCode}.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An empty builder.
+   */
+  public static <A extends @NonNull Object> Builder<A> builder() {
+    return new Builder<>(HashMap.builder());
+  }
+
+  /**
+   * Returns a builder starting from no elements, comparing elements with a {@link Hash} instance.
+   *
+   * @param hash
+   *   The equality and hash function of the elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An empty builder.
+   */
+  public static <A extends @NonNull Object> Builder<A> builder(final Hash<? super A> hash) {
+    return new Builder<>(HashMap.builder(hash));
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code HashSet}, which folds the elements of a set in
+   * no particular order.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<HashSet.k> foldable() {
+    return hashset_foldable.instance();
+  }
+
+  /**
+   * Returns the {@link Monoid} of the union of sets. The empty set compares elements with their own
+   * {@code equals} and {@code hashCode}.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The union monoid.
+   */
+  public static <A extends @NonNull Object> Monoid<HashSet<A>> monoid() {
+    final Semigroup<HashSet<A>> union = HashSet::union;
+    return Monoid.forT(HashSet.<A>empty(), union);
+  }
+
+  /**
+   * Returns the number of elements of this set.
+   *
+   * @return The size of this set.
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Returns whether this set has no elements.
+   *
+   * @return {@code true} if this set is empty.
+   */
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  /**
+   * Returns whether this set has an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return {@code true} if {@code value} is in this set.
+   */
+  public boolean contains(final A value) {
+    return map.containsKey(value);
+  }
+
+  /**
+   * Returns this set with an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return A set with {@code value}, or this set if it already has it.
+   */
+  public HashSet<A> add(final A value) {
+    return wrap(map.put(value, Unit.unit()));
+  }
+
+  /**
+   * Returns this set without an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return A set without {@code value}, or this set if it does not have it.
+   */
+  public HashSet<A> remove(final A value) {
+    return wrap(map.remove(value));
+  }
+
+  /**
+   * Returns the elements of this set and another one. The result compares elements with the
+   * {@link Hash} of this set. When both sets use the same {@code Hash}, only the elements of the
+   * smaller set are added to the larger one.
+   *
+   * @param other
+   *   The other set.
+   *
+   * @return The union of both sets.
+   */
+  public HashSet<A> union(final HashSet<A> other) {
+    parameterIsNotNull(other, "Set cannot be null");
+    return wrap(map.union(other.map, (a, b) -> a));
+  }
+
+  /**
+   * Combines the elements of this set, in no particular order.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return map.foldLeft(initial, (result, value, unit) -> f.apply(result, value));
+  }
+
+  /**
+   * Returns a builder starting from the elements of this set. The builder shares the structure of
+   * this set, and only copies the nodes it changes, once.
+   *
+   * @return A builder of this set and the elements added to it.
+   */
+  public Builder<A> toBuilder() {
+    return new Builder<>(map.toBuilder());
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return map.keyIterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Two hash sets are equal if they have the same elements, according to the {@link Hash}
+   * instance of {@code other}.
+   */
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return this == other || other instanceof HashSet<?> that && map.equals(that.map);
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("HashSet{");
+    for (final A value : this) {
+      if (builder.length() > "HashSet{".length()) {
+        builder.append(", ");
+      }
+      builder.append(value);
+    }
+    return builder.append('}').toString();
+  }
+
+  private HashSet<A> wrap(final HashMap<A, Unit> updated) {
+    return updated == map ? this : new HashSet<>(updated);
+  }
+
+  /**
+   * A mutable builder of a {@link HashSet}, changing the nodes it created in place instead of
+   * copying them on every element. A builder can go on being used once it has built a set.
+   *
+   * <p>A builder is not thread-safe.
+   *
+   * @param <A>
+   *   The type of the elements.
+   */
+  public static final class Builder<A extends @NonNull Object> {
+    private final HashMap.Builder<A, Unit> map;
+
+    private Builder(final HashMap.Builder<A, Unit> map) {
+      this.map = map;
+    }
+
+    /**
+     * Returns the number of elements added so far.
+     *
+     * @return The size of the set being built.
+     */
+    public int size() {
+      return map.size();
+    }
+
+    /**
+     * Adds an element, if it was not added yet.
+     *
+     * @param value
+     *   The element.
+     *
+     * @return This builder.
+     */
+    public Builder<A> add(final A value) {
+      map.put(value, Unit.unit());
+      return this;
+    }
+
+    /**
+     * Adds the elements of an iterable.
+     *
+     * @param values
+     *   The elements.
+     *
+     * @return This builder.
+     */
+    public Builder<A> addAll(final Iterable<? extends A> values) {
+      parameterIsNotNull(values, "Values cannot be null");
+      for (final A value : values) {
+        add(value);
+      }
+      return this;
+    }
+
+    /**
+     * Removes an element, if it was added.
+     *
+     * @param value
+     *   The element.
+     *
+     * @return This builder.
+     */
+    public Builder<A> remove(final A value) {
+      map.remove(value);
+      return this;
+    }
+
+    /**
+     * Returns a set of the elements added so far.
+     *
+     * @return The built set.
+     */
+    public HashSet<A> build() {
+      return new HashSet<>(map.build());
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Foldable.k {
+  }
+}
+
+final class hashset_foldable implements Foldable<HashSet.k> {
+  private static final hashset_foldable instance = new hashset_foldable();
+
+  private hashset_foldable() {
+  }
+
+  static hashset_foldable instance() {
+    return instance;
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<HashSet.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final HashSet<Input> set = foldable.fix();
+    return set.foldLeft(empty, f);
+  }
+}
@@ -0,0 +1,372 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.algebraic.SemigroupK;
+import io.github.wildcat.fp.typeclasses.core.Applicative;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import io.github.wildcat.fp.typeclasses.traversal.Traverse;
+import java.util.Iterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Chain} with at least one element, e.g. the errors of a failed validation: it has a
+ * first element, and a {@link Semigroup} but no empty value.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class NonEmptyChain<A extends @NonNull Object> implements Kind<NonEmptyChain.k, A>, Iterable<A> {
+  private final Chain<A> chain;
+
+  private NonEmptyChain(final Chain<A> chain) {
+    this.chain = chain;
+  }
+
+  /**
+   * Creates a non-empty chain of the given elements.
+   *
+   * @param head
+   *   The first element.
+   * @param tail
+   *   The other elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chain of {@code head} followed by {@code tail}.
+   */
+  @SafeVarargs
+  public static <A extends @NonNull Object> NonEmptyChain<A> of(final A head, final A... tail) {
+    parameterIsNotNull(tail, "Values cannot be null");
+    Chain<A> chain = Chain.of(head);
+    for (final A value : tail) {
+      chain = chain.append(value);
+    }
+    return new NonEmptyChain<>(chain);
+  }
+
+  /**
+   * Creates a non-empty chain of an element followed by a chain.
+   *
+   * @param head
+   *   The first element.
+   * @param tail
+   *   The other elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chain of {@code head} followed by {@code tail}.
+   */
+  public static <A extends @NonNull Object> NonEmptyChain<A> of(final A head, final Chain<? extends A> tail) {
+    parameterIsNotNull(tail, "Chain cannot be null");
+    return new NonEmptyChain<>(Chain.<A>of(head).concat(tail));
+  }
+
+  /**
+   * Returns a chain as a non-empty chain, if it has any element.
+   *
+   * @param chain
+   *   The chain.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The elements of {@code chain}, or an empty option if it is empty.
+   */
+  public static <A extends @NonNull Object> Option<NonEmptyChain<A>> fromChain(final Chain<A> chain) {
+    parameterIsNotNull(chain, "Chain cannot be null");
+    return chain.isEmpty() ? Option.empty() : Option.present(new NonEmptyChain<>(chain));
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code NonEmptyChain}.
+   *
+   * @return The monad instance.
+   */
+  public static Monad<NonEmptyChain.k> monad() {
+    return nonemptychain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Traverse} instance for {@code NonEmptyChain}.
+   *
+   * @return The traverse instance.
+   */
+  public static Traverse<NonEmptyChain.k> traverse() {
+    return nonemptychain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link SemigroupK} instance for {@code NonEmptyChain}, which concatenates chains.
+   *
+   * @return The semigroupK instance.
+   */
+  public static SemigroupK<NonEmptyChain.k> semigroupK() {
+    return nonemptychain_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Semigroup} of the non-empty chains of a type, which concatenates them.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The concatenation semigroup.
+   */
+  public static <A extends @NonNull Object> Semigroup<NonEmptyChain<A>> semigroup() {
+    return NonEmptyChain::concat;
+  }
+
+  /**
+   * Returns the number of elements of this chain.
+   *
+   * @return The size of this chain, at least one.
+   */
+  public int size() {
+    return chain.size();
+  }
+
+  /**
+   * Returns the first element of this chain.
+   *
+   * @return The first element.
+   */
+  public A head() {
+    final A head = chain.first();
+    if (head == null) {
+      throw new IllegalStateException("Non-empty chain is empty");
+    }
+    return head;
+  }
+
+  /**
+   * Splits this chain into its first element and the others, in amortized constant time.
+   *
+   * @return The first element and a chain of the others.
+   */
+  public Tuple2<A, Chain<A>> uncons() {
+    return chain.uncons().fold(
+        () -> {
+          throw new IllegalStateException("Non-empty chain is empty");
+        },
+        split -> split
+    );
+  }
+
+  /**
+   * Returns this chain preceded by an element.
+   *
+   * @param value
+   *   The element to prepend.
+   *
+   * @return A chain with {@code value} before the elements of this one.
+   */
+  public NonEmptyChain<A> prepend(final A value) {
+    return new NonEmptyChain<>(chain.prepend(value));
+  }
+
+  /**
+   * Returns this chain followed by an element.
+   *
+   * @param value
+   *   The element to append.
+   *
+   * @return A chain with {@code value} after the elements of this one.
+   */
+  public NonEmptyChain<A> append(final A value) {
+    return new NonEmptyChain<>(chain.append(value));
+  }
+
+  /**
+   * Returns this chain followed by another one, in constant time.
+   *
+   * @param other
+   *   The chain to follow this one.
+   *
+   * @return The concatenation of both chains.
+   */
+  public NonEmptyChain<A> concat(final NonEmptyChain<? extends A> other) {
+    parameterIsNotNull(other, "Chain cannot be null");
+    return new NonEmptyChain<>(chain.concat(other.chain));
+  }
+
+  /**
+   * Returns this chain followed by a possibly empty one, in constant time.
+   *
+   * @param other
+   *   The chain to follow this one.
+   *
+   * @return The concatenation of both chains.
+   */
+  public NonEmptyChain<A> concat(final Chain<? extends A> other) {
+    return new NonEmptyChain<>(chain.concat(other));
+  }
+
+  /**
+   * Transforms every element of this chain.
+   *
+   * @param f
+   *   The function to apply to every element.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A chain of the transformed elements.
+   */
+  public <B extends @NonNull Object> NonEmptyChain<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    return new NonEmptyChain<>(chain.map(f));
+  }
+
+  /**
+   * Replaces every element of this chain with the elements of the chain produced from it.
+   *
+   * @param f
+   *   The function producing a chain from every element.
+   * @param <B>
+   *   The type of the elements of the produced chains.
+   *
+   * @return A chain of the elements of the produced chains, in order.
+   */
+  public <B extends @NonNull Object> NonEmptyChain<B> flatMap(final NonNullFunction<? super A, ? extends NonEmptyChain<? extends B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new NonEmptyChain<>(chain.flatMap(value -> f.apply(value).toChain()));
+  }
+
+  /**
+   * Combines the elements of this chain, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    return chain.foldLeft(initial, f);
+  }
+
+  /**
+   * Returns the elements of this chain as a possibly empty chain.
+   *
+   * @return The elements of this chain.
+   */
+  public Chain<A> toChain() {
+    return chain;
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return chain.iterator();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return this == other || other instanceof NonEmptyChain<?> that && chain.equals(that.chain);
+  }
+
+  @Override
+  public int hashCode() {
+    return chain.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "NonEmpty" + chain;
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Monad.k, Traverse.k, SemigroupK.k {
+  }
+}
+
+final class nonemptychain_instances implements Monad<NonEmptyChain.k>, Traverse<NonEmptyChain.k>, SemigroupK<NonEmptyChain.k> {
+  private static final nonemptychain_instances instance = new nonemptychain_instances();
+
+  private nonemptychain_instances() {
+  }
+
+  static nonemptychain_instances instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> NonEmptyChain<B> map(
+      final Kind<NonEmptyChain.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final NonEmptyChain<A> chain = fa.fix();
+    return chain.map(f);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> NonEmptyChain<B> ap(
+      final Kind<NonEmptyChain.k, A> fa,
+      final Kind<NonEmptyChain.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final NonEmptyChain<A> chain = fa.fix();
+    final NonEmptyChain<@NonNull NonNullFunction<? super A, ? extends B>> functions = f.fix();
+    return functions.flatMap(chain::map);
+  }
+
+  @Override
+  public <T extends @NonNull Object> NonEmptyChain<T> pure(final T value) {
+    return NonEmptyChain.of(value, Chain.empty());
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> NonEmptyChain<B> flatMap(
+      final Kind<NonEmptyChain.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<NonEmptyChain.k, B>> f
+  ) {
+    final NonEmptyChain<A> chain = fa.fix();
+    return chain.flatMap(value -> f.apply(value).<NonEmptyChain<B>>fix());
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<NonEmptyChain.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final NonEmptyChain<Input> chain = foldable.fix();
+    return chain.foldLeft(empty, f);
+  }
+
+  @Override
+  public <G extends Applicative.k, A extends @NonNull Object, B extends @NonNull Object> Kind<G, Kind<NonEmptyChain.k, B>> traverse(
+      final Applicative<G> applicative,
+      final NonNullFunction<? super A, ? extends Kind<G, B>> f,
+      final Kind<NonEmptyChain.k, A> traversable
+  ) {
+    final NonEmptyChain<A> chain = traversable.fix();
+    final Kind<G, Kind<Chain.k, B>> traversed = Chain.traverse().traverse(applicative, f, chain.toChain());
+    final Kind<G, NonEmptyChain<B>> result = applicative.map(
+        traversed,
+        elements -> NonEmptyChain.fromChain(elements.<Chain<B>>fix()).fold(
+            () -> {
+              throw new IllegalStateException("Traversal lost the elements of a non-empty chain");
+            },
+            nonEmpty -> nonEmpty
+        )
+    );
+    return genericCast(result);
+  }
+
+  @Override
+  public <T extends @NonNull Object> NonEmptyChain<T> combineK(final Kind<NonEmptyChain.k, T> a, final Kind<NonEmptyChain.k, T> b) {
+    final NonEmptyChain<T> first = a.fix();
+    final NonEmptyChain<T> second = b.fix();
+    return first.concat(second);
+  }
+}
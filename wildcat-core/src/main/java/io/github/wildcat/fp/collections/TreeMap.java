@@ -0,0 +1,732 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction3;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.equivalence.Order;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable map from keys to values, sorted by an {@link Order} of the keys, whose updates
+ * return new maps sharing most of their structure with the original.
+ *
+ * <p>A tree map is a weight-balanced binary search tree: every node knows the size of its subtree,
+ * and neither child of a node is more than three times larger than the other. The tree is therefore
+ * of logarithmic height, so finding, adding or removing a key, and finding the nearest keys to
+ * one, take logarithmic time; updates copy the nodes on the path to the key, and rebalance them
+ * with a few rotations, sharing all the others with the original map.
+ *
+ * <p>Keys that the order considers equal are the same key. Iterating a map, or one of its ranges,
+ * visits the entries in ascending order of their keys.
+ *
+ * @param <K>
+ *   The type of the keys.
+ * @param <V>
+ *   The type of the values.
+ */
+public final class TreeMap<K extends @NonNull Object, V extends @NonNull Object> implements Kind<TreeMap.k, V>, Iterable<Tuple2<K, V>> {
+  /** How many times larger than its sibling a subtree may be. */
+  private static final int DELTA = 3;
+  /** How many times larger than the inner grandchild the outer one must be for a single rotation. */
+  private static final int RATIO = 2;
+
+  private final Order<? super K> order;
+  private final @Nullable Node<K, V> root;
+
+  private TreeMap(final Order<? super K> order, final @Nullable Node<K, V> root) {
+    this.order = order;
+    this.root = root;
+  }
+
+  /**
+   * Returns the empty map, sorted by the natural order of the keys.
+   *
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return The empty map.
+   */
+  public static <K extends @NonNull Comparable<? super K>, V extends @NonNull Object> TreeMap<K, V> empty() {
+    return new TreeMap<>(Order.<K>natural(), null);
+  }
+
+  /**
+   * Returns the empty map, sorted by an {@link Order} of the keys.
+   *
+   * @param order
+   *   The order of the keys.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return The empty map.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> TreeMap<K, V> empty(final Order<? super K> order) {
+    parameterIsNotNull(order, "Order cannot be null");
+    return new TreeMap<>(order, null);
+  }
+
+  /**
+   * Creates a map of entries that are already sorted, in linear time. The keys must be in strictly
+   * ascending order.
+   *
+   * @param order
+   *   The order of the keys.
+   * @param entries
+   *   The entries, in strictly ascending order of their keys.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return A map of {@code entries}.
+   * @throws IllegalArgumentException
+   *   If the keys are not in strictly ascending order.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> TreeMap<K, V> fromSorted(
+      final Order<? super K> order,
+      final Iterable<? extends Tuple2<? extends K, ? extends V>> entries
+  ) {
+    parameterIsNotNull(order, "Order cannot be null");
+    parameterIsNotNull(entries, "Entries cannot be null");
+    final List<K> keys = new ArrayList<>();
+    final List<V> values = new ArrayList<>();
+    for (final Tuple2<? extends K, ? extends V> entry : entries) {
+      if (!keys.isEmpty() && order.compare(keys.get(keys.size() - 1), entry.a()) >= 0) {
+        throw new IllegalArgumentException("Keys must be in strictly ascending order");
+      }
+      keys.add(entry.a());
+      values.add(entry.b());
+    }
+    return new TreeMap<>(order, balanced(keys, values, 0, keys.size()));
+  }
+
+  /**
+   * Returns a builder starting from no entries, sorted by an {@link Order} of the keys.
+   *
+   * @param order
+   *   The order of the keys.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return An empty builder.
+   */
+  public static <K extends @NonNull Object, V extends @NonNull Object> Builder<K, V> builder(final Order<? super K> order) {
+    parameterIsNotNull(order, "Order cannot be null");
+    return new Builder<>(order);
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code TreeMap}, which folds the values of a map in
+   * ascending order of their keys.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<TreeMap.k> foldable() {
+    return treemap_foldable.instance();
+  }
+
+  /**
+   * Returns the number of entries of this map.
+   *
+   * @return The size of this map.
+   */
+  public int size() {
+    return size(root);
+  }
+
+  /**
+   * Returns whether this map has no entries.
+   *
+   * @return {@code true} if this map is empty.
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return The value of {@code key}, or an empty option if this map does not have it.
+   */
+  public Option<V> get(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    final @Nullable Node<K, V> node = find(key);
+    return node == null ? Option.empty() : Option.present(node.value);
+  }
+
+  /**
+   * Returns whether this map has a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return {@code true} if this map has a value for {@code key}.
+   */
+  public boolean containsKey(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    return find(key) != null;
+  }
+
+  /**
+   * Returns this map with the value of a key set, replacing the previous one if any.
+   *
+   * @param key
+   *   The key.
+   * @param value
+   *   The new value of {@code key}.
+   *
+   * @return A map from {@code key} to {@code value}, or this map if that was already its value.
+   */
+  public TreeMap<K, V> put(final K key, final V value) {
+    parameterIsNotNull(key, "Key cannot be null");
+    parameterIsNotNull(value, "Value cannot be null");
+    final Node<K, V> newRoot = put(order, root, key, value);
+    return newRoot == root ? this : new TreeMap<>(order, newRoot);
+  }
+
+  /**
+   * Returns this map without a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return A map without {@code key}, or this map if it does not have it.
+   */
+  public TreeMap<K, V> remove(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    final @Nullable Node<K, V> newRoot = remove(order, root, key);
+    return newRoot == root ? this : new TreeMap<>(order, newRoot);
+  }
+
+  /**
+   * Returns the entry of the least key.
+   *
+   * @return The first entry, or an empty option if this map is empty.
+   */
+  public Option<Tuple2<K, V>> min() {
+    @Nullable Node<K, V> node = root;
+    while (node != null && node.left != null) {
+      node = node.left;
+    }
+    return entry(node);
+  }
+
+  /**
+   * Returns the entry of the greatest key.
+   *
+   * @return The last entry, or an empty option if this map is empty.
+   */
+  public Option<Tuple2<K, V>> max() {
+    @Nullable Node<K, V> node = root;
+    while (node != null && node.right != null) {
+      node = node.right;
+    }
+    return entry(node);
+  }
+
+  /**
+   * Returns the entry of the greatest key less than or equal to a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return The entry of {@code key}, or else of the closest key before it, if any.
+   */
+  public Option<Tuple2<K, V>> floor(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    @Nullable Node<K, V> node = root;
+    @Nullable Node<K, V> found = null;
+    while (node != null) {
+      final int comparison = order.compare(key, node.key);
+      if (comparison == 0) {
+        return entry(node);
+      }
+      if (comparison < 0) {
+        node = node.left;
+      } else {
+        found = node;
+        node = node.right;
+      }
+    }
+    return entry(found);
+  }
+
+  /**
+   * Returns the entry of the least key greater than or equal to a key.
+   *
+   * @param key
+   *   The key.
+   *
+   * @return The entry of {@code key}, or else of the closest key after it, if any.
+   */
+  public Option<Tuple2<K, V>> ceiling(final K key) {
+    parameterIsNotNull(key, "Key cannot be null");
+    @Nullable Node<K, V> node = root;
+    @Nullable Node<K, V> found = null;
+    while (node != null) {
+      final int comparison = order.compare(key, node.key);
+      if (comparison == 0) {
+        return entry(node);
+      }
+      if (comparison > 0) {
+        node = node.right;
+      } else {
+        found = node;
+        node = node.left;
+      }
+    }
+    return entry(found);
+  }
+
+  /**
+   * Returns the entries of the keys from a key, included, until another one, excluded. The range is
+   * not copied: iterating it walks this map from the first key of the range, and stops after the
+   * last one.
+   *
+   * @param from
+   *   The least key of the range.
+   * @param until
+   *   The key after the range.
+   *
+   * @return The entries whose keys are in the range, in ascending order.
+   */
+  public Iterable<Tuple2<K, V>> range(final K from, final K until) {
+    parameterIsNotNull(from, "From cannot be null");
+    parameterIsNotNull(until, "Until cannot be null");
+    return () -> new Cursor<>(order, root, from, until, TreeMap::entryOf);
+  }
+
+  /**
+   * Returns the entries of the keys from a key, included. The range is not copied: iterating it
+   * walks this map from the first key of the range.
+   *
+   * @param from
+   *   The least key of the range.
+   *
+   * @return The entries whose keys are in the range, in ascending order.
+   */
+  public Iterable<Tuple2<K, V>> rangeFrom(final K from) {
+    parameterIsNotNull(from, "From cannot be null");
+    return () -> new Cursor<>(order, root, from, null, TreeMap::entryOf);
+  }
+
+  /**
+   * Returns the entries of the keys until a key, excluded. The range is not copied: iterating it
+   * walks this map, and stops after the last key of the range.
+   *
+   * @param until
+   *   The key after the range.
+   *
+   * @return The entries whose keys are in the range, in ascending order.
+   */
+  public Iterable<Tuple2<K, V>> rangeUntil(final K until) {
+    parameterIsNotNull(until, "Until cannot be null");
+    return () -> new Cursor<>(order, root, null, until, TreeMap::entryOf);
+  }
+
+  /**
+   * Combines the entries of this map, in ascending order of their keys.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the key and value of the next entry.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullFunction3<? super B, ? super K, ? super V, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    B result = initial;
+    final Iterator<Node<K, V>> nodes = new Cursor<>(order, root, null, null, node -> node);
+    while (nodes.hasNext()) {
+      final Node<K, V> node = nodes.next();
+      result = f.apply(result, node.key, node.value);
+    }
+    return result;
+  }
+
+  @Override
+  public Iterator<Tuple2<K, V>> iterator() {
+    return new Cursor<>(order, root, null, null, TreeMap::entryOf);
+  }
+
+  /** Returns an iterator of the keys of this map, for {@link TreeSet}. */
+  Iterator<K> keyIterator(final @Nullable K from, final @Nullable K until) {
+    return new Cursor<>(order, root, from, until, node -> node.key);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Two tree maps are equal if they have equal entries, in the same order.
+   */
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof TreeMap<?, ?> that) || that.size() != size()) {
+      return false;
+    }
+    final Iterator<? extends Tuple2<?, ?>> those = that.iterator();
+    for (final Tuple2<K, V> entry : this) {
+      final Tuple2<?, ?> theirs = those.next();
+      if (!entry.a().equals(theirs.a()) || !entry.b().equals(theirs.b())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return foldLeft(0, (result, key, value) -> result + (key.hashCode() ^ value.hashCode()));
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("TreeMap{");
+    for (final Tuple2<K, V> entry : this) {
+      if (builder.length() > "TreeMap{".length()) {
+        builder.append(", ");
+      }
+      builder.append(entry.a()).append('=').append(entry.b());
+    }
+    return builder.append('}').toString();
+  }
+
+  private @Nullable Node<K, V> find(final K key) {
+    @Nullable Node<K, V> node = root;
+    while (node != null) {
+      final int comparison = order.compare(key, node.key);
+      if (comparison == 0) {
+        return node;
+      }
+      node = comparison < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> Tuple2<K, V> entryOf(final Node<K, V> node) {
+    return Tuple2.of(node.key, node.value);
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> Option<Tuple2<K, V>> entry(final @Nullable Node<K, V> node) {
+    return node == null ? Option.empty() : Option.present(entryOf(node));
+  }
+
+  private static int size(final @Nullable Node<?, ?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> @Nullable Node<K, V> balanced(
+      final List<K> keys,
+      final List<V> values,
+      final int from,
+      final int until
+  ) {
+    if (from == until) {
+      return null;
+    }
+    final int middle = (from + until) >>> 1;
+    return new Node<>(keys.get(middle), values.get(middle), balanced(keys, values, from, middle), balanced(keys, values, middle + 1, until));
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> Node<K, V> put(
+      final Order<? super K> order,
+      final @Nullable Node<K, V> node,
+      final K key,
+      final V value
+  ) {
+    if (node == null) {
+      return new Node<>(key, value, null, null);
+    }
+    final int comparison = order.compare(key, node.key);
+    if (comparison == 0) {
+      return node.value == value ? node : new Node<>(node.key, value, node.left, node.right);
+    }
+    if (comparison < 0) {
+      final Node<K, V> left = put(order, node.left, key, value);
+      return left == node.left ? node : balance(node.key, node.value, left, node.right);
+    }
+    final Node<K, V> right = put(order, node.right, key, value);
+    return right == node.right ? node : balance(node.key, node.value, node.left, right);
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> @Nullable Node<K, V> remove(
+      final Order<? super K> order,
+      final @Nullable Node<K, V> node,
+      final K key
+  ) {
+    if (node == null) {
+      return null;
+    }
+    final int comparison = order.compare(key, node.key);
+    if (comparison == 0) {
+      return glue(node.left, node.right);
+    }
+    if (comparison < 0) {
+      final @Nullable Node<K, V> left = remove(order, node.left, key);
+      return left == node.left ? node : balance(node.key, node.value, left, node.right);
+    }
+    final @Nullable Node<K, V> right = remove(order, node.right, key);
+    return right == node.right ? node : balance(node.key, node.value, node.left, right);
+  }
+
+  /** Joins the two subtrees of a removed node, whose sizes are balanced, around the nearest key of the larger one. */
+  private static <K extends @NonNull Object, V extends @NonNull Object> @Nullable Node<K, V> glue(
+      final @Nullable Node<K, V> left,
+      final @Nullable Node<K, V> right
+  ) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.size > right.size) {
+      Node<K, V> last = left;
+      while (last.right != null) {
+        last = last.right;
+      }
+      return balance(last.key, last.value, withoutLast(left), right);
+    }
+    Node<K, V> first = right;
+    while (first.left != null) {
+      first = first.left;
+    }
+    return balance(first.key, first.value, left, withoutFirst(right));
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> @Nullable Node<K, V> withoutFirst(final Node<K, V> node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    return balance(node.key, node.value, withoutFirst(node.left), node.right);
+  }
+
+  private static <K extends @NonNull Object, V extends @NonNull Object> @Nullable Node<K, V> withoutLast(final Node<K, V> node) {
+    if (node.right == null) {
+      return node.left;
+    }
+    return balance(node.key, node.value, node.left, withoutLast(node.right));
+  }
+
+  /**
+   * Creates a node from subtrees that were balanced before one of them gained or lost a single
+   * entry, rotating them if one is now too large.
+   */
+  private static <K extends @NonNull Object, V extends @NonNull Object> Node<K, V> balance(
+      final K key,
+      final V value,
+      final @Nullable Node<K, V> left,
+      final @Nullable Node<K, V> right
+  ) {
+    final int leftSize = size(left);
+    final int rightSize = size(right);
+    if (leftSize + rightSize > 1) {
+      if (right != null && rightSize > DELTA * leftSize) {
+        final Node<K, V> inner = right.left;
+        if (inner == null || size(inner) < RATIO * size(right.right)) {
+          return new Node<>(right.key, right.value, new Node<>(key, value, left, inner), right.right);
+        }
+        return new Node<>(
+            inner.key,
+            inner.value,
+            new Node<>(key, value, left, inner.left),
+            new Node<>(right.key, right.value, inner.right, right.right)
+        );
+      }
+      if (left != null && leftSize > DELTA * rightSize) {
+        final Node<K, V> inner = left.right;
+        if (inner == null || size(inner) < RATIO * size(left.left)) {
+          return new Node<>(left.key, left.value, left.left, new Node<>(key, value, inner, right));
+        }
+        return new Node<>(
+            inner.key,
+            inner.value,
+            new Node<>(left.key, left.value, left.left, inner.left),
+            new Node<>(key, value, inner.right, right)
+        );
+      }
+    }
+    return new Node<>(key, value, left, right);
+  }
+
+  /** A node of the tree, with the size of the subtree it is the root of. */
+  private static final class Node<K extends @NonNull Object, V extends @NonNull Object> {
+    final K key;
+    final V value;
+    final @Nullable Node<K, V> left;
+    final @Nullable Node<K, V> right;
+    final int size;
+
+    Node(final K key, final V value, final @Nullable Node<K, V> left, final @Nullable Node<K, V> right) {
+      this.key = key;
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.size = size(left) + size(right) + 1;
+    }
+  }
+
+  /**
+   * An iterator of the nodes of a tree in order, from the first key not less than {@code from}, to
+   * the last key less than {@code until}; either bound is absent when {@code null}. The stack holds
+   * the nodes whose left subtree is being visited.
+   */
+  private static final class Cursor<K extends @NonNull Object, V extends @NonNull Object, T extends @NonNull Object> implements Iterator<T> {
+    private final Order<? super K> order;
+    private final @Nullable K until;
+    private final NonNullFunction<Node<K, V>, T> element;
+    private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+    Cursor(
+        final Order<? super K> order,
+        final @Nullable Node<K, V> root,
+        final @Nullable K from,
+        final @Nullable K until,
+        final NonNullFunction<Node<K, V>, T> element
+    ) {
+      this.order = order;
+      this.until = until;
+      this.element = element;
+      @Nullable Node<K, V> node = root;
+      while (node != null) {
+        if (from == null || order.compare(node.key, from) >= 0) {
+          stack.push(node);
+          node = node.left;
+        } else {
+          node = node.right;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      final @Nullable Node<K, V> next = stack.peek();
+      return next != null && (until == null || order.compare(next.key, until) < 0);
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final Node<K, V> node = stack.pop();
+      for (@Nullable Node<K, V> left = node.right; left != null; left = left.left) {
+        stack.push(left);
+      }
+      return element.apply(node);
+    }
+  }
+
+  /**
+   * A mutable builder of a {@link TreeMap}, which collects entries in any order and sorts them
+   * once, when it builds the map. Of several entries with the same key, the last one wins.
+   *
+   * <p>A builder is not thread-safe.
+   *
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   */
+  public static final class Builder<K extends @NonNull Object, V extends @NonNull Object> {
+    private final Order<? super K> order;
+    private final List<Tuple2<K, V>> entries = new ArrayList<>();
+
+    private Builder(final Order<? super K> order) {
+      this.order = order;
+    }
+
+    /**
+     * Sets the value of a key, replacing the previous one if any.
+     *
+     * @param key
+     *   The key.
+     * @param value
+     *   The new value of {@code key}.
+     *
+     * @return This builder.
+     */
+    public Builder<K, V> put(final K key, final V value) {
+      parameterIsNotNull(key, "Key cannot be null");
+      parameterIsNotNull(value, "Value cannot be null");
+      entries.add(Tuple2.of(key, value));
+      return this;
+    }
+
+    /**
+     * Returns a map of the entries put so far.
+     *
+     * @return The built map.
+     */
+    public TreeMap<K, V> build() {
+      final List<Tuple2<K, V>> sorted = new ArrayList<>(entries);
+      // The sort is stable, so the last of the entries with the same key is the last one put.
+      sorted.sort((a, b) -> order.compare(a.a(), b.a()));
+      final List<K> keys = new ArrayList<>(sorted.size());
+      final List<V> values = new ArrayList<>(sorted.size());
+      for (final Tuple2<K, V> entry : sorted) {
+        if (!keys.isEmpty() && order.compare(keys.get(keys.size() - 1), entry.a()) == 0) {
+          values.set(values.size() - 1, entry.b());
+        } else {
+          keys.add(entry.a());
+          values.add(entry.b());
+        }
+      }
+      return new TreeMap<>(order, balanced(keys, values, 0, keys.size()));
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Foldable.k {
+  }
+}
+
+final class treemap_foldable implements Foldable<TreeMap.k> {
+  private static final treemap_foldable instance = new treemap_foldable();
+
+  private treemap_foldable() {
+  }
+
+  static treemap_foldable instance() {
+    return instance;
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<TreeMap.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final TreeMap<?, Input> map = foldable.fix();
+    return map.foldLeft(empty, (result, key, value) -> f.apply(result, value));
+  }
+}
@@ -0,0 +1,338 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.control.Unit;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.equivalence.Order;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable set of elements, sorted by an {@link Order}, whose updates return new sets sharing
+ * most of their structure with the original.
+ *
+ * <p>A tree set is a {@link TreeMap} from its elements to {@link Unit}, and has the same costs:
+ * checking, adding or removing an element, and finding the nearest elements to a value, take
+ * logarithmic time.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class TreeSet<A extends @NonNull Object> implements Kind<TreeSet.k, A>, Iterable<A> {
+  private final TreeMap<A, Unit> map;
+
+  private TreeSet(final TreeMap<A, Unit> map) {
+    this.map = map;
+  }
+
+  /**
+   * Returns the empty set, sorted by the natural order of the elements.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty set.
+   */
+  public static <A extends @NonNull Comparable<? super A>> TreeSet<A> empty() {
+    return new TreeSet<>(TreeMap.<A, Unit>empty());
+  }
+
+  /**
+   * Returns the empty set, sorted by an {@link Order} of the elements.
+   *
+   * @param order
+   *   The order of the elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty set.
+   */
+  public static <A extends @NonNull Object> TreeSet<A> empty(final Order<? super A> order) {
+    return new TreeSet<>(TreeMap.empty(order));
+  }
+
+  /**
+   * Creates a set of the elements of an iterable, in any order.
+   *
+   * @param order
+   *   The order of the elements.
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A set of {@code values}.
+   */
+  public static <A extends @NonNull Object> TreeSet<A> from(final Order<? super A> order, final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final TreeMap.Builder<A, Unit> builder = TreeMap.builder(order);
+    for (final A value : values) {
+      builder.put(value, Unit.unit());
+    }
+    return new TreeSet<>(builder.build());
+  }
+
+  /**
+   * Creates a set of elements that are already sorted, in linear time. The elements must be in
+   * strictly ascending order.
+   *
+   * @param order
+   *   The order of the elements.
+   * @param values
+   *   The elements, in strictly ascending order.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A set of {@code values}.
+   * @throws IllegalArgumentException
+   *   If the elements are not in strictly ascending order.
+   */
+  public static <A extends @NonNull Object> TreeSet<A> fromSorted(final Order<? super A> order, final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final List<Tuple2<A, Unit>> entries = new ArrayList<>();
+    for (final A value : values) {
+      entries.add(Tuple2.of(value, Unit.unit()));
+    }
+    return new TreeSet<>(TreeMap.fromSorted(order, entries));
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code TreeSet}, which folds the elements of a set in
+   * ascending order.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<TreeSet.k> foldable() {
+    return treeset_foldable.instance();
+  }
+
+  /**
+   * Returns the number of elements of this set.
+   *
+   * @return The size of this set.
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Returns whether this set has no elements.
+   *
+   * @return {@code true} if this set is empty.
+   */
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  /**
+   * Returns whether this set has an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return {@code true} if {@code value} is in this set.
+   */
+  public boolean contains(final A value) {
+    return map.containsKey(value);
+  }
+
+  /**
+   * Returns this set with an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return A set with {@code value}, or this set if it already has it.
+   */
+  public TreeSet<A> add(final A value) {
+    return wrap(map.put(value, Unit.unit()));
+  }
+
+  /**
+   * Returns this set without an element.
+   *
+   * @param value
+   *   The element.
+   *
+   * @return A set without {@code value}, or this set if it does not have it.
+   */
+  public TreeSet<A> remove(final A value) {
+    return wrap(map.remove(value));
+  }
+
+  /**
+   * Returns the least element.
+   *
+   * @return The first element, or an empty option if this set is empty.
+   */
+  public Option<A> min() {
+    return map.min().map(Tuple2::a);
+  }
+
+  /**
+   * Returns the greatest element.
+   *
+   * @return The last element, or an empty option if this set is empty.
+   */
+  public Option<A> max() {
+    return map.max().map(Tuple2::a);
+  }
+
+  /**
+   * Returns the greatest element less than or equal to a value.
+   *
+   * @param value
+   *   The value.
+   *
+   * @return {@code value} if it is in this set, or else the closest element before it, if any.
+   */
+  public Option<A> floor(final A value) {
+    return map.floor(value).map(Tuple2::a);
+  }
+
+  /**
+   * Returns the least element greater than or equal to a value.
+   *
+   * @param value
+   *   The value.
+   *
+   * @return {@code value} if it is in this set, or else the closest element after it, if any.
+   */
+  public Option<A> ceiling(final A value) {
+    return map.ceiling(value).map(Tuple2::a);
+  }
+
+  /**
+   * Returns the elements from a value, included, until another one, excluded. The range is not
+   * copied: iterating it walks this set from the first element of the range, and stops after the
+   * last one.
+   *
+   * @param from
+   *   The least value of the range.
+   * @param until
+   *   The value after the range.
+   *
+   * @return The elements in the range, in ascending order.
+   */
+  public Iterable<A> range(final A from, final A until) {
+    parameterIsNotNull(from, "From cannot be null");
+    parameterIsNotNull(until, "Until cannot be null");
+    return () -> map.keyIterator(from, until);
+  }
+
+  /**
+   * Returns the elements from a value, included. The range is not copied: iterating it walks this
+   * set from the first element of the range.
+   *
+   * @param from
+   *   The least value of the range.
+   *
+   * @return The elements in the range, in ascending order.
+   */
+  public Iterable<A> rangeFrom(final A from) {
+    parameterIsNotNull(from, "From cannot be null");
+    return () -> map.keyIterator(from, null);
+  }
+
+  /**
+   * Returns the elements until a value, excluded. The range is not copied: iterating it walks this
+   * set, and stops after the last element of the range.
+   *
+   * @param until
+   *   The value after the range.
+   *
+   * @return The elements in the range, in ascending order.
+   */
+  public Iterable<A> rangeUntil(final A until) {
+    parameterIsNotNull(until, "Until cannot be null");
+    return () -> map.keyIterator(null, until);
+  }
+
+  /**
+   * Combines the elements of this set, in ascending order.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return map.foldLeft(initial, (result, value, unit) -> f.apply(result, value));
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return map.keyIterator(null, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Two tree sets are equal if they have equal elements, in the same order.
+   */
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    return this == other || other instanceof TreeSet<?> that && map.equals(that.map);
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("TreeSet{");
+    for (final A value : this) {
+      if (builder.length() > "TreeSet{".length()) {
+        builder.append(", ");
+      }
+      builder.append(value);
+    }
+    return builder.append('}').toString();
+  }
+
+  private TreeSet<A> wrap(final TreeMap<A, Unit> updated) {
+    return updated == map ? this : new TreeSet<>(updated);
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Foldable.k {
+  }
+}
+
+final class treeset_foldable implements Foldable<TreeSet.k> {
+  private static final treeset_foldable instance = new treeset_foldable();
+
+  private treeset_foldable() {
+  }
+
+  static treeset_foldable instance() {
+    return instance;
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<TreeSet.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final TreeSet<Input> set = foldable.fix();
+    return set.foldLeft(empty, f);
+  }
+}
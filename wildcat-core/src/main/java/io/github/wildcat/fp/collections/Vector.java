@@ -0,0 +1,721 @@
+package io.github.wildcat.fp.collections;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.control.Eval;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.algebraic.MonoidK;
+import io.github.wildcat.fp.typeclasses.core.Applicative;
+import io.github.wildcat.fp.typeclasses.core.Functor;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import io.github.wildcat.fp.typeclasses.traversal.Traverse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable, indexed sequence of elements, whose updates return new vectors sharing most of
+ * their structure with the original.
+ *
+ * <p>A vector is a trie of arrays of 32 elements, indexed by the bits of the index, five at a
+ * time, followed by a tail of up to 32 elements that are not in the trie yet. Reading or updating
+ * an element only visits one node per level, and a vector of a billion elements has six, so both
+ * take effectively constant time; appending usually copies the tail alone, and otherwise one node
+ * per level. Building a vector from many elements is cheaper still with a {@link Builder}, which
+ * fills the arrays in place.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class Vector<A extends @NonNull Object> implements Kind<Vector.k, A>, Iterable<A> {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final Vector<?> EMPTY = new Vector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+  private final int size;
+  /** The number of index bits below the root: {@link #BITS} times the number of levels under it. */
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private Vector(final int size, final int shift, final Object[] root, final Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  /**
+   * Returns the empty vector.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty vector.
+   */
+  public static <A extends @NonNull Object> Vector<A> empty() {
+    return genericCast(EMPTY);
+  }
+
+  /**
+   * Creates a vector of the given elements.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A vector of {@code values}, in order.
+   */
+  @SafeVarargs
+  public static <A extends @NonNull Object> Vector<A> of(final A... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final Builder<A> builder = builder();
+    for (final A value : values) {
+      builder.add(value);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a vector of the elements of an iterable.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A vector of {@code values}, in order.
+   */
+  public static <A extends @NonNull Object> Vector<A> from(final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    if (values instanceof Vector<? extends A> vector) {
+      return genericCast(vector);
+    }
+    return Vector.<A>builder().addAll(values).build();
+  }
+
+  /**
+   * Returns a builder starting from no elements.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An empty builder.
+   */
+  public static <A extends @NonNull Object> Builder<A> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Returns the {@link Functor} instance for {@code Vector}.
+   *
+   * @return The functor instance.
+   */
+  public static Functor<Vector.k> functor() {
+    return vector_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code Vector}.
+   *
+   * @return The monad instance.
+   */
+  public static Monad<Vector.k> monad() {
+    return vector_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code Vector}.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<Vector.k> foldable() {
+    return vector_instances.instance();
+  }
+
+  /**
+   * Returns the {@link Traverse} instance for {@code Vector}.
+   *
+   * @return The traverse instance.
+   */
+  public static Traverse<Vector.k> traverse() {
+    return vector_instances.instance();
+  }
+
+  /**
+   * Returns the {@link MonoidK} instance for {@code Vector}, which concatenates vectors.
+   *
+   * @return The monoidK instance.
+   */
+  public static MonoidK<Vector.k> monoidK() {
+    return vector_instances.instance();
+  }
+
+  /**
+   * Returns the number of elements of this vector.
+   *
+   * @return The size of this vector.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether this vector has no elements.
+   *
+   * @return {@code true} if this vector is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at an index.
+   *
+   * @param index
+   *   The index of the element.
+   *
+   * @return The element at {@code index}.
+   * @throws IndexOutOfBoundsException
+   *   If {@code index} is negative, or not less than the size of this vector.
+   */
+  public A get(final int index) {
+    Objects.checkIndex(index, size);
+    return genericCast(leafFor(index)[index & MASK]);
+  }
+
+  /**
+   * Returns this vector with the element at an index replaced.
+   *
+   * @param index
+   *   The index of the element.
+   * @param value
+   *   The new element.
+   *
+   * @return A vector with {@code value} at {@code index}.
+   * @throws IndexOutOfBoundsException
+   *   If {@code index} is negative, or not less than the size of this vector.
+   */
+  public Vector<A> updated(final int index, final A value) {
+    Objects.checkIndex(index, size);
+    parameterIsNotNull(value, "Value cannot be null");
+    if (index >= tailOffset()) {
+      final Object[] newTail = tail.clone();
+      newTail[index & MASK] = value;
+      return new Vector<>(size, shift, root, newTail);
+    }
+    return new Vector<>(size, shift, updated(shift, root, index, value), tail);
+  }
+
+  private static Object[] updated(final int level, final Object[] node, final int index, final Object value) {
+    final Object[] copy = node.clone();
+    if (level == 0) {
+      copy[index & MASK] = value;
+    } else {
+      final int child = (index >>> level) & MASK;
+      copy[child] = updated(level - BITS, (Object[]) node[child], index, value);
+    }
+    return copy;
+  }
+
+  /**
+   * Returns this vector followed by an element.
+   *
+   * @param value
+   *   The element to append.
+   *
+   * @return A vector with {@code value} after the elements of this one.
+   */
+  public Vector<A> appended(final A value) {
+    parameterIsNotNull(value, "Value cannot be null");
+    if (tail.length < WIDTH) {
+      final Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+      newTail[tail.length] = value;
+      return new Vector<>(size + 1, shift, root, newTail);
+    }
+    final int count = tailOffset();
+    final Object[] newTail = { value };
+    if ((count >>> BITS) >= 1 << shift) {
+      final Object[] newRoot = new Object[WIDTH];
+      newRoot[0] = root;
+      newRoot[1] = path(shift, tail);
+      return new Vector<>(size + 1, shift + BITS, newRoot, newTail);
+    }
+    return new Vector<>(size + 1, shift, pushed(shift, root, count, tail), newTail);
+  }
+
+  /** Copies the path to the leaf at {@code count}, and puts {@code leaf} there. */
+  private static Object[] pushed(final int level, final Object[] node, final int count, final Object[] leaf) {
+    final Object[] copy = node.clone();
+    final int child = (count >>> level) & MASK;
+    if (level == BITS) {
+      copy[child] = leaf;
+    } else {
+      final Object @Nullable [] next = (Object[]) node[child];
+      copy[child] = next == null ? path(level - BITS, leaf) : pushed(level - BITS, next, count, leaf);
+    }
+    return copy;
+  }
+
+  /** Creates the nodes leading from a new node at {@code level} down to {@code leaf}. */
+  private static Object[] path(final int level, final Object[] leaf) {
+    if (level == 0) {
+      return leaf;
+    }
+    final Object[] node = new Object[WIDTH];
+    node[0] = path(level - BITS, leaf);
+    return node;
+  }
+
+  /**
+   * Returns this vector followed by another one.
+   *
+   * @param other
+   *   The vector to follow this one.
+   *
+   * @return The concatenation of both vectors.
+   */
+  public Vector<A> concat(final Vector<? extends A> other) {
+    parameterIsNotNull(other, "Vector cannot be null");
+    if (other.isEmpty()) {
+      return this;
+    }
+    return isEmpty() ? genericCast(other) : toBuilder().addAll(other).build();
+  }
+
+  /**
+   * Transforms every element of this vector.
+   *
+   * @param f
+   *   The function to apply to every element.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A vector of the transformed elements.
+   */
+  public <B extends @NonNull Object> Vector<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final Builder<B> builder = builder();
+    for (final A value : this) {
+      builder.add(f.apply(value));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Replaces every element of this vector with the elements of the vector produced from it.
+   *
+   * @param f
+   *   The function producing a vector from every element.
+   * @param <B>
+   *   The type of the elements of the produced vectors.
+   *
+   * @return A vector of the elements of the produced vectors, in order.
+   */
+  public <B extends @NonNull Object> Vector<B> flatMap(final NonNullFunction<? super A, ? extends Vector<? extends B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final Builder<B> builder = builder();
+    for (final A value : this) {
+      builder.addAll(f.apply(value));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Keeps the elements of this vector that satisfy a predicate.
+   *
+   * @param predicate
+   *   The predicate to test the elements with.
+   *
+   * @return A vector of the elements satisfying {@code predicate}, in order.
+   */
+  public Vector<A> filter(final Predicate<? super A> predicate) {
+    parameterIsNotNull(predicate, "Predicate cannot be null");
+    final Builder<A> builder = builder();
+    for (final A value : this) {
+      if (predicate.test(value)) {
+        builder.add(value);
+      }
+    }
+    return builder.size() == size ? this : builder.build();
+  }
+
+  /**
+   * Combines the elements of this vector, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  public <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    B result = initial;
+    for (int start = 0; start < size; start += WIDTH) {
+      final Object[] leaf = leafFor(start);
+      final int end = Math.min(WIDTH, size - start);
+      for (int i = 0; i < end; i++) {
+        result = f.apply(result, genericCast(leaf[i]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a builder starting from the elements of this vector. The builder shares the structure
+   * of this vector, and only copies the few nodes it changes.
+   *
+   * @return A builder of this vector and the elements added to it.
+   */
+  public Builder<A> toBuilder() {
+    return new Builder<>(this);
+  }
+
+  /**
+   * Returns the elements of this vector as an unmodifiable list.
+   *
+   * @return A list of the elements of this vector.
+   */
+  public List<A> toList() {
+    final List<A> values = new ArrayList<>(size);
+    for (final A value : this) {
+      values.add(value);
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  @Override
+  public Iterator<A> iterator() {
+    return new Iterator<>() {
+      private int index;
+      private Object[] leaf = tail;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public A next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        if ((index & MASK) == 0) {
+          leaf = leafFor(index);
+        }
+        return genericCast(leaf[index++ & MASK]);
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Vector<?> that) || that.size != size) {
+      return false;
+    }
+    final Iterator<?> those = that.iterator();
+    for (final A value : this) {
+      if (!value.equals(those.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (final A value : this) {
+      hash = 31 * hash + value.hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("Vector[");
+    for (final A value : this) {
+      if (builder.length() > "Vector[".length()) {
+        builder.append(", ");
+      }
+      builder.append(value);
+    }
+    return builder.append(']').toString();
+  }
+
+  /** The index of the first element of the tail. */
+  private int tailOffset() {
+    return size - tail.length;
+  }
+
+  /** Returns the array holding the element at an index, which is valid. */
+  private Object[] leafFor(final int index) {
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  /**
+   * A mutable builder of a {@link Vector}, filling the arrays of the vector in place instead of
+   * copying them on every element. A builder can go on being used once it has built a vector: the
+   * nodes it shares with that vector are copied before they are changed.
+   *
+   * <p>A builder is not thread-safe.
+   *
+   * @param <A>
+   *   The type of the elements.
+   */
+  public static final class Builder<A extends @NonNull Object> {
+    private int size;
+    private int shift;
+    private Object[] root;
+    private Object[] tail = new Object[WIDTH];
+    private int tailSize;
+    /** Whether the rightmost path of the trie is shared with a built vector, and must be copied. */
+    private boolean shared;
+
+    private Builder() {
+      this.shift = BITS;
+      this.root = new Object[WIDTH];
+    }
+
+    private Builder(final Vector<A> vector) {
+      this.size = vector.size;
+      this.shift = vector.shift;
+      this.root = vector.root;
+      this.tailSize = vector.tail.length;
+      System.arraycopy(vector.tail, 0, tail, 0, tailSize);
+      this.shared = true;
+    }
+
+    /**
+     * Returns the number of elements added so far.
+     *
+     * @return The size of the vector being built.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Adds an element after the ones added so far.
+     *
+     * @param value
+     *   The element.
+     *
+     * @return This builder.
+     */
+    public Builder<A> add(final A value) {
+      parameterIsNotNull(value, "Value cannot be null");
+      if (tailSize == WIDTH) {
+        pushTail();
+      }
+      tail[tailSize++] = value;
+      size++;
+      return this;
+    }
+
+    /**
+     * Adds the elements of an iterable after the ones added so far.
+     *
+     * @param values
+     *   The elements.
+     *
+     * @return This builder.
+     */
+    public Builder<A> addAll(final Iterable<? extends A> values) {
+      parameterIsNotNull(values, "Values cannot be null");
+      for (final A value : values) {
+        add(value);
+      }
+      return this;
+    }
+
+    /**
+     * Returns a vector of the elements added so far.
+     *
+     * @return The built vector.
+     */
+    public Vector<A> build() {
+      if (size == 0) {
+        return empty();
+      }
+      shared = true;
+      return new Vector<>(size, shift, root, Arrays.copyOf(tail, tailSize));
+    }
+
+    private void pushTail() {
+      final Object[] leaf = tail;
+      final int count = size - tailSize;
+      tail = new Object[WIDTH];
+      tailSize = 0;
+      if ((count >>> BITS) >= 1 << shift) {
+        final Object[] newRoot = new Object[WIDTH];
+        newRoot[0] = root;
+        newRoot[1] = path(shift, leaf);
+        root = newRoot;
+        shift += BITS;
+        shared = false;
+        return;
+      }
+      if (shared) {
+        root = root.clone();
+      }
+      Object[] node = root;
+      for (int level = shift; level > BITS; level -= BITS) {
+        final int child = (count >>> level) & MASK;
+        Object @Nullable [] next = (Object[]) node[child];
+        if (next == null) {
+          node[child] = path(level - BITS, leaf);
+          shared = false;
+          return;
+        }
+        if (shared) {
+          next = next.clone();
+          node[child] = next;
+        }
+        node = next;
+      }
+      node[(count >>> BITS) & MASK] = leaf;
+      shared = false;
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Monad.k, Traverse.k, MonoidK.k {
+  }
+}
+
+final class vector_instances implements Monad<Vector.k>, Traverse<Vector.k>, MonoidK<Vector.k> {
+  private static final vector_instances instance = new vector_instances();
+
+  private vector_instances() {
+  }
+
+  static vector_instances instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Vector<B> map(
+      final Kind<Vector.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final Vector<A> vector = fa.fix();
+    return vector.map(f);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Vector<B> ap(
+      final Kind<Vector.k, A> fa,
+      final Kind<Vector.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final Vector<A> vector = fa.fix();
+    final Vector<@NonNull NonNullFunction<? super A, ? extends B>> functions = f.fix();
+    return functions.flatMap(vector::map);
+  }
+
+  @Override
+  public <T extends @NonNull Object> Vector<T> pure(final T value) {
+    return Vector.of(value);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Vector<B> flatMap(
+      final Kind<Vector.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<Vector.k, B>> f
+  ) {
+    final Vector<A> vector = fa.fix();
+    return vector.flatMap(value -> f.apply(value).<Vector<B>>fix());
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<Vector.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final Vector<Input> vector = foldable.fix();
+    return vector.foldLeft(empty, f);
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Eval<Output> foldRight(
+      final Kind<Vector.k, Input> foldable,
+      final Eval<Output> initial,
+      final NonNullBiFunction<? super Input, ? super Eval<Output>, ? extends Eval<Output>> f
+  ) {
+    final Vector<Input> vector = foldable.fix();
+    return Eval.defer(() -> foldRight(vector, 0, initial, f));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> Eval<B> foldRight(
+      final Vector<A> vector,
+      final int index,
+      final Eval<B> initial,
+      final NonNullBiFunction<? super A, ? super Eval<B>, ? extends Eval<B>> f
+  ) {
+    if (index == vector.size()) {
+      return initial;
+    }
+    return f.apply(vector.get(index), Eval.defer(() -> foldRight(vector, index + 1, initial, f)));
+  }
+
+  @Override
+  public <G extends Applicative.k, A extends @NonNull Object, B extends @NonNull Object> Kind<G, Kind<Vector.k, B>> traverse(
+      final Applicative<G> applicative,
+      final NonNullFunction<? super A, ? extends Kind<G, B>> f,
+      final Kind<Vector.k, A> traversable
+  ) {
+    final Vector<A> vector = traversable.fix();
+    // Appending shares the vector so far, so the applicative may reuse any partial result.
+    Kind<G, Vector<B>> result = applicative.pure(Vector.empty());
+    for (final A value : vector) {
+      final Kind<G, Vector<B>> previous = result;
+      result = applicative.ap(
+          f.apply(value),
+          applicative.map(previous, done -> (NonNullFunction<B, Vector<B>>) done::appended)
+      );
+    }
+    return genericCast(result);
+  }
+
+  @Override
+  public <T extends @NonNull Object> Vector<T> emptyK() {
+    return Vector.empty();
+  }
+
+  @Override
+  public <T extends @NonNull Object> Vector<T> combineK(final Kind<Vector.k, T> a, final Kind<Vector.k, T> b) {
+    final Vector<T> first = a.fix();
+    final Vector<T> second = b.fix();
+    return first.concat(second);
+  }
+}
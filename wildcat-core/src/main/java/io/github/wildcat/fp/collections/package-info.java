@@ -0,0 +1,5 @@
+/**
+ * This package contains persistent, immutable collections, whose updates share most of their
+ * structure with the collection they update.
+ */
+package io.github.wildcat.fp.collections;
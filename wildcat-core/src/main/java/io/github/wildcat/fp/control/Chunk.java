@@ -0,0 +1,1183 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Applicative;
+import io.github.wildcat.fp.typeclasses.core.Functor;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import io.github.wildcat.fp.typeclasses.traversal.Traverse;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable, indexed sequence of elements, which is the unit of work of a {@link Stream}.
+ *
+ * <p>Besides chunks of references, there are chunks backed by arrays of primitives:
+ * {@link Ints}, {@link Longs}, {@link Doubles} and {@link Bytes}. They hold their elements
+ * unboxed, and their {@code mapInt}, {@code foldLeftInt} and similar methods process them without
+ * boxing. {@link #mapToInt(ToIntFunction)} and its siblings produce such chunks from any chunk.
+ *
+ * <p>Slicing a chunk, with {@link #slice(int, int)}, {@link #take(int)} or {@link #drop(int)},
+ * does not copy its elements: the result shares the backing array of the original chunk.
+ * {@link #concat(Chunk) Concatenating} two chunks does not copy either, and takes constant time:
+ * the result is a {@link Concat tree} of the two chunks.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public sealed interface Chunk<A extends @NonNull Object> extends Kind<Chunk.k, A>, Iterable<A>
+    permits Chunk.Boxed, Chunk.Ints, Chunk.Longs, Chunk.Doubles, Chunk.Bytes, Chunk.Concat {
+
+  /**
+   * Returns the empty chunk.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty chunk.
+   */
+  static <A extends @NonNull Object> Chunk<A> empty() {
+    return genericCast(Boxed.EMPTY);
+  }
+
+  /**
+   * Creates a chunk holding a single element.
+   *
+   * @param value
+   *   The element.
+   * @param <A>
+   *   The type of the element.
+   *
+   * @return A chunk holding {@code value}.
+   */
+  static <A extends @NonNull Object> Chunk<A> of(final A value) {
+    parameterIsNotNull(value, "Value cannot be null");
+    return new Boxed<>(new Object[] { value }, 0, 1);
+  }
+
+  /**
+   * Creates a chunk holding the given elements.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  @SafeVarargs
+  static <A extends @NonNull Object> Chunk<A> of(final A... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    // Copied element by element: the varargs array itself never escapes into the chunk.
+    final Object[] array = new Object[values.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = parameterIsNotNull(values[i], "Values cannot contain null");
+    }
+    return array.length == 0 ? empty() : new Boxed<>(array, 0, array.length);
+  }
+
+  /**
+   * Creates a chunk holding the elements of a list. The list is copied.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  static <A extends @NonNull Object> Chunk<A> from(final List<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final Object[] array = values.toArray();
+    for (final Object value : array) {
+      parameterIsNotNull(value, "Values cannot contain null");
+    }
+    return array.length == 0 ? empty() : new Boxed<>(array, 0, array.length);
+  }
+
+  /**
+   * Creates a chunk holding the given integers, unboxed. The array is copied.
+   *
+   * @param values
+   *   The integers.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  static Ints ints(final int... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    return new Ints(values.clone(), 0, values.length);
+  }
+
+  /**
+   * Creates a chunk holding the given longs, unboxed. The array is copied.
+   *
+   * @param values
+   *   The longs.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  static Longs longs(final long... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    return new Longs(values.clone(), 0, values.length);
+  }
+
+  /**
+   * Creates a chunk holding the given doubles, unboxed. The array is copied.
+   *
+   * @param values
+   *   The doubles.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  static Doubles doubles(final double... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    return new Doubles(values.clone(), 0, values.length);
+  }
+
+  /**
+   * Creates a chunk holding the given bytes, unboxed. The array is copied.
+   *
+   * @param values
+   *   The bytes.
+   *
+   * @return A chunk holding {@code values}, in order.
+   */
+  static Bytes bytes(final byte... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    return new Bytes(values.clone(), 0, values.length);
+  }
+
+  /**
+   * Creates a chunk holding the remaining bytes of a buffer, unboxed. The bytes are copied; the
+   * position of the buffer is left unchanged.
+   *
+   * @param buffer
+   *   The buffer.
+   *
+   * @return A chunk holding the remaining bytes of {@code buffer}, in order.
+   */
+  static Bytes bytes(final ByteBuffer buffer) {
+    parameterIsNotNull(buffer, "Buffer cannot be null");
+    final byte[] values = new byte[buffer.remaining()];
+    buffer.duplicate().get(values);
+    return new Bytes(values, 0, values.length);
+  }
+
+  /**
+   * Returns the {@link Functor} instance for {@code Chunk}.
+   *
+   * @return The functor instance.
+   */
+  static Functor<Chunk.k> functor() {
+    return chunk_traverse.instance();
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code Chunk}.
+   *
+   * @return The foldable instance.
+   */
+  static Foldable<Chunk.k> foldable() {
+    return chunk_traverse.instance();
+  }
+
+  /**
+   * Returns the {@link Traverse} instance for {@code Chunk}.
+   *
+   * @return The traverse instance.
+   */
+  static Traverse<Chunk.k> traverse() {
+    return chunk_traverse.instance();
+  }
+
+  /**
+   * Returns the number of elements of this chunk.
+   *
+   * @return The size of this chunk.
+   */
+  int size();
+
+  /**
+   * Returns the element at an index.
+   *
+   * @param index
+   *   The index of the element.
+   *
+   * @return The element at {@code index}.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If {@code index} is negative or not less than the size of this chunk.
+   */
+  A get(int index);
+
+  /**
+   * Returns the elements from {@code from}, inclusive, to {@code to}, exclusive, without copying
+   * them.
+   *
+   * @param from
+   *   The index of the first element.
+   * @param to
+   *   The index after the last element.
+   *
+   * @return The elements of this chunk in the given range.
+   *
+   * @throws IndexOutOfBoundsException
+   *   If the range is not within this chunk.
+   */
+  Chunk<A> slice(int from, int to);
+
+  /**
+   * Returns whether this chunk has no elements.
+   *
+   * @return {@code true} if this chunk is empty.
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns the first {@code n} elements of this chunk, or all of them if it has fewer.
+   *
+   * @param n
+   *   The number of elements to take.
+   *
+   * @return The first elements of this chunk.
+   */
+  default Chunk<A> take(final int n) {
+    return n >= size() ? this : slice(0, Math.max(n, 0));
+  }
+
+  /**
+   * Returns the elements of this chunk after the first {@code n}.
+   *
+   * @param n
+   *   The number of elements to drop.
+   *
+   * @return The remaining elements of this chunk.
+   */
+  default Chunk<A> drop(final int n) {
+    return n <= 0 ? this : slice(Math.min(n, size()), size());
+  }
+
+  /**
+   * Returns this chunk followed by another one, in constant time and without copying either.
+   *
+   * @param other
+   *   The chunk to follow this one.
+   *
+   * @return The concatenation of both chunks.
+   */
+  default Chunk<A> concat(final Chunk<A> other) {
+    parameterIsNotNull(other, "Chunk cannot be null");
+    if (other.isEmpty()) {
+      return this;
+    }
+    return isEmpty() ? other : new Concat<>(this, other);
+  }
+
+  /**
+   * Transforms every element of this chunk.
+   *
+   * @param f
+   *   The function to apply to every element.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A chunk holding the transformed elements.
+   */
+  default <B extends @NonNull Object> Chunk<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final Object[] mapped = new Object[size()];
+    int i = 0;
+    for (final A value : this) {
+      mapped[i++] = f.apply(value);
+    }
+    return i == 0 ? empty() : new Boxed<>(mapped, 0, i);
+  }
+
+  /**
+   * Transforms every element of this chunk to an integer, held unboxed.
+   *
+   * @param f
+   *   The function to apply to every element.
+   *
+   * @return A chunk holding the integers.
+   */
+  default Ints mapToInt(final ToIntFunction<? super A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final int[] mapped = new int[size()];
+    int i = 0;
+    for (final A value : this) {
+      mapped[i++] = f.applyAsInt(value);
+    }
+    return new Ints(mapped, 0, i);
+  }
+
+  /**
+   * Transforms every element of this chunk to a long, held unboxed.
+   *
+   * @param f
+   *   The function to apply to every element.
+   *
+   * @return A chunk holding the longs.
+   */
+  default Longs mapToLong(final ToLongFunction<? super A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final long[] mapped = new long[size()];
+    int i = 0;
+    for (final A value : this) {
+      mapped[i++] = f.applyAsLong(value);
+    }
+    return new Longs(mapped, 0, i);
+  }
+
+  /**
+   * Transforms every element of this chunk to a double, held unboxed.
+   *
+   * @param f
+   *   The function to apply to every element.
+   *
+   * @return A chunk holding the doubles.
+   */
+  default Doubles mapToDouble(final ToDoubleFunction<? super A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    final double[] mapped = new double[size()];
+    int i = 0;
+    for (final A value : this) {
+      mapped[i++] = f.applyAsDouble(value);
+    }
+    return new Doubles(mapped, 0, i);
+  }
+
+  /**
+   * Keeps the elements of this chunk that satisfy a predicate.
+   *
+   * @param predicate
+   *   The predicate to test every element with.
+   *
+   * @return A chunk holding the elements satisfying {@code predicate}, in order.
+   */
+  default Chunk<A> filter(final Predicate<? super A> predicate) {
+    parameterIsNotNull(predicate, "Predicate cannot be null");
+    final int size = size();
+    final Object[] kept = new Object[size];
+    int count = 0;
+    for (final A value : this) {
+      if (predicate.test(value)) {
+        kept[count++] = value;
+      }
+    }
+    if (count == size) {
+      return this;
+    }
+    return count == 0 ? empty() : new Boxed<>(kept, 0, count);
+  }
+
+  /**
+   * Combines the elements of this chunk, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return The combined result.
+   */
+  default <B extends @NonNull Object> B foldLeft(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    B result = initial;
+    for (final A value : this) {
+      result = f.apply(result, value);
+    }
+    return result;
+  }
+
+  /**
+   * Copies the elements of this chunk to a list.
+   *
+   * @return A list holding the elements of this chunk, in order.
+   */
+  default List<A> toList() {
+    final List<A> list = new ArrayList<>(size());
+    for (final A value : this) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  @Override
+  default Iterator<A> iterator() {
+    return new Iterator<>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < size();
+      }
+
+      @Override
+      public A next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return get(index++);
+      }
+    };
+  }
+
+  /**
+   * A chunk backed by a range of an array of references.
+   */
+  final class Boxed<A extends @NonNull Object> implements Chunk<A> {
+    private static final Boxed<?> EMPTY = new Boxed<>(new Object[0], 0, 0);
+
+    private final Object[] values;
+    private final int offset;
+    private final int length;
+
+    Boxed(final Object[] values, final int offset, final int length) {
+      this.values = values;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public A get(final int index) {
+      return genericCast(values[offset + checkIndex(index, length)]);
+    }
+
+    @Override
+    public Chunk<A> slice(final int from, final int to) {
+      checkRange(from, to, length);
+      return from == 0 && to == length ? this : new Boxed<>(values, offset + from, to - from);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * A chunk backed by a range of an array of integers.
+   */
+  final class Ints implements Chunk<Integer> {
+    private final int[] values;
+    private final int offset;
+    private final int length;
+
+    Ints(final int[] values, final int offset, final int length) {
+      this.values = values;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public Integer get(final int index) {
+      return getInt(index);
+    }
+
+    /**
+     * Returns the integer at an index, unboxed.
+     *
+     * @param index
+     *   The index of the integer.
+     *
+     * @return The integer at {@code index}.
+     */
+    public int getInt(final int index) {
+      return values[offset + checkIndex(index, length)];
+    }
+
+    @Override
+    public Ints slice(final int from, final int to) {
+      checkRange(from, to, length);
+      return from == 0 && to == length ? this : new Ints(values, offset + from, to - from);
+    }
+
+    /**
+     * Transforms every integer of this chunk, without boxing.
+     *
+     * @param f
+     *   The function to apply to every integer.
+     *
+     * @return A chunk holding the transformed integers.
+     */
+    public Ints mapInt(final IntUnaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      final int[] mapped = new int[length];
+      for (int i = 0; i < length; i++) {
+        mapped[i] = f.applyAsInt(values[offset + i]);
+      }
+      return new Ints(mapped, 0, length);
+    }
+
+    /**
+     * Keeps the integers of this chunk that satisfy a predicate, without boxing.
+     *
+     * @param predicate
+     *   The predicate to test every integer with.
+     *
+     * @return A chunk holding the integers satisfying {@code predicate}, in order.
+     */
+    public Ints filterInt(final IntPredicate predicate) {
+      parameterIsNotNull(predicate, "Predicate cannot be null");
+      final int[] kept = new int[length];
+      int count = 0;
+      for (int i = 0; i < length; i++) {
+        final int value = values[offset + i];
+        if (predicate.test(value)) {
+          kept[count++] = value;
+        }
+      }
+      return count == length ? this : new Ints(kept, 0, count);
+    }
+
+    /**
+     * Combines the integers of this chunk, from first to last, without boxing.
+     *
+     * @param initial
+     *   The initial result.
+     * @param f
+     *   The function combining the result so far with the next integer.
+     *
+     * @return The combined result.
+     */
+    public int foldLeftInt(final int initial, final IntBinaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      int result = initial;
+      for (int i = 0; i < length; i++) {
+        result = f.applyAsInt(result, values[offset + i]);
+      }
+      return result;
+    }
+
+    /**
+     * Copies the integers of this chunk to an array.
+     *
+     * @return An array holding the integers of this chunk, in order.
+     */
+    public int[] toIntArray() {
+      return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Ints that) {
+        return Arrays.equals(values, offset, offset + length, that.values, that.offset, that.offset + that.length);
+      }
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * A chunk backed by a range of an array of longs.
+   */
+  final class Longs implements Chunk<Long> {
+    private final long[] values;
+    private final int offset;
+    private final int length;
+
+    Longs(final long[] values, final int offset, final int length) {
+      this.values = values;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public Long get(final int index) {
+      return getLong(index);
+    }
+
+    /**
+     * Returns the long at an index, unboxed.
+     *
+     * @param index
+     *   The index of the long.
+     *
+     * @return The long at {@code index}.
+     */
+    public long getLong(final int index) {
+      return values[offset + checkIndex(index, length)];
+    }
+
+    @Override
+    public Longs slice(final int from, final int to) {
+      checkRange(from, to, length);
+      return from == 0 && to == length ? this : new Longs(values, offset + from, to - from);
+    }
+
+    /**
+     * Transforms every long of this chunk, without boxing.
+     *
+     * @param f
+     *   The function to apply to every long.
+     *
+     * @return A chunk holding the transformed longs.
+     */
+    public Longs mapLong(final LongUnaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      final long[] mapped = new long[length];
+      for (int i = 0; i < length; i++) {
+        mapped[i] = f.applyAsLong(values[offset + i]);
+      }
+      return new Longs(mapped, 0, length);
+    }
+
+    /**
+     * Combines the longs of this chunk, from first to last, without boxing.
+     *
+     * @param initial
+     *   The initial result.
+     * @param f
+     *   The function combining the result so far with the next long.
+     *
+     * @return The combined result.
+     */
+    public long foldLeftLong(final long initial, final LongBinaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      long result = initial;
+      for (int i = 0; i < length; i++) {
+        result = f.applyAsLong(result, values[offset + i]);
+      }
+      return result;
+    }
+
+    /**
+     * Copies the longs of this chunk to an array.
+     *
+     * @return An array holding the longs of this chunk, in order.
+     */
+    public long[] toLongArray() {
+      return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Longs that) {
+        return Arrays.equals(values, offset, offset + length, that.values, that.offset, that.offset + that.length);
+      }
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * A chunk backed by a range of an array of doubles.
+   */
+  final class Doubles implements Chunk<Double> {
+    private final double[] values;
+    private final int offset;
+    private final int length;
+
+    Doubles(final double[] values, final int offset, final int length) {
+      this.values = values;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public Double get(final int index) {
+      return getDouble(index);
+    }
+
+    /**
+     * Returns the double at an index, unboxed.
+     *
+     * @param index
+     *   The index of the double.
+     *
+     * @return The double at {@code index}.
+     */
+    public double getDouble(final int index) {
+      return values[offset + checkIndex(index, length)];
+    }
+
+    @Override
+    public Doubles slice(final int from, final int to) {
+      checkRange(from, to, length);
+      return from == 0 && to == length ? this : new Doubles(values, offset + from, to - from);
+    }
+
+    /**
+     * Transforms every double of this chunk, without boxing.
+     *
+     * @param f
+     *   The function to apply to every double.
+     *
+     * @return A chunk holding the transformed doubles.
+     */
+    public Doubles mapDouble(final DoubleUnaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      final double[] mapped = new double[length];
+      for (int i = 0; i < length; i++) {
+        mapped[i] = f.applyAsDouble(values[offset + i]);
+      }
+      return new Doubles(mapped, 0, length);
+    }
+
+    /**
+     * Combines the doubles of this chunk, from first to last, without boxing.
+     *
+     * @param initial
+     *   The initial result.
+     * @param f
+     *   The function combining the result so far with the next double.
+     *
+     * @return The combined result.
+     */
+    public double foldLeftDouble(final double initial, final DoubleBinaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      double result = initial;
+      for (int i = 0; i < length; i++) {
+        result = f.applyAsDouble(result, values[offset + i]);
+      }
+      return result;
+    }
+
+    /**
+     * Copies the doubles of this chunk to an array.
+     *
+     * @return An array holding the doubles of this chunk, in order.
+     */
+    public double[] toDoubleArray() {
+      return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Doubles that) {
+        return Arrays.equals(values, offset, offset + length, that.values, that.offset, that.offset + that.length);
+      }
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * A chunk backed by a range of an array of bytes.
+   */
+  final class Bytes implements Chunk<Byte> {
+    private final byte[] values;
+    private final int offset;
+    private final int length;
+
+    Bytes(final byte[] values, final int offset, final int length) {
+      this.values = values;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public Byte get(final int index) {
+      return getByte(index);
+    }
+
+    /**
+     * Returns the byte at an index, unboxed.
+     *
+     * @param index
+     *   The index of the byte.
+     *
+     * @return The byte at {@code index}.
+     */
+    public byte getByte(final int index) {
+      return values[offset + checkIndex(index, length)];
+    }
+
+    @Override
+    public Bytes slice(final int from, final int to) {
+      checkRange(from, to, length);
+      return from == 0 && to == length ? this : new Bytes(values, offset + from, to - from);
+    }
+
+    /**
+     * Combines the bytes of this chunk, from first to last, without boxing.
+     *
+     * @param initial
+     *   The initial result.
+     * @param f
+     *   The function combining the result so far with the next byte.
+     *
+     * @return The combined result.
+     */
+    public int foldLeftInt(final int initial, final IntBinaryOperator f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      int result = initial;
+      for (int i = 0; i < length; i++) {
+        result = f.applyAsInt(result, values[offset + i]);
+      }
+      return result;
+    }
+
+    /**
+     * Returns a read-only view of the bytes of this chunk, without copying them.
+     *
+     * @return A read-only buffer over the bytes of this chunk.
+     */
+    public ByteBuffer asByteBuffer() {
+      return ByteBuffer.wrap(values, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the bytes of this chunk to an array.
+     *
+     * @return An array holding the bytes of this chunk, in order.
+     */
+    public byte[] toByteArray() {
+      return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Bytes that) {
+        return Arrays.equals(values, offset, offset + length, that.values, that.offset, that.offset + that.length);
+      }
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * The concatenation of two non-empty chunks, a node of a tree of chunks.
+   *
+   * <p>Concatenating is constant-time, so the tree may be arbitrarily deep. Accessing an element
+   * by index first indexes the chunks at the leaves of the tree, once, after which the leaf holding
+   * an element is found by binary search: access takes logarithmic time in the number of leaves, as
+   * with a balanced tree. Iterating does not need the index.
+   */
+  final class Concat<A extends @NonNull Object> implements Chunk<A> {
+    private final Chunk<A> left;
+    private final Chunk<A> right;
+    private final int size;
+    private volatile @Nullable Leaves<A> leaves;
+
+    Concat(final Chunk<A> left, final Chunk<A> right) {
+      this.left = left;
+      this.right = right;
+      this.size = Math.addExact(left.size(), right.size());
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public A get(final int index) {
+      checkIndex(index, size);
+      final Leaves<A> indexed = leaves();
+      final int found = Arrays.binarySearch(indexed.offsets(), index);
+      // An exact match is the first element of a leaf; otherwise, the insertion point follows it.
+      final int leaf = found >= 0 ? found : -found - 2;
+      return indexed.chunks().get(leaf).get(index - indexed.offsets()[leaf]);
+    }
+
+    @Override
+    public Chunk<A> slice(final int from, final int to) {
+      checkRange(from, to, size);
+      if (from == 0 && to == size) {
+        return this;
+      }
+      Chunk<A> sliced = empty();
+      int start = 0;
+      for (final Chunk<A> leaf : leaves().chunks()) {
+        final int end = start + leaf.size();
+        if (end > from && start < to) {
+          sliced = sliced.concat(leaf.slice(Math.max(from, start) - start, Math.min(to, end) - start));
+        }
+        start = end;
+      }
+      return sliced;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+      return new Iterator<>() {
+        private final Deque<Chunk<A>> pending = new ArrayDeque<>(List.of(Concat.this));
+        private Iterator<A> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+          while (!current.hasNext() && !pending.isEmpty()) {
+            Chunk<A> next = pending.pop();
+            while (next instanceof Concat<A> concat) {
+              pending.push(concat.right);
+              next = concat.left;
+            }
+            current = next.iterator();
+          }
+          return current.hasNext();
+        }
+
+        @Override
+        public A next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return current.next();
+        }
+      };
+    }
+
+    private Leaves<A> leaves() {
+      Leaves<A> indexed = leaves;
+      if (indexed == null) {
+        // Racing threads compute the same index; whichever is published last wins.
+        final List<Chunk<A>> chunks = new ArrayList<>();
+        final Deque<Chunk<A>> pending = new ArrayDeque<>(List.of(this));
+        while (!pending.isEmpty()) {
+          Chunk<A> next = pending.pop();
+          while (next instanceof Concat<A> concat) {
+            pending.push(concat.right);
+            next = concat.left;
+          }
+          chunks.add(next);
+        }
+        final int[] offsets = new int[chunks.size()];
+        for (int i = 1; i < offsets.length; i++) {
+          offsets[i] = offsets[i - 1] + chunks.get(i - 1).size();
+        }
+        indexed = new Leaves<>(List.copyOf(chunks), offsets);
+        leaves = indexed;
+      }
+      return indexed;
+    }
+
+    private record Leaves<A extends @NonNull Object>(List<Chunk<A>> chunks, int[] offsets) { }
+
+    @Override
+    public boolean equals(final Object other) {
+      return equal(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(this);
+    }
+
+    @Override
+    public String toString() {
+      return show(this);
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  interface k extends Traverse.k {
+  }
+
+  private static int checkIndex(final int index, final int size) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    return index;
+  }
+
+  private static void checkRange(final int from, final int to, final int size) {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+    }
+  }
+
+  // Chunks are equal when they hold equal elements in the same order, whatever their backing.
+  private static boolean equal(final Chunk<?> chunk, final @Nullable Object other) {
+    if (chunk == other) {
+      return true;
+    }
+    if (!(other instanceof Chunk<?> that) || that.size() != chunk.size()) {
+      return false;
+    }
+    final Iterator<?> these = chunk.iterator();
+    final Iterator<?> those = that.iterator();
+    while (these.hasNext()) {
+      if (!these.next().equals(those.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int hash(final Chunk<?> chunk) {
+    int hash = 1;
+    for (final Object value : chunk) {
+      hash = 31 * hash + value.hashCode();
+    }
+    return hash;
+  }
+
+  private static String show(final Chunk<?> chunk) {
+    return "Chunk" + chunk.toList();
+  }
+}
+
+final class chunk_traverse implements Traverse<Chunk.k> {
+  private static final chunk_traverse instance = new chunk_traverse();
+
+  private chunk_traverse() {
+  }
+
+  static chunk_traverse instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Chunk<B> map(
+      final Kind<Chunk.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final Chunk<A> chunk = fa.fix();
+    return chunk.map(f);
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<Chunk.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final Chunk<Input> chunk = foldable.fix();
+    return chunk.foldLeft(empty, f);
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Eval<Output> foldRight(
+      final Kind<Chunk.k, Input> foldable,
+      final Eval<Output> initial,
+      final NonNullBiFunction<? super Input, ? super Eval<Output>, ? extends Eval<Output>> f
+  ) {
+    final Chunk<Input> chunk = foldable.fix();
+    return Eval.defer(() -> foldRight(chunk, 0, initial, f));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> Eval<B> foldRight(
+      final Chunk<A> chunk,
+      final int index,
+      final Eval<B> initial,
+      final NonNullBiFunction<? super A, ? super Eval<B>, ? extends Eval<B>> f
+  ) {
+    if (index == chunk.size()) {
+      return initial;
+    }
+    return f.apply(chunk.get(index), Eval.defer(() -> foldRight(chunk, index + 1, initial, f)));
+  }
+
+  @Override
+  public <G extends Applicative.k, A extends @NonNull Object, B extends @NonNull Object> Kind<G, Kind<Chunk.k, B>> traverse(
+      final Applicative<G> applicative,
+      final NonNullFunction<? super A, ? extends Kind<G, B>> f,
+      final Kind<Chunk.k, A> traversable
+  ) {
+    final Chunk<A> chunk = traversable.fix();
+    // Concatenation is constant-time and never copies, so the applicative may reuse any partial
+    // result, as a non-deterministic one would.
+    Kind<G, Chunk<B>> result = applicative.pure(Chunk.empty());
+    for (final A value : chunk) {
+      final Kind<G, Chunk<B>> previous = result;
+      result = applicative.ap(
+          f.apply(value),
+          applicative.map(previous, done -> (NonNullFunction<B, Chunk<B>>) next -> done.concat(Chunk.of(next)))
+      );
+    }
+    return genericCast(result);
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.wildcat.fp.control;
+
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A source of values identified by keys, which {@link Fetch} reads in batches.
+ *
+ * <p>Implementations only have to answer batched requests: every key requested by the fetches of a
+ * round is sent to {@link #fetchMany(Set)} together, each key at most once. Keys missing from the
+ * returned map have no value.
+ *
+ * <p>Fetches group their requests by data source using {@link Object#equals(Object)}, so two equal
+ * data sources share batches and cached values within a run.
+ *
+ * @param <K>
+ *   The type of the keys.
+ * @param <V>
+ *   The type of the values.
+ */
+public interface DataSource<K extends @NonNull Object, V extends @NonNull Object> {
+
+  /**
+   * Describes reading the values of the given keys.
+   *
+   * @param keys
+   *   The keys to read; never empty.
+   *
+   * @return An {@link IO} producing the values found, by key.
+   */
+  IO<Map<K, V>> fetchMany(Set<K> keys);
+
+  /**
+   * Returns the largest number of keys sent to {@link #fetchMany(Set)} at once. Larger batches are
+   * split, and the parts are read in parallel.
+   *
+   * @return The largest batch size; unlimited by default.
+   */
+  default int maxBatchSize() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Returns a name for this data source, used in error messages.
+   *
+   * @return The name of this data source.
+   */
+  default String name() {
+    return getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A value that is completed once and that fibers can wait for.
+ *
+ * <p>Fibers calling {@link #get()} before the value is known are suspended, without holding a
+ * thread, until another fiber {@link #complete(Object) completes} it. Only the first completion
+ * has an effect. Waiting can be canceled.
+ *
+ * @param <A>
+ *   The type of the value.
+ */
+public final class Deferred<A extends @NonNull Object> {
+  private final AtomicReference<@Nullable A> value = new AtomicReference<>();
+  private final ConcurrentLinkedQueue<NonNullConsumer<Either<Throwable, A>>> waiters = new ConcurrentLinkedQueue<>();
+
+  private Deferred() {
+  }
+
+  /**
+   * Creates a deferred value that is not completed yet.
+   *
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return An {@link IO} producing the new deferred value.
+   */
+  public static <A extends @NonNull Object> IO<Deferred<A>> make() {
+    return IO.delay(Deferred::new);
+  }
+
+  /**
+   * Creates a deferred value right away, outside of {@link IO}.
+   *
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return The new deferred value.
+   */
+  public static <A extends @NonNull Object> Deferred<A> unsafe() {
+    return new Deferred<>();
+  }
+
+  /**
+   * Waits for the value.
+   *
+   * @return An {@link IO} producing the value once it is completed.
+   */
+  public IO<A> get() {
+    return IO.defer(() -> {
+      final A current = value.get();
+      if (current != null) {
+        return IO.pure(current);
+      }
+      return IO.asyncCancelable(callback -> {
+        waiters.offer(callback);
+        // A completion that raced with the registration may have drained the waiters already.
+        final A completed = value.get();
+        if (completed != null) {
+          notifyWaiters(completed);
+        }
+        return IO.delay(() -> {
+          waiters.remove(callback);
+          return Unit.UNIT;
+        });
+      });
+    });
+  }
+
+  /**
+   * Reads the value if it is completed, without waiting.
+   *
+   * @return An {@link IO} producing the value, or nothing if it is not completed yet.
+   */
+  public IO<Option<A>> tryGet() {
+    return IO.delay(() -> Option.of(value.get()));
+  }
+
+  /**
+   * Completes the value and wakes all fibers waiting for it.
+   *
+   * @param completed
+   *   The value.
+   *
+   * @return An {@link IO} producing {@code true} if this was the first completion, and
+   *   {@code false} otherwise.
+   */
+  public IO<Boolean> complete(final A completed) {
+    parameterIsNotNull(completed, "Value cannot be null");
+    return IO.delay(() -> {
+      if (!value.compareAndSet(null, completed)) {
+        return false;
+      }
+      notifyWaiters(completed);
+      return true;
+    });
+  }
+
+  private void notifyWaiters(final A completed) {
+    final Either<Throwable, A> outcome = Either.right(completed);
+    NonNullConsumer<Either<Throwable, A>> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      waiter.accept(outcome);
+    }
+  }
+}
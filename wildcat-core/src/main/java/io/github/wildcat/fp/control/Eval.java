@@ -0,0 +1,462 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullSupplier;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Applicative;
+import io.github.wildcat.fp.typeclasses.core.Apply;
+import io.github.wildcat.fp.typeclasses.core.FlatMap;
+import io.github.wildcat.fp.typeclasses.core.Functor;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A value computed with one of three strategies: {@link #now(Object) now}, eagerly, before the
+ * {@code Eval} is even created; {@link #later(NonNullSupplier) later}, the first time it is needed,
+ * and then remembered; or {@link #always(NonNullSupplier) always}, every time it is needed.
+ *
+ * <p>Unlike {@link IO}, an {@code Eval} describes a pure computation: the computations it defers
+ * are expected to be free of side effects, which is what makes it safe to skip them, run them once,
+ * or run them again. The value is only computed when {@link #value()} is called.
+ *
+ * <p>{@link #map(NonNullFunction)} and {@link #flatMap(NonNullFunction)} build a description that
+ * {@link #value()} evaluates with an explicit stack of continuations rather than the Java call
+ * stack, so computations chained or nested to any depth are stack-safe. This makes {@code Eval} the
+ * result of lazy right folds, such as {@link #foldRight(List, Eval, NonNullBiFunction)}, which only
+ * go as far into a structure as the folding function looks.
+ *
+ * @param <A>
+ *   The type of the value.
+ */
+public sealed interface Eval<A extends @NonNull Object> extends Kind<Eval.k, A> {
+
+  /**
+   * Returns an {@code Eval} of a value that has already been computed.
+   *
+   * @param value
+   *   The value.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return An {@code Eval} of {@code value}.
+   */
+  static <A extends @NonNull Object> Eval<A> now(final A value) {
+    parameterIsNotNull(value, "Value cannot be null");
+    return new Now<>(value);
+  }
+
+  /**
+   * Returns an {@code Eval} computing its value the first time it is needed, and remembering it.
+   * The computation runs at most once, even when the value is needed by several threads at the same
+   * time, and is dropped once it has run.
+   *
+   * @param thunk
+   *   The computation of the value.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return A memoized, lazy {@code Eval}.
+   */
+  static <A extends @NonNull Object> Eval<A> later(final NonNullSupplier<? extends A> thunk) {
+    parameterIsNotNull(thunk, "Thunk cannot be null");
+    return new Later<>(thunk);
+  }
+
+  /**
+   * Returns an {@code Eval} computing its value every time it is needed.
+   *
+   * @param thunk
+   *   The computation of the value.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return A lazy {@code Eval} that is not memoized.
+   */
+  static <A extends @NonNull Object> Eval<A> always(final NonNullSupplier<? extends A> thunk) {
+    parameterIsNotNull(thunk, "Thunk cannot be null");
+    return new Always<>(thunk);
+  }
+
+  /**
+   * Returns an {@code Eval} that produces another one to evaluate, every time it is needed. This
+   * is how recursive computations are made lazy and stack-safe.
+   *
+   * @param thunk
+   *   The computation of the {@code Eval} to evaluate.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return A lazy {@code Eval}.
+   */
+  static <A extends @NonNull Object> Eval<A> defer(final NonNullSupplier<? extends Eval<A>> thunk) {
+    parameterIsNotNull(thunk, "Thunk cannot be null");
+    return new Defer<>(thunk);
+  }
+
+  /**
+   * Returns an {@code Eval} of {@link Unit}.
+   *
+   * @return An {@code Eval} of {@link Unit#UNIT}.
+   */
+  static Eval<Unit> unit() {
+    return new Now<>(Unit.UNIT);
+  }
+
+  /**
+   * Folds the elements of a list from right to left, lazily: the fold of the elements after each
+   * one is only evaluated if {@code f} uses it, so a function that does not, such as one looking
+   * for an element, stops the fold there.
+   *
+   * @param values
+   *   The elements to fold.
+   * @param initial
+   *   The result for the end of the list.
+   * @param f
+   *   The function combining an element with the lazy fold of the elements after it.
+   * @param <A>
+   *   The type of the elements.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return An {@code Eval} of the result of the fold.
+   */
+  static <A extends @NonNull Object, B extends @NonNull Object> Eval<B> foldRight(
+      final List<? extends A> values,
+      final Eval<B> initial,
+      final NonNullBiFunction<? super A, ? super Eval<B>, ? extends Eval<B>> f
+  ) {
+    parameterIsNotNull(values, "Values cannot be null");
+    parameterIsNotNull(initial, "Initial value cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return defer(() -> foldRight(values, 0, initial, f));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> Eval<B> foldRight(
+      final List<? extends A> values,
+      final int index,
+      final Eval<B> initial,
+      final NonNullBiFunction<? super A, ? super Eval<B>, ? extends Eval<B>> f
+  ) {
+    if (index == values.size()) {
+      return initial;
+    }
+    return f.apply(values.get(index), defer(() -> foldRight(values, index + 1, initial, f)));
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code Eval}.
+   *
+   * @return The monad instance.
+   */
+  static Monad<Eval.k> monad() {
+    return eval_monad.instance();
+  }
+
+  /**
+   * Computes the value, following the strategy of this {@code Eval}.
+   *
+   * <p>The evaluation is stack-safe, and takes time linear in the number of maps and binds, however
+   * they are nested.
+   *
+   * @return The value.
+   */
+  default A value() {
+    return evaluate(this);
+  }
+
+  /**
+   * Transforms the value. The function is applied every time the value is needed, unless the result
+   * is {@link #memoize() memoized}.
+   *
+   * @param f
+   *   The function to apply to the value.
+   * @param <B>
+   *   The type of the transformed value.
+   *
+   * @return A lazy {@code Eval} of the transformed value.
+   */
+  default <B extends @NonNull Object> Eval<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Map<>(this, f);
+  }
+
+  /**
+   * Continues with the {@code Eval} produced from the value.
+   *
+   * @param f
+   *   The function producing the {@code Eval} to continue with.
+   * @param <B>
+   *   The type of the value of the produced {@code Eval}.
+   *
+   * @return A lazy {@code Eval} of the value of the produced {@code Eval}.
+   */
+  default <B extends @NonNull Object> Eval<B> flatMap(final NonNullFunction<? super A, ? extends Eval<B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Bind<>(this, f);
+  }
+
+  /**
+   * Returns an {@code Eval} that computes the value of this one the first time it is needed, and
+   * then remembers it.
+   *
+   * <p>Unlike {@link #later(NonNullSupplier)}, a memoized computation made of several steps may run
+   * more than once if its value is first needed by several threads at the same time; they all get an
+   * equal value, as the computation is pure, and the first one to be computed is remembered.
+   *
+   * @return A memoized {@code Eval}.
+   */
+  default Eval<A> memoize() {
+    return switch (this) {
+      case Now<A> now -> now;
+      case Later<A> later -> later;
+      case Always<A> always -> new Later<>(always.thunk());
+      default -> new Memoize<>(this);
+    };
+  }
+
+  /**
+   * An eagerly computed value.
+   */
+  record Now<A extends @NonNull Object>(A value) implements Eval<A> { }
+
+  /**
+   * A value computed every time it is needed.
+   */
+  record Always<A extends @NonNull Object>(NonNullSupplier<? extends A> thunk) implements Eval<A> { }
+
+  /**
+   * An {@code Eval} produced every time it is needed.
+   */
+  record Defer<A extends @NonNull Object>(NonNullSupplier<? extends Eval<A>> thunk) implements Eval<A> { }
+
+  /**
+   * A transformation of the value of another {@code Eval}.
+   */
+  record Map<X extends @NonNull Object, A extends @NonNull Object>(
+      Eval<X> source,
+      NonNullFunction<? super X, ? extends A> f
+  ) implements Eval<A> {
+    A apply(final Object value) {
+      return f.apply(genericCast(value));
+    }
+  }
+
+  /**
+   * A continuation of another {@code Eval}.
+   */
+  record Bind<X extends @NonNull Object, A extends @NonNull Object>(
+      Eval<X> source,
+      NonNullFunction<? super X, ? extends Eval<A>> f
+  ) implements Eval<A> {
+    Eval<A> apply(final Object value) {
+      return f.apply(genericCast(value));
+    }
+  }
+
+  /**
+   * A value computed once, the first time it is needed.
+   */
+  final class Later<A extends @NonNull Object> implements Eval<A> {
+    private @Nullable NonNullSupplier<? extends A> thunk;
+    private volatile @Nullable A result;
+
+    Later(final NonNullSupplier<? extends A> thunk) {
+      this.thunk = thunk;
+    }
+
+    A get() {
+      final A computed = result;
+      if (computed != null) {
+        return computed;
+      }
+      synchronized (this) {
+        final NonNullSupplier<? extends A> pending = thunk;
+        if (pending == null) {
+          return genericCast(result);
+        }
+        final A value = pending.get();
+        result = value;
+        thunk = null;
+        return value;
+      }
+    }
+  }
+
+  /**
+   * The value of another {@code Eval}, remembered once it has been computed.
+   */
+  final class Memoize<A extends @NonNull Object> implements Eval<A> {
+    private final Eval<A> source;
+    private volatile @Nullable A result;
+
+    Memoize(final Eval<A> source) {
+      this.source = source;
+    }
+
+    void remember(final Object value) {
+      if (result == null) {
+        result = genericCast(value);
+      }
+    }
+  }
+
+  /**
+   * Evaluates an {@code Eval}, keeping the continuations of the maps, binds and memoizations being
+   * evaluated on a stack of their own.
+   */
+  private static <A extends @NonNull Object> A evaluate(final Eval<A> eval) {
+    final Deque<Eval<?>> continuations = new ArrayDeque<>();
+    Eval<?> current = eval;
+    while (true) {
+      Object value;
+      switch (current) {
+        case Now<?> now -> value = now.value();
+        case Always<?> always -> value = always.thunk().get();
+        case Later<?> later -> value = later.get();
+        case Defer<?> defer -> {
+          current = defer.thunk().get();
+          continue;
+        }
+        case Map<?, ?> map -> {
+          continuations.push(map);
+          current = map.source();
+          continue;
+        }
+        case Bind<?, ?> bind -> {
+          continuations.push(bind);
+          current = bind.source();
+          continue;
+        }
+        case Memoize<?> memoize -> {
+          final Object remembered = memoize.result;
+          if (remembered == null) {
+            continuations.push(memoize);
+            current = memoize.source;
+            continue;
+          }
+          value = remembered;
+        }
+      }
+      while (true) {
+        final Eval<?> continuation = continuations.poll();
+        if (continuation == null) {
+          return genericCast(value);
+        }
+        if (continuation instanceof Map<?, ?> map) {
+          value = map.apply(value);
+        } else if (continuation instanceof Memoize<?> memoize) {
+          memoize.remember(value);
+        } else if (continuation instanceof Bind<?, ?> bind) {
+          current = bind.apply(value);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  interface k extends Monad.k { }
+}
+
+class eval_functor implements Functor<Eval.k> {
+  private static final eval_functor instance = new eval_functor();
+
+  eval_functor() {
+  }
+
+  static eval_functor instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Eval<B> map(
+      final Kind<Eval.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final Eval<A> eval = fa.fix();
+    return eval.map(f);
+  }
+}
+
+class eval_apply extends eval_functor implements Apply<Eval.k> {
+  private static final eval_apply instance = new eval_apply();
+
+  eval_apply() {
+  }
+
+  static eval_apply instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Eval<B> ap(
+      final Kind<Eval.k, A> fa,
+      final Kind<Eval.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final Eval<A> eval = fa.fix();
+    final Eval<@NonNull NonNullFunction<? super A, ? extends B>> evalF = f.fix();
+    return evalF.flatMap(eval::map);
+  }
+}
+
+class eval_applicative extends eval_apply implements Applicative<Eval.k> {
+  private static final eval_applicative instance = new eval_applicative();
+
+  eval_applicative() {
+  }
+
+  static eval_applicative instance() {
+    return instance;
+  }
+
+  @Override
+  public <T extends @NonNull Object> Eval<T> pure(final T value) {
+    return Eval.now(value);
+  }
+}
+
+class eval_flatmap extends eval_apply implements FlatMap<Eval.k> {
+  private static final eval_flatmap instance = new eval_flatmap();
+
+  eval_flatmap() {
+  }
+
+  static eval_flatmap instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Eval<B> flatMap(
+      final Kind<Eval.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<Eval.k, B>> f
+  ) {
+    final Eval<A> eval = fa.fix();
+    return eval.flatMap(value -> f.apply(value).fix());
+  }
+}
+
+final class eval_monad extends eval_flatmap implements Monad<Eval.k> {
+  private static final eval_monad instance = new eval_monad();
+
+  private eval_monad() {
+  }
+
+  static eval_monad instance() {
+    return instance;
+  }
+
+  @Override
+  public <T extends @NonNull Object> Eval<T> pure(final T value) {
+    return Eval.now(value);
+  }
+}
@@ -0,0 +1,331 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A computation reading values from {@link DataSource data sources}, which batches and deduplicates
+ * its reads.
+ *
+ * <p>A {@code Fetch} only describes what to read; nothing happens until it is {@link #run() run}.
+ * Running a fetch proceeds in rounds. Each round runs every read that does not depend on the result
+ * of another one, and sends all the keys requested from the same data source in one
+ * {@link DataSource#fetchMany(java.util.Set) batch}. Fetches that depend on the results of a round
+ * go on in the next one.
+ *
+ * <p>Whether reads are independent follows from how the fetches are combined: fetches combined with
+ * {@link #map2(Fetch, Fetch, NonNullBiFunction)}, {@link #traverse(List, NonNullFunction)} or the
+ * {@code ap} of {@link #monad()} are independent, and share their rounds, while
+ * {@link #flatMap(NonNullFunction)} needs the result of this fetch before it can go on.
+ *
+ * <p>Every run has a cache of the values it has read, so each key is read at most once per run, no
+ * matter how many fetches request it.
+ *
+ * @param <A>
+ *   The result type of the fetch.
+ */
+public sealed interface Fetch<A extends @NonNull Object> extends Kind<Fetch.k, A> {
+
+  /**
+   * Creates a fetch producing a value, without reading anything.
+   *
+   * @param value
+   *   The value to produce.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return A fetch producing {@code value}.
+   */
+  static <A extends @NonNull Object> Fetch<A> pure(final A value) {
+    parameterIsNotNull(value, "Value cannot be null");
+    return new Pure<>(value);
+  }
+
+  /**
+   * Lifts a computation into a fetch. The computation runs, unbatched, when the fetch gets to it.
+   *
+   * @param io
+   *   The computation to lift.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return A fetch producing the result of {@code io}.
+   */
+  static <A extends @NonNull Object> Fetch<A> eval(final IO<A> io) {
+    parameterIsNotNull(io, "IO cannot be null");
+    return new Eval<>(io);
+  }
+
+  /**
+   * Creates a fetch reading the value of a key from a data source, if it has one.
+   *
+   * @param source
+   *   The data source to read from.
+   * @param key
+   *   The key to read.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return A fetch producing the value of {@code key}, or nothing if the data source has none.
+   */
+  static <K extends @NonNull Object, V extends @NonNull Object> Fetch<Option<V>> optional(
+      final DataSource<K, V> source,
+      final K key
+  ) {
+    parameterIsNotNull(source, "Data source cannot be null");
+    parameterIsNotNull(key, "Key cannot be null");
+    return new Request<>(source, key);
+  }
+
+  /**
+   * Creates a fetch reading the value of a key from a data source. The fetch fails with a
+   * {@link NoSuchElementException} if the data source has no value for the key.
+   *
+   * @param source
+   *   The data source to read from.
+   * @param key
+   *   The key to read.
+   * @param <K>
+   *   The type of the keys.
+   * @param <V>
+   *   The type of the values.
+   *
+   * @return A fetch producing the value of {@code key}.
+   */
+  static <K extends @NonNull Object, V extends @NonNull Object> Fetch<V> of(
+      final DataSource<K, V> source,
+      final K key
+  ) {
+    return optional(source, key).flatMap(value -> value.fold(
+        () -> eval(IO.raiseError(new NoSuchElementException(source.name() + " has no value for " + key))),
+        Fetch::pure
+    ));
+  }
+
+  /**
+   * Combines the results of two independent fetches, whose reads share their rounds.
+   *
+   * @param fa
+   *   The first fetch.
+   * @param fb
+   *   The second fetch.
+   * @param f
+   *   The function combining both results.
+   * @param <A>
+   *   The result type of the first fetch.
+   * @param <B>
+   *   The result type of the second fetch.
+   * @param <C>
+   *   The type of the combined result.
+   *
+   * @return A fetch producing the combined result.
+   */
+  static <A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object> Fetch<C> map2(
+      final Fetch<A> fa,
+      final Fetch<B> fb,
+      final NonNullBiFunction<? super A, ? super B, ? extends C> f
+  ) {
+    parameterIsNotNull(fa, "First fetch cannot be null");
+    parameterIsNotNull(fb, "Second fetch cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Both<>(fa, fb, f);
+  }
+
+  /**
+   * Applies a fetching function to every element of a list. The fetches are independent, so all
+   * their reads share their rounds.
+   *
+   * @param values
+   *   The elements to fetch for.
+   * @param f
+   *   The function producing the fetch of each element.
+   * @param <A>
+   *   The type of the elements.
+   * @param <B>
+   *   The result type of the fetches.
+   *
+   * @return A fetch producing the results, in the order of {@code values}.
+   */
+  static <A extends @NonNull Object, B extends @NonNull Object> Fetch<List<B>> traverse(
+      final List<? extends A> values,
+      final NonNullFunction<? super A, ? extends Fetch<B>> f
+  ) {
+    parameterIsNotNull(values, "Values cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return traverse(values, f, 0, values.size());
+  }
+
+  /**
+   * Combines a list of independent fetches, whose reads share their rounds.
+   *
+   * @param fetches
+   *   The fetches to combine.
+   * @param <A>
+   *   The result type of the fetches.
+   *
+   * @return A fetch producing the results, in the order of {@code fetches}.
+   */
+  static <A extends @NonNull Object> Fetch<List<A>> sequence(final List<? extends Fetch<A>> fetches) {
+    return traverse(fetches, fetch -> fetch);
+  }
+
+  // Splits the list in halves, so that the fetches are combined in a balanced tree rather than a
+  // chain as deep as the list is long.
+  private static <A extends @NonNull Object, B extends @NonNull Object> Fetch<List<B>> traverse(
+      final List<? extends A> values,
+      final NonNullFunction<? super A, ? extends Fetch<B>> f,
+      final int from,
+      final int to
+  ) {
+    if (to - from == 0) {
+      return pure(List.of());
+    }
+    if (to - from == 1) {
+      return f.apply(values.get(from)).map(List::of);
+    }
+    final int middle = (from + to) >>> 1;
+    return map2(traverse(values, f, from, middle), traverse(values, f, middle, to), (left, right) -> {
+      final List<B> both = new ArrayList<>(left.size() + right.size());
+      both.addAll(left);
+      both.addAll(right);
+      return both;
+    });
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code Fetch}. Its {@code ap} combines independent
+   * fetches, as {@link #map2(Fetch, Fetch, NonNullBiFunction)} does.
+   *
+   * @return The monad instance.
+   */
+  static Monad<Fetch.k> monad() {
+    return fetch_monad.instance();
+  }
+
+  /**
+   * Transforms the result of this fetch.
+   *
+   * @param f
+   *   The function to apply to the result.
+   * @param <B>
+   *   The type of the transformed result.
+   *
+   * @return The transformed fetch.
+   */
+  default <B extends @NonNull Object> Fetch<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return flatMap(value -> pure(f.apply(value)));
+  }
+
+  /**
+   * Continues with a fetch depending on the result of this one. The reads of the second fetch
+   * cannot start before this one completes.
+   *
+   * @param f
+   *   The function producing the second fetch.
+   * @param <B>
+   *   The result type of the second fetch.
+   *
+   * @return The combined fetch.
+   */
+  default <B extends @NonNull Object> Fetch<B> flatMap(final NonNullFunction<? super A, ? extends Fetch<B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Bind<>(this, f);
+  }
+
+  /**
+   * Describes running this fetch, with a fresh cache.
+   *
+   * @return An {@link IO} producing the result of this fetch.
+   */
+  default IO<A> run() {
+    return IO.defer(() -> new FetchRun().run(this));
+  }
+
+  /**
+   * A fetch producing a value it already has.
+   */
+  record Pure<A extends @NonNull Object>(A value) implements Fetch<A> { }
+
+  /**
+   * A fetch running a computation.
+   */
+  record Eval<A extends @NonNull Object>(IO<A> io) implements Fetch<A> { }
+
+  /**
+   * A fetch reading a single key.
+   */
+  record Request<K extends @NonNull Object, V extends @NonNull Object>(
+      DataSource<K, V> source,
+      K key
+  ) implements Fetch<Option<V>> { }
+
+  /**
+   * A fetch depending on the result of another one (the result of a flatMap).
+   */
+  record Bind<X extends @NonNull Object, A extends @NonNull Object>(
+      Fetch<X> source,
+      NonNullFunction<? super X, ? extends Fetch<A>> f
+  ) implements Fetch<A> { }
+
+  /**
+   * Two independent fetches, whose results are combined (the result of a map2).
+   */
+  record Both<X extends @NonNull Object, Y extends @NonNull Object, A extends @NonNull Object>(
+      Fetch<X> left,
+      Fetch<Y> right,
+      NonNullBiFunction<? super X, ? super Y, ? extends A> f
+  ) implements Fetch<A> { }
+
+  /**
+   * Witness type for HKT.
+   */
+  interface k extends Monad.k {
+  }
+}
+
+final class fetch_monad implements Monad<Fetch.k> {
+  private static final fetch_monad instance = new fetch_monad();
+
+  private fetch_monad() {
+  }
+
+  static fetch_monad instance() {
+    return instance;
+  }
+
+  @Override
+  public <T extends @NonNull Object> Fetch<T> pure(final T value) {
+    return Fetch.pure(value);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Fetch<B> flatMap(
+      final Kind<Fetch.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<Fetch.k, B>> f
+  ) {
+    final Fetch<A> fetch = fa.fix();
+    return fetch.flatMap(value -> f.apply(value).fix());
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Fetch<B> ap(
+      final Kind<Fetch.k, A> fa,
+      final Kind<Fetch.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final Fetch<A> fetch = fa.fix();
+    final Fetch<@NonNull NonNullFunction<? super A, ? extends B>> fetchF = genericCast(f.fix());
+    return Fetch.map2(fetch, fetchF, (value, function) -> function.apply(value));
+  }
+}
@@ -0,0 +1,153 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Runs a {@link Fetch}, round by round, for {@link Fetch#run()}.
+ *
+ * <p>Each round steps the fetch as far as it goes without reading anything new. Reads answered by
+ * the cache complete right away; the others block, and their keys are collected by data source.
+ * The collected keys are then read, every data source in parallel, and the fetch goes on from where
+ * it blocked. Stepping happens in a single fiber, so collecting the keys needs no synchronization;
+ * the cache is written by the parallel reads, and so is concurrent.
+ */
+final class FetchRun {
+  private final Map<DataSource<?, ?>, Map<Object, Option<?>>> cache = new ConcurrentHashMap<>();
+  private Map<DataSource<?, ?>, Set<Object>> pending = new HashMap<>();
+
+  <A extends @NonNull Object> IO<A> run(final Fetch<A> fetch) {
+    return step(fetch).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(done.value());
+      case Blocked<A> blocked -> readPending().flatMap(unit -> run(blocked.continuation()));
+    });
+  }
+
+  private <A extends @NonNull Object> IO<Step<A>> step(final Fetch<A> fetch) {
+    return switch (fetch) {
+      case Fetch.Pure<A> pure -> IO.pure(new Done<>(pure.value()));
+      case Fetch.Eval<A> eval -> eval.io().map(Done::new);
+      case Fetch.Request<?, ?> request -> IO.delay(() -> genericCast(lookUp(request)));
+      case Fetch.Bind<?, A> bind -> stepBind(bind);
+      case Fetch.Both<?, ?, A> both -> stepBoth(both);
+    };
+  }
+
+  private <V extends @NonNull Object> Step<Option<V>> lookUp(final Fetch.Request<?, V> request) {
+    final Map<Object, Option<?>> values = cache.get(request.source());
+    final Option<?> value = values == null ? null : values.get(request.key());
+    if (value != null) {
+      return new Done<>(genericCast(value));
+    }
+    pending.computeIfAbsent(request.source(), source -> new LinkedHashSet<>()).add(request.key());
+    // Blocks on itself: once the key is read, stepping the request again finds it in the cache.
+    return new Blocked<>(request);
+  }
+
+  private <A extends @NonNull Object> IO<Step<A>> stepBind(final Fetch.Bind<?, A> bind) {
+    // Left-nested binds (a chain of map and flatMap) are re-associated to the right first, so that
+    // stepping the innermost source does not take a stack frame per bind.
+    Fetch.Bind<?, A> current = bind;
+    while (current.source() instanceof Fetch.Bind<?, ?> inner) {
+      current = reassociate(genericCast(inner), current);
+    }
+    return stepSource(current);
+  }
+
+  private static <Y extends @NonNull Object, X extends @NonNull Object, A extends @NonNull Object> Fetch.Bind<Y, A> reassociate(
+      final Fetch.Bind<Y, X> inner,
+      final Fetch.Bind<?, A> outer
+  ) {
+    final Fetch.Bind<X, A> rest = genericCast(outer);
+    return new Fetch.Bind<>(inner.source(), value -> new Fetch.Bind<>(inner.f().apply(value), rest.f()));
+  }
+
+  private <X extends @NonNull Object, A extends @NonNull Object> IO<Step<A>> stepSource(final Fetch.Bind<X, A> bind) {
+    return step(bind.source()).flatMap(step -> switch (step) {
+      case Done<X> done -> step(bind.f().apply(done.value()));
+      case Blocked<X> blocked -> IO.pure(new Blocked<>(new Fetch.Bind<>(blocked.continuation(), bind.f())));
+    });
+  }
+
+  private <X extends @NonNull Object, Y extends @NonNull Object, A extends @NonNull Object> IO<Step<A>> stepBoth(
+      final Fetch.Both<X, Y, A> both
+  ) {
+    return step(both.left()).flatMap(left -> step(both.right()).map(right -> {
+      if (left instanceof Done<X> doneLeft && right instanceof Done<Y> doneRight) {
+        return new Done<>(both.f().apply(doneLeft.value(), doneRight.value()));
+      }
+      return new Blocked<>(new Fetch.Both<>(left.continuation(), right.continuation(), both.f()));
+    }));
+  }
+
+  private IO<Unit> readPending() {
+    return IO.defer(() -> {
+      final Map<DataSource<?, ?>, Set<Object>> keys = pending;
+      pending = new HashMap<>();
+      final List<IO<Unit>> batches = new ArrayList<>();
+      keys.forEach((source, sourceKeys) -> batches.addAll(batches(genericCast(source), genericCast(sourceKeys))));
+      return IO.parSequence(batches).map(units -> Unit.UNIT);
+    });
+  }
+
+  private <K extends @NonNull Object, V extends @NonNull Object> List<IO<Unit>> batches(
+      final DataSource<K, V> source,
+      final Set<K> keys
+  ) {
+    final int maxBatchSize = source.maxBatchSize();
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException(source.name() + " has a maximum batch size of " + maxBatchSize);
+    }
+    final List<IO<Unit>> batches = new ArrayList<>();
+    Set<K> batch = new LinkedHashSet<>();
+    for (final K key : keys) {
+      batch.add(key);
+      if (batch.size() == maxBatchSize) {
+        batches.add(read(source, batch));
+        batch = new LinkedHashSet<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(read(source, batch));
+    }
+    return batches;
+  }
+
+  private <K extends @NonNull Object, V extends @NonNull Object> IO<Unit> read(
+      final DataSource<K, V> source,
+      final Set<K> keys
+  ) {
+    final Set<K> batch = Set.copyOf(keys);
+    return source.fetchMany(batch).map(values -> {
+      final Map<Object, Option<?>> cached = cache.computeIfAbsent(source, s -> new ConcurrentHashMap<>());
+      // Keys without a value are cached too, so that they are not read again.
+      for (final K key : batch) {
+        cached.put(key, Option.of(values.get(key)));
+      }
+      return Unit.UNIT;
+    });
+  }
+
+  private sealed interface Step<A extends @NonNull Object> {
+
+    Fetch<A> continuation();
+  }
+
+  private record Done<A extends @NonNull Object>(A value) implements Step<A> {
+
+    @Override
+    public Fetch<A> continuation() {
+      return Fetch.pure(value);
+    }
+  }
+
+  private record Blocked<A extends @NonNull Object>(Fetch<A> continuation) implements Step<A> { }
+}
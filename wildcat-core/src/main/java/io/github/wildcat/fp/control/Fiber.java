@@ -0,0 +1,40 @@
+package io.github.wildcat.fp.control;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A handle to an {@link IO} computation that has been started concurrently with
+ * {@link IO#start()}.
+ *
+ * <p>Fibers are cheap: they are not tied to a platform thread, so a single JVM can run tens of
+ * thousands of them at once.
+ *
+ * @param <A>
+ *   The result type of the computation running in the fiber.
+ */
+public interface Fiber<A extends @NonNull Object> {
+  
+  /**
+   * Waits for the fiber to finish and returns its result. The joining fiber is suspended, not
+   * blocked, while it waits.
+   *
+   * <p>If the fiber failed, the returned {@link IO} fails with the same exception. If the fiber was
+   * canceled, it fails with a {@link java.util.concurrent.CancellationException}.
+   *
+   * @return An {@link IO} producing the result of the fiber.
+   */
+  IO<A> join();
+  
+  /**
+   * Requests cancellation of the fiber and waits until it has stopped.
+   *
+   * <p>Cancellation is cooperative: the fiber stops at the next step of its run loop, so a
+   * computation that is in the middle of a long-running thunk finishes that thunk first. A fiber
+   * suspended on an asynchronous boundary stops right away, and one inside an uncancelable region
+   * stops once it leaves that region. The finalizers of the fiber have run by the time the returned
+   * {@link IO} completes.
+   *
+   * @return An {@link IO} that completes once the fiber has stopped.
+   */
+  IO<Unit> cancel();
+}
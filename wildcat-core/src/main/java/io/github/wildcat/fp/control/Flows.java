@@ -0,0 +1,359 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Adapters between {@link IO} and {@link Stream} on one side, and the {@link Flow} interfaces of
+ * Reactive Streams on the other.
+ *
+ * <p>The adapters follow the Reactive Streams specification: signals to a subscriber are never
+ * concurrent, nothing is emitted beyond the demand of the subscriber, and a canceled subscription
+ * stops the underlying computation.
+ */
+public final class Flows {
+
+  private Flows() {
+  }
+
+  /**
+   * Returns a publisher of the result of a computation, run on the {@link IORuntime#global() global}
+   * runtime.
+   *
+   * @param io
+   *   The computation.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return A publisher of the result of {@code io}.
+   * @see #publisher(IO, IORuntime)
+   */
+  public static <A extends @NonNull Object> Flow.Publisher<A> publisher(final IO<A> io) {
+    return publisher(io, IORuntime.global());
+  }
+
+  /**
+   * Returns a publisher of the result of a computation.
+   *
+   * <p>Every subscription runs the computation anew, once the subscriber has requested an element,
+   * and then signals its result followed by completion, or its failure. Canceling the subscription
+   * cancels the computation.
+   *
+   * @param io
+   *   The computation.
+   * @param runtime
+   *   The runtime to run the computation on.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return A publisher of the result of {@code io}.
+   */
+  public static <A extends @NonNull Object> Flow.Publisher<A> publisher(final IO<A> io, final IORuntime runtime) {
+    parameterIsNotNull(io, "IO cannot be null");
+    parameterIsNotNull(runtime, "Runtime cannot be null");
+    return subscriber -> {
+      Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+      subscriber.onSubscribe(new IOSubscription<>(io, runtime, subscriber));
+    };
+  }
+
+  /**
+   * Creates a stream of the elements of a publisher.
+   *
+   * <p>Every run of the stream subscribes to the publisher, and cancels the subscription once the
+   * stream is done with it. Elements are requested {@code batchSize} at a time, and the next batch
+   * is only requested once the previous one has been received and pulled from the stream, so at
+   * most {@code batchSize} elements are ever buffered. The elements that arrived since the last pull
+   * are emitted together as one chunk.
+   *
+   * @param publisher
+   *   The publisher.
+   * @param batchSize
+   *   The number of elements to request at a time.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of the elements of {@code publisher}.
+   * @throws IllegalArgumentException
+   *   If {@code batchSize} is not positive.
+   */
+  public static <A extends @NonNull Object> Stream<A> fromPublisher(
+      final Flow.Publisher<? extends A> publisher,
+      final int batchSize
+  ) {
+    parameterIsNotNull(publisher, "Publisher cannot be null");
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive");
+    }
+    return Stream.bracket(
+        IO.delay(() -> {
+          final BufferingSubscriber<A> subscriber = new BufferingSubscriber<>(batchSize);
+          publisher.subscribe(subscriber);
+          return subscriber;
+        }),
+        subscriber -> IO.delay(subscriber::cancel)
+    ).flatMap(subscriber -> Stream.unfoldChunkEval(
+        subscriber,
+        current -> current.pull().map(chunk -> chunk.map(elements -> Tuple2.of(elements, current)))
+    ));
+  }
+
+  /** The subscription of a {@link #publisher(IO, IORuntime)}. */
+  private static final class IOSubscription<A extends @NonNull Object> implements Flow.Subscription {
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final IO<A> io;
+    private final IORuntime runtime;
+    private final Flow.Subscriber<? super A> subscriber;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile @Nullable IOFiber<A> fiber;
+
+    IOSubscription(final IO<A> io, final IORuntime runtime, final Flow.Subscriber<? super A> subscriber) {
+      this.io = io;
+      this.runtime = runtime;
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+      if (n <= 0) {
+        if (state.getAndSet(DONE) != DONE) {
+          stop();
+          subscriber.onError(new IllegalArgumentException("Requested " + n + " elements; demand must be positive"));
+        }
+        return;
+      }
+      if (!state.compareAndSet(IDLE, RUNNING)) {
+        return;
+      }
+      final IOFiber<A> started = IOFiber.start(io, runtime);
+      fiber = started;
+      // A cancellation that raced with the start has not seen the fiber.
+      if (state.get() == DONE) {
+        started.requestCancel();
+        return;
+      }
+      started.result().whenComplete((value, error) -> {
+        if (!state.compareAndSet(RUNNING, DONE)) {
+          return;
+        }
+        if (error == null) {
+          subscriber.onNext(value);
+          subscriber.onComplete();
+        } else {
+          subscriber.onError(IOFiber.unwrap(error));
+        }
+      });
+    }
+
+    @Override
+    public void cancel() {
+      if (state.getAndSet(DONE) == RUNNING) {
+        stop();
+      }
+    }
+
+    private void stop() {
+      final IOFiber<A> running = fiber;
+      if (running != null) {
+        running.requestCancel();
+      }
+    }
+  }
+
+  /** The subscriber of a {@link #fromPublisher(Flow.Publisher, int)} stream, buffering one batch. */
+  private static final class BufferingSubscriber<A extends @NonNull Object> implements Flow.Subscriber<A> {
+    private static final Object COMPLETE = new Object();
+
+    private final int batchSize;
+    private Flow.@Nullable Subscription subscription;
+    private boolean canceled;
+    private final List<A> buffer = new ArrayList<>();
+    /** The number of elements requested but not received yet. */
+    private long outstanding;
+    /** The demand not passed on to the subscription yet, and whether a thread is passing it on. */
+    private long unrequested;
+    private boolean requesting;
+    /** {@link #COMPLETE}, or the failure of the publisher, once it has terminated. */
+    private @Nullable Object terminal;
+    private @Nullable NonNullConsumer<Either<Throwable, Option<Chunk<A>>>> waiter;
+
+    BufferingSubscriber(final int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      Objects.requireNonNull(subscription, "Subscription cannot be null");
+      synchronized (this) {
+        if (this.subscription != null || canceled) {
+          subscription.cancel();
+          return;
+        }
+        this.subscription = subscription;
+        demandMore();
+      }
+      request();
+    }
+
+    @Override
+    public void onNext(final A element) {
+      Objects.requireNonNull(element, "Element cannot be null");
+      final NonNullConsumer<Either<Throwable, Option<Chunk<A>>>> woken;
+      final Chunk<A> chunk;
+      final boolean more;
+      synchronized (this) {
+        if (canceled) {
+          return;
+        }
+        buffer.add(element);
+        outstanding--;
+        woken = waiter;
+        if (woken == null) {
+          return;
+        }
+        waiter = null;
+        chunk = take();
+        more = demandMore();
+      }
+      woken.accept(Either.right(Option.present(chunk)));
+      if (more) {
+        request();
+      }
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+      Objects.requireNonNull(error, "Error cannot be null");
+      terminate(error);
+    }
+
+    @Override
+    public void onComplete() {
+      terminate(COMPLETE);
+    }
+
+    private void terminate(final Object outcome) {
+      final NonNullConsumer<Either<Throwable, Option<Chunk<A>>>> woken;
+      synchronized (this) {
+        if (canceled || terminal != null) {
+          return;
+        }
+        terminal = outcome;
+        woken = waiter;
+        waiter = null;
+      }
+      if (woken != null) {
+        woken.accept(ended(outcome));
+      }
+    }
+
+    /**
+     * Describes waiting for the elements that arrived since the last pull.
+     *
+     * @return An {@link IO} producing a non-empty chunk of elements, or nothing once the publisher
+     *   has completed.
+     */
+    IO<Option<Chunk<A>>> pull() {
+      return IO.asyncCancelable(callback -> {
+        final @Nullable Either<Throwable, Option<Chunk<A>>> result;
+        boolean more = false;
+        synchronized (this) {
+          if (!buffer.isEmpty()) {
+            result = Either.right(Option.present(take()));
+            more = demandMore();
+          } else if (terminal != null) {
+            result = ended(terminal);
+          } else {
+            result = null;
+            waiter = callback;
+          }
+        }
+        if (result != null) {
+          callback.accept(result);
+        }
+        if (more) {
+          request();
+        }
+        return IO.delay(() -> {
+          synchronized (this) {
+            if (waiter == callback) {
+              waiter = null;
+            }
+          }
+          return Unit.UNIT;
+        });
+      });
+    }
+
+    Unit cancel() {
+      final Flow.@Nullable Subscription current;
+      synchronized (this) {
+        canceled = true;
+        buffer.clear();
+        current = subscription;
+      }
+      if (current != null) {
+        current.cancel();
+      }
+      return Unit.UNIT;
+    }
+
+    private Chunk<A> take() {
+      final Chunk<A> chunk = Chunk.from(buffer);
+      buffer.clear();
+      return chunk;
+    }
+
+    private boolean demandMore() {
+      if (outstanding > 0 || terminal != null || subscription == null) {
+        return false;
+      }
+      outstanding += batchSize;
+      unrequested += batchSize;
+      return true;
+    }
+
+    /**
+     * Passes the demand on to the subscription. Calls to {@link Flow.Subscription#request(long)}
+     * are neither concurrent nor nested: a thread finding another one passing demand on leaves its
+     * own to that thread.
+     */
+    private void request() {
+      synchronized (this) {
+        if (requesting) {
+          return;
+        }
+        requesting = true;
+      }
+      while (true) {
+        final Flow.@Nullable Subscription current;
+        final long n;
+        synchronized (this) {
+          n = unrequested;
+          unrequested = 0;
+          current = canceled ? null : subscription;
+          if (n == 0 || current == null) {
+            requesting = false;
+            return;
+          }
+        }
+        current.request(n);
+      }
+    }
+
+    private static <A extends @NonNull Object> Either<Throwable, Option<Chunk<A>>> ended(final Object outcome) {
+      return outcome instanceof Throwable error ? Either.left(error) : Either.right(Option.empty());
+    }
+  }
+}
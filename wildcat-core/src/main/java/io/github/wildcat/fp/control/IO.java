@@ -1,6 +1,11 @@
 package io.github.wildcat.fp.control;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
 import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction3;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction4;
 import io.github.wildcat.fp.hkt.Kind;
 import io.github.wildcat.fp.typeclasses.core.Applicative;
 import io.github.wildcat.fp.typeclasses.core.Apply;
@@ -11,6 +16,10 @@ import io.github.wildcat.fp.typeclasses.core.Monad;
 import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
 import static io.github.wildcat.fp.utils.Types.genericCast;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -21,8 +30,28 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * <p>An {@code IO<A>} is a description of a computation which, when executed,
  * may perform side-effects and will eventually produce a value of type {@code A}.
  *
- * <p>This implementation is stack-safe due to the trampolining mechanism in its
- * {@link #unsafeRunSync()} interpreter.
+ * <p>This implementation is stack-safe: its interpreter evaluates binds with an
+ * explicit continuation stack instead of the Java call stack.
+ *
+ * <p>Computations are run by fibers. {@link #unsafeRunSync()} runs one on the calling
+ * thread, while {@link #start()}, {@link #unsafeRunAsync(NonNullConsumer)} and
+ * {@link #unsafeToCompletableFuture()} run them concurrently on the executor of an
+ * {@link IORuntime} (virtual threads by default). Failures, whether raised with
+ * {@link #raiseError(Throwable)} or thrown from a thunk or a function, travel through the error
+ * channel and can be recovered from with {@link #handleErrorWith(NonNullFunction)} or
+ * {@link #attempt()}. Asynchronous operations are wrapped with
+ * {@link #async(NonNullConsumer)} or {@link #fromCompletableFuture(IO)}; a fiber waiting on one is
+ * suspended instead of blocking its thread. The {@code par*} combinators, such as
+ * {@link #parTraverse(List, NonNullFunction)}, use fibers to run independent computations at the
+ * same time; {@link #parallel()} exposes them as an {@link Applicative}.
+ *
+ * <p>Fibers can be canceled, either directly with {@link Fiber#cancel()} or by combinators such as
+ * {@link #race(IO, IO)} and {@link #timeout(Duration)}. Cancellation is cooperative: it is observed
+ * between steps of the computation, never inside a thunk, and not at all inside an
+ * {@link #uncancelable(NonNullFunction) uncancelable} region. Finalizers registered with
+ * {@link #onCancel(IO)} or {@link #guarantee(IO)} run before a canceled fiber stops, and
+ * {@link #bracket(IO, NonNullFunction, NonNullFunction)} and {@link Resource} build safe resource
+ * handling on top of them.
  *
  * @param <A> The result type of the computation.
  */
@@ -35,46 +64,99 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
      * functional world and the impure world of side-effects. It should only be
      * called at the "end of the world" (e.g., in your {@code main} method).
      *
-     * <p>This method implements a trampoline to ensure stack safety.
+     * <p>The interpreter keeps pending continuations on an explicit stack, so it is
+     * stack-safe and runs in time linear in the number of binds, however they are nested.
      *
      * @return The result of the computation.
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     default A unsafeRunSync() {
-        IO<A> current = this;
-        while (true) {
-            switch (current) {
-                case Pure<A> pure -> {
-                    return pure.value();
-                }
-                case Suspend<A> suspend -> {
-                    return suspend.run().get();
-                }
-                case FlatMap<?, A> flatMap -> {
-                    final IO<?> io = flatMap.io();
-                    final NonNullFunction<Object, IO<A>> f = (NonNullFunction) flatMap.f();
-
-                    switch (io) {
-                        case Pure<?> pureIo -> {
-                            current = f.apply(pureIo.value());
-                        }
-                        case Suspend<?> suspendIo -> {
-                            current = f.apply(suspendIo.run().get());
-                        }
-                        case FlatMap<?, ?> innerFlatMap -> {
-                            final IO<Object> innerIO = (IO<Object>) innerFlatMap.io();
-                            final NonNullFunction<Object, IO<Object>> innerF = (NonNullFunction) innerFlatMap.f();
-                            current = (IO<A>) innerIO.flatMap(x -> innerF.apply(x).flatMap(f));
-                        }
-                    }
-                }
-            }
-        }
+        return unsafeRunSync(IORuntime.global());
+    }
+
+    /**
+     * Executes the described computation on the calling thread and returns the result.
+     * Fibers started by the computation are submitted to the given runtime.
+     *
+     * @param runtime The runtime to start fibers on.
+     * @return The result of the computation.
+     * @see #unsafeRunSync()
+     */
+    default A unsafeRunSync(final IORuntime runtime) {
+        parameterIsNotNull(runtime, "Runtime cannot be null");
+        return IOFiber.runSync(this, runtime);
+    }
+
+    /**
+     * Starts the described computation in a new fiber on the {@link IORuntime#global() global}
+     * runtime and returns immediately. The callback receives the outcome of the computation:
+     * its result on the right, or the failure on the left.
+     *
+     * <p><b>This method is "unsafe"</b> for the same reasons as {@link #unsafeRunSync()}.
+     *
+     * @param callback The callback to notify once the computation has finished.
+     */
+    default void unsafeRunAsync(final NonNullConsumer<? super Either<Throwable, A>> callback) {
+        unsafeRunAsync(IORuntime.global(), callback);
+    }
+
+    /**
+     * Starts the described computation in a new fiber on the given runtime and returns
+     * immediately.
+     *
+     * @param runtime The runtime to run the fiber on.
+     * @param callback The callback to notify once the computation has finished.
+     * @see #unsafeRunAsync(NonNullConsumer)
+     */
+    default void unsafeRunAsync(
+        final IORuntime runtime,
+        final NonNullConsumer<? super Either<Throwable, A>> callback
+    ) {
+        parameterIsNotNull(callback, "Callback cannot be null");
+        final CompletableFuture<A> ignored = unsafeToCompletableFuture(runtime).whenComplete(
+            (value, error) -> callback.accept(
+                error == null ? Either.right(value) : Either.left(IOFiber.unwrap(error))
+            )
+        );
+    }
+
+    /**
+     * Starts the described computation in a new fiber on the {@link IORuntime#global() global}
+     * runtime and returns its result as a {@link CompletableFuture}.
+     *
+     * <p><b>This method is "unsafe"</b> for the same reasons as {@link #unsafeRunSync()}.
+     *
+     * @return A future completed with the outcome of the computation.
+     */
+    default CompletableFuture<A> unsafeToCompletableFuture() {
+        return unsafeToCompletableFuture(IORuntime.global());
+    }
+
+    /**
+     * Starts the described computation in a new fiber on the given runtime and returns its
+     * result as a {@link CompletableFuture}.
+     *
+     * @param runtime The runtime to run the fiber on.
+     * @return A future completed with the outcome of the computation.
+     * @see #unsafeToCompletableFuture()
+     */
+    default CompletableFuture<A> unsafeToCompletableFuture(final IORuntime runtime) {
+        parameterIsNotNull(runtime, "Runtime cannot be null");
+        return IOFiber.start(this, runtime).result().copy();
+    }
+
+    /**
+     * Starts the described computation in a new fiber, concurrently with the current one.
+     * The fiber runs on the runtime of the fiber that starts it.
+     *
+     * @return An {@link IO} producing a handle to the started fiber.
+     */
+    default IO<Fiber<A>> start() {
+        return new Start<>(this);
     }
 
     default <U extends @NonNull Object> IO<U> map(NonNullFunction<? super A, ? extends U> f) {
-        // map is implemented in terms of the monadic operations: flatMap and pure
-        return this.flatMap(a -> IO.pure(f.apply(a)));
+        // Consecutive maps are fused into a single node with a composed function.
+        return Map.fuse(this, f);
     }
 
     default <U extends @NonNull Object> IO<U> flatMap(final NonNullFunction<? super A, ? extends IO<U>> f) {
@@ -82,6 +164,180 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
         return new FlatMap<>(this, f);
     }
 
+    /**
+     * Recovers from a failure of this computation by switching to the computation produced by
+     * {@code handler}. A successful result passes through unchanged.
+     *
+     * @param handler The function producing the computation to recover with.
+     * @return An {@link IO} that recovers from failures with {@code handler}.
+     */
+    default IO<A> handleErrorWith(final NonNullFunction<? super Throwable, ? extends IO<A>> handler) {
+        parameterIsNotNull(handler, "Handler cannot be null");
+        return new HandleErrorWith<>(this, handler);
+    }
+
+    /**
+     * Recovers from a failure of this computation with the value produced by {@code handler}.
+     *
+     * @param handler The function producing the value to recover with.
+     * @return An {@link IO} that recovers from failures with {@code handler}.
+     */
+    default IO<A> handleError(final NonNullFunction<? super Throwable, ? extends A> handler) {
+        parameterIsNotNull(handler, "Handler cannot be null");
+        return handleErrorWith(error -> new Pure<>(handler.apply(error)));
+    }
+
+    /**
+     * Materializes the outcome of this computation: its result on the right, or the failure on
+     * the left. The returned computation never fails.
+     *
+     * @return An {@link IO} producing the outcome of this computation.
+     */
+    default IO<Either<Throwable, A>> attempt() {
+        return this.<Either<Throwable, A>>map(Either::right).handleErrorWith(error -> new Pure<>(Either.left(error)));
+    }
+
+    /**
+     * Materializes the outcome of this computation as a {@link Try}.
+     *
+     * <p>{@link Try} only holds {@link Exception}s, so failures that are not exceptions, such as
+     * {@link AssertionError}, are not caught and still fail the returned computation.
+     *
+     * @return An {@link IO} producing the outcome of this computation.
+     */
+    default IO<Try<A>> attemptTry() {
+        return this.<Try<A>>map(Try::success).handleErrorWith(
+            error -> error instanceof Exception exception ? new Pure<>(Try.failure(exception)) : new Error<>(error)
+        );
+    }
+
+    /**
+     * Registers a finalizer that runs if this computation is canceled while it runs. The
+     * finalizer itself cannot be canceled.
+     *
+     * @param finalizer The computation to run on cancellation.
+     * @return An {@link IO} that runs {@code finalizer} if it is canceled.
+     */
+    default IO<A> onCancel(final IO<Unit> finalizer) {
+        parameterIsNotNull(finalizer, "Finalizer cannot be null");
+        return new OnCancel<>(this, finalizer);
+    }
+
+    /**
+     * Registers a finalizer that runs once this computation has finished, whether it succeeded,
+     * failed or was canceled. The finalizer itself cannot be canceled. If it fails, its failure
+     * replaces the outcome of this computation.
+     *
+     * @param finalizer The computation to run once this computation has finished.
+     * @return An {@link IO} that always runs {@code finalizer}.
+     */
+    default IO<A> guarantee(final IO<Unit> finalizer) {
+        parameterIsNotNull(finalizer, "Finalizer cannot be null");
+        return new Guarantee<>(this, finalizer);
+    }
+
+    /**
+     * Makes this computation uncancelable: cancellation requested while it runs only takes effect
+     * once it has finished.
+     *
+     * @return An uncancelable {@link IO}.
+     * @see #uncancelable(NonNullFunction)
+     */
+    default IO<A> uncancelable() {
+        return uncancelable(poll -> this);
+    }
+
+    /**
+     * Fails with a {@link TimeoutException} if this computation does not finish within
+     * {@code duration}. This computation is canceled when the time runs out.
+     *
+     * @param duration The time this computation may take.
+     * @return An {@link IO} producing the result of this computation, or failing on timeout.
+     */
+    default IO<A> timeout(final Duration duration) {
+        parameterIsNotNull(duration, "Duration cannot be null");
+        return timeoutTo(duration, defer(() -> raiseError(new TimeoutException("Timed out after " + duration))));
+    }
+
+    /**
+     * Switches to {@code fallback} if this computation does not finish within {@code duration}.
+     * This computation is canceled when the time runs out.
+     *
+     * @param duration The time this computation may take.
+     * @param fallback The computation to run on timeout.
+     * @return An {@link IO} producing the result of this computation, or of {@code fallback}.
+     */
+    default IO<A> timeoutTo(final Duration duration, final IO<A> fallback) {
+        parameterIsNotNull(duration, "Duration cannot be null");
+        parameterIsNotNull(fallback, "Fallback cannot be null");
+        return race(this, sleep(duration)).flatMap(winner -> winner.fold(IO::pure, unit -> fallback));
+    }
+
+    /**
+     * Runs this computation again each time it fails, for as long as {@code schedule} recurs and
+     * after the delay it decides. Once the schedule stops, the last failure is raised.
+     *
+     * @param schedule The policy deciding whether and when to retry.
+     * @return An {@link IO} producing the result of the first successful attempt.
+     */
+    default IO<A> retry(final Schedule schedule) {
+        parameterIsNotNull(schedule, "Schedule cannot be null");
+        return defer(() -> retrying(this, schedule.start(), System.nanoTime()));
+    }
+
+    /**
+     * Runs this computation again each time it succeeds, for as long as {@code schedule} recurs and
+     * after the delay it decides. A failure stops the repetition.
+     *
+     * @param schedule The policy deciding whether and when to repeat.
+     * @return An {@link IO} producing the result of the last run.
+     */
+    default IO<A> repeat(final Schedule schedule) {
+        parameterIsNotNull(schedule, "Schedule cannot be null");
+        return defer(() -> repeating(this, schedule.start(), System.nanoTime()));
+    }
+
+    /**
+     * Returns a computation that runs this one at most once, and then keeps producing its result.
+     *
+     * <p>The result is shared by every run of the returned {@link IO}, including concurrent ones:
+     * fibers that run it while the computation is in flight wait for that single run instead of
+     * starting their own. A failure is not remembered; the next run tries again.
+     *
+     * @return An {@link IO} producing the result of the single run of this computation.
+     */
+    default IO<A> memoize() {
+        return IOCache.memoize(this);
+    }
+
+    /**
+     * Returns a computation that shares the result of this one for {@code ttl}, and runs it again
+     * once the result has expired. Like {@link #memoize()}, concurrent runs wait for a single
+     * computation in flight.
+     *
+     * @param ttl How long a result is reused.
+     * @return An {@link IO} producing the cached result of this computation.
+     */
+    default IO<A> cachedFor(final Duration ttl) {
+        return cachedFor(ttl, false);
+    }
+
+    /**
+     * Like {@link #cachedFor(Duration)}, but with {@code serveStale} an expired result keeps being
+     * produced while it is refreshed in the background, so that only the very first run waits.
+     *
+     * @param ttl How long a result is fresh.
+     * @param serveStale Whether to produce the expired result while it is being refreshed.
+     * @return An {@link IO} producing the cached result of this computation.
+     */
+    default IO<A> cachedFor(final Duration ttl, final boolean serveStale) {
+        parameterIsNotNull(ttl, "TTL cannot be null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        return IOCache.cachedFor(this, ttl, serveStale);
+    }
+
     default <B extends @NonNull Object> IO<B> ap(final IO<@NonNull NonNullFunction<? super A, ? extends B>> f) {
         parameterIsNotNull(f, "Function IO cannot be null");
         return f.flatMap(this::map);
@@ -99,6 +355,34 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
      */
     record Suspend<A extends @NonNull Object>(Supplier<A> run) implements IO<A> { }
 
+    /**
+     * Represents a pure transformation of the result of another computation (the result of a map).
+     *
+     * <p>Mapping over a {@code Map} composes the functions instead of nesting another node. The
+     * {@code fused} component counts how many functions have been composed so far; once it reaches
+     * a fixed limit a fresh node is started, so applying the composed function cannot overflow the
+     * stack.
+     */
+    record Map<X extends @NonNull Object, A extends @NonNull Object>(
+        IO<X> io, NonNullFunction<? super X, ? extends A> f, int fused
+    ) implements IO<A> {
+        private static final int MAX_FUSED = 127;
+
+        static <A extends @NonNull Object, U extends @NonNull Object> IO<U> fuse(
+            final IO<A> io,
+            final NonNullFunction<? super A, ? extends U> f
+        ) {
+            if (io instanceof Map<?, A> map && map.fused() < MAX_FUSED) {
+                return map.andThen(f);
+            }
+            return new Map<>(io, f, 0);
+        }
+
+        private <U extends @NonNull Object> Map<X, U> andThen(final NonNullFunction<? super A, ? extends U> g) {
+            return new Map<>(io, f.andThen(g), fused + 1);
+        }
+    }
+
     /**
      * Represents a sequenced computation (the result of a flatMap).
      */
@@ -106,6 +390,68 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
         IO<X> io, NonNullFunction<? super X, ? extends IO<A>> f
     ) implements IO<A> { }
 
+    /**
+     * Represents starting a computation in a new fiber (the result of {@link IO#start()}).
+     */
+    record Start<A extends @NonNull Object>(IO<A> io) implements IO<Fiber<A>> { }
+
+    /**
+     * Represents a failed computation (the result of {@link IO#raiseError(Throwable)}).
+     */
+    @SuppressWarnings("JavaLangClash")
+    @SuppressFBWarnings(
+        value = {
+            "EI_EXPOSE_REP"
+        },
+        justification = "Exception mutability is not a concern in this context"
+    )
+    record Error<A extends @NonNull Object>(Throwable error) implements IO<A> { }
+
+    /**
+     * Represents a computation with an error handler (the result of
+     * {@link IO#handleErrorWith(NonNullFunction)}).
+     */
+    record HandleErrorWith<A extends @NonNull Object>(
+        IO<A> io, NonNullFunction<? super Throwable, ? extends IO<A>> handler
+    ) implements IO<A> { }
+
+    /**
+     * Represents a computation with a finalizer that runs on cancellation (the result of
+     * {@link IO#onCancel(IO)}).
+     */
+    record OnCancel<A extends @NonNull Object>(IO<A> io, IO<Unit> finalizer) implements IO<A> { }
+
+    /**
+     * Represents a computation with a finalizer that always runs (the result of
+     * {@link IO#guarantee(IO)}).
+     */
+    record Guarantee<A extends @NonNull Object>(IO<A> io, IO<Unit> finalizer) implements IO<A> { }
+
+    /**
+     * Represents an uncancelable region (the result of {@link IO#uncancelable(NonNullFunction)}).
+     */
+    record Uncancelable<A extends @NonNull Object>(NonNullFunction<Poll, ? extends IO<A>> body) implements IO<A> { }
+
+    /**
+     * Represents a cancelable computation inside an uncancelable region (the result of
+     * {@link Poll#apply(IO)}).
+     */
+    record Unmask<A extends @NonNull Object>(IO<A> io, Poll poll) implements IO<A> { }
+
+    /**
+     * Represents waiting on the timer of the runtime (the result of {@link IO#sleep(Duration)}).
+     */
+    record Sleep(Duration duration) implements IO<Unit> { }
+
+    /**
+     * Represents a computation completed by a callback (the result of {@link IO#async} and
+     * {@link IO#asyncCancelable}). The register function may return a finalizer that cancels the
+     * pending operation.
+     */
+    record Async<A extends @NonNull Object>(
+        NonNullFunction<NonNullConsumer<Either<Throwable, A>>, Option<IO<Unit>>> register
+    ) implements IO<A> { }
+
 
     // --- Factory Methods ---
 
@@ -117,6 +463,429 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
         return new Suspend<>(run);
     }
 
+    /**
+     * Creates a computation that fails with the given error.
+     *
+     * <p>For errors raised as part of normal control flow, consider extending
+     * {@link StacklessException}, which skips capturing a stack trace.
+     *
+     * @param error The error to fail with.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} failing with {@code error}.
+     */
+    static <A extends @NonNull Object> IO<A> raiseError(final Throwable error) {
+        parameterIsNotNull(error, "Error cannot be null");
+        return new Error<>(error);
+    }
+
+    /**
+     * Lifts an {@link Either} into a computation that produces its right value or fails with its
+     * left value.
+     *
+     * @param either The either to lift.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} producing the right value of {@code either}.
+     */
+    static <A extends @NonNull Object> IO<A> fromEither(final Either<? extends Throwable, ? extends A> either) {
+        parameterIsNotNull(either, "Either cannot be null");
+        return either.fold(Error::new, Pure::new);
+    }
+
+    /**
+     * Lifts a {@link Try} into a computation that produces its value or fails with its exception.
+     *
+     * @param value The try to lift.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} producing the value of the try.
+     */
+    static <A extends @NonNull Object> IO<A> fromTry(final Try<? extends A> value) {
+        parameterIsNotNull(value, "Try cannot be null");
+        return value.fold(Error::new, Pure::new);
+    }
+
+    /**
+     * Defers the construction of a computation until it is run.
+     *
+     * @param thunk The supplier of the computation to run.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} that runs the supplied computation.
+     */
+    static <A extends @NonNull Object> IO<A> defer(final Supplier<? extends IO<A>> thunk) {
+        parameterIsNotNull(thunk, "Thunk cannot be null");
+        return new FlatMap<>(new Suspend<>(thunk::get), io -> io);
+    }
+
+    /**
+     * Creates a computation that is completed by a callback, for wrapping callback-based APIs.
+     *
+     * <p>When run, {@code register} is called with a callback that completes the computation:
+     * with a value on the right, or with a failure on the left. Only the first call to the
+     * callback has an effect. The fiber is suspended until the callback is called, without
+     * holding on to a thread, and then resumes on the executor of its runtime.
+     *
+     * @param register The function registering the callback with the asynchronous operation.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} completed by the callback.
+     */
+    static <A extends @NonNull Object> IO<A> async(
+        final NonNullConsumer<NonNullConsumer<Either<Throwable, A>>> register
+    ) {
+        parameterIsNotNull(register, "Register cannot be null");
+        return new Async<>(callback -> {
+            register.accept(callback);
+            return Option.empty();
+        });
+    }
+
+    /**
+     * Like {@link #async(NonNullConsumer)}, but the operation can be canceled: {@code register}
+     * returns a finalizer that is run, instead of waiting for the callback, if the fiber is
+     * canceled while it is suspended.
+     *
+     * @param register The function registering the callback and returning the finalizer.
+     * @param <A> The result type of the computation.
+     * @return An {@link IO} completed by the callback.
+     */
+    static <A extends @NonNull Object> IO<A> asyncCancelable(
+        final NonNullFunction<NonNullConsumer<Either<Throwable, A>>, IO<Unit>> register
+    ) {
+        parameterIsNotNull(register, "Register cannot be null");
+        return new Async<>(callback -> Option.present(register.apply(callback)));
+    }
+
+    /**
+     * Creates a computation that awaits the {@link CompletableFuture} produced by {@code future},
+     * without blocking a thread while it waits.
+     *
+     * <p>The future is taken from an {@link IO} so that the operation it stands for is started
+     * when the computation runs, not when it is built. A future that fails with a
+     * {@link java.util.concurrent.CompletionException} fails the computation with its cause.
+     *
+     * @param future The computation producing the future to await.
+     * @param <A> The result type of the future.
+     * @return An {@link IO} producing the result of the future.
+     */
+    static <A extends @NonNull Object> IO<A> fromCompletableFuture(
+        final IO<? extends CompletableFuture<A>> future
+    ) {
+        parameterIsNotNull(future, "Future cannot be null");
+        return future.flatMap(started -> async(callback -> {
+            final CompletableFuture<A> ignored = started.whenComplete((value, error) -> callback.accept(
+                error == null ? Either.right(value) : Either.left(IOFiber.unwrap(error))
+            ));
+        }));
+    }
+
+    /**
+     * Creates a computation that completes after the given duration.
+     *
+     * <p>The wait is scheduled on the timer of the runtime, so no thread is held while the fiber
+     * sleeps, and it ends right away if the fiber is canceled.
+     *
+     * @param duration The time to sleep; non-positive durations complete immediately.
+     * @return An {@link IO} completing after {@code duration}.
+     */
+    static IO<Unit> sleep(final Duration duration) {
+        parameterIsNotNull(duration, "Duration cannot be null");
+        return new Sleep(duration);
+    }
+
+    /**
+     * Creates an uncancelable region. {@code body} receives a {@link Poll} that makes parts of the
+     * region cancelable again, which lets the region acquire something, wait cancelably, and
+     * register the finalizer releasing it, without leaving a gap in which cancellation would leak
+     * it.
+     *
+     * @param body The function producing the computation to run uncancelably.
+     * @param <A> The result type of the computation.
+     * @return An uncancelable {@link IO}.
+     */
+    static <A extends @NonNull Object> IO<A> uncancelable(final NonNullFunction<Poll, ? extends IO<A>> body) {
+        parameterIsNotNull(body, "Body cannot be null");
+        return new Uncancelable<>(body);
+    }
+
+    /**
+     * Acquires a resource, uses it and releases it. {@code release} runs exactly once if
+     * {@code acquire} succeeds, whether {@code use} succeeds, fails or is canceled. Acquiring and
+     * releasing cannot be canceled; only {@code use} can.
+     *
+     * @param acquire The computation acquiring the resource.
+     * @param use The function using the resource.
+     * @param release The function releasing the resource.
+     * @param <A> The type of the resource.
+     * @param <B> The result type of using the resource.
+     * @return An {@link IO} producing the result of {@code use}.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<B> bracket(
+        final IO<A> acquire,
+        final NonNullFunction<? super A, ? extends IO<B>> use,
+        final NonNullFunction<? super A, ? extends IO<Unit>> release
+    ) {
+        parameterIsNotNull(acquire, "Acquire cannot be null");
+        return bracketFull(poll -> acquire, use, release);
+    }
+
+    /**
+     * Like {@link #bracket(IO, NonNullFunction, NonNullFunction)}, but {@code acquire} receives a
+     * {@link Poll} to make waiting parts of the acquisition cancelable, such as waiting for a
+     * connection from a pool. A resource is only handed to {@code use} once the acquisition has
+     * completed, so canceling it while it is polled cannot leak the resource.
+     *
+     * @param acquire The function producing the computation acquiring the resource.
+     * @param use The function using the resource.
+     * @param release The function releasing the resource.
+     * @param <A> The type of the resource.
+     * @param <B> The result type of using the resource.
+     * @return An {@link IO} producing the result of {@code use}.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<B> bracketFull(
+        final NonNullFunction<Poll, ? extends IO<A>> acquire,
+        final NonNullFunction<? super A, ? extends IO<B>> use,
+        final NonNullFunction<? super A, ? extends IO<Unit>> release
+    ) {
+        parameterIsNotNull(acquire, "Acquire cannot be null");
+        parameterIsNotNull(use, "Use cannot be null");
+        parameterIsNotNull(release, "Release cannot be null");
+        return uncancelable(poll -> acquire.apply(poll).flatMap(
+            resource -> poll.apply(defer(() -> use.apply(resource))).guarantee(defer(() -> release.apply(resource)))
+        ));
+    }
+
+    /**
+     * Runs two computations concurrently and produces the result of the first one to finish:
+     * on the left if it is {@code fa}, on the right if it is {@code fb}. The loser is canceled, and
+     * the race only completes once it has stopped. If the first computation to finish fails, the
+     * race fails in the same way.
+     *
+     * @param fa The first computation.
+     * @param fb The second computation.
+     * @param <A> The result type of the first computation.
+     * @param <B> The result type of the second computation.
+     * @return An {@link IO} producing the result of the winner.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<Either<A, B>> race(
+        final IO<A> fa,
+        final IO<B> fb
+    ) {
+        parameterIsNotNull(fa, "First IO cannot be null");
+        parameterIsNotNull(fb, "Second IO cannot be null");
+        return IORace.race(fa, fb);
+    }
+
+    /**
+     * Runs two computations concurrently and produces both results. If either fails, the other is
+     * canceled.
+     *
+     * @param fa The first computation.
+     * @param fb The second computation.
+     * @param <A> The result type of the first computation.
+     * @param <B> The result type of the second computation.
+     * @return An {@link IO} producing both results.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<Tuple2<A, B>> both(
+        final IO<A> fa,
+        final IO<B> fb
+    ) {
+        return parMap2(fa, fb, Tuple2::of);
+    }
+
+    /**
+     * Returns a computation that does nothing and produces {@link Unit}.
+     *
+     * @return An {@link IO} producing {@link Unit#UNIT}.
+     */
+    static IO<Unit> unit() {
+        return new Pure<>(Unit.UNIT);
+    }
+
+    // --- Parallel combinators ---
+
+    /**
+     * Applies {@code f} to every value and runs the resulting computations in parallel, each in
+     * its own fiber.
+     *
+     * <p>The results keep the order of {@code values}. If any computation fails, the others are
+     * canceled and the returned {@link IO} fails with the first failure.
+     *
+     * @param values The values to traverse.
+     * @param f The function producing a computation for each value.
+     * @param <A> The type of the values.
+     * @param <B> The result type of the computations.
+     * @return An {@link IO} producing the results in the order of {@code values}.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<List<B>> parTraverse(
+        final List<? extends A> values,
+        final NonNullFunction<? super A, ? extends IO<B>> f
+    ) {
+        return parTraverseN(Integer.MAX_VALUE, values, f);
+    }
+
+    /**
+     * Like {@link #parTraverse(List, NonNullFunction)}, but with at most {@code maxConcurrency}
+     * computations running at once.
+     *
+     * @param maxConcurrency The maximum number of computations running at once.
+     * @param values The values to traverse.
+     * @param f The function producing a computation for each value.
+     * @param <A> The type of the values.
+     * @param <B> The result type of the computations.
+     * @return An {@link IO} producing the results in the order of {@code values}.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is not positive.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object> IO<List<B>> parTraverseN(
+        final int maxConcurrency,
+        final List<? extends A> values,
+        final NonNullFunction<? super A, ? extends IO<B>> f
+    ) {
+        parameterIsNotNull(values, "Values cannot be null");
+        parameterIsNotNull(f, "Function cannot be null");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        return IOParallel.traverse(values, f, maxConcurrency);
+    }
+
+    /**
+     * Runs all the given computations in parallel and collects their results in order.
+     *
+     * @param ios The computations to run.
+     * @param <A> The result type of the computations.
+     * @return An {@link IO} producing the results in the order of {@code ios}.
+     * @see #parTraverse(List, NonNullFunction)
+     */
+    static <A extends @NonNull Object> IO<List<A>> parSequence(final List<? extends IO<A>> ios) {
+        return parTraverse(ios, io -> io);
+    }
+
+    /**
+     * Like {@link #parSequence(List)}, but with at most {@code maxConcurrency} computations
+     * running at once.
+     *
+     * @param maxConcurrency The maximum number of computations running at once.
+     * @param ios The computations to run.
+     * @param <A> The result type of the computations.
+     * @return An {@link IO} producing the results in the order of {@code ios}.
+     */
+    static <A extends @NonNull Object> IO<List<A>> parSequenceN(
+        final int maxConcurrency,
+        final List<? extends IO<A>> ios
+    ) {
+        return parTraverseN(maxConcurrency, ios, io -> io);
+    }
+
+    /**
+     * Runs two computations in parallel and combines their results.
+     *
+     * @param fa The first computation.
+     * @param fb The second computation.
+     * @param f The function combining the results.
+     * @param <A> The result type of the first computation.
+     * @param <B> The result type of the second computation.
+     * @param <C> The type of the combined result.
+     * @return An {@link IO} producing the combined result.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object> IO<C> parMap2(
+        final IO<A> fa,
+        final IO<B> fb,
+        final NonNullBiFunction<? super A, ? super B, ? extends C> f
+    ) {
+        parameterIsNotNull(f, "Function cannot be null");
+        return parProduct(fa, fb).map(
+            results -> f.apply(genericCast(results.get(0)), genericCast(results.get(1)))
+        );
+    }
+
+    /**
+     * Runs three computations in parallel and combines their results.
+     *
+     * @param fa The first computation.
+     * @param fb The second computation.
+     * @param fc The third computation.
+     * @param f The function combining the results.
+     * @param <A> The result type of the first computation.
+     * @param <B> The result type of the second computation.
+     * @param <C> The result type of the third computation.
+     * @param <D> The type of the combined result.
+     * @return An {@link IO} producing the combined result.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object, D extends @NonNull Object> IO<D> parMap3(
+        final IO<A> fa,
+        final IO<B> fb,
+        final IO<C> fc,
+        final NonNullFunction3<? super A, ? super B, ? super C, ? extends D> f
+    ) {
+        parameterIsNotNull(f, "Function cannot be null");
+        return parProduct(fa, fb, fc).map(results -> f.apply(
+            genericCast(results.get(0)),
+            genericCast(results.get(1)),
+            genericCast(results.get(2))
+        ));
+    }
+
+    /**
+     * Runs four computations in parallel and combines their results.
+     *
+     * @param fa The first computation.
+     * @param fb The second computation.
+     * @param fc The third computation.
+     * @param fd The fourth computation.
+     * @param f The function combining the results.
+     * @param <A> The result type of the first computation.
+     * @param <B> The result type of the second computation.
+     * @param <C> The result type of the third computation.
+     * @param <D> The result type of the fourth computation.
+     * @param <E> The type of the combined result.
+     * @return An {@link IO} producing the combined result.
+     */
+    static <A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object, D extends @NonNull Object, E extends @NonNull Object> IO<E> parMap4(
+        final IO<A> fa,
+        final IO<B> fb,
+        final IO<C> fc,
+        final IO<D> fd,
+        final NonNullFunction4<? super A, ? super B, ? super C, ? super D, ? extends E> f
+    ) {
+        parameterIsNotNull(f, "Function cannot be null");
+        return parProduct(fa, fb, fc, fd).map(results -> f.apply(
+            genericCast(results.get(0)),
+            genericCast(results.get(1)),
+            genericCast(results.get(2)),
+            genericCast(results.get(3))
+        ));
+    }
+
+    private static IO<List<Object>> parProduct(final IO<?>... ios) {
+        return parTraverse(List.of(ios), io -> genericCast(io));
+    }
+
+    // Both loops leave no frame behind between attempts, so they run in constant stack space.
+    private static <A extends @NonNull Object> IO<A> retrying(
+        final IO<A> io,
+        final Schedule.Decider decider,
+        final long started
+    ) {
+        return io.handleErrorWith(error -> {
+            final Duration delay = decider.next(System.nanoTime() - started);
+            return delay == null ? raiseError(error) : pause(delay).flatMap(unit -> retrying(io, decider, started));
+        });
+    }
+
+    private static <A extends @NonNull Object> IO<A> repeating(
+        final IO<A> io,
+        final Schedule.Decider decider,
+        final long started
+    ) {
+        return io.flatMap(value -> {
+            final Duration delay = decider.next(System.nanoTime() - started);
+            return delay == null ? pure(value) : pause(delay).flatMap(unit -> repeating(io, decider, started));
+        });
+    }
+
+    // Zero delays skip the round trip through the timer thread.
+    private static IO<Unit> pause(final Duration delay) {
+        return delay.isZero() ? unit() : sleep(delay);
+    }
+
     // --- Typeclass witness and instance ---
     
     interface k extends Monad.k { }
@@ -124,6 +893,19 @@ public sealed interface IO<A extends @NonNull Object> extends Kind<IO.k, A> {
     static Monad<IO.k> monad() {
         return io_monad.instance();
     }
+
+    /**
+     * Returns an {@link Applicative} for {@link IO} whose {@code ap} runs both computations in
+     * parallel, as {@link #parMap2(IO, IO, NonNullBiFunction)} does.
+     *
+     * <p>It is deliberately not the applicative of {@link #monad()}, whose {@code ap} sequences
+     * effects consistently with {@code flatMap}.
+     *
+     * @return The parallel applicative instance for {@link IO}.
+     */
+    static Applicative<IO.k> parallel() {
+        return io_parallel_applicative.instance();
+    }
 }
 
 class io_functor implements Functor<IO.k> {
@@ -185,6 +967,27 @@ class io_applicative extends io_apply implements Applicative<IO.k> {
     }
 }
 
+class io_parallel_applicative extends io_applicative {
+    private static final io_parallel_applicative instance = new io_parallel_applicative();
+
+    private io_parallel_applicative() {
+    }
+
+    static io_parallel_applicative instance() {
+        return instance;
+    }
+
+    @Override
+    public <A extends @NonNull Object, B extends @NonNull Object> Kind<IO.k, B> ap(
+        final Kind<IO.k, A> fa,
+        final Kind<IO.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+    ) {
+        final IO<A> io = genericCast(fa.fix());
+        final IO<@NonNull NonNullFunction<? super A, ? extends B>> ioF = genericCast(f.fix());
+        return IO.parMap2(io, ioF, (a, g) -> g.apply(a));
+    }
+}
+
 class io_flatmap extends io_apply implements FlatMap<IO.k> {
     private static final io_flatmap instance = new io_flatmap();
 
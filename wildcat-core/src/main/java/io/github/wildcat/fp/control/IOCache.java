@@ -0,0 +1,148 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the result of an {@link IO} computation, for {@link IO#memoize()} and
+ * {@link IO#cachedFor(Duration)}.
+ *
+ * <p>The cache is a small lock-free state machine: empty, loading, or holding a value that expires
+ * at some point in time. Whoever finds the cache empty or expired installs a loading state with a
+ * compare-and-set and starts the computation; everybody else waits on that same load instead of
+ * starting one of their own. The computation runs in a fiber of its own, so canceling a waiting
+ * fiber, including the one that started the load, never cancels the load for the others.
+ *
+ * <p>Failures are not cached: the fibers waiting on a failed load all fail, and the next caller
+ * starts a new load. When stale values may be served, a load refreshing an expired value does not
+ * make anybody wait; callers keep getting the expired value until the refresh completes.
+ *
+ * @param <A>
+ *   The type of the cached value.
+ */
+final class IOCache<A extends @NonNull Object> {
+  private final IO<A> io;
+  private final long ttl;
+  private final boolean serveStale;
+  private final AtomicReference<State<A>> state = new AtomicReference<>(new Empty<>());
+
+  private IOCache(final IO<A> io, final long ttl, final boolean serveStale) {
+    this.io = io;
+    this.ttl = ttl;
+    this.serveStale = serveStale;
+  }
+
+  /**
+   * Describes a computation producing the result of {@code io}, which is computed at most once.
+   *
+   * @param io
+   *   The computation to cache.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return An {@link IO} producing the cached result.
+   */
+  static <A extends @NonNull Object> IO<A> memoize(final IO<A> io) {
+    return new IOCache<>(io, Long.MAX_VALUE, false).get();
+  }
+
+  /**
+   * Describes a computation producing the result of {@code io}, which is computed again once it is
+   * older than {@code ttl}.
+   *
+   * @param io
+   *   The computation to cache.
+   * @param ttl
+   *   How long a result is fresh.
+   * @param serveStale
+   *   Whether callers get the expired result while it is being refreshed, instead of waiting.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return An {@link IO} producing the cached result.
+   */
+  static <A extends @NonNull Object> IO<A> cachedFor(final IO<A> io, final Duration ttl, final boolean serveStale) {
+    return new IOCache<>(io, ttl.toNanos(), serveStale).get();
+  }
+
+  private IO<A> get() {
+    return IO.defer(() -> {
+      while (true) {
+        final State<A> current = state.get();
+        switch (current) {
+          case Cached<A> cached -> {
+            if (!cached.expired(System.nanoTime())) {
+              return IO.pure(cached.value());
+            }
+            final Loading<A> loading = new Loading<>(Deferred.unsafe(), serveStale ? cached : null);
+            if (state.compareAndSet(current, loading)) {
+              return serveStale
+                     ? load(loading).start().map(fiber -> cached.value())
+                     : load(loading).start().flatMap(fiber -> await(loading));
+            }
+          }
+          case Loading<A> loading -> {
+            final Cached<A> stale = loading.stale();
+            return stale != null ? IO.pure(stale.value()) : await(loading);
+          }
+          case Empty<A> empty -> {
+            final Loading<A> loading = new Loading<>(Deferred.unsafe(), null);
+            if (state.compareAndSet(current, loading)) {
+              return load(loading).start().flatMap(fiber -> await(loading));
+            }
+          }
+        }
+      }
+    });
+  }
+
+  private IO<Unit> load(final Loading<A> loading) {
+    return io.attempt().flatMap(result -> IO.defer(() -> {
+      final State<A> settled = switch (result) {
+        case Either.Right<Throwable, A> right -> new Cached<>(right.value(), expiry(System.nanoTime(), ttl));
+        case Either.Left<Throwable, A> left -> {
+          final Cached<A> stale = loading.stale();
+          yield stale != null ? stale : new Empty<>();
+        }
+      };
+      state.compareAndSet(loading, settled);
+      return loading.result().complete(result).map(completed -> Unit.UNIT);
+    }));
+  }
+
+  /**
+   * The time at which a value cached at {@code now} expires, or {@link Long#MAX_VALUE} if it never
+   * does. The sum may wrap around, as {@link System#nanoTime()} does, which
+   * {@link Cached#expired(long)} allows for.
+   */
+  static long expiry(final long now, final long ttl) {
+    if (ttl == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    final long expiresAt = now + ttl;
+    // Long.MAX_VALUE means "never", so an expiry landing on it is moved a nanosecond earlier.
+    return expiresAt == Long.MAX_VALUE ? expiresAt - 1 : expiresAt;
+  }
+
+  private IO<A> await(final Loading<A> loading) {
+    return loading.result().get().flatMap(IO::fromEither);
+  }
+
+  private sealed interface State<A extends @NonNull Object> { }
+
+  private record Empty<A extends @NonNull Object>() implements State<A> { }
+
+  private record Loading<A extends @NonNull Object>(
+      Deferred<Either<Throwable, A>> result,
+      @Nullable Cached<A> stale
+  ) implements State<A> { }
+
+  private record Cached<A extends @NonNull Object>(A value, long expiresAt) implements State<A> {
+
+    boolean expired(final long now) {
+      return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+    }
+  }
+}
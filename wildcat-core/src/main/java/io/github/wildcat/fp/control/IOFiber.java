@@ -0,0 +1,578 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The interpreter for {@link IO}: a single fiber of execution together with its run loop.
+ *
+ * <p>Pending continuations are kept in an explicit, array-backed stack rather than being
+ * re-associated into new {@link IO.FlatMap} nodes. Evaluating a chain of {@code n} binds is
+ * therefore linear in {@code n} regardless of how the chain is nested, and a step of the loop
+ * only allocates when the stack has to grow.
+ *
+ * <p>Each frame is tagged as a bind, a map or an error handler. Map frames are applied in place as
+ * soon as a value reaches them, without going back through the loop, and handler frames are simply
+ * dropped. An error, whether raised with an {@link IO.Error} node or thrown by user code, unwinds
+ * the stack to the nearest handler frame instead. The loop has a single {@code try} block around
+ * it, so binds pay nothing for error handling until an error actually happens.
+ *
+ * <p>A fiber is either run directly on the calling thread ({@link #runSync(IO, IORuntime)}) or
+ * submitted to the executor of its {@link IORuntime} ({@link #start(IO, IORuntime)}). When it
+ * reaches an {@link IO.Async} node the run loop registers a callback and returns, leaving the
+ * continuation stack in place; the callback resubmits the fiber to the executor, so no thread is
+ * parked while the fiber waits. A callback that fires before registration returns is picked up
+ * by the run loop directly, without a round trip through the executor. The run loop
+ * checks for cancellation before every step that is not a pure value, and yields its thread every
+ * {@value #AUTO_YIELD_STEPS} steps: virtual threads are never preempted, so without it a fiber that
+ * never blocks would keep sibling fibers from running on the same carrier thread.
+ *
+ * <p>Cancellation is tracked with a mask count: entering an uncancelable region increments it, and
+ * unmask and remask frames on the stack keep it in step with the regions being entered and left.
+ * Cancellation is only acted upon while the count is zero. The fiber then drops every frame except
+ * finalizers, and runs those one after another on top of a canceling frame that resumes the
+ * unwinding. Guarantee finalizers also run, masked, when a value or an error passes their frame.
+ *
+ * @param <A>
+ *   The result type of the fiber.
+ */
+@SuppressFBWarnings(
+    value = {
+              "AT_STALE_THREAD_WRITE_OF_PRIMITIVE"
+    },
+    justification = "The continuation stack is only ever touched by the thread running the fiber"
+)
+final class IOFiber<A extends @NonNull Object> implements Fiber<A>, Runnable {
+  private static final int INITIAL_STACK_SIZE = 16;
+  private static final int AUTO_YIELD_STEPS = 1024;
+  private static final byte BIND = 0;
+  private static final byte MAP = 1;
+  private static final byte HANDLER = 2;
+  private static final byte FINALIZER = 3;
+  private static final byte GUARANTEE = 4;
+  private static final byte CANCELING = 5;
+  private static final byte UNMASK = 6;
+  private static final byte REMASK = 7;
+  private static final byte RETURN = 8;
+  private static final byte RERAISE = 9;
+  private static final Object CANCELED = new Object();
+  private static final Object SUSPENDED = new Object();
+
+  private final IORuntime runtime;
+  private final CompletableFuture<A> result = new CompletableFuture<>();
+  private volatile boolean canceled;
+  private volatile @Nullable Callback suspended;
+
+  private final IO<A> io;
+  private @Nullable Object[] stack = new Object[INITIAL_STACK_SIZE];
+  private byte[] tags = new byte[INITIAL_STACK_SIZE];
+  private int size;
+  private int masks;
+  private boolean finalizing;
+
+  private IOFiber(final IO<A> io, final IORuntime runtime) {
+    this.io = io;
+    this.runtime = runtime;
+  }
+
+  /**
+   * Evaluates the given {@link IO} on the calling thread.
+   *
+   * @param io
+   *   The computation to evaluate.
+   * @param runtime
+   *   The runtime that fibers started by the computation are submitted to.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return The result of the computation.
+   */
+  static <A extends @NonNull Object> A runSync(final IO<A> io, final IORuntime runtime) {
+    final IOFiber<A> fiber = new IOFiber<>(io, runtime);
+    fiber.run();
+    return fiber.await();
+  }
+
+  /**
+   * Creates a fiber for the given {@link IO} and submits it to the executor of the runtime.
+   *
+   * @param io
+   *   The computation to evaluate.
+   * @param runtime
+   *   The runtime to run the fiber on.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return The started fiber.
+   */
+  static <A extends @NonNull Object> IOFiber<A> start(final IO<A> io, final IORuntime runtime) {
+    final IOFiber<A> fiber = new IOFiber<>(io, runtime);
+    runtime.executor().execute(fiber);
+    return fiber;
+  }
+
+  /**
+   * Rethrows the cause of a failed fiber. Unchecked exceptions are rethrown as they are, anything
+   * else is wrapped in a {@link CompletionException}.
+   *
+   * @param error
+   *   The failure to rethrow.
+   *
+   * @return Never returns; declared so callers can write {@code throw rethrow(error)}.
+   */
+  static RuntimeException rethrow(final Throwable error) {
+    if (error instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    if (error instanceof Error fatal) {
+      throw fatal;
+    }
+    throw new CompletionException(error);
+  }
+
+  /**
+   * Strips the {@link CompletionException} wrapper {@link CompletableFuture} adds around failures.
+   *
+   * @param error
+   *   The failure reported by a {@link CompletableFuture}.
+   *
+   * @return The underlying failure.
+   */
+  static Throwable unwrap(final Throwable error) {
+    final Throwable cause = error.getCause();
+    return error instanceof CompletionException && cause != null ? cause : error;
+  }
+
+  /**
+   * The outcome of this fiber as a {@link CompletableFuture}. A canceled fiber completes it with a
+   * {@link CancellationException}.
+   *
+   * @return The outcome of this fiber.
+   */
+  CompletableFuture<A> result() {
+    return result;
+  }
+
+  @Override
+  public IO<A> join() {
+    return IO.fromCompletableFuture(IO.pure(result));
+  }
+
+  @Override
+  public IO<Unit> cancel() {
+    return IO.delay(this::requestCancel).flatMap(unit -> IO.fromCompletableFuture(IO.pure(stopped())));
+  }
+
+  /**
+   * Requests cancellation of this fiber without waiting for it to stop. A fiber suspended on an
+   * asynchronous boundary stops right away; a running one stops at the next step of its run loop.
+   *
+   * @return {@link Unit#UNIT}.
+   */
+  Unit requestCancel() {
+    canceled = true;
+    final Callback callback = suspended;
+    if (callback != null && callback.cancelable) {
+      callback.complete(CANCELED);
+    }
+    return Unit.UNIT;
+  }
+
+  /**
+   * Returns a future that completes normally once this fiber has stopped, however it stopped.
+   *
+   * @return A future completed when the fiber stops.
+   */
+  CompletableFuture<Unit> stopped() {
+    return result.handle((value, error) -> Unit.UNIT);
+  }
+
+  @Override
+  public void run() {
+    runLoop(io);
+  }
+
+  private A await() {
+    try {
+      return result.join();
+    } catch (final CompletionException e) {
+      throw rethrow(unwrap(e));
+    }
+  }
+
+  private void runLoop(final IO<?> start) {
+    try {
+      final Object value = loop(start);
+      if (value == CANCELED) {
+        result.cancel(false);
+      } else if (value instanceof Failed failed) {
+        result.completeExceptionally(failed.error());
+      } else if (value != SUSPENDED) {
+        result.complete(genericCast(value));
+      }
+    } catch (final Throwable error) {
+      result.completeExceptionally(error);
+    }
+  }
+
+  private void resume(final Object outcome, final @Nullable IO<Unit> finalizer) {
+    suspended = null;
+    if (outcome == CANCELED) {
+      final IO<?> next = beginCancel(finalizer);
+      if (next == null) {
+        result.cancel(false);
+      } else {
+        runLoop(next);
+      }
+      return;
+    }
+    final Either<Throwable, ?> either = genericCast(outcome);
+    switch (either) {
+      case Either.Left<Throwable, ?> left -> runLoop(new IO.Error<>(left.value()));
+      case Either.Right<Throwable, ?> right -> runLoop(new IO.Pure<>(right.value()));
+    }
+  }
+
+  @SuppressWarnings("ThreadPriorityCheck") // yielding is what keeps non-blocking fibers fair
+  private Object loop(final IO<?> start) {
+    IO<?> current = start;
+    int steps = 0;
+    while (true) {
+      try {
+        step:
+        while (true) {
+          // Pure values are always delivered: a value handed over by an asynchronous operation
+          // inside a poll must reach the frame after it, which may be the one that remasks.
+          if (canceled && masks == 0 && !finalizing && !(current instanceof IO.Pure<?>)) {
+            final IO<?> finalizer = beginCancel(null);
+            if (finalizer == null) {
+              return CANCELED;
+            }
+            current = finalizer;
+          }
+          if (++steps == AUTO_YIELD_STEPS) {
+            steps = 0;
+            Thread.yield();
+          }
+
+          Object value;
+          switch (current) {
+            case IO.Pure<?> pure -> value = pure.value();
+            case IO.Suspend<?> suspend -> value = suspend.run().get();
+            case IO.Start<?> fork -> value = start(fork.io(), runtime);
+            case IO.Sleep sleep -> {
+              current = sleep(sleep.duration());
+              continue;
+            }
+            case IO.Async<?> async -> {
+              final Callback callback = new Callback(masks == 0 && !finalizing);
+              suspended = callback;
+              callback.finalizer = register(async, callback);
+              if (callback.suspend()) {
+                if (canceled && callback.cancelable) {
+                  callback.complete(CANCELED);
+                }
+                return SUSPENDED;
+              }
+              suspended = null;
+              final Object outcome = callback.outcome();
+              if (outcome == CANCELED) {
+                final IO<?> finalizer = beginCancel(callback.finalizer);
+                if (finalizer == null) {
+                  return CANCELED;
+                }
+                current = finalizer;
+                continue;
+              }
+              final Either<Throwable, ?> result = genericCast(outcome);
+              switch (result) {
+                case Either.Left<Throwable, ?> left -> {
+                  current = new IO.Error<>(left.value());
+                  continue;
+                }
+                case Either.Right<Throwable, ?> right -> value = right.value();
+              }
+            }
+            case IO.Map<?, ?> map -> {
+              push(MAP, map.f());
+              current = map.io();
+              continue;
+            }
+            case IO.FlatMap<?, ?> flatMap -> {
+              push(BIND, flatMap.f());
+              current = flatMap.io();
+              continue;
+            }
+            case IO.Error<?> error -> {
+              final IO<?> recovered = unwind(error.error());
+              if (recovered == null) {
+                return finalizing ? CANCELED : new Failed(error.error());
+              }
+              current = recovered;
+              continue;
+            }
+            case IO.HandleErrorWith<?> handle -> {
+              push(HANDLER, handle.handler());
+              current = handle.io();
+              continue;
+            }
+            case IO.OnCancel<?> onCancel -> {
+              push(FINALIZER, onCancel.finalizer());
+              current = onCancel.io();
+              continue;
+            }
+            case IO.Guarantee<?> guarantee -> {
+              push(GUARANTEE, guarantee.finalizer());
+              current = guarantee.io();
+              continue;
+            }
+            case IO.Uncancelable<?> uncancelable -> {
+              masks++;
+              push(UNMASK, null);
+              current = uncancelable.body().apply(new Poll(this, masks));
+              continue;
+            }
+            case IO.Unmask<?> unmask -> {
+              if (unmask.poll().unmasks(this, masks)) {
+                masks--;
+                push(REMASK, null);
+              }
+              current = unmask.io();
+              continue;
+            }
+          }
+
+          while (size > 0 && tags[size - 1] != BIND) {
+            switch (tags[size - 1]) {
+              case MAP -> value = pop().apply(value);
+              case UNMASK -> {
+                popFrame();
+                masks--;
+              }
+              case REMASK -> {
+                popFrame();
+                masks++;
+              }
+              case GUARANTEE -> {
+                // Run the finalizer masked, then carry on with the value.
+                final IO<?> finalizer = (IO<?>) popFrame();
+                masks++;
+                push(RETURN, value);
+                current = finalizer;
+                continue step;
+              }
+              case RETURN -> {
+                value = popFrame();
+                masks--;
+              }
+              case RERAISE -> {
+                final Throwable error = (Throwable) popFrame();
+                masks--;
+                current = new IO.Error<>(error);
+                continue step;
+              }
+              case CANCELING -> {
+                popFrame();
+                final IO<?> finalizer = unwindCanceled();
+                if (finalizer == null) {
+                  return CANCELED;
+                }
+                current = finalizer;
+                continue step;
+              }
+              default -> popFrame();
+            }
+          }
+
+          if (size == 0) {
+            return value;
+          }
+
+          current = (IO<?>) pop().apply(value);
+        }
+      } catch (final Throwable error) {
+        if (isFatal(error)) {
+          throw error;
+        }
+        final IO<?> recovered = unwind(error);
+        if (recovered == null) {
+          return finalizing ? CANCELED : new Failed(error);
+        }
+        current = recovered;
+      }
+    }
+  }
+
+  /**
+   * Pops frames until the nearest error handler and applies it to {@code error}. Guarantee
+   * finalizers on the way are run before unwinding any further.
+   *
+   * @return The computation to carry on with, or {@code null} if there is no handler left on the
+   *   stack.
+   */
+  private @Nullable IO<?> unwind(final Throwable error) {
+    while (size > 0) {
+      final byte tag = tags[size - 1];
+      final Object frame = popFrame();
+      switch (tag) {
+        case HANDLER -> {
+          final NonNullFunction<Object, Object> handler = genericCast(frame);
+          return (IO<?>) handler.apply(error);
+        }
+        case GUARANTEE -> {
+          masks++;
+          push(RERAISE, error);
+          return (IO<?>) frame;
+        }
+        case UNMASK, RETURN, RERAISE -> masks--;
+        case REMASK -> masks++;
+        case CANCELING -> {
+          // A finalizer failed while the fiber was being canceled; move on to the next one.
+          return unwindCanceled();
+        }
+        default -> {
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Switches the fiber to finalizing after it has been canceled: from now on it cannot be canceled
+   * again and only runs finalizers.
+   *
+   * @param finalizer
+   *   The finalizer of the asynchronous operation the fiber was canceled in, if any.
+   *
+   * @return The next finalizer to run, or {@code null} if the fiber can stop right away.
+   */
+  private @Nullable IO<?> beginCancel(final @Nullable IO<Unit> finalizer) {
+    finalizing = true;
+    if (finalizer != null) {
+      push(CANCELING, null);
+      return finalizer;
+    }
+    return unwindCanceled();
+  }
+
+  /**
+   * Pops frames up to the nearest finalizer of a canceled fiber. The finalizer is run on top of
+   * a canceling frame, which resumes unwinding once it is done.
+   *
+   * @return The next finalizer to run, or {@code null} if there is none left.
+   */
+  private @Nullable IO<?> unwindCanceled() {
+    while (size > 0) {
+      final byte tag = tags[size - 1];
+      final Object frame = popFrame();
+      if (tag == FINALIZER || tag == GUARANTEE) {
+        push(CANCELING, null);
+        return (IO<?>) frame;
+      }
+    }
+    return null;
+  }
+
+  private IO<Unit> sleep(final Duration duration) {
+    return new IO.Async<>(callback -> {
+      final ScheduledFuture<?> timer = runtime.scheduler().schedule(
+          () -> callback.accept(Either.right(Unit.UNIT)),
+          Math.max(0, duration.toNanos()),
+          TimeUnit.NANOSECONDS
+      );
+      return Option.present(IO.delay(() -> {
+        timer.cancel(false);
+        return Unit.UNIT;
+      }));
+    });
+  }
+
+  private static boolean isFatal(final Throwable error) {
+    return error instanceof VirtualMachineError || error instanceof LinkageError;
+  }
+
+  private <X extends @NonNull Object> @Nullable IO<Unit> register(final IO.Async<X> async, final Callback callback) {
+    final Option<IO<Unit>> finalizer = async.register().apply(genericCast(callback));
+    return finalizer instanceof Option.Present<IO<Unit>> present ? present.value() : null;
+  }
+
+  private void push(final byte tag, final @Nullable Object frame) {
+    if (size == stack.length) {
+      stack = Arrays.copyOf(stack, size << 1);
+      tags = Arrays.copyOf(tags, size << 1);
+    }
+    tags[size] = tag;
+    stack[size++] = frame;
+  }
+
+  @SuppressWarnings({"unchecked", "nullness"})
+  private NonNullFunction<Object, Object> pop() {
+    return (NonNullFunction<Object, Object>) popFrame();
+  }
+
+  @SuppressWarnings("nullness") // the frame kinds that carry no payload are never dereferenced
+  private Object popFrame() {
+    final int top = --size;
+    final Object frame = stack[top];
+    stack[top] = null;
+    return frame;
+  }
+
+  /**
+   * The callback handed to the register function of an {@link IO.Async} node.
+   *
+   * <p>Only the first outcome counts, whether it comes from the callback or from cancellation.
+   * The callback and the run loop then race on {@code registering}: if the callback wins, the
+   * outcome arrived while the loop was still registering and the loop carries on with it; if the
+   * loop wins, the fiber has suspended and the callback resumes it on the executor.
+   */
+  private final class Callback implements NonNullConsumer<Either<Throwable, Object>> {
+    private final AtomicReference<@Nullable Object> outcome = new AtomicReference<>();
+    private final AtomicBoolean registering = new AtomicBoolean(true);
+    private final boolean cancelable;
+    private @Nullable IO<Unit> finalizer;
+
+    Callback(final boolean cancelable) {
+      this.cancelable = cancelable;
+    }
+
+    @Override
+    public void accept(final Either<Throwable, Object> outcome) {
+      complete(outcome);
+    }
+
+    void complete(final Object value) {
+      if (outcome.compareAndSet(null, value) && !registering.compareAndSet(true, false)) {
+        runtime.executor().execute(() -> resume(value, finalizer));
+      }
+    }
+
+    boolean suspend() {
+      return registering.compareAndSet(true, false);
+    }
+
+    @SuppressWarnings("nullness") // only called once the callback has won the race
+    Object outcome() {
+      return outcome.get();
+    }
+  }
+
+  /**
+   * The outcome of a run of the loop that ended with an error no handler recovered from.
+   */
+  private record Failed(Throwable error) { }
+}
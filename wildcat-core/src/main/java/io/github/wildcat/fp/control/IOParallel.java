@@ -0,0 +1,157 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Runs a batch of {@link IO} computations in parallel on the runtime of the current fiber.
+ *
+ * <p>A batch starts at most {@code maxConcurrency} worker fibers. Each worker repeatedly claims the
+ * next unprocessed index and stores its result in a slot of its own, so results keep the order of
+ * the input no matter in which order they complete. The first failure completes the batch: no
+ * further work is claimed, the remaining workers are canceled and, once they have stopped, the
+ * batch fails with that first failure. The fiber running the batch is suspended, rather than
+ * blocked, while it waits for the workers. Workers are started uncancelably and only the wait is
+ * cancelable: canceling the fiber running the batch cancels every worker and waits for them to
+ * stop.
+ *
+ * @param <A>
+ *   The type of the inputs of the batch.
+ * @param <B>
+ *   The type of the results of the batch.
+ */
+final class IOParallel<A extends @NonNull Object, B extends @NonNull Object> {
+  private final List<? extends A> values;
+  private final NonNullFunction<? super A, ? extends IO<B>> f;
+  private final @Nullable Object[] results;
+  private final AtomicInteger next = new AtomicInteger();
+  private final AtomicInteger running;
+  private final List<IOFiber<Unit>> workers;
+  private final CompletableFuture<List<B>> done = new CompletableFuture<>();
+
+  private IOParallel(
+      final List<? extends A> values,
+      final NonNullFunction<? super A, ? extends IO<B>> f,
+      final int workers
+  ) {
+    this.values = values;
+    this.f = f;
+    this.results = new Object[values.size()];
+    this.running = new AtomicInteger(workers);
+    this.workers = new ArrayList<>(workers);
+  }
+
+  /**
+   * Describes applying {@code f} to every value and running the resulting computations with at
+   * most {@code maxConcurrency} of them in flight at once.
+   *
+   * @param values
+   *   The inputs of the batch.
+   * @param f
+   *   The function producing the computation for an input.
+   * @param maxConcurrency
+   *   The maximum number of computations running at once; must be positive.
+   * @param <A>
+   *   The type of the inputs.
+   * @param <B>
+   *   The type of the results.
+   *
+   * @return An {@link IO} producing the results in input order.
+   */
+  static <A extends @NonNull Object, B extends @NonNull Object> IO<List<B>> traverse(
+      final List<? extends A> values,
+      final NonNullFunction<? super A, ? extends IO<B>> f,
+      final int maxConcurrency
+  ) {
+    return IO.defer(() -> {
+      if (values.isEmpty()) {
+        return IO.pure(List.of());
+      }
+      final List<? extends A> snapshot = List.copyOf(values);
+      final int workers = Math.min(maxConcurrency, snapshot.size());
+      return new IOParallel<A, B>(snapshot, f, workers).run(workers);
+    });
+  }
+
+  private IO<List<B>> run(final int count) {
+    return IO.uncancelable(poll -> {
+      IO<Unit> started = IO.unit();
+      for (int i = 0; i < count; i++) {
+        started = started.flatMap(unit -> worker().start().map(this::watch));
+      }
+      return started.flatMap(unit -> poll.apply(IO.asyncCancelable(this::await)));
+    });
+  }
+
+  private IO<Unit> worker() {
+    return IO.defer(() -> {
+      final int index = next.getAndIncrement();
+      if (index >= values.size() || done.isDone()) {
+        return IO.unit();
+      }
+      return f.apply(values.get(index)).flatMap(result -> {
+        results[index] = result;
+        return worker();
+      });
+    });
+  }
+
+  private Unit watch(final Fiber<Unit> fiber) {
+    // Start nodes are always run by IOFiber, so this cast cannot fail.
+    final IOFiber<Unit> worker = (IOFiber<Unit>) fiber;
+    workers.add(worker);
+    final CompletableFuture<Unit> ignored = worker.result().whenComplete((unit, error) -> {
+      if (error != null) {
+        done.completeExceptionally(IOFiber.unwrap(error));
+      } else if (running.decrementAndGet() == 0) {
+        done.complete(collect());
+      }
+    });
+    return Unit.UNIT;
+  }
+
+  @SuppressWarnings("nullness") // every slot is filled once all workers have finished normally
+  private List<B> collect() {
+    final List<B> collected = new ArrayList<>(results.length);
+    for (final Object result : results) {
+      collected.add(genericCast(result));
+    }
+    return Collections.unmodifiableList(collected);
+  }
+
+  private IO<Unit> await(final NonNullConsumer<Either<Throwable, List<B>>> callback) {
+    final CompletableFuture<List<B>> ignored = done.whenComplete((collected, error) -> {
+      if (error == null) {
+        callback.accept(Either.right(collected));
+      } else {
+        final CompletableFuture<Void> stopped = cancelWorkers().whenComplete(
+            (unit, cancelError) -> callback.accept(Either.left(IOFiber.unwrap(error)))
+        );
+      }
+    });
+    return IO.async(finalizer -> {
+      final CompletableFuture<Void> stopped = cancelWorkers().whenComplete(
+          (unit, cancelError) -> finalizer.accept(Either.right(Unit.UNIT))
+      );
+    });
+  }
+
+  private CompletableFuture<Void> cancelWorkers() {
+    final CompletableFuture<?>[] stopped = new CompletableFuture<?>[workers.size()];
+    for (int i = 0; i < stopped.length; i++) {
+      final IOFiber<Unit> worker = workers.get(i);
+      worker.requestCancel();
+      stopped[i] = worker.stopped();
+    }
+    return CompletableFuture.allOf(stopped);
+  }
+}
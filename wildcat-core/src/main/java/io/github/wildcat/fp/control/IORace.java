@@ -0,0 +1,69 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Races two {@link IO} computations against each other in fibers of their own.
+ *
+ * <p>Both fibers are started and the finalizer canceling them is registered inside a single
+ * uncancelable region, so canceling the racing fiber can never leak a contestant. Only the wait for
+ * the first outcome is cancelable. Once there is a winner, the loser is canceled and waited for, so
+ * its finalizers have run by the time the race completes.
+ */
+final class IORace {
+
+  private IORace() {
+  }
+
+  /**
+   * Describes racing {@code fa} against {@code fb}.
+   *
+   * @param fa
+   *   The first contestant.
+   * @param fb
+   *   The second contestant.
+   * @param <A>
+   *   The result type of the first contestant.
+   * @param <B>
+   *   The result type of the second contestant.
+   *
+   * @return An {@link IO} producing the outcome of the winner.
+   */
+  static <A extends @NonNull Object, B extends @NonNull Object> IO<Either<A, B>> race(
+      final IO<A> fa,
+      final IO<B> fb
+  ) {
+    return IO.uncancelable(poll -> fa.start().flatMap(left -> fb.start().flatMap(right -> {
+      // Start nodes are always run by IOFiber, so these casts cannot fail.
+      final IOFiber<A> fiberA = (IOFiber<A>) left;
+      final IOFiber<B> fiberB = (IOFiber<B>) right;
+      return poll.apply(IO.<Either<A, B>>async(callback -> awaitFirst(fiberA, fiberB, callback)))
+                 .guarantee(cancelBoth(fiberA, fiberB));
+    })));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> void awaitFirst(
+      final IOFiber<A> fiberA,
+      final IOFiber<B> fiberB,
+      final NonNullConsumer<Either<Throwable, Either<A, B>>> callback
+  ) {
+    // The callback only honours its first call, which is exactly the winner.
+    final CompletableFuture<A> ignoredA = fiberA.result().whenComplete((value, error) -> callback.accept(
+        error == null ? Either.right(Either.left(value)) : Either.left(IOFiber.unwrap(error))
+    ));
+    final CompletableFuture<B> ignoredB = fiberB.result().whenComplete((value, error) -> callback.accept(
+        error == null ? Either.right(Either.right(value)) : Either.left(IOFiber.unwrap(error))
+    ));
+  }
+
+  private static IO<Unit> cancelBoth(final IOFiber<?> fiberA, final IOFiber<?> fiberB) {
+    return IO.async(callback -> {
+      fiberA.requestCancel();
+      fiberB.requestCancel();
+      final CompletableFuture<Void> ignored = CompletableFuture.allOf(fiberA.stopped(), fiberB.stopped())
+                                                               .whenComplete((unit, error) -> callback.accept(Either.right(Unit.UNIT)));
+    });
+  }
+}
@@ -0,0 +1,103 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * The environment {@link IO} fibers are run in.
+ *
+ * <p>A runtime owns the {@link Executor} that fibers are submitted to. The {@link #global()}
+ * runtime starts a virtual thread per fiber, so blocking inside an {@link IO#delay} thunk only
+ * parks that virtual thread rather than a platform thread. A custom runtime can be created with
+ * {@link #of(Executor)} to run fibers on any other executor.
+ *
+ * <p>A runtime also owns the {@link ScheduledExecutorService} that timed operations, such as
+ * {@link IO#sleep(java.time.Duration)}, are scheduled on. The timer only completes callbacks, which
+ * hand the waiting fibers back to the executor, so a single timer thread is shared by every
+ * sleeping fiber. Unless one is given explicitly, runtimes share the timer of the global runtime.
+ */
+public final class IORuntime {
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler;
+  
+  private IORuntime(final Executor executor, final ScheduledExecutorService scheduler) {
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+  
+  /**
+   * Returns the default runtime, which runs each fiber on its own virtual thread.
+   *
+   * @return The default runtime.
+   */
+  public static IORuntime global() {
+    return Global.INSTANCE;
+  }
+  
+  /**
+   * Creates a runtime that submits fibers to the given executor.
+   *
+   * @param executor
+   *   The executor to run fibers on.
+   * 
+   * @return A new runtime.
+   */
+  public static IORuntime of(final Executor executor) {
+    return of(executor, Global.SCHEDULER);
+  }
+  
+  /**
+   * Creates a runtime that submits fibers to the given executor and schedules timed operations on
+   * the given scheduler.
+   *
+   * @param executor
+   *   The executor to run fibers on.
+   * @param scheduler
+   *   The scheduler to run timers on.
+   * 
+   * @return A new runtime.
+   */
+  public static IORuntime of(final Executor executor, final ScheduledExecutorService scheduler) {
+    parameterIsNotNull(executor, "Executor cannot be null");
+    parameterIsNotNull(scheduler, "Scheduler cannot be null");
+    return new IORuntime(executor, scheduler);
+  }
+  
+  /**
+   * Returns the executor fibers are submitted to.
+   *
+   * @return The executor of this runtime.
+   */
+  public Executor executor() {
+    return executor;
+  }
+  
+  /**
+   * Returns the scheduler timed operations are scheduled on.
+   *
+   * @return The scheduler of this runtime.
+   */
+  public ScheduledExecutorService scheduler() {
+    return scheduler;
+  }
+  
+  private static final class Global {
+    private static final ScheduledExecutorService SCHEDULER = timer();
+    private static final IORuntime INSTANCE = new IORuntime(Executors.newVirtualThreadPerTaskExecutor(), SCHEDULER);
+    
+    private static ScheduledExecutorService timer() {
+      final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+        final Thread thread = new Thread(task, "wildcat-io-timer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      // Timeouts are usually canceled long before they fire; do not keep them queued until then.
+      timer.setRemoveOnCancelPolicy(true);
+      return timer;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Restores cancelability inside an uncancelable region created with
+ * {@link IO#uncancelable(NonNullFunction)}.
+ *
+ * <p>A poll only unmasks the region it was handed to: applied inside a nested uncancelable region,
+ * or in another fiber, it leaves the computation uncancelable.
+ */
+public final class Poll {
+  private final Object fiber;
+  private final int depth;
+
+  Poll(final Object fiber, final int depth) {
+    this.fiber = fiber;
+    this.depth = depth;
+  }
+
+  /**
+   * Makes the given computation cancelable again, as it would be outside the uncancelable region.
+   *
+   * @param io
+   *   The computation to unmask.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return An {@link IO} that can be canceled while {@code io} runs.
+   */
+  public <A extends @NonNull Object> IO<A> apply(final IO<A> io) {
+    parameterIsNotNull(io, "IO cannot be null");
+    return new IO.Unmask<>(io, this);
+  }
+
+  /**
+   * Checks whether this poll belongs to the given fiber and uncancelable region.
+   *
+   * @param owner
+   *   The fiber running the {@link IO.Unmask} node.
+   * @param masks
+   *   The number of uncancelable regions the fiber is currently in.
+   *
+   * @return Whether applying this poll unmasks the current region.
+   */
+  boolean unmasks(final Object owner, final int masks) {
+    return fiber == owner && depth == masks;
+  }
+}
@@ -0,0 +1,287 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An asynchronous, multi-producer multi-consumer FIFO queue for fibers.
+ *
+ * <p>Fibers taking from an empty queue are suspended, without holding a thread, until an element
+ * is offered; fibers offering to a full bounded queue are suspended until an element is taken.
+ * Both kinds of waiting can be canceled.
+ *
+ * <p>Elements are kept in a lock-free buffer: a {@link RingBuffer} for bounded queues, and a
+ * {@link ConcurrentLinkedQueue} for unbounded ones. Suspended fibers do not receive elements
+ * directly; they are woken up and try again. Each side publishes itself before re-checking the
+ * buffer, and wakes the other side after changing it, so a wake-up can never be lost.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class Queue<A extends @NonNull Object> {
+  private static final Either<Throwable, Unit> WOKEN = Either.right(Unit.UNIT);
+
+  private final Buffer<A> buffer;
+  private final ConcurrentLinkedQueue<Waiter> takers = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<Waiter> offerers = new ConcurrentLinkedQueue<>();
+
+  private Queue(final Buffer<A> buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Creates a queue holding at most {@code capacity} elements.
+   *
+   * @param capacity
+   *   The maximum number of elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An {@link IO} producing the new queue.
+   * @throws IllegalArgumentException
+   *   If {@code capacity} is not positive.
+   */
+  public static <A extends @NonNull Object> IO<Queue<A>> bounded(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    return IO.delay(() -> new Queue<>(new Bounded<>(new RingBuffer<>(capacity))));
+  }
+
+  /**
+   * Creates a queue without a maximum size. Offering to it never waits.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An {@link IO} producing the new queue.
+   */
+  public static <A extends @NonNull Object> IO<Queue<A>> unbounded() {
+    return IO.delay(() -> new Queue<>(new Unbounded<>()));
+  }
+
+  /**
+   * Adds an element, waiting for room if the queue is full.
+   *
+   * @param element
+   *   The element to add.
+   *
+   * @return An {@link IO} completing once the element is added.
+   */
+  public IO<Unit> offer(final A element) {
+    parameterIsNotNull(element, "Element cannot be null");
+    return IO.defer(() -> {
+      if (buffer.offer(element)) {
+        wakeOne(takers);
+        return IO.unit();
+      }
+      return await(offerers, () -> !buffer.isFull()).flatMap(unit -> offer(element));
+    });
+  }
+
+  /**
+   * Adds an element if the queue has room, without waiting.
+   *
+   * @param element
+   *   The element to add.
+   *
+   * @return An {@link IO} producing whether the element was added.
+   */
+  public IO<Boolean> tryOffer(final A element) {
+    parameterIsNotNull(element, "Element cannot be null");
+    return IO.delay(() -> {
+      if (!buffer.offer(element)) {
+        return false;
+      }
+      wakeOne(takers);
+      return true;
+    });
+  }
+
+  /**
+   * Removes the oldest element, waiting for one if the queue is empty.
+   *
+   * @return An {@link IO} producing the element.
+   */
+  public IO<A> take() {
+    return IO.defer(() -> {
+      final A element = buffer.poll();
+      if (element != null) {
+        wakeOne(offerers);
+        return IO.pure(element);
+      }
+      return await(takers, () -> !buffer.isEmpty()).flatMap(unit -> take());
+    });
+  }
+
+  /**
+   * Removes the oldest element if there is one, without waiting.
+   *
+   * @return An {@link IO} producing the element, or nothing if the queue is empty.
+   */
+  public IO<Option<A>> tryTake() {
+    return IO.delay(() -> {
+      final A element = buffer.poll();
+      if (element != null) {
+        wakeOne(offerers);
+      }
+      return Option.of(element);
+    });
+  }
+
+  /**
+   * Returns the number of elements in the queue right now.
+   *
+   * @return An {@link IO} producing the size of the queue.
+   */
+  public IO<Integer> size() {
+    return IO.delay(buffer::size);
+  }
+
+  /**
+   * Suspends until woken up by the other side. {@code ready} re-checks the buffer once the waiter
+   * is published, in case the other side changed it in the meantime.
+   */
+  private static IO<Unit> await(final ConcurrentLinkedQueue<Waiter> waiters, final Ready ready) {
+    return IO.asyncCancelable(callback -> {
+      final Waiter waiter = new Waiter(callback);
+      waiters.offer(waiter);
+      if (ready.check()) {
+        wakeOne(waiters);
+      }
+      return IO.delay(() -> {
+        if (waiter.cancel()) {
+          waiters.remove(waiter);
+        } else {
+          // The wake-up arrived after the fiber was canceled, so pass it on.
+          wakeOne(waiters);
+        }
+        return Unit.UNIT;
+      });
+    });
+  }
+
+  private static void wakeOne(final ConcurrentLinkedQueue<Waiter> waiters) {
+    Waiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (waiter.wake()) {
+        return;
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface Ready {
+    boolean check();
+  }
+
+  /**
+   * A suspended fiber, woken up or canceled exactly once.
+   */
+  private static final class Waiter {
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final NonNullConsumer<Either<Throwable, Unit>> callback;
+
+    Waiter(final NonNullConsumer<Either<Throwable, Unit>> callback) {
+      this.callback = callback;
+    }
+
+    boolean wake() {
+      if (!done.compareAndSet(false, true)) {
+        return false;
+      }
+      callback.accept(WOKEN);
+      return true;
+    }
+
+    boolean cancel() {
+      return done.compareAndSet(false, true);
+    }
+  }
+
+  /**
+   * The lock-free storage of a queue.
+   */
+  private interface Buffer<A extends @NonNull Object> {
+    boolean offer(A element);
+
+    @Nullable A poll();
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean isFull();
+  }
+
+  private record Bounded<A extends @NonNull Object>(RingBuffer<A> ring) implements Buffer<A> {
+
+    @Override
+    public boolean offer(final A element) {
+      return ring.offer(element);
+    }
+
+    @Override
+    public @Nullable A poll() {
+      return ring.poll();
+    }
+
+    @Override
+    public int size() {
+      return ring.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return ring.size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+      return ring.size() >= ring.capacity();
+    }
+  }
+
+  private static final class Unbounded<A extends @NonNull Object> implements Buffer<A> {
+    private final ConcurrentLinkedQueue<A> elements = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue#size walks the whole queue, so the size is tracked separately.
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public boolean offer(final A element) {
+      elements.offer(element);
+      size.incrementAndGet();
+      return true;
+    }
+
+    @Override
+    public @Nullable A poll() {
+      final A element = elements.poll();
+      if (element != null) {
+        size.decrementAndGet();
+      }
+      return element;
+    }
+
+    @Override
+    public int size() {
+      return Math.max(0, size.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return elements.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+      return false;
+    }
+  }
+}
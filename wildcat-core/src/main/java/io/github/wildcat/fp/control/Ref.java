@@ -0,0 +1,161 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A mutable reference that fibers can share, read and modify atomically.
+ *
+ * <p>Every operation is an {@link IO}, and modifications are lock-free: the new value is computed
+ * from the current one and installed with a compare-and-set, and computed again if another fiber
+ * changed the value in between. The functions given to {@link #update(NonNullFunction)} and
+ * {@link #modify(NonNullFunction)} may therefore run more than once, and should be pure.
+ *
+ * @param <A>
+ *   The type of the value.
+ */
+public final class Ref<A extends @NonNull Object> {
+  private final AtomicReference<A> value;
+
+  private Ref(final A initial) {
+    this.value = new AtomicReference<>(initial);
+  }
+
+  /**
+   * Creates a reference holding {@code initial}.
+   *
+   * @param initial
+   *   The initial value.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return An {@link IO} producing the new reference.
+   */
+  public static <A extends @NonNull Object> IO<Ref<A>> of(final A initial) {
+    parameterIsNotNull(initial, "Initial value cannot be null");
+    return IO.delay(() -> new Ref<>(initial));
+  }
+
+  /**
+   * Creates a reference holding {@code initial} right away, outside of {@link IO}.
+   *
+   * @param initial
+   *   The initial value.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return The new reference.
+   */
+  public static <A extends @NonNull Object> Ref<A> unsafe(final A initial) {
+    parameterIsNotNull(initial, "Initial value cannot be null");
+    return new Ref<>(initial);
+  }
+
+  /**
+   * Reads the current value.
+   *
+   * @return An {@link IO} producing the current value.
+   */
+  public IO<A> get() {
+    return IO.delay(value::get);
+  }
+
+  /**
+   * Replaces the value.
+   *
+   * @param newValue
+   *   The new value.
+   *
+   * @return An {@link IO} setting the value.
+   */
+  public IO<Unit> set(final A newValue) {
+    parameterIsNotNull(newValue, "Value cannot be null");
+    return IO.delay(() -> {
+      value.set(newValue);
+      return Unit.UNIT;
+    });
+  }
+
+  /**
+   * Replaces the value, producing the previous one.
+   *
+   * @param newValue
+   *   The new value.
+   *
+   * @return An {@link IO} producing the previous value.
+   */
+  public IO<A> getAndSet(final A newValue) {
+    parameterIsNotNull(newValue, "Value cannot be null");
+    return IO.delay(() -> value.getAndSet(newValue));
+  }
+
+  /**
+   * Atomically replaces the value with the result of applying {@code f} to it.
+   *
+   * @param f
+   *   The function computing the new value.
+   *
+   * @return An {@link IO} updating the value.
+   */
+  public IO<Unit> update(final NonNullFunction<? super A, ? extends A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return modify(current -> Tuple2.of(f.apply(current), Unit.UNIT));
+  }
+
+  /**
+   * Like {@link #update(NonNullFunction)}, producing the new value.
+   *
+   * @param f
+   *   The function computing the new value.
+   *
+   * @return An {@link IO} producing the new value.
+   */
+  public IO<A> updateAndGet(final NonNullFunction<? super A, ? extends A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return modify(current -> {
+      final A updated = f.apply(current);
+      return Tuple2.of(updated, updated);
+    });
+  }
+
+  /**
+   * Like {@link #update(NonNullFunction)}, producing the previous value.
+   *
+   * @param f
+   *   The function computing the new value.
+   *
+   * @return An {@link IO} producing the previous value.
+   */
+  public IO<A> getAndUpdate(final NonNullFunction<? super A, ? extends A> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return modify(current -> Tuple2.of(f.apply(current), current));
+  }
+
+  /**
+   * Atomically replaces the value and produces a result, both computed from the current value.
+   *
+   * @param f
+   *   The function computing the new value and the result.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return An {@link IO} producing the result computed alongside the new value.
+   */
+  public <B extends @NonNull Object> IO<B> modify(
+      final NonNullFunction<? super A, ? extends Tuple2<? extends A, ? extends B>> f
+  ) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return IO.delay(() -> {
+      while (true) {
+        final A current = value.get();
+        final Tuple2<? extends A, ? extends B> next = f.apply(current);
+        if (value.compareAndSet(current, next.a())) {
+          return next.b();
+        }
+      }
+    });
+  }
+}
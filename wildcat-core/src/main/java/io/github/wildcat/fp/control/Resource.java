@@ -0,0 +1,244 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A resource that is acquired and released with {@link IO} computations.
+ *
+ * <p>A {@code Resource} only describes how to acquire and release; nothing happens until it is
+ * {@link #use(NonNullFunction) used}. Using a resource acquires it, runs the given computation and
+ * releases it again, whether that computation succeeds, fails or is canceled. Resources composed
+ * with {@link #flatMap(NonNullFunction)} are released in the reverse order of their acquisition.
+ *
+ * <p>Each acquisition is run as an {@link IO#bracketFull(NonNullFunction, NonNullFunction,
+ * NonNullFunction) bracket}, so acquiring and releasing cannot be canceled, while using the resource
+ * can.
+ *
+ * @param <A>
+ *   The type of the resource.
+ */
+public sealed interface Resource<A extends @NonNull Object> extends Kind<Resource.k, A> {
+
+  /**
+   * Creates a resource from an acquiring computation and a function releasing what it acquired.
+   *
+   * @param acquire
+   *   The computation acquiring the resource.
+   * @param release
+   *   The function releasing the resource.
+   * @param <A>
+   *   The type of the resource.
+   *
+   * @return A new resource.
+   */
+  static <A extends @NonNull Object> Resource<A> make(
+      final IO<A> acquire,
+      final NonNullFunction<? super A, ? extends IO<Unit>> release
+  ) {
+    parameterIsNotNull(acquire, "Acquire cannot be null");
+    return makeFull(poll -> acquire, release);
+  }
+
+  /**
+   * Like {@link #make(IO, NonNullFunction)}, but the acquisition receives a {@link Poll} to make
+   * waiting parts of it cancelable.
+   *
+   * @param acquire
+   *   The function producing the computation acquiring the resource.
+   * @param release
+   *   The function releasing the resource.
+   * @param <A>
+   *   The type of the resource.
+   *
+   * @return A new resource.
+   * @see IO#bracketFull(NonNullFunction, NonNullFunction, NonNullFunction)
+   */
+  static <A extends @NonNull Object> Resource<A> makeFull(
+      final NonNullFunction<Poll, ? extends IO<A>> acquire,
+      final NonNullFunction<? super A, ? extends IO<Unit>> release
+  ) {
+    parameterIsNotNull(acquire, "Acquire cannot be null");
+    parameterIsNotNull(release, "Release cannot be null");
+    return new Allocate<>(acquire, release);
+  }
+
+  /**
+   * Creates a resource from an {@link AutoCloseable}, which is closed on release.
+   *
+   * @param acquire
+   *   The computation opening the closeable.
+   * @param <A>
+   *   The type of the closeable.
+   *
+   * @return A new resource.
+   */
+  static <A extends @NonNull AutoCloseable> Resource<A> fromAutoCloseable(final IO<A> acquire) {
+    return make(acquire, closeable -> IO.delay(() -> {
+      try {
+        closeable.close();
+      } catch (final Exception e) {
+        throw IOFiber.rethrow(e);
+      }
+      return Unit.UNIT;
+    }));
+  }
+
+  /**
+   * Lifts a computation into a resource with nothing to release.
+   *
+   * @param io
+   *   The computation to lift.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return A resource producing the result of {@code io}.
+   */
+  static <A extends @NonNull Object> Resource<A> eval(final IO<A> io) {
+    return make(io, value -> IO.unit());
+  }
+
+  /**
+   * Lifts a value into a resource with nothing to acquire or release.
+   *
+   * @param value
+   *   The value to lift.
+   * @param <A>
+   *   The type of the value.
+   *
+   * @return A resource producing {@code value}.
+   */
+  static <A extends @NonNull Object> Resource<A> pure(final A value) {
+    return eval(IO.pure(value));
+  }
+
+  /**
+   * Returns the {@link Monad} instance for {@code Resource}.
+   *
+   * @return The monad instance.
+   */
+  static Monad<Resource.k> monad() {
+    return resource_monad.instance();
+  }
+
+  /**
+   * Acquires the resource, runs {@code f} with it and releases it.
+   *
+   * @param f
+   *   The function using the resource.
+   * @param <B>
+   *   The result type of {@code f}.
+   *
+   * @return An {@link IO} producing the result of {@code f}.
+   */
+  <B extends @NonNull Object> IO<B> use(NonNullFunction<? super A, ? extends IO<B>> f);
+
+  /**
+   * Transforms the resource, without changing when it is released.
+   *
+   * @param f
+   *   The function to apply to the resource.
+   * @param <B>
+   *   The type of the transformed resource.
+   *
+   * @return The transformed resource.
+   */
+  default <B extends @NonNull Object> Resource<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return flatMap(value -> pure(f.apply(value)));
+  }
+
+  /**
+   * Acquires a second resource that depends on this one. The second resource is released before
+   * this one.
+   *
+   * @param f
+   *   The function producing the second resource.
+   * @param <B>
+   *   The type of the second resource.
+   *
+   * @return The combined resource.
+   */
+  default <B extends @NonNull Object> Resource<B> flatMap(
+      final NonNullFunction<? super A, ? extends Resource<B>> f
+  ) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Bind<>(this, f);
+  }
+
+  /**
+   * A resource acquired and released directly.
+   */
+  record Allocate<A extends @NonNull Object>(
+      NonNullFunction<Poll, ? extends IO<A>> acquire,
+      NonNullFunction<? super A, ? extends IO<Unit>> release
+  ) implements Resource<A> {
+
+    @Override
+    public <B extends @NonNull Object> IO<B> use(final NonNullFunction<? super A, ? extends IO<B>> f) {
+      parameterIsNotNull(f, "Function cannot be null");
+      return IO.bracketFull(acquire, f, release);
+    }
+  }
+
+  /**
+   * A resource acquired within the scope of another one (the result of a flatMap).
+   */
+  record Bind<X extends @NonNull Object, A extends @NonNull Object>(
+      Resource<X> source,
+      NonNullFunction<? super X, ? extends Resource<A>> f
+  ) implements Resource<A> {
+
+    @Override
+    public <B extends @NonNull Object> IO<B> use(final NonNullFunction<? super A, ? extends IO<B>> g) {
+      parameterIsNotNull(g, "Function cannot be null");
+      // The inner resource is used inside the scope of the outer one, which gives LIFO release.
+      return source.use(value -> f.apply(value).use(g));
+    }
+  }
+
+  /**
+   * Witness type for HKT.
+   */
+  interface k extends Monad.k {
+  }
+}
+
+final class resource_monad implements Monad<Resource.k> {
+  private static final resource_monad instance = new resource_monad();
+
+  private resource_monad() {
+  }
+
+  static resource_monad instance() {
+    return instance;
+  }
+
+  @Override
+  public <T extends @NonNull Object> Resource<T> pure(final T value) {
+    return Resource.pure(value);
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Resource<B> flatMap(
+      final Kind<Resource.k, A> fa,
+      final NonNullFunction<? super A, ? extends @NonNull Kind<Resource.k, B>> f
+  ) {
+    final Resource<A> resource = fa.fix();
+    return resource.flatMap(value -> f.apply(value).fix());
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Resource<B> ap(
+      final Kind<Resource.k, A> fa,
+      final Kind<Resource.k, @NonNull NonNullFunction<? super A, ? extends B>> f
+  ) {
+    final Resource<A> resource = fa.fix();
+    final Resource<@NonNull NonNullFunction<? super A, ? extends B>> resourceF = f.fix();
+    return resourceF.flatMap(resource::map);
+  }
+}
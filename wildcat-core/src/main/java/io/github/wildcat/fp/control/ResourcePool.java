@@ -0,0 +1,439 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A pool of reusable resources, such as connections or file handles.
+ *
+ * <p>Pooled resources are borrowed with {@link #resource()}, which returns them to the pool once
+ * they have been used, however the use ended. The pool creates resources on demand, up to
+ * {@link Settings#maxSize()} of them. When all of them are in use, borrowers are suspended until one
+ * is returned, and fail with a {@link TimeoutException} once {@link Settings#acquireTimeout()} has
+ * passed. Idle resources beyond {@link Settings#minSize()} are destroyed once they have been idle
+ * for {@link Settings#idleTimeout()}.
+ *
+ * <p>The pool is lock-free: the number of resources is tracked with an atomic counter, and idle
+ * resources and waiting borrowers are kept in concurrent queues. A returned resource is handed
+ * directly to a waiting borrower if there is one. Borrowers and returns both re-check the other
+ * queue after publishing themselves, so a resource can never sit idle while a borrower waits.
+ * Likewise, a slot freed by a resource that failed to be created or was destroyed is handed to a
+ * waiting borrower, which creates a resource in it.
+ *
+ * @param <A>
+ *   The type of the pooled resources.
+ */
+public final class ResourcePool<A extends @NonNull Object> {
+  private final IO<A> create;
+  private final NonNullFunction<? super A, ? extends IO<Unit>> destroy;
+  private final Settings settings;
+  private final ConcurrentLinkedDeque<Idle<A>> idle = new ConcurrentLinkedDeque<>();
+  private final ConcurrentLinkedQueue<Waiter<A>> waiters = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private volatile boolean closed;
+
+  private ResourcePool(
+      final IO<A> create,
+      final NonNullFunction<? super A, ? extends IO<Unit>> destroy,
+      final Settings settings
+  ) {
+    this.create = create;
+    this.destroy = destroy;
+    this.settings = settings;
+  }
+
+  /**
+   * Creates a pool as a {@link Resource}. Acquiring it creates {@link Settings#minSize()}
+   * resources up front; releasing it destroys the idle resources, fails waiting borrowers, and
+   * destroys borrowed resources as they are returned.
+   *
+   * @param create
+   *   The computation creating a new resource.
+   * @param destroy
+   *   The function destroying a resource.
+   * @param settings
+   *   The sizes and timeouts of the pool.
+   * @param <A>
+   *   The type of the pooled resources.
+   *
+   * @return The pool as a resource.
+   */
+  public static <A extends @NonNull Object> Resource<ResourcePool<A>> make(
+      final IO<A> create,
+      final NonNullFunction<? super A, ? extends IO<Unit>> destroy,
+      final Settings settings
+  ) {
+    parameterIsNotNull(create, "Create cannot be null");
+    parameterIsNotNull(destroy, "Destroy cannot be null");
+    parameterIsNotNull(settings, "Settings cannot be null");
+    return Resource.make(IO.delay(() -> new ResourcePool<>(create, destroy, settings)), ResourcePool::close)
+                   .flatMap(pool -> Resource.eval(pool.fill()).map(unit -> pool))
+                   .flatMap(pool -> Resource.make(pool.evictor().start(), Fiber::cancel).map(fiber -> pool));
+  }
+
+  /**
+   * Borrows a resource from the pool for the duration of a use.
+   *
+   * <p>Waiting for a resource can be canceled; once the resource has been handed over, it is
+   * always returned to the pool.
+   *
+   * @return A {@link Resource} borrowing from this pool.
+   */
+  public Resource<A> resource() {
+    return Resource.makeFull(poll -> poll.apply(take()), this::giveBack);
+  }
+
+  /**
+   * Returns the number of resources the pool currently holds, whether idle or borrowed.
+   *
+   * @return An {@link IO} producing the size of the pool.
+   */
+  public IO<Integer> size() {
+    return IO.delay(size::get);
+  }
+
+  /**
+   * Returns the number of idle resources in the pool.
+   *
+   * @return An {@link IO} producing the number of idle resources.
+   */
+  public IO<Integer> idleSize() {
+    return IO.delay(idle::size);
+  }
+
+  private IO<A> take() {
+    return IO.defer(() -> {
+      if (closed) {
+        return IO.raiseError(new IllegalStateException("Pool is closed"));
+      }
+      final Idle<A> entry = idle.pollFirst();
+      if (entry != null) {
+        return IO.pure(entry.value());
+      }
+      if (reserve()) {
+        return created();
+      }
+      return await();
+    });
+  }
+
+  private IO<A> created() {
+    return create.handleErrorWith(error -> IO.delay(this::release).flatMap(unit -> IO.raiseError(error)))
+                 .uncancelable();
+  }
+
+  private IO<A> await() {
+    return IO.defer(() -> {
+      final Waiter<A> waiter = new Waiter<>();
+      final IO<Option<A>> handedOver = IO.asyncCancelable(callback -> {
+        waiters.offer(waiter);
+        waiter.register(callback);
+        drain();
+        wake();
+        return IO.delay(() -> abandon(waiter));
+      });
+      final IO<Unit> timer = IO.sleep(settings.acquireTimeout()).flatMap(unit -> IO.delay(() -> expire(waiter)));
+      // An empty handover is a free slot, reserved for this borrower to create a resource in.
+      return timer.start()
+                  .flatMap(fiber -> handedOver.guarantee(fiber.cancel()))
+                  .flatMap(handed -> handed.fold(this::created, IO::pure));
+    });
+  }
+
+  private Unit expire(final Waiter<A> waiter) {
+    if (waiter.fail(new TimeoutException("No resource available within " + settings.acquireTimeout()))) {
+      waiters.remove(waiter);
+    }
+    return Unit.UNIT;
+  }
+
+  private Unit abandon(final Waiter<A> waiter) {
+    if (waiter.abandon()) {
+      waiters.remove(waiter);
+    } else if (waiter.handedOver() instanceof Either.Right<?, ?> right) {
+      // The resource or slot arrived after the borrower was canceled, so it never saw it.
+      final Option<A> handed = genericCast(right.value());
+      handed.fold(this::release, value -> {
+        handOff(value);
+        return Unit.UNIT;
+      });
+    }
+    return Unit.UNIT;
+  }
+
+  private IO<Unit> giveBack(final A value) {
+    return IO.defer(() -> {
+      if (closed) {
+        release();
+        return destroyQuietly(value);
+      }
+      handOff(value);
+      // The pool may have been closed while the resource was being put back.
+      return closed ? destroyIdle() : IO.unit();
+    });
+  }
+
+  private void handOff(final A value) {
+    Waiter<A> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (waiter.offer(value)) {
+        return;
+      }
+    }
+    idle.offerFirst(new Idle<>(value, System.nanoTime()));
+    drain();
+  }
+
+  /**
+   * Hands idle resources to waiting borrowers. Both sides call this after publishing themselves,
+   * so whichever comes second sees the other.
+   */
+  private void drain() {
+    while (!waiters.isEmpty()) {
+      final Idle<A> entry = idle.pollFirst();
+      if (entry == null) {
+        return;
+      }
+      boolean handed = false;
+      Waiter<A> waiter;
+      while (!handed && (waiter = waiters.poll()) != null) {
+        handed = waiter.offer(entry.value());
+      }
+      if (!handed) {
+        idle.offerFirst(entry);
+      }
+    }
+  }
+
+  /**
+   * Gives back the slot of a resource that is gone, to a waiting borrower if there is one.
+   */
+  private Unit release() {
+    size.decrementAndGet();
+    wake();
+    return Unit.UNIT;
+  }
+
+  /**
+   * Hands free slots to waiting borrowers. Like {@link #drain()}, both sides call this after
+   * publishing themselves, so whichever comes second sees the other.
+   */
+  private void wake() {
+    while (!closed && !waiters.isEmpty() && reserve()) {
+      boolean granted = false;
+      Waiter<A> waiter;
+      while (!granted && (waiter = waiters.poll()) != null) {
+        granted = waiter.grant();
+      }
+      if (!granted) {
+        size.decrementAndGet();
+      }
+    }
+  }
+
+  private boolean reserve() {
+    int current;
+    do {
+      current = size.get();
+      if (current >= settings.maxSize()) {
+        return false;
+      }
+    } while (!size.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  private boolean shrink() {
+    int current;
+    do {
+      current = size.get();
+      if (current <= settings.minSize()) {
+        return false;
+      }
+    } while (!size.compareAndSet(current, current - 1));
+    return true;
+  }
+
+  private IO<Unit> fill() {
+    IO<Unit> filled = IO.unit();
+    for (int i = 0; i < settings.minSize(); i++) {
+      filled = filled.flatMap(unit -> reserve() ? created().flatMap(this::giveBack) : IO.unit());
+    }
+    return filled;
+  }
+
+  private IO<Unit> evictor() {
+    final Duration period = settings.idleTimeout().dividedBy(2);
+    return IO.sleep(period).flatMap(unit -> evictIdle()).flatMap(unit -> evictor());
+  }
+
+  private IO<Unit> evictIdle() {
+    return IO.defer(() -> {
+      final long now = System.nanoTime();
+      final long timeout = settings.idleTimeout().toNanos();
+      final List<A> evicted = new ArrayList<>();
+      Idle<A> entry;
+      // Idle resources are taken from the front, so the back holds the longest idle ones.
+      while ((entry = idle.pollLast()) != null) {
+        if (now - entry.since() < timeout || !shrink()) {
+          idle.offerLast(entry);
+          break;
+        }
+        evicted.add(entry.value());
+      }
+      return destroyAll(evicted);
+    });
+  }
+
+  private IO<Unit> close() {
+    return IO.defer(() -> {
+      closed = true;
+      Waiter<A> waiter;
+      while ((waiter = waiters.poll()) != null) {
+        waiter.fail(new IllegalStateException("Pool is closed"));
+      }
+      return destroyIdle();
+    });
+  }
+
+  private IO<Unit> destroyIdle() {
+    return IO.defer(() -> {
+      final List<A> destroyed = new ArrayList<>();
+      Idle<A> entry;
+      while ((entry = idle.pollFirst()) != null) {
+        release();
+        destroyed.add(entry.value());
+      }
+      return destroyAll(destroyed);
+    });
+  }
+
+  private IO<Unit> destroyAll(final List<A> values) {
+    IO<Unit> destroyed = IO.unit();
+    for (final A value : values) {
+      destroyed = destroyed.flatMap(unit -> destroyQuietly(value));
+    }
+    return destroyed;
+  }
+
+  private IO<Unit> destroyQuietly(final A value) {
+    // A resource that cannot be destroyed cleanly is gone all the same; that must not stop the pool.
+    return IO.defer(() -> destroy.apply(value)).handleError(error -> Unit.UNIT);
+  }
+
+  /**
+   * The sizes and timeouts of a {@link ResourcePool}.
+   *
+   * @param minSize
+   *   The number of resources kept even when idle.
+   * @param maxSize
+   *   The maximum number of resources, idle or borrowed.
+   * @param idleTimeout
+   *   How long a resource beyond {@code minSize} may stay idle before it is destroyed.
+   * @param acquireTimeout
+   *   How long a borrower waits for a resource before failing.
+   */
+  public record Settings(int minSize, int maxSize, Duration idleTimeout, Duration acquireTimeout) {
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException
+     *   If the sizes are negative or inconsistent, or a timeout is not positive.
+     */
+    public Settings {
+      parameterIsNotNull(idleTimeout, "Idle timeout cannot be null");
+      parameterIsNotNull(acquireTimeout, "Acquire timeout cannot be null");
+      if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+        throw new IllegalArgumentException("Sizes must satisfy 0 <= minSize <= maxSize and maxSize >= 1");
+      }
+      if (idleTimeout.isNegative() || idleTimeout.isZero() || acquireTimeout.isNegative() || acquireTimeout.isZero()) {
+        throw new IllegalArgumentException("Timeouts must be positive");
+      }
+    }
+
+    /**
+     * Creates settings for a pool of at most {@code maxSize} resources, with no minimum size, an
+     * idle timeout of one minute and an acquire timeout of thirty seconds.
+     *
+     * @param maxSize
+     *   The maximum number of resources.
+     *
+     * @return The settings.
+     */
+    public static Settings of(final int maxSize) {
+      return new Settings(0, maxSize, Duration.ofMinutes(1), Duration.ofSeconds(30));
+    }
+  }
+
+  /**
+   * An idle resource and the time, in {@link System#nanoTime()}, since which it has been idle.
+   */
+  private record Idle<A extends @NonNull Object>(A value, long since) { }
+
+  /**
+   * A borrower waiting for a resource.
+   *
+   * <p>The outcome is settled exactly once: handed a resource, granted a free slot, failed, or
+   * abandoned by a canceled borrower. It is delivered once both the outcome and the callback are known, whichever is last;
+   * the callback ignores a second delivery.
+   */
+  private static final class Waiter<A extends @NonNull Object> {
+    private static final Object ABANDONED = new Object();
+
+    private final AtomicReference<@Nullable Object> outcome = new AtomicReference<>();
+    private volatile @Nullable NonNullConsumer<Either<Throwable, Option<A>>> callback;
+
+    void register(final NonNullConsumer<Either<Throwable, Option<A>>> callback) {
+      this.callback = callback;
+      deliver();
+    }
+
+    boolean offer(final A value) {
+      return settle(Either.right(Option.present(value)));
+    }
+
+    boolean grant() {
+      return settle(Either.right(Option.empty()));
+    }
+
+    boolean fail(final Throwable error) {
+      return settle(Either.left(error));
+    }
+
+    boolean abandon() {
+      return outcome.compareAndSet(null, ABANDONED);
+    }
+
+    @Nullable Object handedOver() {
+      return outcome.get();
+    }
+
+    private boolean settle(final Either<Throwable, Option<A>> settled) {
+      if (!outcome.compareAndSet(null, settled)) {
+        return false;
+      }
+      deliver();
+      return true;
+    }
+
+    private void deliver() {
+      final NonNullConsumer<Either<Throwable, Option<A>>> registered = callback;
+      if (registered != null && outcome.get() instanceof Either<?, ?> settled) {
+        registered.accept(genericCast(settled));
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package io.github.wildcat.fp.control;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer ring buffer.
+ *
+ * <p>Every slot carries a sequence number telling producers and consumers whose turn it is. A
+ * producer claims the slot at the tail by advancing the tail with a compare-and-set, writes its
+ * element, and then publishes the slot by bumping its sequence; consumers do the same at the head.
+ * Producers and consumers thus only contend among themselves, and never on the same slot.
+ *
+ * <p>Sequence numbers are twice the position they are waiting for: even while the slot waits for a
+ * producer, odd while it waits for a consumer. That keeps the two states apart even when the
+ * buffer has a single slot, where the next producer and the pending consumer share a position.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+final class RingBuffer<A extends @NonNull Object> {
+  private final int capacity;
+  private final AtomicLongArray sequences;
+  private final AtomicReferenceArray<@Nullable A> slots;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  RingBuffer(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.sequences = new AtomicLongArray(capacity);
+    this.slots = new AtomicReferenceArray<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, 2L * i);
+    }
+  }
+
+  /**
+   * Adds an element at the tail.
+   *
+   * @return {@code false} if the buffer is full.
+   */
+  boolean offer(final A element) {
+    long position = tail.get();
+    while (true) {
+      final int index = index(position);
+      final long lag = sequences.get(index) - 2 * position;
+      if (lag == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.set(index, element);
+          sequences.set(index, 2 * position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (lag < 0) {
+        // The slot still holds the element from the previous lap.
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes the element at the head.
+   *
+   * @return The element, or {@code null} if the buffer is empty.
+   */
+  @Nullable A poll() {
+    long position = head.get();
+    while (true) {
+      final int index = index(position);
+      final long lag = sequences.get(index) - (2 * position + 1);
+      if (lag == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final A element = slots.getAndSet(index, null);
+          sequences.set(index, 2 * (position + capacity));
+          return element;
+        }
+        position = head.get();
+      } else if (lag < 0) {
+        // No producer has published this slot yet.
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements claimed by producers and not yet by consumers. Elements being
+   * written are counted even though {@link #poll()} cannot return them yet.
+   */
+  int size() {
+    final long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity));
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  private int index(final long position) {
+    return (int) (position % capacity);
+  }
+}
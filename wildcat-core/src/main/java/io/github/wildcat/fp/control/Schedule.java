@@ -0,0 +1,343 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A policy deciding whether, and after which delay, a computation recurs. Schedules drive
+ * {@link IO#retry(Schedule)} and {@link IO#repeat(Schedule)}.
+ *
+ * <p>A schedule is an immutable description: every retry or repeat starts a fresh run of it, so the
+ * same schedule can be shared by any number of fibers. Each time the computation is done, the run is
+ * asked for the delay before the next recurrence, or decides to stop. Delays are waited for with
+ * {@link IO#sleep(Duration)}, on the timer of the runtime, so a retrying fiber does not hold a
+ * thread while it backs off.
+ *
+ * <p>The base schedules recur forever; they are bounded by combining them, for example
+ * {@code Schedule.exponential(Duration.ofMillis(100)).intersect(Schedule.recurs(5)).upTo(Duration.ofSeconds(10))}.
+ */
+public final class Schedule {
+  private final Supplier<Decider> start;
+
+  private Schedule(final Supplier<Decider> start) {
+    this.start = start;
+  }
+
+  /**
+   * Recurs forever, without delay.
+   *
+   * @return The schedule.
+   */
+  public static Schedule forever() {
+    return new Schedule(() -> elapsed -> Duration.ZERO);
+  }
+
+  /**
+   * Recurs at most {@code times} times, without delay.
+   *
+   * @param times
+   *   The maximum number of recurrences.
+   *
+   * @return The schedule.
+   * @throws IllegalArgumentException
+   *   If {@code times} is negative.
+   */
+  public static Schedule recurs(final int times) {
+    if (times < 0) {
+      throw new IllegalArgumentException("Times cannot be negative");
+    }
+    return new Schedule(() -> new Decider() {
+      private int remaining = times;
+
+      @Override
+      public @Nullable Duration next(final long elapsed) {
+        return remaining-- > 0 ? Duration.ZERO : null;
+      }
+    });
+  }
+
+  /**
+   * Recurs forever with the same delay every time.
+   *
+   * @param interval
+   *   The delay before every recurrence.
+   *
+   * @return The schedule.
+   */
+  public static Schedule fixed(final Duration interval) {
+    requireNonNegative(interval, "Interval");
+    return new Schedule(() -> elapsed -> interval);
+  }
+
+  /**
+   * Recurs forever with delays that double every time, starting at {@code base}.
+   *
+   * @param base
+   *   The first delay.
+   *
+   * @return The schedule.
+   */
+  public static Schedule exponential(final Duration base) {
+    return exponential(base, 2.0);
+  }
+
+  /**
+   * Recurs forever with delays that grow by {@code factor} every time, starting at {@code base}.
+   *
+   * @param base
+   *   The first delay.
+   * @param factor
+   *   The factor the delay grows by.
+   *
+   * @return The schedule.
+   * @throws IllegalArgumentException
+   *   If {@code factor} is less than one.
+   */
+  public static Schedule exponential(final Duration base, final double factor) {
+    requireNonNegative(base, "Base");
+    if (!(factor >= 1.0)) {
+      throw new IllegalArgumentException("Factor must be at least one");
+    }
+    return new Schedule(() -> new Decider() {
+      private double delay = base.toNanos();
+
+      @Override
+      public Duration next(final long elapsed) {
+        final Duration current = nanos(delay);
+        delay *= factor;
+        return current;
+      }
+    });
+  }
+
+  /**
+   * Recurs forever with delays following the Fibonacci sequence: {@code one}, {@code one},
+   * {@code 2 * one}, {@code 3 * one}, {@code 5 * one}, and so on.
+   *
+   * @param one
+   *   The first delay.
+   *
+   * @return The schedule.
+   */
+  public static Schedule fibonacci(final Duration one) {
+    requireNonNegative(one, "Base");
+    return new Schedule(() -> new Decider() {
+      private double previous;
+      private double current = one.toNanos();
+
+      @Override
+      public Duration next(final long elapsed) {
+        final Duration delay = nanos(current);
+        final double following = previous + current;
+        previous = current;
+        current = following;
+        return delay;
+      }
+    });
+  }
+
+  /**
+   * Recurs forever with "decorrelated jitter" delays: each delay is picked at random between
+   * {@code base} and three times the previous delay, and capped at {@code cap}.
+   *
+   * <p>Compared to exponential backoff with jitter, delays keep growing on average but are spread
+   * more evenly, which keeps many clients retrying against the same dependency from synchronizing.
+   *
+   * @param base
+   *   The smallest delay.
+   * @param cap
+   *   The largest delay.
+   *
+   * @return The schedule.
+   * @throws IllegalArgumentException
+   *   If {@code cap} is less than {@code base}.
+   */
+  public static Schedule decorrelatedJitter(final Duration base, final Duration cap) {
+    requireNonNegative(base, "Base");
+    requireNonNegative(cap, "Cap");
+    if (cap.compareTo(base) < 0) {
+      throw new IllegalArgumentException("Cap cannot be less than base");
+    }
+    final long low = base.toNanos();
+    final long high = cap.toNanos();
+    return new Schedule(() -> new Decider() {
+      private long previous = low;
+
+      @Override
+      public Duration next(final long elapsed) {
+        final long bound = Math.min(high, saturatedTimesThree(previous));
+        previous = bound > low ? ThreadLocalRandom.current().nextLong(low, bound + 1) : low;
+        return Duration.ofNanos(previous);
+      }
+    });
+  }
+
+  /**
+   * Recurs according to this schedule until it stops, then according to {@code next}.
+   *
+   * @param next
+   *   The schedule to continue with.
+   *
+   * @return The combined schedule.
+   */
+  public Schedule andThen(final Schedule next) {
+    parameterIsNotNull(next, "Next schedule cannot be null");
+    return new Schedule(() -> new Decider() {
+      private Decider current = start.get();
+      private boolean first = true;
+
+      @Override
+      public @Nullable Duration next(final long elapsed) {
+        final Duration delay = current.next(elapsed);
+        if (delay != null || !first) {
+          return delay;
+        }
+        first = false;
+        current = next.start.get();
+        return current.next(elapsed);
+      }
+    });
+  }
+
+  /**
+   * Recurs as long as either schedule does, with the shorter of the two delays.
+   *
+   * @param other
+   *   The other schedule.
+   *
+   * @return The combined schedule.
+   */
+  public Schedule union(final Schedule other) {
+    parameterIsNotNull(other, "Other schedule cannot be null");
+    return combine(other, true);
+  }
+
+  /**
+   * Recurs as long as both schedules do, with the longer of the two delays.
+   *
+   * @param other
+   *   The other schedule.
+   *
+   * @return The combined schedule.
+   */
+  public Schedule intersect(final Schedule other) {
+    parameterIsNotNull(other, "Other schedule cannot be null");
+    return combine(other, false);
+  }
+
+  /**
+   * Stops recurring once the next recurrence would start more than {@code budget} after the
+   * first attempt.
+   *
+   * @param budget
+   *   The total time recurrences may take.
+   *
+   * @return The bounded schedule.
+   */
+  public Schedule upTo(final Duration budget) {
+    requireNonNegative(budget, "Budget");
+    final long limit = budget.toNanos();
+    return new Schedule(() -> {
+      final Decider decider = start.get();
+      return elapsed -> {
+        final Duration delay = decider.next(elapsed);
+        return delay != null && delay.toNanos() <= limit - elapsed ? delay : null;
+      };
+    });
+  }
+
+  /**
+   * Caps every delay of this schedule at {@code cap}.
+   *
+   * @param cap
+   *   The largest delay.
+   *
+   * @return The capped schedule.
+   */
+  public Schedule maxDelay(final Duration cap) {
+    requireNonNegative(cap, "Cap");
+    return new Schedule(() -> {
+      final Decider decider = start.get();
+      return elapsed -> {
+        final Duration delay = decider.next(elapsed);
+        return delay != null && delay.compareTo(cap) > 0 ? cap : delay;
+      };
+    });
+  }
+
+  /**
+   * Randomizes every delay of this schedule to between half and one and a half times its value.
+   *
+   * @return The jittered schedule.
+   */
+  public Schedule jittered() {
+    return new Schedule(() -> {
+      final Decider decider = start.get();
+      return elapsed -> {
+        final Duration delay = decider.next(elapsed);
+        return delay == null ? null : nanos(delay.toNanos() * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+      };
+    });
+  }
+
+  /**
+   * Starts a fresh run of this schedule.
+   *
+   * @return The decider of the run.
+   */
+  Decider start() {
+    return start.get();
+  }
+
+  private Schedule combine(final Schedule other, final boolean either) {
+    return new Schedule(() -> {
+      final Decider left = start.get();
+      final Decider right = other.start.get();
+      return elapsed -> {
+        final Duration leftDelay = left.next(elapsed);
+        final Duration rightDelay = right.next(elapsed);
+        if (leftDelay == null || rightDelay == null) {
+          return either ? (leftDelay == null ? rightDelay : leftDelay) : null;
+        }
+        final boolean leftFirst = leftDelay.compareTo(rightDelay) <= 0;
+        return leftFirst == either ? leftDelay : rightDelay;
+      };
+    });
+  }
+
+  private static void requireNonNegative(final Duration duration, final String name) {
+    parameterIsNotNull(duration, name + " cannot be null");
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException(name + " cannot be negative");
+    }
+  }
+
+  private static Duration nanos(final double nanos) {
+    return Duration.ofNanos(nanos >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) nanos);
+  }
+
+  private static long saturatedTimesThree(final long value) {
+    return value > Long.MAX_VALUE / 3 ? Long.MAX_VALUE : value * 3;
+  }
+
+  /**
+   * A single run of a schedule.
+   */
+  @FunctionalInterface
+  interface Decider {
+
+    /**
+     * Decides whether to recur once more.
+     *
+     * @param elapsed
+     *   The nanoseconds elapsed since the first attempt.
+     *
+     * @return The delay before the next recurrence, or {@code null} to stop.
+     */
+    @Nullable Duration next(long elapsed);
+  }
+}
@@ -0,0 +1,311 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A fair, asynchronous counting semaphore for fibers.
+ *
+ * <p>Fibers that cannot acquire the permits they ask for are suspended, without holding a thread,
+ * until enough permits are released. Permits are granted in the order they were asked for: a fiber
+ * asking for few permits never overtakes a fiber that has been waiting for more. Waiting can be
+ * canceled; permits granted to a fiber that was canceled in the meantime are released again.
+ *
+ * <p>The semaphore is lock-free: the available permits and the waiting fibers form an immutable
+ * state that is replaced with a compare-and-set. Waiting fibers are resumed after the new state
+ * has been installed.
+ */
+public final class Semaphore {
+  private static final Either<Throwable, Unit> GRANTED = Either.right(Unit.UNIT);
+
+  private final AtomicReference<State> state;
+
+  private Semaphore(final long permits) {
+    this.state = new AtomicReference<>(new State(permits, Waiters.EMPTY));
+  }
+
+  /**
+   * Creates a semaphore with {@code permits} available permits.
+   *
+   * @param permits
+   *   The number of permits.
+   *
+   * @return An {@link IO} producing the new semaphore.
+   * @throws IllegalArgumentException
+   *   If {@code permits} is negative.
+   */
+  public static IO<Semaphore> make(final long permits) {
+    requireNonNegative(permits);
+    return IO.delay(() -> new Semaphore(permits));
+  }
+
+  /**
+   * Returns the number of permits available right now.
+   *
+   * @return An {@link IO} producing the number of available permits.
+   */
+  public IO<Long> available() {
+    return IO.delay(() -> state.get().available());
+  }
+
+  /**
+   * Acquires a permit, waiting for one if none is available.
+   *
+   * @return An {@link IO} completing once the permit is acquired.
+   */
+  public IO<Unit> acquire() {
+    return acquireN(1);
+  }
+
+  /**
+   * Acquires {@code permits} permits at once, waiting until that many are available.
+   *
+   * @param permits
+   *   The number of permits.
+   *
+   * @return An {@link IO} completing once the permits are acquired.
+   */
+  public IO<Unit> acquireN(final long permits) {
+    requireNonNegative(permits);
+    return IO.defer(() -> {
+      if (tryTake(permits)) {
+        return IO.unit();
+      }
+      return IO.asyncCancelable(callback -> {
+        final Waiter waiter = new Waiter(permits, callback);
+        if (enqueue(waiter)) {
+          callback.accept(GRANTED);
+        }
+        return IO.delay(() -> abandon(waiter));
+      });
+    });
+  }
+
+  /**
+   * Acquires a permit if one is available and no fiber is waiting, without waiting.
+   *
+   * @return An {@link IO} producing whether the permit was acquired.
+   */
+  public IO<Boolean> tryAcquire() {
+    return tryAcquireN(1);
+  }
+
+  /**
+   * Acquires {@code permits} permits if that many are available and no fiber is waiting, without
+   * waiting.
+   *
+   * @param permits
+   *   The number of permits.
+   *
+   * @return An {@link IO} producing whether the permits were acquired.
+   */
+  public IO<Boolean> tryAcquireN(final long permits) {
+    requireNonNegative(permits);
+    return IO.delay(() -> tryTake(permits));
+  }
+
+  /**
+   * Releases a permit.
+   *
+   * @return An {@link IO} releasing the permit.
+   */
+  public IO<Unit> release() {
+    return releaseN(1);
+  }
+
+  /**
+   * Releases {@code permits} permits, resuming the waiting fibers they are enough for.
+   *
+   * @param permits
+   *   The number of permits.
+   *
+   * @return An {@link IO} releasing the permits.
+   */
+  public IO<Unit> releaseN(final long permits) {
+    requireNonNegative(permits);
+    return IO.delay(() -> {
+      give(permits);
+      return Unit.UNIT;
+    });
+  }
+
+  /**
+   * Runs {@code io} while holding a permit, which is released however {@code io} ends.
+   *
+   * @param io
+   *   The computation to run.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return An {@link IO} producing the result of {@code io}.
+   */
+  public <A extends @NonNull Object> IO<A> withPermit(final IO<A> io) {
+    parameterIsNotNull(io, "IO cannot be null");
+    return IO.bracketFull(poll -> poll.apply(acquire()), unit -> io, unit -> release());
+  }
+
+  /**
+   * Returns a permit as a {@link Resource}: acquired when the resource is, and released with it.
+   *
+   * @return The permit as a resource.
+   */
+  public Resource<Unit> permit() {
+    return Resource.makeFull(poll -> poll.apply(acquire()), unit -> release());
+  }
+
+  private boolean tryTake(final long permits) {
+    while (true) {
+      final State current = state.get();
+      if (!current.waiters().isEmpty() || current.available() < permits) {
+        return false;
+      }
+      if (state.compareAndSet(current, new State(current.available() - permits, current.waiters()))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Takes the permits of {@code waiter} right away if nobody is waiting ahead of it, and queues it
+   * otherwise.
+   *
+   * @return {@code true} if the permits were taken.
+   */
+  private boolean enqueue(final Waiter waiter) {
+    while (true) {
+      final State current = state.get();
+      final boolean granted = current.waiters().isEmpty() && current.available() >= waiter.permits();
+      final State next = granted
+                         ? new State(current.available() - waiter.permits(), current.waiters())
+                         : new State(current.available(), current.waiters().enqueue(waiter));
+      if (state.compareAndSet(current, next)) {
+        return granted;
+      }
+    }
+  }
+
+  private void give(final long permits) {
+    while (true) {
+      final State current = state.get();
+      final List<Waiter> granted = new ArrayList<>();
+      final State next = grant(current.available() + permits, current.waiters(), granted);
+      if (state.compareAndSet(current, next)) {
+        wake(granted);
+        return;
+      }
+    }
+  }
+
+  private Unit abandon(final Waiter waiter) {
+    while (true) {
+      final State current = state.get();
+      final Waiters remaining = current.waiters().remove(waiter);
+      if (remaining == current.waiters()) {
+        // The permits were granted, but the fiber was canceled before it saw them.
+        give(waiter.permits());
+        return Unit.UNIT;
+      }
+      // Removing a waiter may unblock smaller requests queued behind it.
+      final List<Waiter> granted = new ArrayList<>();
+      final State next = grant(current.available(), remaining, granted);
+      if (state.compareAndSet(current, next)) {
+        wake(granted);
+        return Unit.UNIT;
+      }
+    }
+  }
+
+  private static State grant(final long available, final Waiters waiters, final List<Waiter> granted) {
+    long left = available;
+    Waiters queued = waiters;
+    while (!queued.isEmpty() && queued.peek().permits() <= left) {
+      final Waiter head = queued.peek();
+      left -= head.permits();
+      granted.add(head);
+      queued = queued.dequeue();
+    }
+    return new State(left, queued);
+  }
+
+  private static void wake(final List<Waiter> granted) {
+    for (final Waiter waiter : granted) {
+      waiter.callback().accept(GRANTED);
+    }
+  }
+
+  private static void requireNonNegative(final long permits) {
+    if (permits < 0) {
+      throw new IllegalArgumentException("Permits cannot be negative");
+    }
+  }
+
+  private record State(long available, Waiters waiters) { }
+
+  private record Waiter(long permits, NonNullConsumer<Either<Throwable, Unit>> callback) { }
+
+  private record Node(Waiter head, @Nullable Node tail) { }
+
+  /**
+   * An immutable FIFO queue of waiters: a front list to dequeue from, and a back list, in reverse
+   * order, to enqueue to. The front list is only empty when the whole queue is.
+   */
+  private record Waiters(@Nullable Node front, @Nullable Node back) {
+    static final Waiters EMPTY = new Waiters(null, null);
+
+    boolean isEmpty() {
+      return front == null;
+    }
+
+    @SuppressWarnings("nullness") // callers check isEmpty first
+    Waiter peek() {
+      return front.head();
+    }
+
+    Waiters enqueue(final Waiter waiter) {
+      return front == null ? new Waiters(new Node(waiter, null), null) : new Waiters(front, new Node(waiter, back));
+    }
+
+    @SuppressWarnings("nullness") // callers check isEmpty first
+    Waiters dequeue() {
+      final Node rest = front.tail();
+      return rest == null ? new Waiters(reverse(back), null) : new Waiters(rest, back);
+    }
+
+    /**
+     * Returns the queue without {@code waiter}, or this very queue if {@code waiter} is not in it.
+     */
+    Waiters remove(final Waiter waiter) {
+      final List<Waiter> kept = new ArrayList<>();
+      boolean found = false;
+      for (Waiters queue = this; !queue.isEmpty(); queue = queue.dequeue()) {
+        if (queue.peek() == waiter) {
+          found = true;
+        } else {
+          kept.add(queue.peek());
+        }
+      }
+      if (!found) {
+        return this;
+      }
+      Node rebuilt = null;
+      for (int i = kept.size() - 1; i >= 0; i--) {
+        rebuilt = new Node(kept.get(i), rebuilt);
+      }
+      return new Waiters(rebuilt, null);
+    }
+
+    private static @Nullable Node reverse(final @Nullable Node list) {
+      Node reversed = null;
+      for (Node node = list; node != null; node = node.tail()) {
+        reversed = new Node(node.head(), reversed);
+      }
+      return reversed;
+    }
+  }
+}
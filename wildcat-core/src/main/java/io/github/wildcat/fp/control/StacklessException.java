@@ -0,0 +1,40 @@
+package io.github.wildcat.fp.control;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link RuntimeException} that captures neither a stack trace nor suppressed exceptions.
+ *
+ * <p>Most of the cost of creating an exception is spent in {@link Throwable#fillInStackTrace()}.
+ * Errors that are part of normal control flow, such as domain errors raised with
+ * {@link IO#raiseError(Throwable)} and handled a few binds later, never need that stack trace.
+ * Extending this class makes raising them about as cheap as allocating any other object.
+ *
+ * <p>Since instances carry no mutable state of their own, a subclass without parameters may also
+ * be shared as a single preallocated instance.
+ */
+public class StacklessException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates an exception with the given message.
+   *
+   * @param message
+   *   The detail message.
+   */
+  public StacklessException(final @Nullable String message) {
+    super(message, null, false, false);
+  }
+
+  /**
+   * Creates an exception with the given message and cause.
+   *
+   * @param message
+   *   The detail message.
+   * @param cause
+   *   The cause of this exception.
+   */
+  public StacklessException(final @Nullable String message, final @Nullable Throwable cause) {
+    super(message, cause, false, false);
+  }
+}
@@ -0,0 +1,1125 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.collections.Chain;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullSupplier;
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.typeclasses.core.Functor;
+import io.github.wildcat.fp.typeclasses.traversal.Foldable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A lazy, pull-based sequence of elements, whose elements may be produced by {@link IO}
+ * computations.
+ *
+ * <p>A {@code Stream} only describes how to produce its elements; nothing happens until it is
+ * compiled to an {@link IO} by one of {@link #fold(Object, NonNullBiFunction)}, {@link #toList()},
+ * {@link #count()} or {@link #drain()}, and that {@link IO} is run. Elements are then produced as
+ * they are pulled, so a stream is processed in constant memory however long it is, as long as the
+ * compiled result does not keep the elements.
+ *
+ * <p>Elements move through a stream in {@link Chunk chunks}. Operations such as
+ * {@link #map(NonNullFunction)} or {@link #filter(Predicate)} apply to a whole chunk at once, so
+ * their overhead is paid per chunk rather than per element.
+ *
+ * <p>Resources acquired with {@link #bracket(IO, NonNullFunction)} or {@link #resource(Resource)}
+ * are released as soon as the stream is done with them. If the stream stops early, because it
+ * fails, is canceled, or is cut short by {@link #take(long)}, they are released when the compiled
+ * {@link IO} completes.
+ *
+ * @param <A>
+ *   The type of the elements.
+ */
+public final class Stream<A extends @NonNull Object> implements Kind<Stream.k, A> {
+  private static final int CHUNK_SIZE = 1024;
+  private static final Stream<?> EMPTY = new Stream<>(scope -> IO.pure(done()));
+  private static final Done<?> DONE = new Done<>();
+
+  private final Pull<A> pull;
+
+  private Stream(final Pull<A> pull) {
+    this.pull = pull;
+  }
+
+  /**
+   * Returns the stream without elements.
+   *
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The empty stream.
+   */
+  public static <A extends @NonNull Object> Stream<A> empty() {
+    return genericCast(EMPTY);
+  }
+
+  /**
+   * Creates a stream of a single element.
+   *
+   * @param value
+   *   The element.
+   * @param <A>
+   *   The type of the element.
+   *
+   * @return A stream of {@code value}.
+   */
+  public static <A extends @NonNull Object> Stream<A> emit(final A value) {
+    return chunk(Chunk.of(value));
+  }
+
+  /**
+   * Creates a stream of the given elements.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of {@code values}, in order.
+   */
+  @SafeVarargs
+  public static <A extends @NonNull Object> Stream<A> of(final A... values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    final List<A> list = new ArrayList<>(values.length);
+    for (final A value : values) {
+      list.add(value);
+    }
+    return chunk(Chunk.from(list));
+  }
+
+  /**
+   * Creates a stream of the elements of a list. The list is copied.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of {@code values}, in order.
+   */
+  public static <A extends @NonNull Object> Stream<A> emits(final List<? extends A> values) {
+    return chunk(Chunk.from(values));
+  }
+
+  /**
+   * Creates a stream of the elements of a chunk, emitted as that single chunk.
+   *
+   * @param chunk
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of the elements of {@code chunk}.
+   */
+  public static <A extends @NonNull Object> Stream<A> chunk(final Chunk<A> chunk) {
+    parameterIsNotNull(chunk, "Chunk cannot be null");
+    return chunk.isEmpty() ? empty() : new Stream<>(scope -> IO.pure(new Emit<>(chunk, empty())));
+  }
+
+  /**
+   * Creates a stream of the elements of an iterable, in chunks. Every run of the stream iterates
+   * anew.
+   *
+   * @param values
+   *   The elements.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of {@code values}, in order.
+   */
+  public static <A extends @NonNull Object> Stream<A> fromIterable(final Iterable<? extends A> values) {
+    parameterIsNotNull(values, "Values cannot be null");
+    return new Stream<>(
+        scope -> IO.<Iterator<? extends A>>delay(values::iterator).flatMap(iterator -> Stream.<A>fromIterator(iterator).step(scope))
+    );
+  }
+
+  private static <A extends @NonNull Object> Stream<A> fromIterator(final Iterator<? extends A> iterator) {
+    return new Stream<>(scope -> IO.delay(() -> {
+      final List<A> values = new ArrayList<>(CHUNK_SIZE);
+      while (values.size() < CHUNK_SIZE && iterator.hasNext()) {
+        values.add(iterator.next());
+      }
+      return values.isEmpty() ? done() : new Emit<>(Chunk.from(values), fromIterator(iterator));
+    }));
+  }
+
+  /**
+   * Creates a stream of the integers from {@code from}, inclusive, to {@code to}, exclusive, in
+   * {@link Chunk.Ints unboxed chunks}.
+   *
+   * @param from
+   *   The first integer.
+   * @param to
+   *   The integer after the last one.
+   *
+   * @return A stream of the integers in the given range.
+   */
+  public static Stream<Integer> range(final int from, final int to) {
+    if (from >= to) {
+      return empty();
+    }
+    return new Stream<>(scope -> IO.delay(() -> {
+      final int end = (int) Math.min(to, (long) from + CHUNK_SIZE);
+      final int[] values = new int[end - from];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = from + i;
+      }
+      return new Emit<Integer>(new Chunk.Ints(values, 0, values.length), range(end, to));
+    }));
+  }
+
+  /**
+   * Creates an infinite stream of a seed, {@code f} applied to the seed, {@code f} applied to that
+   * result, and so on.
+   *
+   * @param seed
+   *   The first element.
+   * @param f
+   *   The function producing every next element from the previous one.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return An infinite stream.
+   */
+  public static <A extends @NonNull Object> Stream<A> iterate(final A seed, final NonNullFunction<? super A, ? extends A> f) {
+    parameterIsNotNull(seed, "Seed cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Stream<>(scope -> IO.delay(() -> {
+      final Object[] values = new Object[CHUNK_SIZE];
+      A value = seed;
+      for (int i = 0; i < CHUNK_SIZE; i++) {
+        values[i] = value;
+        value = f.apply(value);
+      }
+      return new Emit<>(new Chunk.Boxed<>(values, 0, CHUNK_SIZE), iterate(value, f));
+    }));
+  }
+
+  /**
+   * Creates a stream of chunks produced from a state, until {@code f} produces nothing.
+   *
+   * @param initial
+   *   The initial state.
+   * @param f
+   *   The function producing the next chunk and state from the current state, or nothing to end the
+   *   stream.
+   * @param <S>
+   *   The type of the state.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of the elements of the produced chunks.
+   */
+  public static <S extends @NonNull Object, A extends @NonNull Object> Stream<A> unfoldChunkEval(
+      final S initial,
+      final NonNullFunction<? super S, ? extends IO<Option<Tuple2<Chunk<A>, S>>>> f
+  ) {
+    parameterIsNotNull(initial, "Initial state cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Stream<>(scope -> f.apply(initial).flatMap(next -> next.fold(
+        () -> IO.pure(done()),
+        chunkAndState -> chunk(chunkAndState.a()).append(unfoldChunkEval(chunkAndState.b(), f)).step(scope)
+    )));
+  }
+
+  /**
+   * Creates a stream of the result of a computation.
+   *
+   * @param io
+   *   The computation.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return A stream of the result of {@code io}.
+   */
+  public static <A extends @NonNull Object> Stream<A> eval(final IO<A> io) {
+    parameterIsNotNull(io, "IO cannot be null");
+    return new Stream<>(scope -> io.map(value -> new Emit<>(Chunk.of(value), empty())));
+  }
+
+  /**
+   * Creates an infinite stream of the results of running a computation again and again.
+   *
+   * @param io
+   *   The computation.
+   * @param <A>
+   *   The result type of the computation.
+   *
+   * @return An infinite stream of the results of {@code io}.
+   */
+  public static <A extends @NonNull Object> Stream<A> repeatEval(final IO<A> io) {
+    return eval(io).append(suspend(() -> repeatEval(io)));
+  }
+
+  /**
+   * Creates a stream whose definition is only produced when it is pulled, which allows streams to
+   * be defined recursively.
+   *
+   * @param stream
+   *   The supplier of the stream.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return The supplied stream.
+   */
+  public static <A extends @NonNull Object> Stream<A> suspend(final NonNullSupplier<? extends Stream<A>> stream) {
+    parameterIsNotNull(stream, "Supplier cannot be null");
+    return new Stream<>(scope -> stream.get().step(scope));
+  }
+
+  /**
+   * Creates a stream of a single resource, which is released once the stream is done with it.
+   * Acquiring and releasing cannot be canceled.
+   *
+   * @param acquire
+   *   The computation acquiring the resource.
+   * @param release
+   *   The function releasing the resource.
+   * @param <R>
+   *   The type of the resource.
+   *
+   * @return A stream of the acquired resource.
+   */
+  public static <R extends @NonNull Object> Stream<R> bracket(
+      final IO<R> acquire,
+      final NonNullFunction<? super R, ? extends IO<Unit>> release
+  ) {
+    parameterIsNotNull(acquire, "Acquire cannot be null");
+    return bracketFull(poll -> acquire, release);
+  }
+
+  /**
+   * Creates a stream of a single resource, acquired and released as {@code resource} describes.
+   *
+   * @param resource
+   *   The resource.
+   * @param <R>
+   *   The type of the resource.
+   *
+   * @return A stream of the acquired resource.
+   */
+  public static <R extends @NonNull Object> Stream<R> resource(final Resource<R> resource) {
+    parameterIsNotNull(resource, "Resource cannot be null");
+    return switch (resource) {
+      case Resource.Allocate<R> allocate -> bracketFull(allocate.acquire(), allocate.release());
+      case Resource.Bind<?, R> bind -> resourceBind(bind);
+    };
+  }
+
+  private static <X extends @NonNull Object, R extends @NonNull Object> Stream<R> resourceBind(final Resource.Bind<X, R> bind) {
+    return resource(bind.source()).flatMap(value -> resource(bind.f().apply(value)));
+  }
+
+  private static <R extends @NonNull Object> Stream<R> bracketFull(
+      final NonNullFunction<Poll, ? extends IO<R>> acquire,
+      final NonNullFunction<? super R, ? extends IO<Unit>> release
+  ) {
+    parameterIsNotNull(release, "Release cannot be null");
+    return new Stream<>(scope -> IO.uncancelable(poll -> acquire.apply(poll).map(resource -> {
+      final long token = scope.register(IO.defer(() -> release.apply(resource)));
+      return new Emit<>(Chunk.of(resource), new Stream<>(s -> scope.release(token).map(unit -> done())));
+    })));
+  }
+
+  /**
+   * Creates a stream of the elements of several streams, pulled concurrently. Each stream is pulled
+   * in a fiber of its own, and its chunks are emitted as they arrive, so elements of the same stream
+   * stay in order while the streams are interleaved.
+   *
+   * <p>Each stream can be at most one chunk ahead of the merged stream before it waits. The merged
+   * stream fails as soon as one of the streams fails, and stops the others.
+   *
+   * @param streams
+   *   The streams to merge.
+   * @param <A>
+   *   The type of the elements.
+   *
+   * @return A stream of the elements of all {@code streams}.
+   */
+  public static <A extends @NonNull Object> Stream<A> merge(final List<? extends Stream<A>> streams) {
+    parameterIsNotNull(streams, "Streams cannot be null");
+    final List<Stream<A>> copy = List.copyOf(streams);
+    return StreamConcurrent.merge(copy);
+  }
+
+  /**
+   * Returns the {@link Functor} instance for {@code Stream}.
+   *
+   * @return The functor instance.
+   */
+  public static Functor<Stream.k> functor() {
+    return stream_functor.instance();
+  }
+
+  /**
+   * Returns the {@link Foldable} instance for {@code Stream}. Folding a stream with it runs the
+   * stream synchronously, as {@link IO#unsafeRunSync()} does; prefer
+   * {@link #fold(Object, NonNullBiFunction)} in effectful code.
+   *
+   * @return The foldable instance.
+   */
+  public static Foldable<Stream.k> foldable() {
+    return stream_foldable.instance();
+  }
+
+  /**
+   * Transforms every element of this stream.
+   *
+   * @param f
+   *   The function to apply to every element.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A stream of the transformed elements.
+   */
+  public <B extends @NonNull Object> Stream<B> map(final NonNullFunction<? super A, ? extends B> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return mapChunks(chunk -> chunk.map(f));
+  }
+
+  /**
+   * Transforms every chunk of this stream. Empty chunks produced by {@code f} are skipped.
+   *
+   * @param f
+   *   The function to apply to every chunk.
+   * @param <B>
+   *   The type of the transformed elements.
+   *
+   * @return A stream of the elements of the transformed chunks.
+   */
+  public <B extends @NonNull Object> Stream<B> mapChunks(final NonNullFunction<? super Chunk<A>, ? extends Chunk<B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return evalMapChunks(chunk -> IO.pure(f.apply(chunk)));
+  }
+
+  /**
+   * Keeps the elements of this stream that satisfy a predicate.
+   *
+   * @param predicate
+   *   The predicate to test every element with.
+   *
+   * @return A stream of the elements satisfying {@code predicate}.
+   */
+  public Stream<A> filter(final Predicate<? super A> predicate) {
+    parameterIsNotNull(predicate, "Predicate cannot be null");
+    return mapChunks(chunk -> chunk.filter(predicate));
+  }
+
+  /**
+   * Replaces every element of this stream with the elements of the stream {@code f} produces for
+   * it.
+   *
+   * @param f
+   *   The function producing the stream of every element.
+   * @param <B>
+   *   The type of the elements of the produced streams.
+   *
+   * @return The concatenation of the produced streams.
+   */
+  public <B extends @NonNull Object> Stream<B> flatMap(final NonNullFunction<? super A, ? extends Stream<B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Stream<>(scope -> step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(done());
+      case Emit<A> emit -> flatMapEach(emit.chunk(), 0, f).append(emit.rest().flatMap(f)).step(scope);
+    }));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> Stream<B> flatMapEach(
+      final Chunk<A> chunk,
+      final int index,
+      final NonNullFunction<? super A, ? extends Stream<B>> f
+  ) {
+    if (index == chunk.size() - 1) {
+      return f.apply(chunk.get(index));
+    }
+    return f.apply(chunk.get(index)).append(suspend(() -> flatMapEach(chunk, index + 1, f)));
+  }
+
+  /**
+   * Replaces every element of this stream with the result of a computation, run in order. Every
+   * result is emitted as soon as its computation completes, so the computations of the elements
+   * that are never pulled are never run.
+   *
+   * @param f
+   *   The function producing the computation for every element.
+   * @param <B>
+   *   The result type of the computations.
+   *
+   * @return A stream of the results.
+   */
+  public <B extends @NonNull Object> Stream<B> evalMap(final NonNullFunction<? super A, ? extends IO<B>> f) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return flatMap(value -> eval(f.apply(value)));
+  }
+
+  /**
+   * Replaces every chunk of this stream with the result of a computation, run in order. Empty
+   * chunks produced by {@code f} are skipped.
+   *
+   * @param f
+   *   The function producing the computation for every chunk.
+   * @param <B>
+   *   The type of the elements of the produced chunks.
+   *
+   * @return A stream of the elements of the produced chunks.
+   */
+  public <B extends @NonNull Object> Stream<B> evalMapChunks(
+      final NonNullFunction<? super Chunk<A>, ? extends IO<Chunk<B>>> f
+  ) {
+    parameterIsNotNull(f, "Function cannot be null");
+    return new Stream<>(scope -> step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(done());
+      case Emit<A> emit -> f.apply(emit.chunk()).flatMap(
+          chunk -> chunk.isEmpty()
+                   ? emit.rest().evalMapChunks(f).step(scope)
+                   : IO.pure(new Emit<>(chunk, emit.rest().evalMapChunks(f)))
+      );
+    }));
+  }
+
+  /**
+   * Replaces every element of this stream with the result of a computation, running up to
+   * {@code parallelism} computations at a time. The results are emitted in the order of the
+   * elements, so a slow computation holds back the results of the ones after it.
+   *
+   * <p>At most {@code parallelism} results wait to be pulled; once they do, this stream is not
+   * pulled any further. The stream fails with the first failure, in the order of the elements, and
+   * cancels the computations still running.
+   *
+   * @param parallelism
+   *   The maximum number of computations running at a time.
+   * @param f
+   *   The function producing the computation for every element.
+   * @param <B>
+   *   The result type of the computations.
+   *
+   * @return A stream of the results, in order.
+   * @throws IllegalArgumentException
+   *   If {@code parallelism} is not positive.
+   */
+  public <B extends @NonNull Object> Stream<B> parEvalMap(
+      final int parallelism,
+      final NonNullFunction<? super A, ? extends IO<B>> f
+  ) {
+    parameterIsNotNull(f, "Function cannot be null");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    return StreamConcurrent.parEvalMap(this, parallelism, f);
+  }
+
+  /**
+   * Like {@link #parEvalMap(int, NonNullFunction)}, but the results are emitted as soon as they are
+   * ready, whatever the order of the elements they come from. The stream fails with the first
+   * failure to happen.
+   *
+   * @param parallelism
+   *   The maximum number of computations running at a time.
+   * @param f
+   *   The function producing the computation for every element.
+   * @param <B>
+   *   The result type of the computations.
+   *
+   * @return A stream of the results, in the order they are ready.
+   * @throws IllegalArgumentException
+   *   If {@code parallelism} is not positive.
+   */
+  public <B extends @NonNull Object> Stream<B> parEvalMapUnordered(
+      final int parallelism,
+      final NonNullFunction<? super A, ? extends IO<B>> f
+  ) {
+    parameterIsNotNull(f, "Function cannot be null");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    return StreamConcurrent.parEvalMapUnordered(this, parallelism, f);
+  }
+
+  /**
+   * Returns the first {@code n} elements of this stream. Nothing after them is pulled.
+   *
+   * @param n
+   *   The number of elements to take.
+   *
+   * @return A stream of the first elements of this stream.
+   */
+  public Stream<A> take(final long n) {
+    if (n <= 0) {
+      return empty();
+    }
+    return new Stream<>(scope -> step(scope).map(step -> switch (step) {
+      case Done<A> done -> done;
+      case Emit<A> emit -> emit.chunk().size() >= n
+                           ? new Emit<>(emit.chunk().take((int) n), empty())
+                           : new Emit<>(emit.chunk(), emit.rest().take(n - emit.chunk().size()));
+    }));
+  }
+
+  /**
+   * Returns the elements of this stream for as long as they satisfy a predicate. Nothing after the
+   * first element failing the predicate is pulled.
+   *
+   * @param predicate
+   *   The predicate to test the elements with.
+   *
+   * @return A stream of the first elements of this stream.
+   */
+  public Stream<A> takeWhile(final Predicate<? super A> predicate) {
+    parameterIsNotNull(predicate, "Predicate cannot be null");
+    return new Stream<>(scope -> step(scope).map(step -> switch (step) {
+      case Done<A> done -> done;
+      case Emit<A> emit -> {
+        final Chunk<A> chunk = emit.chunk();
+        int taken = 0;
+        while (taken < chunk.size() && predicate.test(chunk.get(taken))) {
+          taken++;
+        }
+        if (taken == chunk.size()) {
+          yield new Emit<>(chunk, emit.rest().takeWhile(predicate));
+        }
+        yield taken == 0 ? done() : new Emit<>(chunk.take(taken), empty());
+      }
+    }));
+  }
+
+  /**
+   * Returns the elements of this stream after the first {@code n}.
+   *
+   * @param n
+   *   The number of elements to drop.
+   *
+   * @return A stream of the remaining elements of this stream.
+   */
+  public Stream<A> drop(final long n) {
+    if (n <= 0) {
+      return this;
+    }
+    return new Stream<>(scope -> step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(done);
+      case Emit<A> emit -> emit.chunk().size() <= n
+                           ? emit.rest().drop(n - emit.chunk().size()).step(scope)
+                           : IO.pure(new Emit<>(emit.chunk().drop((int) n), emit.rest()));
+    }));
+  }
+
+  /**
+   * Returns this stream followed by another one.
+   *
+   * @param next
+   *   The stream to follow this one.
+   *
+   * @return The concatenation of both streams.
+   */
+  public Stream<A> append(final Stream<A> next) {
+    parameterIsNotNull(next, "Stream cannot be null");
+    return appended(this, Chain.of(next));
+  }
+
+  /**
+   * Returns {@code first} followed by the streams of {@code rest}. Appended streams are kept in a
+   * flat {@link Chain} rather than nested, so that appending in a loop, and pulling from the result,
+   * costs constant time per stream.
+   */
+  private static <A extends @NonNull Object> Stream<A> appended(final Stream<A> first, final Chain<Stream<A>> rest) {
+    if (rest.isEmpty()) {
+      return first;
+    }
+    if (first.pull instanceof Appended<A> appended) {
+      return new Stream<>(new Appended<>(appended.first(), appended.rest().concat(rest)));
+    }
+    return new Stream<>(new Appended<>(first, rest));
+  }
+
+  /**
+   * Returns this stream as a stream of its chunks.
+   *
+   * @return A stream of the chunks of this stream.
+   */
+  public Stream<Chunk<A>> chunks() {
+    return mapChunks(Chunk::of);
+  }
+
+  /**
+   * Groups the elements of this stream into chunks of {@code n} elements, whatever the chunks they
+   * came in. The last chunk holds whatever remains, and is only emitted if it is not empty.
+   *
+   * <p>The chunks are views of the chunks of this stream; no element is copied.
+   *
+   * @param n
+   *   The number of elements in every chunk.
+   *
+   * @return A stream of the chunks.
+   * @throws IllegalArgumentException
+   *   If {@code n} is not positive.
+   */
+  public Stream<Chunk<A>> chunkN(final int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive");
+    }
+    return chunkN(n, Chunk.empty());
+  }
+
+  private Stream<Chunk<A>> chunkN(final int n, final Chunk<A> buffer) {
+    return new Stream<>(scope -> step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(buffer.isEmpty() ? Stream.<Chunk<A>>done() : new Emit<>(Chunk.of(buffer), empty()));
+      case Emit<A> emit -> {
+        final Chunk<A> all = buffer.concat(emit.chunk());
+        if (all.size() < n) {
+          yield emit.rest().chunkN(n, all).step(scope);
+        }
+        final int full = all.size() / n * n;
+        yield IO.pure(new Emit<>(groups(all.take(full), n), emit.rest().chunkN(n, all.drop(full))));
+      }
+    }));
+  }
+
+  /**
+   * Splits a chunk into consecutive chunks of {@code n} elements.
+   *
+   * @param chunk
+   *   The chunk, whose size is a multiple of {@code n}.
+   * @param n
+   *   The size of the chunks.
+   *
+   * @return The chunks, which are views of {@code chunk}.
+   */
+  static <A extends @NonNull Object> Chunk<Chunk<A>> groups(final Chunk<A> chunk, final int n) {
+    if (chunk.size() == n) {
+      return Chunk.of(chunk);
+    }
+    final List<Chunk<A>> groups = new ArrayList<>(chunk.size() / n);
+    for (int from = 0; from < chunk.size(); from += n) {
+      groups.add(chunk.slice(from, from + n));
+    }
+    return Chunk.from(groups);
+  }
+
+  /**
+   * Returns the windows of {@code size} consecutive elements of this stream, starting every
+   * {@code step} elements: windows overlap when {@code step} is smaller than {@code size}, and
+   * elements are skipped when it is larger.
+   *
+   * <p>Once this stream is done, the elements that have not been part of any window yet are
+   * emitted as a last, smaller window; so is a stream shorter than {@code size}, unless it is empty.
+   * The windows are views of the chunks of this stream; no element is copied.
+   *
+   * @param size
+   *   The number of elements in every window.
+   * @param step
+   *   The number of elements between the starts of consecutive windows.
+   *
+   * @return A stream of the windows.
+   * @throws IllegalArgumentException
+   *   If {@code size} or {@code step} is not positive.
+   */
+  public Stream<Chunk<A>> sliding(final int size, final int step) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Window size must be positive");
+    }
+    if (step < 1) {
+      throw new IllegalArgumentException("Step must be positive");
+    }
+    return sliding(size, step, Chunk.empty(), 0, 0);
+  }
+
+  /**
+   * Continues {@link #sliding(int, int)} with the start of the next window, of which the first
+   * {@code covered} elements were part of an earlier window, once {@code skip} more elements have
+   * been skipped.
+   */
+  private Stream<Chunk<A>> sliding(final int size, final int step, final Chunk<A> window, final int covered, final int skip) {
+    return new Stream<>(scope -> step(scope).flatMap(next -> switch (next) {
+      case Done<A> done -> IO.pure(window.size() > covered ? new Emit<>(Chunk.of(window), empty()) : Stream.<Chunk<A>>done());
+      case Emit<A> emit -> {
+        final int skipped = Math.min(skip, emit.chunk().size());
+        Chunk<A> all = window.concat(emit.chunk().drop(skipped));
+        int nowCovered = covered;
+        int toSkip = skip - skipped;
+        final List<Chunk<A>> windows = new ArrayList<>();
+        while (all.size() >= size) {
+          windows.add(all.take(size));
+          if (step <= size) {
+            all = all.drop(step);
+            nowCovered = size - step;
+          } else {
+            all = all.drop(size);
+            toSkip = Math.min(step - size, all.size());
+            all = all.drop(toSkip);
+            toSkip = step - size - toSkip;
+            nowCovered = 0;
+          }
+        }
+        final Stream<Chunk<A>> rest = emit.rest().sliding(size, step, all, nowCovered, toSkip);
+        yield windows.isEmpty() ? rest.step(scope) : IO.pure(new Emit<>(Chunk.from(windows), rest));
+      }
+    }));
+  }
+
+  /**
+   * Groups the consecutive elements of this stream that have equal keys. Each group is emitted with
+   * its key once the next group starts, or this stream is done.
+   *
+   * @param key
+   *   The function computing the key of every element; keys are compared with
+   *   {@link Object#equals(Object)}.
+   * @param <K>
+   *   The type of the keys.
+   *
+   * @return A stream of the groups, with their keys.
+   */
+  public <K extends @NonNull Object> Stream<Tuple2<K, Chunk<A>>> groupAdjacentBy(final NonNullFunction<? super A, ? extends K> key) {
+    parameterIsNotNull(key, "Key function cannot be null");
+    return groupAdjacentBy(key, Option.empty());
+  }
+
+  private <K extends @NonNull Object> Stream<Tuple2<K, Chunk<A>>> groupAdjacentBy(
+      final NonNullFunction<? super A, ? extends K> key,
+      final Option<Tuple2<K, Chunk<A>>> current
+  ) {
+    return new Stream<>(scope -> step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(current.fold(
+          Stream::<Tuple2<K, Chunk<A>>>done,
+          group -> new Emit<>(Chunk.of(group), empty())
+      ));
+      case Emit<A> emit -> {
+        final Chunk<A> chunk = emit.chunk();
+        final List<Tuple2<K, Chunk<A>>> groups = new ArrayList<>();
+        @Nullable K openKey = current.fold(() -> null, Tuple2::a);
+        Chunk<A> openGroup = current.fold(Chunk::empty, Tuple2::b);
+        int start = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+          final K k = key.apply(chunk.get(i));
+          if (openKey == null) {
+            openKey = k;
+          } else if (!openKey.equals(k)) {
+            groups.add(Tuple2.of(openKey, openGroup.concat(chunk.slice(start, i))));
+            openKey = k;
+            openGroup = Chunk.empty();
+            start = i;
+          }
+        }
+        final Chunk<A> rest = openGroup.concat(chunk.drop(start));
+        final Option<Tuple2<K, Chunk<A>>> open = Option.of(openKey).map(k -> Tuple2.of(k, rest));
+        final Stream<Tuple2<K, Chunk<A>>> next = emit.rest().groupAdjacentBy(key, open);
+        yield groups.isEmpty() ? next.step(scope) : IO.pure(new Emit<>(Chunk.from(groups), next));
+      }
+    }));
+  }
+
+  /**
+   * Groups the elements of this stream into chunks of at most {@code n} elements, emitting a chunk
+   * as soon as it is full or {@code timeout} after its first element arrived, whichever comes
+   * first. This batches elements arriving at an uneven pace, such as writes to a database, without
+   * holding the first elements of a batch back for long when the next ones are slow to come.
+   *
+   * <p>This stream is pulled in a fiber of its own, at most a few chunks ahead of the groups being
+   * pulled. The timeouts are scheduled on the timer of the runtime, as {@link IO#sleep(Duration)}
+   * does, so no thread waits for them. Once this stream is done, the elements still waiting are
+   * emitted as a last chunk; if it fails, the stream fails right away.
+   *
+   * @param n
+   *   The most elements in a chunk.
+   * @param timeout
+   *   The longest time the first element of a chunk waits for the chunk to be emitted.
+   *
+   * @return A stream of the chunks.
+   * @throws IllegalArgumentException
+   *   If {@code n} or {@code timeout} is not positive.
+   */
+  public Stream<Chunk<A>> groupWithin(final int n, final Duration timeout) {
+    parameterIsNotNull(timeout, "Timeout cannot be null");
+    if (n < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive");
+    }
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("Timeout must be positive");
+    }
+    return StreamConcurrent.groupWithin(this, n, timeout);
+  }
+
+  /**
+   * Groups the elements of this stream by the period they arrive in: a chunk of the elements that
+   * arrived is emitted at the end of every {@code period}, counted from the start of the stream.
+   * Periods in which no element arrived emit nothing.
+   *
+   * <p>Like {@link #groupWithin(int, Duration)}, this stream is pulled in a fiber of its own and the
+   * periods are kept by the timer of the runtime. The elements of a period are held until its end,
+   * however many they are.
+   *
+   * @param period
+   *   The length of the windows.
+   *
+   * @return A stream of the chunks of every window.
+   * @throws IllegalArgumentException
+   *   If {@code period} is not positive.
+   */
+  public Stream<Chunk<A>> tumblingWindows(final Duration period) {
+    parameterIsNotNull(period, "Period cannot be null");
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Period must be positive");
+    }
+    return StreamConcurrent.tumblingWindows(this, period);
+  }
+
+  /**
+   * Transforms this stream with a pipe: a function from a stream to another, defined once and
+   * reused across streams.
+   *
+   * @param pipe
+   *   The pipe.
+   * @param <B>
+   *   The type of the elements of the transformed stream.
+   *
+   * @return The transformed stream.
+   */
+  public <B extends @NonNull Object> Stream<B> through(final NonNullFunction<? super Stream<A>, ? extends Stream<B>> pipe) {
+    parameterIsNotNull(pipe, "Pipe cannot be null");
+    return pipe.apply(this);
+  }
+
+  /**
+   * Returns the elements of this stream and of another one, pulled concurrently.
+   *
+   * @param that
+   *   The stream to merge with this one.
+   *
+   * @return A stream of the elements of both streams.
+   * @see #merge(List)
+   */
+  public Stream<A> merge(final Stream<A> that) {
+    parameterIsNotNull(that, "Stream cannot be null");
+    return merge(List.of(this, that));
+  }
+
+  /**
+   * Sends every element of this stream through several pipes, run concurrently, and merges their
+   * outputs as {@link #merge(List)} does.
+   *
+   * <p>Every pipe sees all the elements of this stream, in order. This stream is pulled once, only
+   * as fast as the slowest pipe pulls its input: each pipe is given at most one chunk ahead. A pipe
+   * that stops pulling its input no longer holds back the others.
+   *
+   * @param pipes
+   *   The pipes.
+   * @param <B>
+   *   The type of the elements the pipes produce.
+   *
+   * @return A stream of the outputs of all {@code pipes}.
+   */
+  public <B extends @NonNull Object> Stream<B> broadcastThrough(
+      final List<? extends NonNullFunction<? super Stream<A>, ? extends Stream<B>>> pipes
+  ) {
+    parameterIsNotNull(pipes, "Pipes cannot be null");
+    final List<NonNullFunction<? super Stream<A>, ? extends Stream<B>>> copy = List.copyOf(pipes);
+    return StreamConcurrent.broadcastThrough(this, copy);
+  }
+
+  /**
+   * Runs a finalizer once this stream is done, whether it completes, fails or is canceled.
+   *
+   * @param finalizer
+   *   The finalizer.
+   *
+   * @return This stream, with the finalizer.
+   */
+  public Stream<A> onFinalize(final IO<Unit> finalizer) {
+    parameterIsNotNull(finalizer, "Finalizer cannot be null");
+    return bracket(IO.unit(), unit -> finalizer).flatMap(unit -> this);
+  }
+
+  /**
+   * Describes combining the elements of this stream, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next element.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return An {@link IO} producing the combined result.
+   */
+  public <B extends @NonNull Object> IO<B> fold(final B initial, final NonNullBiFunction<? super B, ? super A, ? extends B> f) {
+    parameterIsNotNull(initial, "Initial value cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return foldChunks(initial, (result, chunk) -> chunk.foldLeft(result, f));
+  }
+
+  /**
+   * Describes combining the chunks of this stream, from first to last.
+   *
+   * @param initial
+   *   The initial result.
+   * @param f
+   *   The function combining the result so far with the next chunk.
+   * @param <B>
+   *   The type of the result.
+   *
+   * @return An {@link IO} producing the combined result.
+   */
+  public <B extends @NonNull Object> IO<B> foldChunks(
+      final B initial,
+      final NonNullBiFunction<? super B, ? super Chunk<A>, ? extends B> f
+  ) {
+    parameterIsNotNull(initial, "Initial value cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    return IO.bracket(IO.delay(StreamScope::new), scope -> foldChunks(this, scope, initial, f), StreamScope::close);
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> IO<B> foldChunks(
+      final Stream<A> stream,
+      final StreamScope scope,
+      final B result,
+      final NonNullBiFunction<? super B, ? super Chunk<A>, ? extends B> f
+  ) {
+    return stream.step(scope).flatMap(step -> switch (step) {
+      case Done<A> done -> IO.pure(result);
+      case Emit<A> emit -> foldChunks(emit.rest(), scope, f.apply(result, emit.chunk()), f);
+    });
+  }
+
+  /**
+   * Describes collecting the elements of this stream into a list.
+   *
+   * @return An {@link IO} producing the elements of this stream, in order.
+   */
+  public IO<List<A>> toList() {
+    return IO.defer(() -> foldChunks(new ArrayList<A>(), (list, chunk) -> {
+      for (final A value : chunk) {
+        list.add(value);
+      }
+      return list;
+    }));
+  }
+
+  /**
+   * Describes counting the elements of this stream.
+   *
+   * @return An {@link IO} producing the number of elements of this stream.
+   */
+  public IO<Long> count() {
+    return foldChunks(0L, (count, chunk) -> count + chunk.size());
+  }
+
+  /**
+   * Describes running this stream for its effects, discarding its elements.
+   *
+   * @return An {@link IO} running this stream.
+   */
+  public IO<Unit> drain() {
+    return foldChunks(Unit.UNIT, (unit, chunk) -> unit);
+  }
+
+  /**
+   * Describes pulling the next chunk of this stream.
+   *
+   * @param scope
+   *   The scope of the running stream.
+   *
+   * @return An {@link IO} producing the next chunk and the rest of the stream, or that the stream is
+   *   done.
+   */
+  IO<Step<A>> step(final StreamScope scope) {
+    // Deferred, so that pulling from deeply nested streams builds no stack.
+    return IO.defer(() -> pull.apply(scope));
+  }
+
+  private static <A extends @NonNull Object> Step<A> done() {
+    return genericCast(DONE);
+  }
+
+  @FunctionalInterface
+  private interface Pull<A extends @NonNull Object> {
+
+    IO<Step<A>> apply(StreamScope scope);
+  }
+
+  /**
+   * Pulls from {@code first}, then from the streams of {@code rest} in order.
+   */
+  private record Appended<A extends @NonNull Object>(Stream<A> first, Chain<Stream<A>> rest) implements Pull<A> {
+
+    @Override
+    public IO<Step<A>> apply(final StreamScope scope) {
+      return first.step(scope).flatMap(step -> switch (step) {
+        case Emit<A> emit -> IO.pure(new Emit<>(emit.chunk(), appended(emit.rest(), rest)));
+        case Done<A> done -> rest.uncons() instanceof Option.Present<Tuple2<Stream<A>, Chain<Stream<A>>>>(final Tuple2<Stream<A>, Chain<Stream<A>>> split)
+                             ? appended(split.a(), split.b()).step(scope)
+                             : IO.pure(done);
+      });
+    }
+  }
+
+  /**
+   * The result of pulling from a stream.
+   */
+  sealed interface Step<A extends @NonNull Object> permits Emit, Done { }
+
+  /**
+   * The next chunk of a stream, which is never empty, and the rest of the stream.
+   */
+  record Emit<A extends @NonNull Object>(Chunk<A> chunk, Stream<A> rest) implements Step<A> { }
+
+  /**
+   * The end of a stream.
+   */
+  record Done<A extends @NonNull Object>() implements Step<A> { }
+
+  /**
+   * Witness type for HKT.
+   */
+  public interface k extends Functor.k, Foldable.k {
+  }
+}
+
+final class stream_functor implements Functor<Stream.k> {
+  private static final stream_functor instance = new stream_functor();
+
+  private stream_functor() {
+  }
+
+  static stream_functor instance() {
+    return instance;
+  }
+
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object> Stream<B> map(
+      final Kind<Stream.k, A> fa,
+      final NonNullFunction<? super A, ? extends B> f
+  ) {
+    final Stream<A> stream = fa.fix();
+    return stream.map(f);
+  }
+}
+
+final class stream_foldable implements Foldable<Stream.k> {
+  private static final stream_foldable instance = new stream_foldable();
+
+  private stream_foldable() {
+  }
+
+  static stream_foldable instance() {
+    return instance;
+  }
+
+  @Override
+  public <Input extends @NonNull Object, Output extends @NonNull Object> Output foldLeft(
+      final Kind<Stream.k, Input> foldable,
+      final Output empty,
+      final NonNullBiFunction<Output, Input, Output> f
+  ) {
+    final Stream<Input> stream = foldable.fix();
+    return stream.fold(empty, f).unsafeRunSync();
+  }
+}
@@ -0,0 +1,425 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The concurrent stages of {@link Stream}: merging, broadcasting, evaluating in parallel and
+ * grouping by time.
+ *
+ * <p>Every stage runs its producers in fibers of their own, which hand their chunks over to the
+ * stream through bounded {@link Queue}s: a producer that gets ahead of the stream waits for room,
+ * so a slow consumer slows the producers down instead of letting chunks pile up. Each producer
+ * pulls its source in a scope of its own, so the resources of the source are released by the
+ * producer itself; the stage cancels its fibers, and waits for them to stop, once the stream is
+ * done with it.
+ */
+final class StreamConcurrent {
+  /** The most messages the stream takes from a queue at once, without waiting. */
+  private static final int MAX_BATCH = 64;
+  /**
+   * The most chunks the source of a timed grouping is pulled ahead of the groups, enough for it not
+   * to wait for every chunk to be taken.
+   */
+  private static final int GROUPING_AHEAD = 16;
+
+  private StreamConcurrent() {
+  }
+
+  /** What the producers of a stage hand over to the stream. */
+  private sealed interface Message<A extends @NonNull Object> {
+  }
+
+  private record Elements<A extends @NonNull Object>(Chunk<A> chunk) implements Message<A> {
+  }
+
+  private record Done<A extends @NonNull Object>() implements Message<A> {
+  }
+
+  private record Failed<A extends @NonNull Object>(Throwable error) implements Message<A> {
+  }
+
+  /** Tells a timed grouping that a window is over: the one numbered {@code window}, or any if negative. */
+  private record Tick<A extends @NonNull Object>(long window) implements Message<A> {
+  }
+
+  /** The fibers of a running stage and the queue they hand their messages over to. */
+  private record Stage<A extends @NonNull Object>(Queue<Message<A>> queue, List<Fiber<Unit>> fibers) {
+    IO<Unit> stop() {
+      return stopAll(fibers, 0);
+    }
+  }
+
+  static <A extends @NonNull Object> Stream<A> merge(final List<? extends Stream<A>> sources) {
+    if (sources.isEmpty()) {
+      return Stream.empty();
+    }
+    final IO<Stage<A>> start = Queue.<Message<A>>bounded(sources.size()).flatMap(queue -> {
+      final List<IO<Unit>> producers = new ArrayList<>(sources.size());
+      for (final Stream<A> source : sources) {
+        producers.add(produce(source, queue));
+      }
+      return startAll(producers).map(fibers -> new Stage<>(queue, fibers));
+    });
+    return Stream.bracket(start, Stage::stop).flatMap(stage -> receive(stage.queue(), sources.size()));
+  }
+
+  static <A extends @NonNull Object, B extends @NonNull Object> Stream<B> broadcastThrough(
+      final Stream<A> source,
+      final List<? extends NonNullFunction<? super Stream<A>, ? extends Stream<B>>> pipes
+  ) {
+    if (pipes.isEmpty()) {
+      return Stream.empty();
+    }
+    final IO<Broadcast<A>> start = IO.delay(() -> new ArrayList<Subscriber<A>>(pipes.size())).flatMap(
+        subscribers -> addSubscribers(subscribers, pipes.size()).flatMap(
+            unit -> broadcast(source, subscribers).start().map(fiber -> new Broadcast<>(subscribers, fiber))
+        )
+    );
+    return Stream.bracket(start, broadcast -> broadcast.fiber().cancel()).flatMap(broadcast -> {
+      final List<Stream<B>> outputs = new ArrayList<>(pipes.size());
+      for (int i = 0; i < pipes.size(); i++) {
+        outputs.add(pipes.get(i).apply(broadcast.subscribers().get(i).stream()));
+      }
+      return merge(outputs);
+    });
+  }
+
+  static <A extends @NonNull Object, B extends @NonNull Object> Stream<B> parEvalMap(
+      final Stream<A> source,
+      final int parallelism,
+      final NonNullFunction<? super A, ? extends IO<B>> f
+  ) {
+    final IO<Stage<Deferred<Either<Throwable, B>>>> start = Queue.<IO<Unit>>bounded(parallelism).flatMap(
+        work -> Queue.<Message<Deferred<Either<Throwable, B>>>>bounded(parallelism).flatMap(queue -> {
+          final IO<Unit> producer = source.evalMap(element -> Deferred.<Either<Throwable, B>>make().flatMap(
+              result -> work.offer(f.apply(element).attempt().flatMap(result::complete).map(completed -> Unit.UNIT))
+                  .flatMap(unit -> queue.offer(new Elements<>(Chunk.of(result))))
+          )).drain();
+          return startAll(producersAndWorkers(producer, queue, work, parallelism)).map(fibers -> new Stage<>(queue, fibers));
+        })
+    );
+    return Stream.bracket(start, Stage::stop).flatMap(
+        stage -> receive(stage.queue(), 1).chunks().evalMap(StreamConcurrent::awaitAll).flatMap(Stream::chunk)
+    );
+  }
+
+  static <A extends @NonNull Object, B extends @NonNull Object> Stream<B> parEvalMapUnordered(
+      final Stream<A> source,
+      final int parallelism,
+      final NonNullFunction<? super A, ? extends IO<B>> f
+  ) {
+    final IO<Stage<B>> start = Semaphore.make(parallelism).flatMap(inFlight -> Queue.<IO<Unit>>bounded(parallelism).flatMap(
+        work -> Queue.<Message<B>>bounded(parallelism).flatMap(queue -> {
+          // A permit is held from the moment an element is handed over until its result is, so
+          // once the producer holds them all, every result is in the queue.
+          final IO<Unit> producer = source.evalMap(element -> inFlight.acquire().flatMap(
+              unit -> work.offer(f.apply(element).attempt().flatMap(result -> queue.offer(result.fold(
+                  Failed::new,
+                  value -> new Elements<>(Chunk.of(value))
+              ))).guarantee(inFlight.release()))
+          )).drain().flatMap(unit -> inFlight.acquireN(parallelism));
+          return startAll(producersAndWorkers(producer, queue, work, parallelism)).map(fibers -> new Stage<>(queue, fibers));
+        })
+    ));
+    return Stream.bracket(start, Stage::stop).flatMap(stage -> receive(stage.queue(), 1));
+  }
+
+  static <A extends @NonNull Object> Stream<Chunk<A>> groupWithin(final Stream<A> source, final int size, final Duration timeout) {
+    final IO<Grouping<A>> start = Queue.<Message<A>>bounded(GROUPING_AHEAD).flatMap(
+        queue -> produce(source, queue).start().map(producer -> new Grouping<>(queue, List.of(producer), size, Option.present(timeout)))
+    );
+    return Stream.bracket(start, Grouping::stop).flatMap(StreamConcurrent::groups);
+  }
+
+  static <A extends @NonNull Object> Stream<Chunk<A>> tumblingWindows(final Stream<A> source, final Duration period) {
+    final IO<Grouping<A>> start = Queue.<Message<A>>bounded(GROUPING_AHEAD).flatMap(queue -> IO.delay(System::nanoTime).flatMap(
+        origin -> startAll(List.of(produce(source, queue), tick(queue, origin, period.toNanos(), 1L))).map(
+            fibers -> new Grouping<>(queue, fibers, Integer.MAX_VALUE, Option.empty())
+        )
+    ));
+    return Stream.bracket(start, Grouping::stop).flatMap(StreamConcurrent::groups);
+  }
+
+  private static <A extends @NonNull Object> Stream<Chunk<A>> groups(final Grouping<A> grouping) {
+    return Stream.unfoldChunkEval(grouping, current -> current.pull().map(groups -> groups.map(chunk -> Tuple2.of(chunk, current))));
+  }
+
+  /** Ends a window at every multiple of {@code period} after {@code origin}, on the nanosecond clock. */
+  private static <A extends @NonNull Object> IO<Unit> tick(
+      final Queue<Message<A>> queue,
+      final long origin,
+      final long period,
+      final long count
+  ) {
+    return IO.defer(() -> IO.sleep(Duration.ofNanos(origin + count * period - System.nanoTime())))
+        .flatMap(unit -> queue.offer(new Tick<>(-1L)))
+        .flatMap(unit -> tick(queue, origin, period, count + 1));
+  }
+
+  /**
+   * The state of a running timed grouping, only ever used by the fiber pulling its groups. Windows
+   * are numbered, so that a timeout firing after its window was emitted for being full is ignored.
+   */
+  private static final class Grouping<A extends @NonNull Object> {
+    private final Queue<Message<A>> queue;
+    private final List<Fiber<Unit>> fibers;
+    private final int size;
+    private final Option<Duration> timeout;
+    /** The elements of the current window. */
+    private Chunk<A> buffer = Chunk.empty();
+    private long window;
+    private @Nullable Fiber<Unit> timer;
+    private boolean done;
+
+    Grouping(final Queue<Message<A>> queue, final List<Fiber<Unit>> fibers, final int size, final Option<Duration> timeout) {
+      this.queue = queue;
+      this.fibers = fibers;
+      this.size = size;
+      this.timeout = timeout;
+    }
+
+    /**
+     * Describes waiting for the next groups.
+     *
+     * @return An {@link IO} producing the next groups, or nothing once the source is done and every
+     *   element has been emitted.
+     */
+    IO<Option<Chunk<Chunk<A>>>> pull() {
+      return IO.defer(() -> {
+        if (buffer.size() >= size) {
+          final int full = buffer.size() / size * size;
+          final Chunk<Chunk<A>> groups = Stream.groups(buffer.take(full), size);
+          buffer = buffer.drop(full);
+          return nextWindow().map(unit -> Option.present(groups));
+        }
+        if (done) {
+          final Chunk<A> last = buffer;
+          buffer = Chunk.empty();
+          return IO.pure(last.isEmpty() ? Option.empty() : Option.present(Chunk.of(last)));
+        }
+        return queue.take().flatMap(this::receive);
+      });
+    }
+
+    private IO<Option<Chunk<Chunk<A>>>> receive(final Message<A> message) {
+      return switch (message) {
+        case Failed<A> failed -> IO.raiseError(failed.error());
+        case Done<A> ended -> {
+          done = true;
+          yield stopTimer().flatMap(unit -> pull());
+        }
+        case Elements<A> elements -> {
+          final boolean opened = buffer.isEmpty();
+          buffer = buffer.concat(elements.chunk());
+          yield (opened ? startTimer() : IO.unit()).flatMap(unit -> pull());
+        }
+        case Tick<A> tick -> {
+          if (buffer.isEmpty() || tick.window() >= 0 && tick.window() != window) {
+            yield pull();
+          }
+          // The timer of this window has fired, so it is done already.
+          timer = null;
+          final Chunk<A> group = buffer;
+          buffer = Chunk.empty();
+          window++;
+          yield IO.pure(Option.present(Chunk.of(group)));
+        }
+      };
+    }
+
+    /** Describes ending the current window and starting the next one with the elements left. */
+    private IO<Unit> nextWindow() {
+      window++;
+      return stopTimer().flatMap(unit -> buffer.isEmpty() || done ? IO.unit() : startTimer());
+    }
+
+    private IO<Unit> startTimer() {
+      final long current = window;
+      return timeout.fold(
+          IO::unit,
+          duration -> IO.sleep(duration).flatMap(unit -> queue.offer(new Tick<>(current))).start().map(fiber -> {
+            timer = fiber;
+            return Unit.UNIT;
+          })
+      );
+    }
+
+    private IO<Unit> stopTimer() {
+      return IO.defer(() -> {
+        final Fiber<Unit> running = timer;
+        timer = null;
+        return running == null ? IO.unit() : running.cancel();
+      });
+    }
+
+    IO<Unit> stop() {
+      return stopTimer().flatMap(unit -> stopAll(fibers, 0));
+    }
+  }
+
+  /** The producer of a stage, followed by workers running the computations it hands over. */
+  private static <A extends @NonNull Object> List<IO<Unit>> producersAndWorkers(
+      final IO<Unit> producer,
+      final Queue<Message<A>> queue,
+      final Queue<IO<Unit>> work,
+      final int workers
+  ) {
+    final List<IO<Unit>> fibers = new ArrayList<>(workers + 1);
+    fibers.add(signal(producer, queue));
+    for (int i = 0; i < workers; i++) {
+      fibers.add(work(work));
+    }
+    return fibers;
+  }
+
+  private static IO<Unit> work(final Queue<IO<Unit>> work) {
+    return work.take().flatMap(io -> io).flatMap(unit -> work(work));
+  }
+
+  private static <A extends @NonNull Object, B extends @NonNull Object> IO<Chunk<B>> awaitAll(
+      final Chunk<Deferred<Either<Throwable, B>>> results
+  ) {
+    final List<B> values = new ArrayList<>(results.size());
+    return awaitAll(results, 0, values).map(unit -> Chunk.from(values));
+  }
+
+  private static <B extends @NonNull Object> IO<Unit> awaitAll(
+      final Chunk<Deferred<Either<Throwable, B>>> results,
+      final int index,
+      final List<B> values
+  ) {
+    if (index == results.size()) {
+      return IO.unit();
+    }
+    return results.get(index).get().flatMap(IO::fromEither).flatMap(value -> {
+      values.add(value);
+      return awaitAll(results, index + 1, values);
+    });
+  }
+
+  /** Describes pulling a whole stream into a queue, one message per chunk. */
+  private static <A extends @NonNull Object> IO<Unit> produce(final Stream<A> source, final Queue<Message<A>> queue) {
+    return signal(source.chunks().evalMap(chunk -> queue.offer(new Elements<>(chunk))).drain(), queue);
+  }
+
+  /** Follows a producer with a message telling how it ended. */
+  private static <A extends @NonNull Object> IO<Unit> signal(final IO<Unit> producer, final Queue<Message<A>> queue) {
+    return producer.attempt().flatMap(result -> queue.offer(result.fold(Failed::new, unit -> new Done<>())));
+  }
+
+  /**
+   * Creates a stream of the elements handed over to a queue, until {@code producers} producers
+   * are done. The messages waiting in the queue are taken together, so a fast producer fills larger
+   * chunks.
+   */
+  private static <A extends @NonNull Object> Stream<A> receive(final Queue<Message<A>> queue, final int producers) {
+    return Stream.unfoldChunkEval(producers, remaining -> remaining == 0
+        ? IO.pure(Option.<Tuple2<Chunk<A>, Integer>>empty())
+        : queue.take().flatMap(first -> receiveMore(queue, first, Chunk.empty(), remaining, 1))
+    );
+  }
+
+  private static <A extends @NonNull Object> IO<Option<Tuple2<Chunk<A>, Integer>>> receiveMore(
+      final Queue<Message<A>> queue,
+      final Message<A> message,
+      final Chunk<A> received,
+      final int remaining,
+      final int taken
+  ) {
+    return switch (message) {
+      case Failed<A> failed -> IO.raiseError(failed.error());
+      case Done<A> done -> IO.pure(Option.present(Tuple2.of(received, remaining - 1)));
+      case Tick<A> tick -> IO.pure(Option.present(Tuple2.of(received, remaining)));
+      case Elements<A> elements -> {
+        final Chunk<A> all = received.concat(elements.chunk());
+        yield taken == MAX_BATCH
+              ? IO.pure(Option.present(Tuple2.of(all, remaining)))
+              : queue.tryTake().flatMap(next -> next.fold(
+                  () -> IO.pure(Option.present(Tuple2.of(all, remaining))),
+                  more -> receiveMore(queue, more, all, remaining, taken + 1)
+              ));
+      }
+    };
+  }
+
+  private static IO<List<Fiber<Unit>>> startAll(final List<IO<Unit>> ios) {
+    final List<Fiber<Unit>> fibers = new ArrayList<>(ios.size());
+    return startAll(ios, 0, fibers).map(unit -> fibers);
+  }
+
+  private static IO<Unit> startAll(final List<IO<Unit>> ios, final int index, final List<Fiber<Unit>> fibers) {
+    if (index == ios.size()) {
+      return IO.unit();
+    }
+    return ios.get(index).start().flatMap(fiber -> {
+      fibers.add(fiber);
+      return startAll(ios, index + 1, fibers);
+    });
+  }
+
+  private static IO<Unit> stopAll(final List<Fiber<Unit>> fibers, final int index) {
+    if (index == fibers.size()) {
+      return IO.unit();
+    }
+    return fibers.get(index).cancel().flatMap(unit -> stopAll(fibers, index + 1));
+  }
+
+  /** A running broadcast: the queues of its subscribers and the fiber feeding them. */
+  private record Broadcast<A extends @NonNull Object>(List<Subscriber<A>> subscribers, Fiber<Unit> fiber) {
+  }
+
+  /**
+   * The queue a broadcast feeds one pipe through. A pipe that stops pulling closes its subscriber,
+   * which the broadcast then skips, so that it does not hold back the other pipes.
+   */
+  private record Subscriber<A extends @NonNull Object>(Queue<Message<A>> queue, AtomicBoolean closed) {
+    Stream<A> stream() {
+      return Stream.bracket(IO.unit(), unit -> close()).flatMap(unit -> receive(queue, 1));
+    }
+
+    IO<Unit> offer(final Message<A> message) {
+      return IO.defer(() -> closed.get() ? IO.unit() : queue.offer(message));
+    }
+
+    /** Closes the subscriber, making room for a broadcast that may be waiting to offer to it. */
+    IO<Unit> close() {
+      return IO.delay(() -> {
+        closed.set(true);
+        return Unit.UNIT;
+      }).flatMap(unit -> queue.tryTake()).map(taken -> Unit.UNIT);
+    }
+  }
+
+  private static <A extends @NonNull Object> IO<Unit> addSubscribers(final List<Subscriber<A>> subscribers, final int count) {
+    if (subscribers.size() == count) {
+      return IO.unit();
+    }
+    return Queue.<Message<A>>bounded(1).flatMap(queue -> {
+      subscribers.add(new Subscriber<>(queue, new AtomicBoolean()));
+      return addSubscribers(subscribers, count);
+    });
+  }
+
+  private static <A extends @NonNull Object> IO<Unit> broadcast(final Stream<A> source, final List<Subscriber<A>> subscribers) {
+    return source.chunks().evalMap(chunk -> offerAll(subscribers, 0, new Elements<>(chunk))).drain().attempt().flatMap(
+        result -> offerAll(subscribers, 0, result.fold(Failed::new, unit -> new Done<>()))
+    );
+  }
+
+  private static <A extends @NonNull Object> IO<Unit> offerAll(
+      final List<Subscriber<A>> subscribers,
+      final int index,
+      final Message<A> message
+  ) {
+    if (index == subscribers.size()) {
+      return IO.unit();
+    }
+    return subscribers.get(index).offer(message).flatMap(unit -> offerAll(subscribers, index + 1, message));
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.wildcat.fp.control;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The finalizers of the resources a running {@link Stream} holds.
+ *
+ * <p>A resource is normally released as soon as the stream is done with it. The scope keeps the
+ * finalizers of the resources that are still held, so that compiling a stream can release them
+ * when the stream stops early: because it failed, was canceled, or because nothing pulls from it any
+ * more, as after a {@link Stream#take(long) take}. Finalizers are run in the reverse order of their
+ * registration.
+ */
+final class StreamScope {
+  private final AtomicLong tokens = new AtomicLong();
+  private final ConcurrentSkipListMap<Long, IO<Unit>> finalizers = new ConcurrentSkipListMap<>();
+
+  /**
+   * Registers a finalizer.
+   *
+   * @param finalizer
+   *   The finalizer of a resource that was just acquired.
+   *
+   * @return The token to {@link #release(long) release} the resource with.
+   */
+  long register(final IO<Unit> finalizer) {
+    final long token = tokens.getAndIncrement();
+    finalizers.put(token, finalizer);
+    return token;
+  }
+
+  /**
+   * Describes running a finalizer registered earlier, unless it has already run.
+   *
+   * @param token
+   *   The token of the finalizer.
+   *
+   * @return An {@link IO} running the finalizer.
+   */
+  IO<Unit> release(final long token) {
+    return IO.uncancelable(poll -> IO.defer(() -> {
+      final IO<Unit> finalizer = finalizers.remove(token);
+      return finalizer == null ? IO.unit() : finalizer;
+    }));
+  }
+
+  /**
+   * Describes running every finalizer that has not run yet, last registered first. All of them run
+   * even if some fail; the first failure is then raised, with the others suppressed.
+   *
+   * @return An {@link IO} running the remaining finalizers.
+   */
+  IO<Unit> close() {
+    return IO.uncancelable(poll -> closeFrom(null));
+  }
+
+  private IO<Unit> closeFrom(final @Nullable Throwable failure) {
+    return IO.defer(() -> {
+      final Map.Entry<Long, IO<Unit>> last = finalizers.pollLastEntry();
+      if (last == null) {
+        return failure == null ? IO.unit() : IO.raiseError(failure);
+      }
+      return last.getValue().attempt().flatMap(result -> closeFrom(switch (result) {
+        case Either.Right<Throwable, Unit> right -> failure;
+        case Either.Left<Throwable, Unit> left -> {
+          if (failure == null) {
+            yield left.value();
+          }
+          failure.addSuppressed(left.value());
+          yield failure;
+        }
+      }));
+    });
+  }
+}
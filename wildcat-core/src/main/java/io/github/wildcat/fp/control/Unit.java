@@ -0,0 +1,19 @@
+package io.github.wildcat.fp.control;
+
+/**
+ * A type with exactly one value, used as the result of computations that are only run for their
+ * effects, e.g. {@code IO<Unit>}.
+ */
+public enum Unit {
+  /** The only value of {@link Unit}. */
+  UNIT;
+  
+  /**
+   * Returns the only value of {@link Unit}.
+   *
+   * @return {@link #UNIT}.
+   */
+  public static Unit unit() {
+    return UNIT;
+  }
+}
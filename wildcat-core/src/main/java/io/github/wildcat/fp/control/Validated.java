@@ -0,0 +1,787 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import io.github.wildcat.fp.collections.NonEmptyChain;
+import io.github.wildcat.fp.collections.Vector;
+import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullConsumer;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction3;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction4;
+import io.github.wildcat.fp.hkt.Kind2;
+import io.github.wildcat.fp.typeclasses.algebraic.Bifunctor;
+import io.github.wildcat.fp.typeclasses.core.Functor2;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import io.github.wildcat.fp.typeclasses.oop.core.Mappable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Represents the result of a validation: either a {@code Valid} value, or the {@code Invalid}
+ * errors found while validating it.
+ *
+ * <p>
+ * Unlike {@link Either}, which stops at the first {@code Left}, {@code Validated} keeps going when
+ * independent validations are combined with {@link #map2(Validated, Validated, Semigroup,
+ * NonNullBiFunction)}, {@link #ap(Validated, Semigroup)} or
+ * {@link #traverse(Iterable, NonNullFunction, Semigroup)}, and combines all their errors with a
+ * {@link Semigroup}. Valid values are only kept while no error has been found, so a validation
+ * allocates nothing but its result and the errors it collects.
+ *
+ * <p>
+ * {@link NonEmptyChain} is the usual container for the errors: {@link #invalidChain(Object)} wraps
+ * a single error in it, and {@link NonEmptyChain#semigroup()} appends two chains of errors in
+ * constant time.
+ *
+ * @param <E>
+ *   The type of the errors.
+ * @param <A>
+ *   The type of the valid value.
+ */
+public sealed interface Validated<E extends @NonNull Object, A extends @NonNull Object>
+                                 extends
+                                 Kind2<Validated.k, E, A>,
+                                 Mappable<A> permits Validated.Valid, Validated.Invalid {
+  
+  /**
+   * Creates a valid {@code Validated} holding the given value.
+   *
+   * @param value
+   *   The valid value.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   *
+   * @return A {@code Valid} holding {@code value}.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object> Validated<E, A> valid(final A value) {
+    return new Valid<>(value);
+  }
+  
+  /**
+   * Creates an invalid {@code Validated} holding the given error.
+   *
+   * @param error
+   *   The error.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   *
+   * @return An {@code Invalid} holding {@code error}.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object> Validated<E, A> invalid(final E error) {
+    return new Invalid<>(error);
+  }
+  
+  /**
+   * Creates an invalid {@code Validated} holding a single error in a {@link NonEmptyChain}, so that
+   * it can be combined with others using {@link NonEmptyChain#semigroup()}.
+   *
+   * @param error
+   *   The error.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   *
+   * @return An {@code Invalid} holding a chain of {@code error}.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object> Validated<NonEmptyChain<E>, A> invalidChain(
+      final E error
+  ) {
+    return new Invalid<>(NonEmptyChain.of(error));
+  }
+  
+  /**
+   * Converts an {@link Either} into a {@code Validated}, with its {@code Left} as the error. The
+   * value of the {@code Either} is kept as is.
+   *
+   * @param either
+   *   The either to convert.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   *
+   * @return A {@code Valid} for a {@code Right}, or an {@code Invalid} for a {@code Left}.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object> Validated<E, A> fromEither(
+      final Either<? extends E, ? extends A> either
+  ) {
+    parameterIsNotNull(either, "Either cannot be null");
+    
+    return switch (either) {
+      case Either.Left<? extends E, ? extends A> left -> new Invalid<>(left.value());
+      case Either.Right<? extends E, ? extends A> right -> new Valid<>(right.value());
+    };
+  }
+  
+  /**
+   * Converts a {@link Try} into a {@code Validated}, with the exception of a failure as the error.
+   *
+   * @param result
+   *   The try to convert.
+   * @param <A>
+   *   The type of the valid value.
+   *
+   * @return A {@code Valid} for a success, or an {@code Invalid} for a failure.
+   */
+  static <A extends @NonNull Object> Validated<Exception, A> fromTry(final Try<? extends A> result) {
+    parameterIsNotNull(result, "Try cannot be null");
+    
+    return switch (result) {
+      case Try.Success<? extends A> success -> new Valid<>(success.value());
+      case Try.Failure<? extends A> failure -> new Invalid<>(failure.exception());
+    };
+  }
+  
+  /**
+   * Provides a {@link Functor2} instance for {@code Validated}, mapping either its errors or its
+   * valid value.
+   *
+   * @return A {@code Functor2} instance for {@code Validated}.
+   */
+  static Functor2<Validated.k> functor2() {
+    return validated_functor2.instance();
+  }
+  
+  /**
+   * Provides a {@link Bifunctor} instance for {@code Validated}, mapping its errors and its valid
+   * value at once.
+   *
+   * @return A {@code Bifunctor} instance for {@code Validated}.
+   */
+  static Bifunctor<Validated.k> bifunctor() {
+    return validated_bifunctor.instance();
+  }
+  
+  /**
+   * Combines two independent validations. The result is valid if both are, otherwise it holds the
+   * errors of every invalid one, combined in order with {@code semigroup}.
+   *
+   * @param first
+   *   The first validation.
+   * @param second
+   *   The second validation.
+   * @param semigroup
+   *   Combines the errors.
+   * @param f
+   *   Combines the valid values.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the first valid value.
+   * @param <B>
+   *   The type of the second valid value.
+   * @param <C>
+   *   The type of the combined value.
+   *
+   * @return The combined value, or all the errors.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object> Validated<E, C> map2(
+      final Validated<? extends E, ? extends A> first,
+      final Validated<? extends E, ? extends B> second,
+      final Semigroup<E> semigroup,
+      final NonNullBiFunction<? super A, ? super B, ? extends C> f
+  ) {
+    parameterIsNotNull(first, "First validation cannot be null");
+    parameterIsNotNull(second, "Second validation cannot be null");
+    parameterIsNotNull(semigroup, "Semigroup cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    
+    final @Nullable E errors = Validated.<E>errors(Validated.<E>errors(null, first, semigroup), second, semigroup);
+    if (errors != null) {
+      return new Invalid<>(errors);
+    }
+    
+    return new Valid<>(f.apply(first.value(), second.value()));
+  }
+  
+  /**
+   * Combines three independent validations, as {@link #map2(Validated, Validated, Semigroup,
+   * NonNullBiFunction)} does.
+   *
+   * @param first
+   *   The first validation.
+   * @param second
+   *   The second validation.
+   * @param third
+   *   The third validation.
+   * @param semigroup
+   *   Combines the errors.
+   * @param f
+   *   Combines the valid values.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the first valid value.
+   * @param <B>
+   *   The type of the second valid value.
+   * @param <C>
+   *   The type of the third valid value.
+   * @param <D>
+   *   The type of the combined value.
+   *
+   * @return The combined value, or all the errors.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object, D extends @NonNull Object> Validated<E, D> map3(
+      final Validated<? extends E, ? extends A> first,
+      final Validated<? extends E, ? extends B> second,
+      final Validated<? extends E, ? extends C> third,
+      final Semigroup<E> semigroup,
+      final NonNullFunction3<? super A, ? super B, ? super C, ? extends D> f
+  ) {
+    parameterIsNotNull(first, "First validation cannot be null");
+    parameterIsNotNull(second, "Second validation cannot be null");
+    parameterIsNotNull(third, "Third validation cannot be null");
+    parameterIsNotNull(semigroup, "Semigroup cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    
+    @Nullable E errors = Validated.<E>errors(null, first, semigroup);
+    errors = Validated.<E>errors(errors, second, semigroup);
+    errors = Validated.<E>errors(errors, third, semigroup);
+    if (errors != null) {
+      return new Invalid<>(errors);
+    }
+    
+    return new Valid<>(f.apply(first.value(), second.value(), third.value()));
+  }
+  
+  /**
+   * Combines four independent validations, as {@link #map2(Validated, Validated, Semigroup,
+   * NonNullBiFunction)} does.
+   *
+   * @param first
+   *   The first validation.
+   * @param second
+   *   The second validation.
+   * @param third
+   *   The third validation.
+   * @param fourth
+   *   The fourth validation.
+   * @param semigroup
+   *   Combines the errors.
+   * @param f
+   *   Combines the valid values.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the first valid value.
+   * @param <B>
+   *   The type of the second valid value.
+   * @param <C>
+   *   The type of the third valid value.
+   * @param <D>
+   *   The type of the fourth valid value.
+   * @param <R>
+   *   The type of the combined value.
+   *
+   * @return The combined value, or all the errors.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object, D extends @NonNull Object, R extends @NonNull Object> Validated<E, R> map4(
+      final Validated<? extends E, ? extends A> first,
+      final Validated<? extends E, ? extends B> second,
+      final Validated<? extends E, ? extends C> third,
+      final Validated<? extends E, ? extends D> fourth,
+      final Semigroup<E> semigroup,
+      final NonNullFunction4<? super A, ? super B, ? super C, ? super D, ? extends R> f
+  ) {
+    parameterIsNotNull(first, "First validation cannot be null");
+    parameterIsNotNull(second, "Second validation cannot be null");
+    parameterIsNotNull(third, "Third validation cannot be null");
+    parameterIsNotNull(fourth, "Fourth validation cannot be null");
+    parameterIsNotNull(semigroup, "Semigroup cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    
+    @Nullable E errors = Validated.<E>errors(null, first, semigroup);
+    errors = Validated.<E>errors(errors, second, semigroup);
+    errors = Validated.<E>errors(errors, third, semigroup);
+    errors = Validated.<E>errors(errors, fourth, semigroup);
+    if (errors != null) {
+      return new Invalid<>(errors);
+    }
+    
+    return new Valid<>(f.apply(first.value(), second.value(), third.value(), fourth.value()));
+  }
+  
+  /**
+   * Validates every value, collecting the valid results in order, or every error found.
+   *
+   * <p>
+   * The valid results are added to a single {@link Vector} builder until the first error; from
+   * then on only the errors are combined. No intermediate collection is built per
+   * value.
+   *
+   * @param values
+   *   The values to validate.
+   * @param f
+   *   Validates a value.
+   * @param semigroup
+   *   Combines the errors.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the values.
+   * @param <B>
+   *   The type of the valid results.
+   *
+   * @return The valid results, or all the errors.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object, B extends @NonNull Object> Validated<E, Vector<B>> traverse(
+      final Iterable<? extends A> values,
+      final NonNullFunction<? super A, ? extends Validated<? extends E, ? extends B>> f,
+      final Semigroup<E> semigroup
+  ) {
+    parameterIsNotNull(values, "Values cannot be null");
+    parameterIsNotNull(f, "Function cannot be null");
+    parameterIsNotNull(semigroup, "Semigroup cannot be null");
+    
+    final Vector.Builder<B> results = Vector.builder();
+    @Nullable E errors = null;
+    for (final A value : values) {
+      final Validated<? extends E, ? extends B> validated = f.apply(value);
+      if (validated instanceof Valid<? extends E, ? extends B> valid) {
+        if (errors == null) {
+          results.add(valid.value());
+        }
+      } else {
+        errors = Validated.<E>errors(errors, validated, semigroup);
+      }
+    }
+    if (errors != null) {
+      return new Invalid<>(errors);
+    }
+    
+    return new Valid<>(results.build());
+  }
+  
+  /**
+   * Collects the valid values in order, or every error found, as
+   * {@link #traverse(Iterable, NonNullFunction, Semigroup)} does.
+   *
+   * @param validations
+   *   The validations.
+   * @param semigroup
+   *   Combines the errors.
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid values.
+   *
+   * @return The valid values, or all the errors.
+   */
+  static <E extends @NonNull Object, A extends @NonNull Object> Validated<E, Vector<A>> sequence(
+      final Iterable<? extends Validated<? extends E, ? extends A>> validations,
+      final Semigroup<E> semigroup
+  ) {
+    return traverse(validations, validated -> validated, semigroup);
+  }
+  
+  /**
+   * Adds the errors of a validation to those found so far.
+   */
+  private static <E extends @NonNull Object> @Nullable E errors(
+      final @Nullable E errors,
+      final Validated<? extends E, ?> validated,
+      final Semigroup<E> semigroup
+  ) {
+    if (!(validated instanceof Invalid<? extends E, ?> invalid)) {
+      return errors;
+    }
+    final E error = invalid.error();
+    
+    return errors == null ? error : semigroup.combine(errors, error);
+  }
+  
+  /**
+   * Tells whether this validation succeeded.
+   *
+   * @return {@code true} for a {@code Valid}, {@code false} for an {@code Invalid}.
+   */
+  boolean isValid();
+  
+  /**
+   * Transforms the valid value, leaving the errors unchanged.
+   *
+   * @param mapping
+   *   Transforms the valid value.
+   * @param <U>
+   *   The type of the transformed value.
+   *
+   * @return The transformed validation.
+   */
+  @Override
+  <U extends @NonNull Object> Validated<E, U> map(NonNullFunction<? super A, ? extends U> mapping);
+  
+  /**
+   * Transforms the errors, leaving the valid value unchanged.
+   *
+   * @param mapping
+   *   Transforms the errors.
+   * @param <U>
+   *   The type of the transformed errors.
+   *
+   * @return The transformed validation.
+   */
+  <U extends @NonNull Object> Validated<U, A> mapError(NonNullFunction<? super E, ? extends U> mapping);
+  
+  /**
+   * Transforms the errors or the valid value, whichever this validation holds.
+   *
+   * @param errorMapping
+   *   Transforms the errors.
+   * @param valueMapping
+   *   Transforms the valid value.
+   * @param <F>
+   *   The type of the transformed errors.
+   * @param <U>
+   *   The type of the transformed value.
+   *
+   * @return The transformed validation.
+   */
+  <F extends @NonNull Object, U extends @NonNull Object> Validated<F, U> bimap(
+      NonNullFunction<? super E, ? extends F> errorMapping,
+      NonNullFunction<? super A, ? extends U> valueMapping
+  );
+  
+  /**
+   * Reduces this validation to a single value.
+   *
+   * @param whenInvalid
+   *   Applied to the errors.
+   * @param whenValid
+   *   Applied to the valid value.
+   * @param <C>
+   *   The type of the result.
+   *
+   * @return The result of the function matching this validation.
+   */
+  <C extends @NonNull Object> C fold(
+      NonNullFunction<? super E, ? extends C> whenInvalid,
+      NonNullFunction<? super A, ? extends C> whenValid
+  );
+  
+  /**
+   * Continues with a validation that depends on the valid value. Like {@link Either#flatMap}, it
+   * stops at the first error: use it for dependent checks, and the {@code map} methods for
+   * independent ones.
+   *
+   * @param mapping
+   *   Validates the valid value further.
+   * @param <U>
+   *   The type of the new valid value.
+   *
+   * @return The validation produced from the valid value, or these errors.
+   */
+  <U extends @NonNull Object> Validated<E, U> andThen(
+      NonNullFunction<? super A, ? extends Validated<E, U>> mapping
+  );
+  
+  /**
+   * Applies a validated function to the valid value, combining the errors of both with
+   * {@code semigroup}: the errors of {@code f} come first.
+   *
+   * @param f
+   *   The validated function.
+   * @param semigroup
+   *   Combines the errors.
+   * @param <U>
+   *   The type of the result.
+   *
+   * @return The result of the function, or all the errors.
+   */
+  default <U extends @NonNull Object> Validated<E, U> ap(
+      final Validated<E, @NonNull NonNullFunction<? super A, ? extends U>> f,
+      final Semigroup<E> semigroup
+  ) {
+    return map2(f, this, semigroup, NonNullFunction::apply);
+  }
+  
+  /**
+   * Performs an action with the valid value, if there is one.
+   *
+   * @param action
+   *   The action.
+   *
+   * @return This validation.
+   */
+  Validated<E, A> whenValid(NonNullConsumer<? super A> action);
+  
+  /**
+   * Performs an action with the errors, if there are any.
+   *
+   * @param action
+   *   The action.
+   *
+   * @return This validation.
+   */
+  Validated<E, A> whenInvalid(NonNullConsumer<? super E> action);
+  
+  /**
+   * Converts this validation into an {@link Either}, with the errors as its {@code Left}. The
+   * value of this validation is kept as is.
+   *
+   * @return A {@code Right} for a {@code Valid}, or a {@code Left} for an {@code Invalid}.
+   */
+  Either<E, A> toEither();
+  
+  /**
+   * Converts this validation into a {@link Try}, turning the errors into an exception.
+   *
+   * @param toException
+   *   Turns the errors into an exception, e.g. {@code error -> error} for exceptions.
+   *
+   * @return A success for a {@code Valid}, or a failure for an {@code Invalid}.
+   */
+  Try<A> toTry(NonNullFunction<? super E, ? extends Exception> toException);
+  
+  /**
+   * Wraps the errors of this validation in a {@link NonEmptyChain}, so that they can be combined
+   * with {@link NonEmptyChain#semigroup()}.
+   *
+   * @return This validation, with a chain of its errors.
+   */
+  default Validated<NonEmptyChain<E>, A> toChain() {
+    return mapError(NonEmptyChain::of);
+  }
+  
+  /**
+   * The valid value; only called once a validation is known to be valid.
+   */
+  private A value() {
+    if (!(this instanceof Valid<E, A> valid)) {
+      throw new IllegalStateException("Validation is not valid");
+    }
+    
+    return valid.value();
+  }
+  
+  /**
+   * Represents a successful validation, holding the valid value.
+   *
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   * @param value
+   *   The valid value.
+   */
+  record Valid<E extends @NonNull Object, A extends @NonNull Object>(A value) implements Validated<E, A> {
+    @Override
+    public boolean isValid() {
+      return true;
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<E, U> map(final NonNullFunction<? super A, ? extends U> mapping) {
+      parameterIsNotNull(mapping, "Mapping cannot be null");
+      
+      return new Valid<>(mapping.apply(value()));
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<U, A> mapError(final NonNullFunction<? super E, ? extends U> mapping) {
+      parameterIsNotNull(mapping, "Mapping cannot be null");
+      
+      return genericCast(this);
+    }
+    
+    @Override
+    public <F extends @NonNull Object, U extends @NonNull Object> Validated<F, U> bimap(
+        final NonNullFunction<? super E, ? extends F> errorMapping,
+        final NonNullFunction<? super A, ? extends U> valueMapping
+    ) {
+      parameterIsNotNull(valueMapping, "Value mapping cannot be null");
+      
+      return new Valid<>(valueMapping.apply(value()));
+    }
+    
+    @Override
+    public <C extends @NonNull Object> C fold(
+        final NonNullFunction<? super E, ? extends C> whenInvalid,
+        final NonNullFunction<? super A, ? extends C> whenValid
+    ) {
+      parameterIsNotNull(whenValid, "When Valid cannot be null");
+      
+      return whenValid.apply(value());
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<E, U> andThen(
+        final NonNullFunction<? super A, ? extends Validated<E, U>> mapping
+    ) {
+      parameterIsNotNull(mapping, "Mapping cannot be null");
+      
+      return mapping.apply(value());
+    }
+    
+    @Override
+    public Validated<E, A> whenValid(final NonNullConsumer<? super A> action) {
+      parameterIsNotNull(action, "Action cannot be null");
+      
+      action.accept(value());
+      
+      return this;
+    }
+    
+    @Override
+    public Validated<E, A> whenInvalid(final NonNullConsumer<? super E> action) {
+      return this;
+    }
+    
+    @Override
+    public Either<E, A> toEither() {
+      return Either.right(value());
+    }
+    
+    @Override
+    public Try<A> toTry(final NonNullFunction<? super E, ? extends Exception> toException) {
+      return Try.success(value());
+    }
+  }
+  
+  /**
+   * Represents a failed validation, holding its errors.
+   *
+   * @param <E>
+   *   The type of the errors.
+   * @param <A>
+   *   The type of the valid value.
+   * @param error
+   *   The errors.
+   */
+  record Invalid<E extends @NonNull Object, A extends @NonNull Object>(E error) implements Validated<E, A> {
+    @Override
+    public boolean isValid() {
+      return false;
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<E, U> map(final NonNullFunction<? super A, ? extends U> mapping) {
+      parameterIsNotNull(mapping, "Mapping cannot be null");
+      
+      return genericCast(this);
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<U, A> mapError(final NonNullFunction<? super E, ? extends U> mapping) {
+      parameterIsNotNull(mapping, "Mapping cannot be null");
+      
+      return new Invalid<>(mapping.apply(error()));
+    }
+    
+    @Override
+    public <F extends @NonNull Object, U extends @NonNull Object> Validated<F, U> bimap(
+        final NonNullFunction<? super E, ? extends F> errorMapping,
+        final NonNullFunction<? super A, ? extends U> valueMapping
+    ) {
+      parameterIsNotNull(errorMapping, "Error mapping cannot be null");
+      
+      return new Invalid<>(errorMapping.apply(error()));
+    }
+    
+    @Override
+    public <C extends @NonNull Object> C fold(
+        final NonNullFunction<? super E, ? extends C> whenInvalid,
+        final NonNullFunction<? super A, ? extends C> whenValid
+    ) {
+      parameterIsNotNull(whenInvalid, "When Invalid cannot be null");
+      
+      return whenInvalid.apply(error());
+    }
+    
+    @Override
+    public <U extends @NonNull Object> Validated<E, U> andThen(
+        final NonNullFunction<? super A, ? extends Validated<E, U>> mapping
+    ) {
+      return genericCast(this);
+    }
+    
+    @Override
+    public Validated<E, A> whenValid(final NonNullConsumer<? super A> action) {
+      return this;
+    }
+    
+    @Override
+    public Validated<E, A> whenInvalid(final NonNullConsumer<? super E> action) {
+      parameterIsNotNull(action, "Action cannot be null");
+      
+      action.accept(error());
+      
+      return this;
+    }
+    
+    @Override
+    public Either<E, A> toEither() {
+      return Either.left(error());
+    }
+    
+    @Override
+    public Try<A> toTry(final NonNullFunction<? super E, ? extends Exception> toException) {
+      parameterIsNotNull(toException, "To Exception cannot be null");
+      
+      return Try.failure(toException.apply(error()));
+    }
+  }
+  
+  /**
+   * This is a marker interface for HKT.
+   */
+  interface k extends Functor2.k, Bifunctor.k {
+  
+  }
+}
+
+final class validated_functor2 implements Functor2<Validated.k> {
+  private static final validated_functor2 instance = new validated_functor2();
+  
+  private validated_functor2() {
+  }
+  
+  static validated_functor2 instance() {
+    return instance;
+  }
+  
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object, T extends @NonNull Object> Validated<T, B> mapA(
+      final Kind2<Validated.k, A, B> fa,
+      final NonNullFunction<? super A, ? extends T> f
+  ) {
+    final Validated<A, B> validated = fa.fix();
+    return validated.mapError(f);
+  }
+  
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object, T extends @NonNull Object> Validated<A, T> mapB(
+      final Kind2<Validated.k, A, B> fa,
+      final NonNullFunction<? super B, ? extends T> f
+  ) {
+    final Validated<A, B> validated = fa.fix();
+    return validated.map(f);
+  }
+}
+
+final class validated_bifunctor implements Bifunctor<Validated.k> {
+  private static final validated_bifunctor instance = new validated_bifunctor();
+  
+  private validated_bifunctor() {
+  }
+  
+  static validated_bifunctor instance() {
+    return instance;
+  }
+  
+  @Override
+  public <A extends @NonNull Object, B extends @NonNull Object, C extends @NonNull Object, D extends @NonNull Object> Validated<C, D> bimap(
+      final Kind2<Validated.k, A, B> fa,
+      final NonNullFunction<? super A, ? extends C> f,
+      final NonNullFunction<? super B, ? extends D> g
+  ) {
+    final Validated<A, B> validated = fa.fix();
+    return validated.bimap(f, g);
+  }
+}
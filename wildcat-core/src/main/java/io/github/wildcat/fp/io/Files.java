@@ -0,0 +1,221 @@
+package io.github.wildcat.fp.io;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.control.Chunk;
+import io.github.wildcat.fp.control.IO;
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Resource;
+import io.github.wildcat.fp.control.Stream;
+import io.github.wildcat.fp.control.Try;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.fns.checked.CheckedSupplier;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * {@link IO} operations on files, built on {@link FileChannel}s.
+ *
+ * <p>Reading maps the file into memory instead of copying it into arrays: the buffers a read
+ * produces are read-only views of the mapped file, so the bytes are only brought in from the page
+ * cache when they are looked at. Writing gathers the buffers of a whole chunk into a single system
+ * call, and copying between channels lets the operating system move the bytes without them passing
+ * through the heap at all.
+ *
+ * <p>Every channel is opened as a {@link Resource}, so it is closed when the operation is done with
+ * it, whether the operation succeeds, fails or is canceled.
+ */
+public final class Files {
+  /** The size of the regions read files are mapped in, unless the chunks are larger. */
+  private static final int REGION_SIZE = 64 * 1024 * 1024;
+
+  private Files() {
+  }
+
+  /**
+   * Creates a resource of a channel to a file, which is closed on release.
+   *
+   * @param path
+   *   The path of the file.
+   * @param options
+   *   The options to open the file with, as for {@link FileChannel#open(Path, OpenOption...)}.
+   *
+   * @return A resource of the opened channel.
+   */
+  public static Resource<FileChannel> channel(final Path path, final OpenOption... options) {
+    parameterIsNotNull(path, "Path cannot be null");
+    parameterIsNotNull(options, "Options cannot be null");
+    final OpenOption[] copy = options.clone();
+    return Resource.fromAutoCloseable(attempt(() -> FileChannel.open(path, copy)));
+  }
+
+  /**
+   * Creates a stream of the contents of a file, as buffers of {@code chunkSize} bytes, except the
+   * last one, which holds whatever remains.
+   *
+   * <p>The buffers are read-only views of the file mapped into memory; none of its bytes are copied
+   * onto the heap. They stay valid after the stream is done with the file, but reflect changes made
+   * to the file in the meantime. Consecutive buffers are mapped together, so each chunk of the
+   * stream holds the buffers of one mapped region.
+   *
+   * @param path
+   *   The path of the file.
+   * @param chunkSize
+   *   The number of bytes in every buffer.
+   *
+   * @return A stream of the buffers, in the order of the file.
+   *
+   * @throws IllegalArgumentException
+   *   If {@code chunkSize} is not positive.
+   */
+  public static Stream<ByteBuffer> readChunks(final Path path, final int chunkSize) {
+    parameterIsNotNull(path, "Path cannot be null");
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive");
+    }
+    final long regionSize = Math.max((long) chunkSize, REGION_SIZE / chunkSize * (long) chunkSize);
+    return Stream.resource(channel(path, StandardOpenOption.READ)).flatMap(
+        channel -> Stream.unfoldChunkEval(0L, position -> attempt(() -> {
+          final long size = channel.size();
+          if (position >= size) {
+            return Option.<Tuple2<Chunk<ByteBuffer>, Long>>empty();
+          }
+          final long length = Math.min(regionSize, size - position);
+          final MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+          return Option.present(Tuple2.of(slices(region.asReadOnlyBuffer(), chunkSize), position + length));
+        }))
+    );
+  }
+
+  private static Chunk<ByteBuffer> slices(final ByteBuffer region, final int chunkSize) {
+    final int length = region.remaining();
+    final List<ByteBuffer> slices = new ArrayList<>(length / chunkSize + 1);
+    for (int offset = 0; offset < length; offset += chunkSize) {
+      slices.add(region.slice(offset, Math.min(chunkSize, length - offset)));
+    }
+    return Chunk.from(slices);
+  }
+
+  /**
+   * Describes writing every buffer of a stream to a file, in order.
+   *
+   * <p>The buffers of each chunk of the stream are written with a single gathering write. The
+   * buffers are written from their position to their limit, and are left unchanged.
+   *
+   * @param path
+   *   The path of the file.
+   * @param data
+   *   The stream of buffers to write.
+   * @param options
+   *   The options to open the file with. Without any, the file is created if needed and truncated;
+   *   {@link StandardOpenOption#WRITE WRITE} is always added.
+   *
+   * @return An {@link IO} producing the number of bytes written.
+   */
+  public static IO<Long> writeAll(final Path path, final Stream<ByteBuffer> data, final OpenOption... options) {
+    parameterIsNotNull(path, "Path cannot be null");
+    parameterIsNotNull(data, "Data cannot be null");
+    parameterIsNotNull(options, "Options cannot be null");
+    return channel(path, writeOptions(options)).use(
+        channel -> data.chunks().evalMap(chunk -> write(channel, chunk)).fold(0L, Long::sum)
+    );
+  }
+
+  private static OpenOption[] writeOptions(final OpenOption... options) {
+    final Set<OpenOption> opened = new LinkedHashSet<>();
+    if (options.length == 0) {
+      opened.add(StandardOpenOption.CREATE);
+      opened.add(StandardOpenOption.TRUNCATE_EXISTING);
+    } else {
+      opened.addAll(List.of(options));
+    }
+    opened.add(StandardOpenOption.WRITE);
+    return opened.toArray(OpenOption[]::new);
+  }
+
+  private static IO<Long> write(final FileChannel channel, final Chunk<ByteBuffer> chunk) {
+    return attempt(() -> {
+      final ByteBuffer[] buffers = new ByteBuffer[chunk.size()];
+      long remaining = 0L;
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = chunk.get(i).duplicate();
+        remaining += buffers[i].remaining();
+      }
+      long written = 0L;
+      while (written < remaining) {
+        written += channel.write(buffers);
+      }
+      return written;
+    });
+  }
+
+  /**
+   * Describes copying the rest of a file, from its current position, to another channel.
+   *
+   * <p>The copy is left to {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which
+   * can move the bytes without copying them through the heap, as with {@code sendfile} or
+   * {@code copy_file_range}. Neither channel is closed; the position of {@code source} is moved to
+   * its end.
+   *
+   * @param source
+   *   The channel to copy from.
+   * @param target
+   *   The channel to copy to.
+   *
+   * @return An {@link IO} producing the number of bytes copied.
+   */
+  public static IO<Long> transferTo(final FileChannel source, final WritableByteChannel target) {
+    parameterIsNotNull(source, "Source cannot be null");
+    parameterIsNotNull(target, "Target cannot be null");
+    return attempt(() -> {
+      final long start = source.position();
+      final long end = source.size();
+      long position = start;
+      while (position < end) {
+        final long transferred = source.transferTo(position, end - position, target);
+        if (transferred == 0) {
+          break;
+        }
+        position += transferred;
+      }
+      source.position(position);
+      return position - start;
+    });
+  }
+
+  /**
+   * Describes copying a file with {@link #transferTo(FileChannel, WritableByteChannel)}.
+   *
+   * @param source
+   *   The path of the file to copy.
+   * @param target
+   *   The path of the copy.
+   * @param options
+   *   The options to open the copy with, as for {@link #writeAll(Path, Stream, OpenOption...)}.
+   *
+   * @return An {@link IO} producing the number of bytes copied.
+   */
+  public static IO<Long> copy(final Path source, final Path target, final OpenOption... options) {
+    parameterIsNotNull(source, "Source cannot be null");
+    parameterIsNotNull(target, "Target cannot be null");
+    parameterIsNotNull(options, "Options cannot be null");
+    return channel(source, StandardOpenOption.READ).use(
+        in -> channel(target, writeOptions(options)).use(out -> transferTo(in, out))
+    );
+  }
+
+  private static <A extends @NonNull Object> IO<A> attempt(final CheckedSupplier<A, IOException> supplier) {
+    return IO.defer(() -> IO.fromTry(Try.of(supplier)));
+  }
+}
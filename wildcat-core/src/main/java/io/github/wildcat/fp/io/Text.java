@@ -0,0 +1,271 @@
+package io.github.wildcat.fp.io;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import io.github.wildcat.fp.control.Chunk;
+import io.github.wildcat.fp.control.IO;
+import io.github.wildcat.fp.control.Stream;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pipes turning streams of bytes into text, to be applied with {@link Stream#through(NonNullFunction)}.
+ *
+ * <p>Decoding produces a few large {@link CharSequence}s per buffer of bytes, and splitting them
+ * into lines produces views of them rather than copies: only the lines that span two of them are
+ * copied. Each run of a stream has its own decoder, reused for all of its buffers, so characters
+ * whose bytes are split between two buffers are decoded as if they had not been.
+ */
+public final class Text {
+
+  private Text() {
+  }
+
+  /**
+   * Returns a pipe decoding buffers of bytes with a charset. Malformed and unmappable input is
+   * replaced, as {@link String#String(byte[], Charset)} does.
+   *
+   * <p>The buffers are read from their position to their limit, and are left unchanged. The text
+   * of a buffer is produced in one or more immutable sequences, which stay valid once the stream
+   * has moved on.
+   *
+   * @param charset
+   *   The charset of the bytes.
+   *
+   * @return A pipe producing the decoded text.
+   */
+  public static NonNullFunction<Stream<ByteBuffer>, Stream<CharSequence>> decode(final Charset charset) {
+    parameterIsNotNull(charset, "Charset cannot be null");
+    return bytes -> Stream.suspend(() -> {
+      final Decoder decoder = new Decoder(charset);
+      return bytes.evalMapChunks(chunk -> IO.delay(() -> decoder.decode(chunk)))
+          .append(Stream.suspend(() -> Stream.chunk(decoder.finish())));
+    });
+  }
+
+  /**
+   * Returns a pipe decoding UTF-8 bytes.
+   *
+   * @return A pipe producing the decoded text.
+   * @see #decode(Charset)
+   */
+  public static NonNullFunction<Stream<ByteBuffer>, Stream<CharSequence>> utf8Decode() {
+    return decode(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a pipe splitting text into lines. Lines are ended by {@code "\n"} or {@code "\r\n"},
+   * which are not part of the lines; the text after the last line end is a line too, unless it is
+   * empty.
+   *
+   * <p>A line within a single sequence produced by {@link #decode(Charset)} is a view of that
+   * sequence; other lines are copied.
+   *
+   * @return A pipe producing the lines of the text.
+   */
+  public static NonNullFunction<Stream<CharSequence>, Stream<CharSequence>> lines() {
+    return text -> Stream.suspend(() -> {
+      final LineSplitter splitter = new LineSplitter();
+      return text.evalMapChunks(chunk -> IO.delay(() -> splitter.split(chunk)))
+          .append(Stream.suspend(() -> Stream.chunk(splitter.finish())));
+    });
+  }
+
+  /** The decoding state of one run of a stream. */
+  private static final class Decoder {
+    /**
+     * The number of chars in the arrays text is decoded into, small enough for them to be allocated
+     * like any other object.
+     */
+    private static final int BLOCK_SIZE = 16 * 1024;
+    /** The number of bytes decoded at a time. */
+    private static final int WINDOW_SIZE = 8 * 1024;
+
+    private final CharsetDecoder decoder;
+    /** The bytes at the end of the previous buffer that do not make a whole character yet. */
+    private final ByteBuffer carry = ByteBuffer.allocate(32);
+    /** The heap copy direct buffers are decoded from. */
+    private final ByteBuffer staging = ByteBuffer.allocate(WINDOW_SIZE);
+    /** The block text is decoded into; the text from {@code start} on has not been emitted yet. */
+    private CharBuffer block = CharBuffer.allocate(BLOCK_SIZE);
+    private int start;
+
+    Decoder(final Charset charset) {
+      this.decoder = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    Chunk<CharSequence> decode(final Chunk<ByteBuffer> chunk) {
+      final List<CharSequence> decoded = new ArrayList<>();
+      for (final ByteBuffer buffer : chunk) {
+        decode(buffer.duplicate(), decoded);
+        emit(decoded);
+      }
+      return Chunk.from(decoded);
+    }
+
+    private void decode(final ByteBuffer in, final List<CharSequence> decoded) {
+      while (carry.position() > 0 && in.hasRemaining()) {
+        carry.put(in.get()).flip();
+        decode(carry, false, decoded);
+        carry.compact();
+      }
+      // The input is decoded from a small copy on the heap: the decoders of the standard charsets
+      // are much slower on direct buffers, such as mapped files, and only take their fast path for
+      // ASCII at the start of each call.
+      while (in.hasRemaining()) {
+        final int length = Math.min(staging.remaining(), in.remaining());
+        staging.put(staging.position(), in, in.position(), length);
+        staging.position(staging.position() + length).flip();
+        in.position(in.position() + length);
+        decode(staging, false, decoded);
+        staging.compact();
+      }
+      carry.put(staging.flip());
+      staging.clear();
+    }
+
+    Chunk<CharSequence> finish() {
+      final List<CharSequence> decoded = new ArrayList<>();
+      decode(carry.flip(), true, decoded);
+      while (decoder.flush(block).isOverflow()) {
+        emit(decoded);
+        nextBlock();
+      }
+      emit(decoded);
+      return Chunk.from(decoded);
+    }
+
+    private void decode(final ByteBuffer in, final boolean endOfInput, final List<CharSequence> decoded) {
+      while (decoder.decode(in, block, endOfInput).isOverflow()) {
+        emit(decoded);
+        nextBlock();
+      }
+    }
+
+    private void emit(final List<CharSequence> decoded) {
+      final int end = block.position();
+      if (end > start) {
+        decoded.add(new Slice(block.array(), start, end - start));
+        start = end;
+      }
+    }
+
+    private void nextBlock() {
+      block = CharBuffer.allocate(BLOCK_SIZE);
+      start = 0;
+    }
+  }
+
+  /** The line splitting state of one run of a stream. */
+  private static final class LineSplitter {
+    /** The start of a line that began in an earlier sequence. */
+    private final StringBuilder partial = new StringBuilder();
+
+    Chunk<CharSequence> split(final Chunk<CharSequence> chunk) {
+      final List<CharSequence> lines = new ArrayList<>();
+      for (final CharSequence text : chunk) {
+        split(text, lines);
+      }
+      return Chunk.from(lines);
+    }
+
+    private void split(final CharSequence text, final List<CharSequence> lines) {
+      final int length = text.length();
+      int start = 0;
+      for (int end = indexOfNewline(text, 0); end >= 0; end = indexOfNewline(text, start)) {
+        if (partial.isEmpty()) {
+          lines.add(text.subSequence(start, trim(text, start, end)));
+        } else {
+          partial.append(text, start, end);
+          lines.add(takePartial());
+        }
+        start = end + 1;
+      }
+      partial.append(text, start, length);
+    }
+
+    Chunk<CharSequence> finish() {
+      return partial.isEmpty() ? Chunk.empty() : Chunk.of(takePartial());
+    }
+
+    private CharSequence takePartial() {
+      int length = partial.length();
+      if (length > 0 && partial.charAt(length - 1) == '\r') {
+        length--;
+      }
+      final char[] line = new char[length];
+      partial.getChars(0, length, line, 0);
+      partial.setLength(0);
+      return new Slice(line, 0, length);
+    }
+
+    private static int trim(final CharSequence text, final int start, final int end) {
+      return end > start && text.charAt(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private static int indexOfNewline(final CharSequence text, final int from) {
+      if (text instanceof Slice slice) {
+        final char[] array = slice.array;
+        final int end = slice.offset + slice.length;
+        for (int i = slice.offset + from; i < end; i++) {
+          if (array[i] == '\n') {
+            return i - slice.offset;
+          }
+        }
+        return -1;
+      }
+      final int length = text.length();
+      for (int i = from; i < length; i++) {
+        if (text.charAt(i) == '\n') {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /** An immutable view of a range of an array of chars. */
+  private static final class Slice implements CharSequence {
+    private final char[] array;
+    private final int offset;
+    private final int length;
+
+    Slice(final char[] array, final int offset, final int length) {
+      this.array = array;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      Objects.checkIndex(index, length);
+      return array[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      Objects.checkFromToIndex(start, end, length);
+      return new Slice(array, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(array, offset, length);
+    }
+  }
+}
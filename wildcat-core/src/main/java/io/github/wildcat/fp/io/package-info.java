@@ -0,0 +1,6 @@
+
+/**
+ * This package contains {@link io.github.wildcat.fp.control.IO} operations on files and
+ * channels.
+ */
+package io.github.wildcat.fp.io;
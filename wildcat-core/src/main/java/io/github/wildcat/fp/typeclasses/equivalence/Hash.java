@@ -0,0 +1,71 @@
+package io.github.wildcat.fp.typeclasses.equivalence;
+
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
+import java.util.function.ToIntFunction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Represents a typeclass for hashing values of type {@code T}, consistently with an equality. Two
+ * values that are equal according to {@link #eqv(Object, Object)} must have the same
+ * {@link #hash(Object)}; values that are not equal should have different hashes as often as
+ * possible.
+ *
+ * @param <T>
+ *   The type of values being hashed. Must be non-null.
+ *
+ * @see Eq
+ */
+public interface Hash<T extends @NonNull Object> extends Eq<T> {
+  /**
+   * Computes the hash of a value.
+   *
+   * @param value
+   *   The value to hash.
+   *
+   * @return The hash of {@code value}, equal for all the values equal to it.
+   */
+  int hash(T value);
+  
+  /**
+   * Returns the {@link Hash} instance using {@link Object#equals(Object)} and
+   * {@link Object#hashCode()}.
+   *
+   * @param <T>
+   *   The type of values being hashed. Must be non-null.
+   *
+   * @return A {@link Hash} instance for type {@code T} based on its own {@code equals} and {@code hashCode}.
+   */
+  static <T extends @NonNull Object> Hash<T> natural() {
+    return forT(Object::equals, Object::hashCode);
+  }
+  
+  /**
+   * Creates a {@link Hash} instance for type {@code T} from an equality and a hash function, which
+   * must give the same hash to all the values that {@code eq} considers equal.
+   *
+   * @param <T>
+   *   The type of values being hashed. Must be non-null.
+   * @param eq
+   *   The equality of the values.
+   * @param hash
+   *   The hash function, consistent with {@code eq}.
+   *
+   * @return A {@link Hash} instance for type {@code T} using the provided equality and hash function.
+   */
+  static <T extends @NonNull Object> Hash<T> forT(final Eq<? super T> eq, final ToIntFunction<? super T> hash) {
+    parameterIsNotNull(eq, "Eq cannot be null");
+    parameterIsNotNull(hash, "Hash function cannot be null");
+    return new Hash<>() {
+      @Override
+      public boolean eqv(final T a, final T b) {
+        return eq.eqv(a, b);
+      }
+      
+      @Override
+      public int hash(final T value) {
+        return hash.applyAsInt(value);
+      }
+    };
+  }
+}
@@ -1,6 +1,9 @@
 package io.github.wildcat.fp.typeclasses.equivalence;
 
+import static io.github.wildcat.fp.utils.Assert.parameterIsNotNull;
+
 import io.github.wildcat.fp.control.Option;
+import java.util.Comparator;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -46,4 +49,47 @@ public interface Order<Value extends @NonNull Object> extends PartialOrder<Value
   default Option<Integer> partialCompare(Value a, Value b) {
     return Option.present(compare(a, b));
   }
+  
+  /**
+   * Two values are equivalent in a total order when neither is less than the other.
+   *
+   * @param a
+   *   The first value to compare.
+   * @param b
+   *   The second value to compare.
+   * 
+   * @return {@code true} if {@link #compare} returns zero for {@code a} and {@code b}.
+   */
+  @Override
+  default boolean eqv(Value a, Value b) {
+    return compare(a, b) == 0;
+  }
+  
+  /**
+   * Returns the {@link Order} of the values of a {@link Comparable} type, as given by
+   * {@link Comparable#compareTo}.
+   *
+   * @param <Value>
+   *   The type of values being ordered.
+   * 
+   * @return The natural order of {@code Value}.
+   */
+  static <Value extends @NonNull Comparable<? super Value>> Order<Value> natural() {
+    return Comparable::compareTo;
+  }
+  
+  /**
+   * Creates an {@link Order} from a {@link Comparator}, which must be a total order of the values.
+   *
+   * @param comparator
+   *   The comparator of the values.
+   * @param <Value>
+   *   The type of values being ordered.
+   * 
+   * @return An {@link Order} comparing values with {@code comparator}.
+   */
+  static <Value extends @NonNull Object> Order<Value> forT(final Comparator<? super Value> comparator) {
+    parameterIsNotNull(comparator, "Comparator cannot be null");
+    return comparator::compare;
+  }
 }
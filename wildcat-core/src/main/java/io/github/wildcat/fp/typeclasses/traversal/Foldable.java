@@ -1,13 +1,18 @@
 package io.github.wildcat.fp.typeclasses.traversal;
 
+import io.github.wildcat.fp.control.Eval;
 import io.github.wildcat.fp.fns.nonnull.NonNullBiFunction;
 import io.github.wildcat.fp.hkt.Kind;
 import io.github.wildcat.fp.typeclasses.core.Monoid;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
  * The {@link Foldable} typeclass abstracts the ability to fold a data structure into a summary value.
- * It provides methods for performing left-associative folds over the elements of a structure.
+ * It provides methods for performing left-associative folds over the elements of a structure, and
+ * lazy right-associative ones that can stop before the end of it.
  *
  * <p>Instances of {@link Foldable} should provide implementations for folding operations, allowing
  * the elements of a structure to be combined or transformed into a single value.
@@ -68,6 +73,76 @@ public interface Foldable<For extends Foldable.k> {
     return foldLeft(foldable, monoid.identity(), monoid::combine);
   }
   
+  /**
+   * Performs a lazy, right-associative fold over a structure.
+   *
+   * <p>The combining function receives each element together with the fold of the elements after
+   * it, as an {@link Eval} that is only evaluated if the function uses it. A function that does not
+   * stops the fold there, and the fold is stack-safe however large the structure is.
+   *
+   * <p>The default implementation collects the elements with {@link #foldLeft(Kind, Object,
+   * NonNullBiFunction)} first, so only the combining stops early; instances that can reach their
+   * elements lazily should override it.
+   *
+   * @param foldable
+   *   the foldable structure to fold
+   * @param initial
+   *   the result for the end of the structure
+   * @param f
+   *   the combining function that takes an element and the lazy fold of the elements after it
+   * @param <Input>
+   *   the type of the elements in the foldable structure
+   * @param <Output>
+   *   the type of the accumulated value
+   * 
+   * @return the result of the fold, computed when it is evaluated
+   */
+  default <Input extends @NonNull Object, Output extends @NonNull Object> Eval<Output> foldRight(
+      final Kind<For, Input> foldable,
+      final Eval<Output> initial,
+      final NonNullBiFunction<? super Input, ? super Eval<Output>, ? extends Eval<Output>> f
+  ) {
+    final List<Input> elements = foldLeft(foldable, new ArrayList<>(), (collected, element) -> {
+      collected.add(element);
+      return collected;
+    });
+    return Eval.foldRight(elements, initial, f);
+  }
+  
+  /**
+   * Tests whether any element of a structure satisfies a predicate, stopping at the first one that
+   * does.
+   *
+   * @param foldable
+   *   the foldable structure to test
+   * @param predicate
+   *   the predicate to test the elements with
+   * @param <Input>
+   *   the type of the elements in the foldable structure
+   * 
+   * @return whether an element satisfies {@code predicate}
+   */
+  default <Input extends @NonNull Object> boolean exists(final Kind<For, Input> foldable, final Predicate<? super Input> predicate) {
+    return foldRight(foldable, Eval.now(false), (element, rest) -> predicate.test(element) ? Eval.now(true) : rest).value();
+  }
+  
+  /**
+   * Tests whether every element of a structure satisfies a predicate, stopping at the first one
+   * that does not.
+   *
+   * @param foldable
+   *   the foldable structure to test
+   * @param predicate
+   *   the predicate to test the elements with
+   * @param <Input>
+   *   the type of the elements in the foldable structure
+   * 
+   * @return whether every element satisfies {@code predicate}
+   */
+  default <Input extends @NonNull Object> boolean forall(final Kind<For, Input> foldable, final Predicate<? super Input> predicate) {
+    return foldRight(foldable, Eval.now(true), (element, rest) -> predicate.test(element) ? rest : Eval.now(false)).value();
+  }
+  
   /**
    * The witness type for {@link Foldable}.
    *
@@ -5,7 +5,9 @@ module io.github.wildcat.fp.core {
   requires static com.github.spotbugs.annotations;
   
   // Public API
+  exports io.github.wildcat.fp.collections;
   exports io.github.wildcat.fp.control;
+  exports io.github.wildcat.fp.io;
   exports io.github.wildcat.fp.typeclasses.algebraic;
   exports io.github.wildcat.fp.typeclasses.core;
   exports io.github.wildcat.fp.typeclasses.equivalence;
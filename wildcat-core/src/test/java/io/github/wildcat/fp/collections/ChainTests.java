@@ -0,0 +1,129 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.hkt.Kind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ChainTests {
+  
+  private static <A> List<A> toList(final Iterable<A> values) {
+    final List<A> list = new ArrayList<>();
+    values.forEach(list::add);
+    return list;
+  }
+  
+  private static <A> List<A> drain(final Chain<A> chain) {
+    final List<A> list = new ArrayList<>();
+    Chain<A> rest = chain;
+    while (rest.uncons() instanceof Option.Present<Tuple2<A, Chain<A>>>(final Tuple2<A, Chain<A>> split)) {
+      list.add(split.a());
+      rest = split.b();
+    }
+    return list;
+  }
+  
+  @Nested
+  class Updates {
+    @Test
+    void randomUpdatesMatchAMutableList() {
+      final SplittableRandom random = new SplittableRandom(11);
+      final List<Integer> expected = new ArrayList<>();
+      Chain<Integer> chain = Chain.empty();
+      for (int i = 0; i < 10_000; i++) {
+        switch (random.nextInt(4)) {
+          case 0 -> {
+            chain = chain.prepend(i);
+            expected.add(0, i);
+          }
+          case 1 -> {
+            chain = chain.append(i);
+            expected.add(i);
+          }
+          case 2 -> {
+            chain = chain.concat(Chain.of(i, -i));
+            expected.add(i);
+            expected.add(-i);
+          }
+          default -> {
+            chain = Chain.of(i).concat(chain);
+            expected.add(0, i);
+          }
+        }
+      }
+      
+      Assertions.assertThat(chain.size()).isEqualTo(expected.size());
+      Assertions.assertThat(toList(chain)).isEqualTo(expected);
+      Assertions.assertThat(drain(chain)).isEqualTo(expected);
+      Assertions.assertThat(chain.toList()).isEqualTo(expected);
+    }
+    
+    @Test
+    void emptyChainsAreDroppedByConcatenation() {
+      final Chain<Integer> chain = Chain.of(1, 2);
+      
+      Assertions.assertThat(chain.concat(Chain.empty())).isSameAs(chain);
+      Assertions.assertThat(Chain.<Integer>empty().concat(chain)).isSameAs(chain);
+      Assertions.assertThat(Chain.empty().uncons()).isEqualTo(Option.empty());
+    }
+  }
+  
+  @Nested
+  class DeepChains {
+    @Test
+    void leftNestedConcatenationsIterateWithoutRecursion() {
+      Chain<Integer> chain = Chain.empty();
+      for (int i = 0; i < 1_000_000; i++) {
+        chain = chain.append(i);
+      }
+      
+      Assertions.assertThat(chain.foldLeft(0L, (sum, value) -> sum + value)).isEqualTo(499_999_500_000L);
+      Assertions.assertThat(drain(chain).get(999_999)).isEqualTo(999_999);
+    }
+    
+    @Test
+    void rightNestedConcatenationsIterateWithoutRecursion() {
+      Chain<Integer> chain = Chain.empty();
+      for (int i = 0; i < 1_000_000; i++) {
+        chain = chain.prepend(i);
+      }
+      
+      Assertions.assertThat(chain.iterator().next()).isEqualTo(999_999);
+      Assertions.assertThat(chain.hashCode()).isEqualTo(chain.toList().hashCode());
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void monadFlattensInOrder() {
+      final Chain<Integer> chain = Chain.monad().flatMap(Chain.of(1, 2, 3), value -> Chain.of(value, value * 10)).fix();
+      
+      Assertions.assertThat(toList(chain)).containsExactly(1, 10, 2, 20, 3, 30);
+    }
+    
+    @Test
+    void traverseKeepsTheOrder() {
+      final Kind<Option.k, Kind<Chain.k, Integer>> traversed = Chain.traverse().traverse(
+          Option.monad(),
+          (Integer n) -> Option.present(n + 1),
+          Chain.of(1, 2, 3)
+      );
+      
+      Assertions.assertThat(traversed).isEqualTo(Option.present(Chain.of(2, 3, 4)));
+    }
+    
+    @Test
+    void monoidConcatenates() {
+      final Chain<String> combined = Chain.<String>monoid().combine(Chain.of("a"), Chain.of("b", "c"));
+      
+      Assertions.assertThat(Chain.foldable().foldLeft(combined, "", String::concat)).isEqualTo("abc");
+      Assertions.assertThat(Chain.monoidK().combineK(Chain.of(1), Chain.monoidK().emptyK())).isEqualTo(Chain.of(1));
+    }
+  }
+}
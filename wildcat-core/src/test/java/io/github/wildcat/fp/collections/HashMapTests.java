@@ -0,0 +1,196 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.typeclasses.core.Monoid;
+import io.github.wildcat.fp.typeclasses.equivalence.Hash;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class HashMapTests {
+  
+  private static HashMap<Integer, String> range(final int n) {
+    final HashMap.Builder<Integer, String> builder = HashMap.builder();
+    for (int i = 0; i < n; i++) {
+      builder.put(i, "v" + i);
+    }
+    return builder.build();
+  }
+  
+  private static <K, V> Map<K, V> toMap(final HashMap<K, V> map) {
+    final Map<K, V> entries = new java.util.HashMap<>();
+    for (final Tuple2<K, V> entry : map) {
+      Assertions.assertThat(entries.put(entry.a(), entry.b())).isNull();
+    }
+    return entries;
+  }
+  
+  /** Keys compared by their value, but hashed into only four buckets, so that most keys collide. */
+  private static final Hash<Integer> COLLIDING = Hash.forT(Integer::equals, n -> n & 3);
+  
+  @Nested
+  class Updates {
+    @Test
+    void randomUpdatesMatchAMutableMap() {
+      final SplittableRandom random = new SplittableRandom(11);
+      final Map<Integer, Integer> expected = new java.util.HashMap<>();
+      HashMap<Integer, Integer> map = HashMap.empty();
+      for (int i = 0; i < 50_000; i++) {
+        final int key = random.nextInt(5_000);
+        if (random.nextInt(3) == 0) {
+          map = map.remove(key);
+          expected.remove(key);
+        } else {
+          map = map.put(key, i);
+          expected.put(key, i);
+        }
+      }
+      
+      Assertions.assertThat(map.size()).isEqualTo(expected.size());
+      Assertions.assertThat(toMap(map)).isEqualTo(expected);
+      Assertions.assertThat(map).isEqualTo(HashMap.from(expected));
+      Assertions.assertThat(map.hashCode()).isEqualTo(HashMap.from(expected).hashCode());
+    }
+    
+    @Test
+    void updatesLeaveTheOriginalUnchanged() {
+      final HashMap<Integer, String> original = range(10_000);
+      
+      final HashMap<Integer, String> updated = original.put(5, "five").remove(7).put(10_000, "new");
+      
+      Assertions.assertThat(original).isEqualTo(range(10_000));
+      Assertions.assertThat(updated.get(5)).isEqualTo(Option.present("five"));
+      Assertions.assertThat(updated.containsKey(7)).isFalse();
+      Assertions.assertThat(updated.size()).isEqualTo(10_000);
+    }
+    
+    @Test
+    void removingEveryKeyLeavesTheEmptyMap() {
+      HashMap<Integer, String> map = range(3_000);
+      for (int i = 0; i < 3_000; i++) {
+        map = map.remove(i);
+      }
+      
+      Assertions.assertThat(map.isEmpty()).isTrue();
+      Assertions.assertThat(map).isEqualTo(HashMap.empty());
+      Assertions.assertThat(map.iterator().hasNext()).isFalse();
+    }
+    
+    @Test
+    void noOpUpdatesReturnTheSameMap() {
+      final HashMap<Integer, String> map = range(100);
+      
+      Assertions.assertThat(map.put(3, map.get(3).fold(() -> "", v -> v))).isSameAs(map);
+      Assertions.assertThat(map.remove(100)).isSameAs(map);
+    }
+  }
+  
+  @Nested
+  class Hashing {
+    @Test
+    void collidingKeysAreKeptApart() {
+      HashMap<Integer, Integer> map = HashMap.empty(COLLIDING);
+      for (int i = 0; i < 200; i++) {
+        map = map.put(i, -i);
+      }
+      for (int i = 0; i < 200; i += 2) {
+        map = map.remove(i);
+      }
+      
+      Assertions.assertThat(map.size()).isEqualTo(100);
+      Assertions.assertThat(map.get(41)).isEqualTo(Option.present(-41));
+      Assertions.assertThat(map.get(40)).isEqualTo(Option.empty());
+      Assertions.assertThat(toMap(map).keySet()).hasSize(100);
+    }
+    
+    @Test
+    void keysAreComparedWithTheHashInstance() {
+      final Hash<String> caseInsensitive = Hash.forT(String::equalsIgnoreCase, s -> s.toLowerCase().hashCode());
+      
+      final HashMap<String, Integer> map = HashMap.<String, Integer>empty(caseInsensitive).put("Timeout", 1).put("TIMEOUT", 2);
+      
+      Assertions.assertThat(map.size()).isEqualTo(1);
+      Assertions.assertThat(map.get("timeout")).isEqualTo(Option.present(2));
+    }
+    
+    @Test
+    void unionsCompareKeysWithTheHashOfTheReceiver() {
+      final Hash<String> caseInsensitive = Hash.forT(String::equalsIgnoreCase, s -> s.toLowerCase().hashCode());
+      final HashMap<String, Integer> small = HashMap.<String, Integer>empty(caseInsensitive).put("a", 1);
+      final HashMap<String, Integer> large = HashMap.<String, Integer>empty().put("A", 2).put("b", 3).put("B", 4);
+      
+      final HashMap<String, Integer> union = small.union(large, Integer::sum);
+      
+      Assertions.assertThat(union.size()).isEqualTo(2);
+      Assertions.assertThat(union.get("A")).isEqualTo(Option.present(3));
+      Assertions.assertThat(union.get("B")).isEqualTo(Option.present(7));
+      Assertions.assertThat(large.union(small, Integer::sum).size()).isEqualTo(4);
+    }
+  }
+  
+  @Nested
+  class Building {
+    @Test
+    void aBuilderCanGoOnAfterBuilding() {
+      final HashMap.Builder<Integer, String> builder = HashMap.builder();
+      for (int i = 0; i < 1_000; i++) {
+        builder.put(i, "v" + i);
+      }
+      final HashMap<Integer, String> first = builder.build();
+      for (int i = 0; i < 5_000; i++) {
+        builder.put(i, "w" + i);
+      }
+      builder.remove(0);
+      
+      Assertions.assertThat(first).isEqualTo(range(1_000));
+      final HashMap<Integer, String> second = builder.build();
+      Assertions.assertThat(second.size()).isEqualTo(4_999);
+      Assertions.assertThat(second.get(1)).isEqualTo(Option.present("w1"));
+    }
+    
+    @Test
+    void buildersFromAMapLeaveItUnchanged() {
+      final HashMap<Integer, String> original = range(2_000);
+      
+      final HashMap<Integer, String> changed = original.toBuilder().put(0, "zero").remove(1).put(2_000, "v2000").build();
+      
+      Assertions.assertThat(original).isEqualTo(range(2_000));
+      Assertions.assertThat(changed.get(0)).isEqualTo(Option.present("zero"));
+      Assertions.assertThat(changed.size()).isEqualTo(2_000);
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void foldableFoldsTheValues() {
+      final HashMap<String, Integer> map = HashMap.<String, Integer>empty().put("a", 1).put("b", 2).put("c", 3);
+      
+      Assertions.assertThat(HashMap.foldable().foldLeft(map, 0, Integer::sum)).isEqualTo(6);
+      Assertions.assertThat(HashMap.foldable().exists(map, n -> n > 2)).isTrue();
+    }
+    
+    @Test
+    void theMonoidCombinesTheValuesOfSharedKeys() {
+      final Monoid<HashMap<String, Integer>> monoid = HashMap.monoid(Integer::sum);
+      
+      final HashMap<String, Integer> union = monoid.combine(
+          HashMap.<String, Integer>empty().put("a", 1).put("b", 2),
+          monoid.combine(HashMap.of("b", 10), monoid.identity())
+      );
+      
+      Assertions.assertThat(union).isEqualTo(HashMap.<String, Integer>empty().put("a", 1).put("b", 12));
+    }
+    
+    @Test
+    void unionKeepsTheValuesInOrder() {
+      final HashMap<Integer, String> small = HashMap.of(1, "small");
+      
+      Assertions.assertThat(small.union(range(100), String::concat).get(1)).isEqualTo(Option.present("smallv1"));
+      Assertions.assertThat(range(100).union(small, String::concat).get(1)).isEqualTo(Option.present("v1small"));
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.typeclasses.core.Monoid;
+import io.github.wildcat.fp.typeclasses.equivalence.Hash;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashSetTests {
+  
+  @Test
+  void randomUpdatesMatchAMutableSet() {
+    final SplittableRandom random = new SplittableRandom(3);
+    final Set<Integer> expected = new java.util.HashSet<>();
+    HashSet<Integer> set = HashSet.empty();
+    for (int i = 0; i < 20_000; i++) {
+      final int value = random.nextInt(2_000);
+      if (random.nextBoolean()) {
+        set = set.remove(value);
+        expected.remove(value);
+      } else {
+        set = set.add(value);
+        expected.add(value);
+      }
+    }
+    
+    Assertions.assertThat(set.size()).isEqualTo(expected.size());
+    Assertions.assertThat(HashSet.from(expected)).isEqualTo(set);
+    for (final Integer value : set) {
+      Assertions.assertThat(expected.contains(value)).isTrue();
+    }
+  }
+  
+  @Test
+  void elementsAreComparedWithTheHashInstance() {
+    final Hash<String> caseInsensitive = Hash.forT(String::equalsIgnoreCase, s -> s.toLowerCase().hashCode());
+    
+    final HashSet<String> set = HashSet.builder(caseInsensitive).add("Accept").add("ACCEPT").add("Host").build();
+    
+    Assertions.assertThat(set.size()).isEqualTo(2);
+    Assertions.assertThat(set.contains("accept")).isTrue();
+  }
+  
+  @Test
+  void theMonoidIsTheUnion() {
+    final Monoid<HashSet<Integer>> monoid = HashSet.monoid();
+    
+    final HashSet<Integer> union = monoid.combine(HashSet.of(1, 2), monoid.combine(HashSet.of(2, 3), monoid.identity()));
+    
+    Assertions.assertThat(union).isEqualTo(HashSet.of(1, 2, 3));
+    Assertions.assertThat(HashSet.foldable().foldLeft(union, 0, Integer::sum)).isEqualTo(6);
+  }
+}
@@ -0,0 +1,64 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.hkt.Kind;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NonEmptyChainTests {
+  
+  @Test
+  void headAndUnconsSplitTheFirstElement() {
+    final NonEmptyChain<Integer> chain = NonEmptyChain.of(1, 2, 3).prepend(0).append(4);
+    
+    Assertions.assertThat(chain.head()).isEqualTo(0);
+    Assertions.assertThat(chain.uncons()).isEqualTo(Tuple2.of(0, Chain.of(1, 2, 3, 4)));
+    Assertions.assertThat(chain.size()).isEqualTo(5);
+  }
+  
+  @Test
+  void headOfDeepChainsIsFoundWithoutSplittingThem() {
+    NonEmptyChain<Integer> leftDeep = NonEmptyChain.of(0);
+    for (int i = 1; i < 100_000; i++) {
+      leftDeep = leftDeep.append(i);
+    }
+    final NonEmptyChain<Integer> wrapped = NonEmptyChain.fromChain(Chain.from(List.of(7, 8, 9)).concat(Chain.of(10)))
+        .fold(() -> NonEmptyChain.of(-1), chain -> chain);
+    
+    Assertions.assertThat(leftDeep.head()).isEqualTo(0);
+    Assertions.assertThat(leftDeep.size()).isEqualTo(100_000);
+    Assertions.assertThat(wrapped.head()).isEqualTo(7);
+  }
+  
+  @Test
+  void onlyNonEmptyChainsAreAccepted() {
+    Assertions.assertThat(NonEmptyChain.fromChain(Chain.<Integer>empty())).isEqualTo(Option.empty());
+    Assertions.assertThat(NonEmptyChain.fromChain(Chain.of(1))).isEqualTo(Option.present(NonEmptyChain.of(1)));
+  }
+  
+  @Test
+  void semigroupConcatenates() {
+    final NonEmptyChain<String> combined = NonEmptyChain.<String>semigroup()
+        .combine(NonEmptyChain.of("a"), NonEmptyChain.of("b", "c"));
+    
+    Assertions.assertThat(combined.toChain()).isEqualTo(Chain.of("a", "b", "c"));
+    Assertions.assertThat(NonEmptyChain.semigroupK().combineK(NonEmptyChain.of(1), NonEmptyChain.of(2)))
+        .isEqualTo(NonEmptyChain.of(1, 2));
+  }
+  
+  @Test
+  void monadAndTraverseKeepTheOrder() {
+    final NonEmptyChain<Integer> flattened = NonEmptyChain.monad()
+        .flatMap(NonEmptyChain.of(1, 2), value -> NonEmptyChain.of(value, -value))
+        .fix();
+    final Kind<Option.k, Kind<NonEmptyChain.k, Integer>> traversed = NonEmptyChain.traverse().traverse(
+        Option.monad(),
+        (Integer n) -> Option.present(n * 2),
+        flattened
+    );
+    
+    Assertions.assertThat(traversed).isEqualTo(Option.present(NonEmptyChain.of(2, -2, 4, -4)));
+  }
+}
@@ -0,0 +1,166 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.control.Tuple2;
+import io.github.wildcat.fp.typeclasses.equivalence.Order;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class TreeMapTests {
+  
+  private static TreeMap<Integer, String> range(final int n) {
+    return TreeMap.fromSorted(Order.<Integer>natural(), IntStream.range(0, n).mapToObj(i -> Tuple2.of(i, "v" + i)).toList());
+  }
+  
+  private static <K, V> List<Tuple2<K, V>> entries(final Iterable<Tuple2<K, V>> entries) {
+    final List<Tuple2<K, V>> list = new ArrayList<>();
+    entries.forEach(list::add);
+    return list;
+  }
+  
+  private static <K, V> List<Tuple2<K, V>> entries(final Map<K, V> map) {
+    return map.entrySet().stream().map(entry -> Tuple2.of(entry.getKey(), entry.getValue())).toList();
+  }
+  
+  private static <K, V> Option<Tuple2<K, V>> entry(final Map.@Nullable Entry<K, V> entry) {
+    return entry == null ? Option.empty() : Option.present(Tuple2.of(entry.getKey(), entry.getValue()));
+  }
+  
+  @Nested
+  class Updates {
+    @Test
+    void randomUpdatesMatchAMutableMap() {
+      final SplittableRandom random = new SplittableRandom(5);
+      final NavigableMap<Integer, Integer> expected = new java.util.TreeMap<>();
+      TreeMap<Integer, Integer> map = TreeMap.empty();
+      for (int i = 0; i < 50_000; i++) {
+        final int key = random.nextInt(5_000);
+        if (random.nextInt(3) == 0) {
+          map = map.remove(key);
+          expected.remove(key);
+        } else {
+          map = map.put(key, i);
+          expected.put(key, i);
+        }
+      }
+      
+      Assertions.assertThat(map.size()).isEqualTo(expected.size());
+      Assertions.assertThat(entries(map)).isEqualTo(entries(expected));
+      Assertions.assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    }
+    
+    @Test
+    void updatesLeaveTheOriginalUnchanged() {
+      final TreeMap<Integer, String> original = range(1_000);
+      
+      final TreeMap<Integer, String> updated = original.put(5, "five").remove(7).put(1_000, "new");
+      
+      Assertions.assertThat(original).isEqualTo(range(1_000));
+      Assertions.assertThat(updated.get(5)).isEqualTo(Option.present("five"));
+      Assertions.assertThat(updated.containsKey(7)).isFalse();
+      Assertions.assertThat(updated.max()).isEqualTo(Option.present(Tuple2.of(1_000, "new")));
+    }
+    
+    @Test
+    void keysAreComparedWithTheOrder() {
+      final TreeMap<String, Integer> map = TreeMap.<String, Integer>empty(Order.forT(String.CASE_INSENSITIVE_ORDER))
+          .put("b", 1)
+          .put("B", 2)
+          .put("a", 3);
+      
+      Assertions.assertThat(entries(map)).containsExactly(Tuple2.of("a", 3), Tuple2.of("b", 2));
+    }
+  }
+  
+  @Nested
+  class Queries {
+    @Test
+    void nearestKeysMatchAMutableMap() {
+      final java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+      TreeMap<Integer, String> map = TreeMap.empty();
+      for (int i = 0; i < 500; i += 5) {
+        expected.put(i, "v" + i);
+        map = map.put(i, "v" + i);
+      }
+      
+      for (int key = -3; key < 505; key++) {
+        Assertions.assertThat(map.floor(key)).isEqualTo(entry(expected.floorEntry(key)));
+        Assertions.assertThat(map.ceiling(key)).isEqualTo(entry(expected.ceilingEntry(key)));
+      }
+      Assertions.assertThat(map.min()).isEqualTo(Option.present(Tuple2.of(0, "v0")));
+      Assertions.assertThat(map.max()).isEqualTo(Option.present(Tuple2.of(495, "v495")));
+      Assertions.assertThat(TreeMap.<Integer, String>empty().min()).isEqualTo(Option.empty());
+    }
+    
+    @Test
+    void rangesMatchAMutableMap() {
+      final TreeMap<Integer, String> map = range(2_000).remove(100).remove(1_500);
+      final java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+      map.forEach(entry -> expected.put(entry.a(), entry.b()));
+      
+      Assertions.assertThat(entries(map.range(100, 1_500))).isEqualTo(entries(expected.subMap(100, 1_500)));
+      Assertions.assertThat(entries(map.rangeFrom(1_500))).isEqualTo(entries(expected.tailMap(1_500)));
+      Assertions.assertThat(entries(map.rangeUntil(3))).isEqualTo(entries(expected.headMap(3)));
+      Assertions.assertThat(entries(map.range(50, 10))).isEmpty();
+    }
+    
+    @Test
+    void rangesAreOnlyWalkedWhenIterated() {
+      final TreeMap<Integer, String> map = range(1_000_000);
+      
+      final Iterable<Tuple2<Integer, String>> slice = map.rangeFrom(10);
+      
+      Assertions.assertThat(slice.iterator().next()).isEqualTo(Tuple2.of(10, "v10"));
+    }
+  }
+  
+  @Nested
+  class Building {
+    @Test
+    void sortedEntriesBuildABalancedMap() {
+      final TreeMap<Integer, String> map = range(100_000);
+      
+      Assertions.assertThat(map.size()).isEqualTo(100_000);
+      Assertions.assertThat(map.get(65_432)).isEqualTo(Option.present("v65432"));
+      Assertions.assertThat(map.remove(0).min()).isEqualTo(Option.present(Tuple2.of(1, "v1")));
+    }
+    
+    @Test
+    void unsortedEntriesAreRejected() {
+      final List<Tuple2<Integer, String>> entries = List.of(Tuple2.of(1, "a"), Tuple2.of(1, "b"));
+      
+      Assertions.assertThatThrownBy(() -> TreeMap.fromSorted(Order.<Integer>natural(), entries))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void buildersKeepTheLastValueOfAKey() {
+      final TreeMap<Integer, String> map = TreeMap.<Integer, String>builder(Order.natural())
+          .put(3, "c")
+          .put(1, "a")
+          .put(3, "C")
+          .put(2, "b")
+          .build();
+      
+      Assertions.assertThat(entries(map)).containsExactly(Tuple2.of(1, "a"), Tuple2.of(2, "b"), Tuple2.of(3, "C"));
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void foldableFoldsTheValuesInKeyOrder() {
+      final TreeMap<Integer, String> map = TreeMap.<Integer, String>empty().put(2, "b").put(3, "c").put(1, "a");
+      
+      Assertions.assertThat(TreeMap.foldable().foldLeft(map, "", String::concat)).isEqualTo("abc");
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.typeclasses.equivalence.Order;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TreeSetTests {
+  
+  private static <A> List<A> toList(final Iterable<A> values) {
+    final List<A> list = new ArrayList<>();
+    values.forEach(list::add);
+    return list;
+  }
+  
+  @Test
+  void randomUpdatesMatchAMutableSet() {
+    final SplittableRandom random = new SplittableRandom(9);
+    final java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+    TreeSet<Integer> set = TreeSet.empty();
+    for (int i = 0; i < 20_000; i++) {
+      final int value = random.nextInt(2_000);
+      if (random.nextBoolean()) {
+        set = set.remove(value);
+        expected.remove(value);
+      } else {
+        set = set.add(value);
+        expected.add(value);
+      }
+    }
+    
+    Assertions.assertThat(toList(set)).isEqualTo(new ArrayList<>(expected));
+    Assertions.assertThat(TreeSet.from(Order.<Integer>natural(), expected)).isEqualTo(set);
+    Assertions.assertThat(toList(set.range(500, 600))).isEqualTo(new ArrayList<>(expected.subSet(500, 600)));
+  }
+  
+  @Test
+  void nearestElementsComeFromEitherSide() {
+    final TreeSet<Integer> set = TreeSet.fromSorted(Order.natural(), List.of(10, 20, 30));
+    
+    Assertions.assertThat(set.floor(25)).isEqualTo(Option.present(20));
+    Assertions.assertThat(set.ceiling(25)).isEqualTo(Option.present(30));
+    Assertions.assertThat(set.ceiling(31)).isEqualTo(Option.empty());
+    Assertions.assertThat(set.min()).isEqualTo(Option.present(10));
+    Assertions.assertThat(toList(set.rangeUntil(30))).containsExactly(10, 20);
+  }
+  
+  @Test
+  void foldableFoldsInAscendingOrder() {
+    final TreeSet<String> set = TreeSet.from(Order.<String>natural(), List.of("c", "a", "b"));
+    
+    Assertions.assertThat(TreeSet.foldable().foldLeft(set, "", String::concat)).isEqualTo("abc");
+  }
+}
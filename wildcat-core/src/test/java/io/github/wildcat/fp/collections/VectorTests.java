@@ -0,0 +1,159 @@
+package io.github.wildcat.fp.collections;
+
+import io.github.wildcat.fp.control.Eval;
+import io.github.wildcat.fp.control.Option;
+import io.github.wildcat.fp.hkt.Kind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class VectorTests {
+  
+  private static Vector<Integer> range(final int n) {
+    final Vector.Builder<Integer> builder = Vector.builder();
+    for (int i = 0; i < n; i++) {
+      builder.add(i);
+    }
+    return builder.build();
+  }
+  
+  @Nested
+  class Indexing {
+    @Test
+    void appendedElementsCanBeReadBackAtEverySize() {
+      Vector<Integer> vector = Vector.empty();
+      for (int i = 0; i < 40_000; i++) {
+        vector = vector.appended(i);
+        Assertions.assertThat(vector.get(i)).isEqualTo(i);
+      }
+      
+      Assertions.assertThat(vector.size()).isEqualTo(40_000);
+      Assertions.assertThat(vector.toList()).isEqualTo(IntStream.range(0, 40_000).boxed().toList());
+    }
+    
+    @Test
+    void appendingLeavesTheOriginalUnchanged() {
+      final Vector<Integer> original = range(1_056);
+      
+      final Vector<Integer> longer = original.appended(-1);
+      
+      Assertions.assertThat(original.size()).isEqualTo(1_056);
+      Assertions.assertThat(longer.get(1_056)).isEqualTo(-1);
+      Assertions.assertThat(original.toList()).isEqualTo(IntStream.range(0, 1_056).boxed().toList());
+    }
+    
+    @Test
+    void updatesOnlyChangeTheNewVector() {
+      final Vector<Integer> original = range(100_000);
+      final SplittableRandom random = new SplittableRandom(7);
+      final List<Integer> expected = new ArrayList<>(original.toList());
+      
+      Vector<Integer> updated = original;
+      for (int i = 0; i < 1_000; i++) {
+        final int index = random.nextInt(100_000);
+        updated = updated.updated(index, -index);
+        expected.set(index, -index);
+      }
+      
+      Assertions.assertThat(updated.toList()).isEqualTo(expected);
+      Assertions.assertThat(original.toList()).isEqualTo(IntStream.range(0, 100_000).boxed().toList());
+    }
+    
+    @Test
+    void accessOutsideTheVectorFails() {
+      final Vector<Integer> vector = Vector.of(1, 2, 3);
+      
+      Assertions.assertThatThrownBy(() -> vector.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+      Assertions.assertThatThrownBy(() -> vector.updated(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+  
+  @Nested
+  class Building {
+    @Test
+    void buildersMatchRepeatedAppends() {
+      Vector<Integer> appended = Vector.empty();
+      for (int i = 0; i < 33_000; i++) {
+        appended = appended.appended(i);
+      }
+      
+      Assertions.assertThat(range(33_000)).isEqualTo(appended);
+      Assertions.assertThat(range(33_000).hashCode()).isEqualTo(appended.hashCode());
+    }
+    
+    @Test
+    void aBuilderCanGoOnAfterBuilding() {
+      final Vector.Builder<Integer> builder = Vector.builder();
+      for (int i = 0; i < 1_050; i++) {
+        builder.add(i);
+      }
+      final Vector<Integer> first = builder.build();
+      for (int i = 1_050; i < 70_000; i++) {
+        builder.add(i);
+      }
+      
+      Assertions.assertThat(first.toList()).isEqualTo(IntStream.range(0, 1_050).boxed().toList());
+      Assertions.assertThat(builder.build().toList()).isEqualTo(IntStream.range(0, 70_000).boxed().toList());
+    }
+    
+    @Test
+    void buildersFromAVectorLeaveItUnchanged() {
+      final Vector<Integer> original = range(2_000);
+      
+      final Vector<Integer> extended = original.toBuilder().addAll(range(5_000)).build();
+      
+      Assertions.assertThat(original).isEqualTo(range(2_000));
+      Assertions.assertThat(extended.size()).isEqualTo(7_000);
+      Assertions.assertThat(extended.get(2_000)).isEqualTo(0);
+      Assertions.assertThat(extended.get(6_999)).isEqualTo(4_999);
+    }
+    
+    @Test
+    void concatenationKeepsTheOrderOfTheElements() {
+      Assertions.assertThat(Vector.of(1, 2).concat(Vector.of(3)).toList()).containsExactly(1, 2, 3);
+      Assertions.assertThat(Vector.<Integer>empty().concat(Vector.of(1)).toList()).containsExactly(1);
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void monadAndFunctorAgreeWithTheMethods() {
+      final Vector<Integer> vector = Vector.monad().flatMap(Vector.of(1, 2), n -> Vector.of(n, n * 10)).fix();
+      
+      Assertions.assertThat(vector.toList()).containsExactly(1, 10, 2, 20);
+      Assertions.assertThat(Vector.functor().map(vector, n -> n + 1).<Vector<Integer>>fix().toList()).containsExactly(2, 11, 3, 21);
+    }
+    
+    @Test
+    void foldsVisitTheElementsInOrder() {
+      final Vector<Integer> vector = range(10_000);
+      
+      Assertions.assertThat(Vector.foldable().foldLeft(vector, 0L, (sum, n) -> sum + n)).isEqualTo(49_995_000L);
+      final Eval<String> firstDigits = Vector.foldable().foldRight(vector, Eval.now(""), (n, rest) -> n < 3 ? rest.map(r -> n + r) : Eval.now(""));
+      Assertions.assertThat(firstDigits.value()).isEqualTo("012");
+    }
+    
+    @Test
+    void traverseCollectsEveryResult() {
+      final Kind<Option.k, Kind<Vector.k, Integer>> result = Vector.traverse().traverse(
+          Option.monad(),
+          (Integer n) -> Option.present(n * 2),
+          range(100)
+      );
+      
+      Assertions.assertThat(result).isEqualTo(Option.present(range(100).map(n -> n * 2)));
+    }
+    
+    @Test
+    void monoidKConcatenates() {
+      final Vector<Integer> combined = Vector.monoidK().combineK(Vector.of(1), Vector.monoidK().<Integer>emptyK()).fix();
+      
+      Assertions.assertThat(combined.toList()).containsExactly(1);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.hkt.Kind;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ChunkTests {
+  
+  @Nested
+  class Slicing {
+    @Test
+    void slicesShareTheElementsOfTheirChunk() {
+      final Chunk<String> chunk = Chunk.of("a", "b", "c", "d", "e");
+      
+      final Chunk<String> slice = chunk.drop(1).take(3).slice(1, 3);
+      
+      Assertions.assertThat(slice.toList()).containsExactly("c", "d");
+      Assertions.assertThat(slice.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void slicesOfPrimitiveChunksStayUnboxed() {
+      final Chunk.Ints slice = Chunk.ints(1, 2, 3, 4).slice(1, 3);
+      
+      Assertions.assertThat(slice.getInt(0)).isEqualTo(2);
+      Assertions.assertThat(slice.toIntArray()).containsExactly(2, 3);
+    }
+    
+    @Test
+    void accessOutsideTheChunkFails() {
+      final Chunk<Integer> chunk = Chunk.ints(1, 2, 3).slice(0, 2);
+      
+      Assertions.assertThatThrownBy(() -> chunk.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+      Assertions.assertThatThrownBy(() -> chunk.slice(1, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+  
+  @Nested
+  class Concatenation {
+    @Test
+    void concatenationKeepsTheOrderOfTheElements() {
+      final Chunk<Integer> chunk = Chunk.<Integer>of(1, 2).concat(Chunk.ints(3, 4)).concat(Chunk.of(5));
+      
+      Assertions.assertThat(chunk.toList()).containsExactly(1, 2, 3, 4, 5);
+      Assertions.assertThat(chunk.get(2)).isEqualTo(3);
+      Assertions.assertThat(chunk.get(4)).isEqualTo(5);
+    }
+    
+    @Test
+    void concatenatingAnEmptyChunkReturnsTheOtherOne() {
+      final Chunk<Integer> chunk = Chunk.ints(1, 2);
+      
+      Assertions.assertThat(chunk.concat(Chunk.empty())).isSameAs(chunk);
+      Assertions.assertThat(Chunk.<Integer>empty().concat(chunk)).isSameAs(chunk);
+    }
+    
+    @Test
+    void manyConcatenationsStayIndexable() {
+      Chunk<Integer> chunk = Chunk.empty();
+      for (int i = 0; i < 100_000; i++) {
+        chunk = chunk.concat(Chunk.of(i));
+      }
+      
+      Assertions.assertThat(chunk.size()).isEqualTo(100_000);
+      Assertions.assertThat(chunk.get(0)).isEqualTo(0);
+      Assertions.assertThat(chunk.get(54_321)).isEqualTo(54_321);
+      Assertions.assertThat(chunk.foldLeft(0L, (sum, value) -> sum + value)).isEqualTo(4_999_950_000L);
+    }
+    
+    @Test
+    void concatenationsCanBeSliced() {
+      final Chunk<Integer> chunk = Chunk.ints(0, 1, 2).concat(Chunk.ints(3, 4, 5)).concat(Chunk.ints(6, 7, 8));
+      
+      Assertions.assertThat(chunk.slice(2, 7).toList()).containsExactly(2, 3, 4, 5, 6);
+    }
+  }
+  
+  @Nested
+  class Primitives {
+    @Test
+    void intFastPathsStayUnboxed() {
+      final Chunk.Ints ints = Chunk.ints(1, 2, 3, 4).mapInt(n -> n * n).filterInt(n -> n > 1);
+      
+      Assertions.assertThat(ints.toIntArray()).containsExactly(4, 9, 16);
+      Assertions.assertThat(ints.foldLeftInt(0, Integer::sum)).isEqualTo(29);
+    }
+    
+    @Test
+    void mapToPrimitiveProducesPrimitiveChunks() {
+      final Chunk<String> words = Chunk.of("a", "bb", "ccc");
+      
+      Assertions.assertThat(words.mapToInt(String::length).toIntArray()).containsExactly(1, 2, 3);
+      Assertions.assertThat(words.mapToLong(String::length).foldLeftLong(0L, Long::sum)).isEqualTo(6L);
+      Assertions.assertThat(words.mapToDouble(String::length).mapDouble(n -> n / 2).toDoubleArray()).containsExactly(0.5, 1.0, 1.5);
+    }
+    
+    @Test
+    void byteBuffersAreReadOnlyViews() {
+      final Chunk.Bytes bytes = Chunk.bytes((byte) 1, (byte) 2, (byte) 3).slice(1, 3);
+      final ByteBuffer buffer = bytes.asByteBuffer();
+      
+      Assertions.assertThat(buffer.remaining()).isEqualTo(2);
+      Assertions.assertThat(buffer.get(0)).isEqualTo((byte) 2);
+      Assertions.assertThatThrownBy(() -> buffer.put((byte) 0)).isInstanceOf(ReadOnlyBufferException.class);
+    }
+    
+    @Test
+    void chunksWithTheSameElementsAreEqualWhateverTheirBacking() {
+      final Chunk<Integer> boxed = Chunk.of(1, 2, 3);
+      final Chunk<Integer> ints = Chunk.ints(1, 2, 3);
+      final Chunk<Integer> concat = Chunk.ints(1).concat(Chunk.of(2, 3));
+      
+      Assertions.assertThat(ints).isEqualTo(boxed).isEqualTo(concat);
+      Assertions.assertThat(ints.hashCode()).isEqualTo(boxed.hashCode()).isEqualTo(concat.hashCode());
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void functorAndFoldableAgreeWithTheMethods() {
+      final Chunk<Integer> chunk = Chunk.functor().map(Chunk.ints(1, 2, 3), n -> n + 1).fix();
+      
+      Assertions.assertThat(Chunk.foldable().foldLeft(chunk, 0, Integer::sum)).isEqualTo(9);
+    }
+    
+    @Test
+    void traverseCollectsEveryResult() {
+      final Kind<Option.k, Kind<Chunk.k, Integer>> result = Chunk.traverse().traverse(
+          Option.monad(),
+          (Integer n) -> Option.present(n * 2),
+          Chunk.ints(1, 2, 3)
+      );
+      
+      Assertions.assertThat(result).isEqualTo(Option.present(Chunk.of(2, 4, 6)));
+    }
+    
+    @Test
+    void traverseStopsAtTheFirstEmptyResult() {
+      final Kind<Option.k, Kind<Chunk.k, Integer>> result = Chunk.traverse().traverse(
+          Option.monad(),
+          (Integer n) -> n == 2 ? Option.<Integer>empty() : Option.present(n),
+          Chunk.ints(1, 2, 3)
+      );
+      
+      Assertions.assertThat(result).isEqualTo(Option.empty());
+    }
+    
+    @Test
+    void traverseHandlesLargeChunks() {
+      final List<Integer> values = IntStream.range(0, 10_000).boxed().toList();
+      
+      final Option<Kind<Chunk.k, Integer>> result = Chunk.traverse().traverse(
+          Option.monad(),
+          (Integer n) -> Option.present(n),
+          Chunk.from(values)
+      ).fix();
+      
+      Assertions.assertThat(result).isEqualTo(Option.present(Chunk.from(values)));
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DeferredTests {
+  
+  @Test
+  void getWaitsForTheCompletion() {
+    final IO<String> io = Deferred.<String>make().flatMap(
+        deferred -> deferred.get().start().flatMap(
+            fiber -> IO.sleep(Duration.ofMillis(20)).flatMap(unit -> deferred.complete("done")).flatMap(unit -> fiber.join())
+        )
+    );
+    
+    Assertions.assertThat(io.unsafeRunSync()).isEqualTo("done");
+  }
+  
+  @Test
+  void allWaitingFibersAreWoken() {
+    final Deferred<Integer> deferred = Deferred.unsafe();
+    final IO<List<Integer>> waiting = IO.parSequence(Collections.nCopies(100, deferred.get()));
+    
+    final List<Integer> results = waiting.start().flatMap(
+        fiber -> IO.sleep(Duration.ofMillis(20)).flatMap(unit -> deferred.complete(42)).flatMap(unit -> fiber.join())
+    ).unsafeRunSync();
+    
+    Assertions.assertThat(results).hasSize(100).containsOnly(42);
+  }
+  
+  @Test
+  void onlyTheFirstCompletionCounts() {
+    final Deferred<String> deferred = Deferred.unsafe();
+    
+    Assertions.assertThat(deferred.complete("first").unsafeRunSync()).isTrue();
+    Assertions.assertThat(deferred.complete("second").unsafeRunSync()).isFalse();
+    Assertions.assertThat(deferred.get().unsafeRunSync()).isEqualTo("first");
+  }
+  
+  @Test
+  void tryGetDoesNotWait() {
+    final Deferred<String> deferred = Deferred.unsafe();
+    
+    Assertions.assertThat(deferred.tryGet().unsafeRunSync()).isEqualTo(Option.empty());
+    deferred.complete("value").unsafeRunSync();
+    Assertions.assertThat(deferred.tryGet().unsafeRunSync()).isEqualTo(Option.present("value"));
+  }
+  
+  @Test
+  void waitingCanBeCanceled() {
+    final Deferred<String> deferred = Deferred.unsafe();
+    
+    final Either<String, Unit> winner = IO.race(deferred.get(), IO.sleep(Duration.ofMillis(20))).unsafeRunSync();
+    
+    Assertions.assertThat(winner).isEqualTo(Either.right(Unit.UNIT));
+  }
+}
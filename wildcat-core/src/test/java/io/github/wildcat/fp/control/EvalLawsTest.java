@@ -0,0 +1,31 @@
+package io.github.wildcat.fp.control;
+
+import static io.github.wildcat.fp.utils.Types.genericCast;
+
+import org.assertj.core.api.Assertions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import io.github.wildcat.fp.hkt.Kind;
+import io.github.wildcat.fp.laws.typeclasses.core.MonadLaws;
+import io.github.wildcat.fp.typeclasses.core.Monad;
+
+public class EvalLawsTest<T extends @NonNull Object> implements MonadLaws<Eval.k, T> {
+
+    @Override
+    public <A extends @NonNull Object> void verifyEquals(Kind<Eval.k, A> a, Kind<Eval.k, A> b) {
+        final Eval<A> evalA = genericCast(a.fix());
+        final Eval<A> evalB = genericCast(b.fix());
+
+        Assertions.assertThat(evalA.value()).isEqualTo(evalB.value());
+    }
+
+    @Override
+    public Monad<Eval.k> instance() {
+        return Eval.monad();
+    }
+
+    @Override
+    public <U extends @NonNull Object> Kind<Eval.k, U> unit(U a) {
+        return Eval.now(a);
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.wildcat.fp.control;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class EvalTests {
+  
+  @Nested
+  class Strategies {
+    @Test
+    void nowIsComputedRightAway() {
+      Assertions.assertThat(Eval.now(42).value()).isEqualTo(42);
+    }
+    
+    @Test
+    void laterIsComputedOnceWhenFirstNeeded() {
+      final AtomicInteger runs = new AtomicInteger();
+      final Eval<Integer> eval = Eval.later(runs::incrementAndGet);
+      
+      Assertions.assertThat(runs.get()).isEqualTo(0);
+      Assertions.assertThat(eval.value()).isEqualTo(1);
+      Assertions.assertThat(eval.value()).isEqualTo(1);
+      Assertions.assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void alwaysIsComputedEveryTimeItIsNeeded() {
+      final AtomicInteger runs = new AtomicInteger();
+      final Eval<Integer> eval = Eval.always(runs::incrementAndGet);
+      
+      Assertions.assertThat(eval.value()).isEqualTo(1);
+      Assertions.assertThat(eval.value()).isEqualTo(2);
+    }
+    
+    @Test
+    void laterIsComputedOnceAcrossThreads() throws InterruptedException {
+      final AtomicInteger runs = new AtomicInteger();
+      final Eval<Integer> eval = Eval.later(runs::incrementAndGet);
+      final CountDownLatch done = new CountDownLatch(8);
+      for (int i = 0; i < 8; i++) {
+        Thread.ofVirtual().start(() -> {
+          eval.value();
+          done.countDown();
+        });
+      }
+      done.await();
+      
+      Assertions.assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void memoizeRemembersTheValueOfAChain() {
+      final AtomicInteger runs = new AtomicInteger();
+      final Eval<Integer> eval = Eval.always(runs::incrementAndGet).map(n -> n * 10).flatMap(n -> Eval.now(n + 1)).memoize();
+      
+      Assertions.assertThat(eval.value()).isEqualTo(11);
+      Assertions.assertThat(eval.value()).isEqualTo(11);
+      Assertions.assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void mapsAreOnlyAppliedWhenTheValueIsNeeded() {
+      final AtomicInteger runs = new AtomicInteger();
+      final Eval<Integer> eval = Eval.now(1).map(n -> runs.incrementAndGet() + n);
+      
+      Assertions.assertThat(runs.get()).isEqualTo(0);
+      Assertions.assertThat(eval.value()).isEqualTo(2);
+    }
+  }
+  
+  @Nested
+  class StackSafety {
+    @Test
+    void longChainsOfBindsAreStackSafe() {
+      Eval<Integer> eval = Eval.now(0);
+      for (int i = 0; i < 1_000_000; i++) {
+        eval = eval.flatMap(n -> Eval.now(n + 1));
+      }
+      
+      Assertions.assertThat(eval.value()).isEqualTo(1_000_000);
+    }
+    
+    @Test
+    void deeplyNestedBindsAreStackSafe() {
+      Assertions.assertThat(countDown(1_000_000).value()).isEqualTo(0);
+    }
+    
+    private Eval<Integer> countDown(final int n) {
+      return n == 0 ? Eval.now(0) : Eval.defer(() -> countDown(n - 1)).flatMap(Eval::now);
+    }
+    
+    @Test
+    void nestedMemoizationsAreStackSafe() {
+      Eval<Integer> eval = Eval.now(0);
+      for (int i = 0; i < 100_000; i++) {
+        eval = eval.map(n -> n + 1).memoize();
+      }
+      
+      Assertions.assertThat(eval.value()).isEqualTo(100_000);
+    }
+  }
+  
+  @Nested
+  class Folding {
+    @Test
+    void foldRightCombinesFromTheRight() {
+      final Eval<String> result = Eval.foldRight(List.of("a", "b", "c"), Eval.now(""), (s, rest) -> rest.map(r -> s + r));
+      
+      Assertions.assertThat(result.value()).isEqualTo("abc");
+    }
+    
+    @Test
+    void foldRightStopsWhenTheRestIsNotUsed() {
+      final AtomicInteger visited = new AtomicInteger();
+      
+      final boolean found = Chunk.foldable().exists(Chunk.from(IntStream.range(0, 1_000_000).boxed().toList()), n -> {
+        visited.incrementAndGet();
+        return n == 10;
+      });
+      
+      Assertions.assertThat(found).isTrue();
+      Assertions.assertThat(visited.get()).isEqualTo(11);
+    }
+    
+    @Test
+    void foldRightOverLargeStructuresIsStackSafe() {
+      final Eval<Long> sum = Chunk.foldable().foldRight(
+          Chunk.from(IntStream.range(0, 1_000_000).boxed().toList()),
+          Eval.now(0L),
+          (n, rest) -> rest.map(total -> total + n)
+      );
+      
+      Assertions.assertThat(sum.value()).isEqualTo(499_999_500_000L);
+    }
+    
+    @Test
+    void forallStopsAtTheFirstFailure() {
+      Assertions.assertThat(Chunk.foldable().forall(Chunk.of(2, 4, 5, 6), n -> n % 2 == 0)).isFalse();
+      Assertions.assertThat(Chunk.foldable().forall(Chunk.of(2, 4, 6), n -> n % 2 == 0)).isTrue();
+    }
+    
+    @Test
+    void monadInstanceAgreesWithTheMethods() {
+      final Eval<Integer> eval = Eval.monad().flatMap(Eval.later(() -> 20), n -> Eval.monad().pure(n + 1)).fix();
+      
+      Assertions.assertThat(eval.value()).isEqualTo(21);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package io.github.wildcat.fp.control;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FetchTests {
+  
+  // Knows the square of every non-negative number, and records every batch it is asked for.
+  private static final class Squares implements DataSource<Integer, Integer> {
+    private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final int maxBatchSize;
+    
+    Squares() {
+      this(Integer.MAX_VALUE);
+    }
+    
+    Squares(final int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+    }
+    
+    @Override
+    public IO<Map<Integer, Integer>> fetchMany(final Set<Integer> keys) {
+      return IO.delay(() -> {
+        batches.add(keys);
+        return keys.stream().filter(key -> key >= 0).collect(Collectors.toMap(Function.identity(), key -> key * key));
+      });
+    }
+    
+    @Override
+    public int maxBatchSize() {
+      return maxBatchSize;
+    }
+  }
+  
+  @Test
+  void independentFetchesAreReadInOneBatch() {
+    final Squares squares = new Squares();
+    
+    final List<Integer> result = Fetch.traverse(List.of(1, 2, 3), key -> Fetch.of(squares, key)).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).containsExactly(1, 4, 9);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(1, 2, 3));
+  }
+  
+  @Test
+  void identicalKeysAreReadOnce() {
+    final Squares squares = new Squares();
+    
+    final List<Integer> result = Fetch.traverse(List.of(2, 2, 3, 2), key -> Fetch.of(squares, key)).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).containsExactly(4, 4, 9, 4);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(2, 3));
+  }
+  
+  @Test
+  void dependentFetchesAreReadInLaterRounds() {
+    final Squares squares = new Squares();
+    
+    final Integer result = Fetch.of(squares, 2).flatMap(square -> Fetch.of(squares, square)).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).isEqualTo(16);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(2), Set.of(4));
+  }
+  
+  @Test
+  void laterRoundsReuseCachedValues() {
+    final Squares squares = new Squares();
+    
+    final Fetch<Integer> fetch = Fetch.map2(
+        Fetch.of(squares, 2),
+        Fetch.of(squares, 3).flatMap(nine -> Fetch.of(squares, 2).map(four -> nine + four)),
+        Integer::sum
+    );
+    
+    Assertions.assertThat(fetch.run().unsafeRunSync()).isEqualTo(17);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(2, 3));
+  }
+  
+  @Test
+  void eachRunHasItsOwnCache() {
+    final Squares squares = new Squares();
+    final IO<Integer> io = Fetch.of(squares, 5).run();
+    
+    io.unsafeRunSync();
+    io.unsafeRunSync();
+    
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(5), Set.of(5));
+  }
+  
+  @Test
+  void largeBatchesAreSplit() {
+    final Squares squares = new Squares(4);
+    final List<Integer> keys = IntStream.range(0, 10).boxed().toList();
+    
+    final List<Integer> result = Fetch.traverse(keys, key -> Fetch.of(squares, key)).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).containsExactlyElementsOf(keys.stream().map(key -> key * key).toList());
+    Assertions.assertThat(squares.batches.stream().map(Set::size).toList()).containsExactlyInAnyOrder(4, 4, 2);
+  }
+  
+  @Test
+  void everyDataSourceGetsItsOwnBatch() {
+    final Squares first = new Squares();
+    final Squares second = new Squares();
+    
+    final Integer result = Fetch.map2(
+        Fetch.map2(Fetch.of(first, 1), Fetch.of(second, 2), Integer::sum),
+        Fetch.map2(Fetch.of(first, 3), Fetch.of(second, 4), Integer::sum),
+        Integer::sum
+    ).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).isEqualTo(30);
+    Assertions.assertThat(first.batches).containsExactly(Set.of(1, 3));
+    Assertions.assertThat(second.batches).containsExactly(Set.of(2, 4));
+  }
+  
+  @Test
+  void apOfTheMonadBatches() {
+    final Squares squares = new Squares();
+    
+    final Fetch<Integer> fetch = Fetch.monad().<Integer, Integer>ap(
+        Fetch.of(squares, 2),
+        Fetch.of(squares, 3).map(nine -> (Integer four) -> nine + four)
+    ).fix();
+    
+    Assertions.assertThat(fetch.run().unsafeRunSync()).isEqualTo(13);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(2, 3));
+  }
+  
+  @Test
+  void missingValuesAreEmpty() {
+    final Squares squares = new Squares();
+    
+    final Option<Integer> result = Fetch.optional(squares, -1).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).isEqualTo(Option.empty());
+  }
+  
+  @Test
+  void missingValuesFailRequiredFetches() {
+    final Squares squares = new Squares();
+    
+    Assertions.assertThatThrownBy(() -> Fetch.of(squares, -1).run().unsafeRunSync())
+              .isInstanceOf(NoSuchElementException.class);
+  }
+  
+  @Test
+  void deepTraversalsAreStackSafe() {
+    final Squares squares = new Squares();
+    final List<Integer> keys = IntStream.range(0, 100_000).map(key -> key % 100).boxed().toList();
+    
+    final List<Integer> result = Fetch.traverse(keys, key -> Fetch.of(squares, key)).run().unsafeRunSync();
+    
+    Assertions.assertThat(result).hasSize(100_000);
+    Assertions.assertThat(squares.batches).hasSize(1);
+  }
+  
+  @Test
+  void deepChainsOfMapAndFlatMapAreStackSafe() {
+    final Squares squares = new Squares();
+    Fetch<Integer> fetch = Fetch.pure(0);
+    for (int i = 0; i < 100_000; i++) {
+      final int step = i;
+      fetch = step == 50_000
+              ? fetch.flatMap(value -> Fetch.of(squares, 3).map(square -> value + square))
+              : step % 2 == 0 ? fetch.map(value -> value + 1) : fetch.flatMap(value -> Fetch.pure(value + 1));
+    }
+    
+    final int result = fetch.run().unsafeRunSync();
+    
+    Assertions.assertThat(result).isEqualTo(99_999 + 9);
+    Assertions.assertThat(squares.batches).containsExactly(Set.of(3));
+  }
+}
@@ -0,0 +1,316 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class FlowsTests {
+  
+  /** A subscriber recording every signal it receives, as the Reactive Streams TCK does. */
+  private static final class RecordingSubscriber<A> implements Flow.Subscriber<A> {
+    final List<String> signals = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Flow.@Nullable Subscription subscription;
+    
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      signals.add("subscribe");
+    }
+    
+    @Override
+    public void onNext(final A item) {
+      signals.add("next " + item);
+    }
+    
+    @Override
+    public void onError(final Throwable error) {
+      signals.add("error " + error.getClass().getSimpleName());
+      terminated.countDown();
+    }
+    
+    @Override
+    public void onComplete() {
+      signals.add("complete");
+      terminated.countDown();
+    }
+    
+    Flow.Subscription subscription() {
+      final Flow.Subscription current = subscription;
+      Assertions.assertThat(current).isNotNull();
+      return current;
+    }
+    
+    void awaitTermination() throws InterruptedException {
+      Assertions.assertThat(terminated.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+  
+  /**
+   * A synchronous publisher of a range of integers, which emits from within {@code request} and
+   * records the demand it receives.
+   */
+  private static final class RangePublisher implements Flow.Publisher<Integer> {
+    final int count;
+    final @Nullable RuntimeException failure;
+    final List<Long> requests = Collections.synchronizedList(new ArrayList<>());
+    final AtomicLong maximumDemand = new AtomicLong();
+    final AtomicInteger subscriptions = new AtomicInteger();
+    volatile boolean canceled;
+    
+    RangePublisher(final int count, final @Nullable RuntimeException failure) {
+      this.count = count;
+      this.failure = failure;
+    }
+    
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+      subscriptions.incrementAndGet();
+      subscriber.onSubscribe(new Flow.Subscription() {
+        private int next;
+        private long demand;
+        private boolean emitting;
+        private boolean done;
+        private volatile boolean stopped;
+        
+        @Override
+        public void request(final long n) {
+          requests.add(n);
+          demand += n;
+          maximumDemand.accumulateAndGet(demand, Math::max);
+          if (emitting) {
+            return;
+          }
+          emitting = true;
+          while (demand > 0 && next < count && !stopped) {
+            demand--;
+            subscriber.onNext(next++);
+          }
+          if (next == count && !done && !stopped) {
+            done = true;
+            if (failure == null) {
+              subscriber.onComplete();
+            } else {
+              subscriber.onError(failure);
+            }
+          }
+          emitting = false;
+        }
+        
+        @Override
+        public void cancel() {
+          stopped = true;
+          canceled = true;
+        }
+      });
+    }
+  }
+  
+  @Nested
+  class IOPublisher {
+    /** The number of fibers started, which tells that a subscription did not run anything. */
+    private final AtomicInteger started = new AtomicInteger();
+    private final IORuntime runtime = IORuntime.of(task -> {
+      started.incrementAndGet();
+      Thread.ofVirtual().start(task);
+    });
+    
+    @Test
+    void theResultIsPublishedThenCompleted() throws InterruptedException {
+      final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(IO.pure(42)).subscribe(subscriber);
+      subscriber.subscription().request(1);
+      subscriber.awaitTermination();
+      
+      Assertions.assertThat(subscriber.signals).containsExactly("subscribe", "next 42", "complete");
+    }
+    
+    @Test
+    void nothingRunsBeforeThereIsDemand() throws InterruptedException {
+      final AtomicInteger runs = new AtomicInteger();
+      final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(IO.delay(runs::incrementAndGet), runtime).subscribe(subscriber);
+      
+      Assertions.assertThat(started).hasValue(0);
+      subscriber.subscription().request(1);
+      subscriber.awaitTermination();
+      Assertions.assertThat(runs).hasValue(1);
+    }
+    
+    @Test
+    void everySubscriptionRunsTheComputationAnew() throws InterruptedException {
+      final AtomicInteger runs = new AtomicInteger();
+      final Flow.Publisher<Integer> publisher = Flows.publisher(IO.delay(runs::incrementAndGet));
+      
+      for (int i = 1; i <= 3; i++) {
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription().request(Long.MAX_VALUE);
+        subscriber.awaitTermination();
+        
+        Assertions.assertThat(subscriber.signals).containsExactly("subscribe", "next " + i, "complete");
+      }
+    }
+    
+    @Test
+    void failuresAreSignaledWithOnError() throws InterruptedException {
+      final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(IO.<Integer>raiseError(new IllegalStateException("boom"))).subscribe(subscriber);
+      subscriber.subscription().request(1);
+      subscriber.awaitTermination();
+      
+      Assertions.assertThat(subscriber.signals).containsExactly("subscribe", "error IllegalStateException");
+    }
+    
+    @Test
+    void nonPositiveDemandIsSignaledAsAnError() throws InterruptedException {
+      final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(IO.pure(1), runtime).subscribe(subscriber);
+      subscriber.subscription().request(0);
+      subscriber.awaitTermination();
+      subscriber.subscription().request(1);
+      
+      Assertions.assertThat(started).hasValue(0);
+      Assertions.assertThat(subscriber.signals).containsExactly("subscribe", "error IllegalArgumentException");
+    }
+    
+    @Test
+    void cancelingBeforeDemandSuppressesEverySignal() {
+      final AtomicInteger runs = new AtomicInteger();
+      final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(IO.delay(runs::incrementAndGet), runtime).subscribe(subscriber);
+      subscriber.subscription().cancel();
+      subscriber.subscription().request(1);
+      
+      Assertions.assertThat(started).hasValue(0);
+      Assertions.assertThat(runs).hasValue(0);
+      Assertions.assertThat(subscriber.signals).containsExactly("subscribe");
+    }
+    
+    @Test
+    void cancelingStopsTheRunningComputation() throws InterruptedException {
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch stopped = new CountDownLatch(1);
+      final IO<Unit> io = IO.delay(() -> {
+        started.countDown();
+        return Unit.UNIT;
+      }).flatMap(unit -> IO.sleep(Duration.ofMinutes(1))).onCancel(IO.delay(() -> {
+        stopped.countDown();
+        return Unit.UNIT;
+      }));
+      final RecordingSubscriber<Unit> subscriber = new RecordingSubscriber<>();
+      
+      Flows.publisher(io).subscribe(subscriber);
+      subscriber.subscription().request(1);
+      Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      subscriber.subscription().cancel();
+      
+      Assertions.assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+      Assertions.assertThat(subscriber.signals).containsExactly("subscribe");
+    }
+    
+    @Test
+    void aNullSubscriberIsRejected() {
+      Assertions.assertThatThrownBy(() -> Flows.publisher(IO.pure(1)).subscribe(null))
+          .isInstanceOf(NullPointerException.class);
+    }
+  }
+  
+  @Nested
+  class FromPublisher {
+    @Test
+    void everyElementIsEmittedInOrder() {
+      final RangePublisher publisher = new RangePublisher(10_000, null);
+      
+      final List<Integer> result = Flows.<Integer>fromPublisher(publisher, 64).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).isEqualTo(IntStream.range(0, 10_000).boxed().toList());
+    }
+    
+    @Test
+    void demandIsRequestedInBatches() {
+      final RangePublisher publisher = new RangePublisher(1_000, null);
+      
+      Flows.<Integer>fromPublisher(publisher, 100).drain().unsafeRunSync();
+      
+      Assertions.assertThat(publisher.requests).hasSize(10).containsOnly(100L);
+      Assertions.assertThat(publisher.maximumDemand).hasValue(100L);
+    }
+    
+    @Test
+    void chunksAreNoLargerThanABatch() {
+      final RangePublisher publisher = new RangePublisher(1_000, null);
+      
+      final List<Integer> sizes = Flows.<Integer>fromPublisher(publisher, 32).chunks().map(Chunk::size).toList().unsafeRunSync();
+      
+      Assertions.assertThat(sizes.stream().mapToInt(Integer::intValue).max().orElse(0)).isLessThanOrEqualTo(32);
+      Assertions.assertThat(sizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(1_000);
+    }
+    
+    @Test
+    void failuresOfThePublisherFailTheStream() {
+      final RangePublisher publisher = new RangePublisher(10, new IllegalStateException("boom"));
+      final List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+      final IO<Unit> io = Flows.<Integer>fromPublisher(publisher, 4).evalMap(n -> IO.delay(() -> {
+        seen.add(n);
+        return n;
+      })).drain();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(IllegalStateException.class);
+      Assertions.assertThat(seen).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+    
+    @Test
+    void stoppingEarlyCancelsTheSubscription() {
+      final RangePublisher publisher = new RangePublisher(Integer.MAX_VALUE, null);
+      
+      final List<Integer> result = Flows.<Integer>fromPublisher(publisher, 16).take(5).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(0, 1, 2, 3, 4);
+      Assertions.assertThat(publisher.canceled).isTrue();
+    }
+    
+    @Test
+    void everyRunSubscribesAnew() {
+      final RangePublisher publisher = new RangePublisher(3, null);
+      final Stream<Integer> stream = Flows.fromPublisher(publisher, 2);
+      
+      Assertions.assertThat(stream.toList().unsafeRunSync()).containsExactly(0, 1, 2);
+      Assertions.assertThat(stream.toList().unsafeRunSync()).containsExactly(0, 1, 2);
+      Assertions.assertThat(publisher.subscriptions).hasValue(2);
+    }
+    
+    @Test
+    void asynchronousPublishersAreFollowed() throws InterruptedException {
+      try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+        final var result = Flows.<Integer>fromPublisher(publisher, 8).fold(0L, (sum, n) -> sum + n).unsafeToCompletableFuture();
+        while (publisher.getNumberOfSubscribers() == 0) {
+          Thread.sleep(1);
+        }
+        for (int i = 0; i < 1_000; i++) {
+          publisher.submit(i);
+        }
+        publisher.close();
+        
+        Assertions.assertThat(result.join()).isEqualTo(499_500L);
+      }
+    }
+  }
+}
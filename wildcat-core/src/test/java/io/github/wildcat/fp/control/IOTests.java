@@ -0,0 +1,843 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.control.Either.Left;
+import io.github.wildcat.fp.control.Either.Right;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class IOTests {
+  
+  private static final int DEPTH = 1_000_000;
+  
+  private static IO<Integer> rightNested(final int remaining, final int acc) {
+    return IO.pure(acc).flatMap(value -> remaining == 0 ? IO.pure(value) : rightNested(remaining - 1, value + 1));
+  }
+  
+  private static IO<Unit> spin() {
+    return IO.unit().flatMap(unit -> spin());
+  }
+  
+  @Nested
+  class UnsafeRunSync {
+    @Test
+    void leftNestedFlatMapChainIsStackSafe() {
+      IO<Integer> io = IO.pure(0);
+      for (int i = 0; i < DEPTH; i++) {
+        io = io.flatMap(value -> IO.pure(value + 1));
+      }
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(DEPTH);
+    }
+    
+    @Test
+    void rightNestedFlatMapChainIsStackSafe() {
+      Assertions.assertThat(rightNested(DEPTH, 0).unsafeRunSync()).isEqualTo(DEPTH);
+    }
+    
+    @Test
+    void mixedNestingRunsContinuationsInOrder() {
+      final List<String> log = new ArrayList<>();
+      final IO<String> inner = IO.delay(() -> log.add("inner"))
+                                 .flatMap(ignored -> IO.delay(() -> log.add("inner-next")))
+                                 .flatMap(ignored -> IO.pure("a"));
+      final IO<String> io = inner.flatMap(a -> IO.delay(() -> log.add("outer")).flatMap(ignored -> IO.pure(a + "b")));
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("ab");
+      Assertions.assertThat(log).containsExactly("inner", "inner-next", "outer");
+    }
+    
+    @Test
+    void effectsAreReEvaluatedOnEveryRun() {
+      final List<Integer> log = new ArrayList<>();
+      final IO<Integer> io = IO.delay(() -> log.size()).flatMap(size -> IO.delay(() -> {
+        log.add(size);
+        return size;
+      }));
+      
+      io.unsafeRunSync();
+      io.unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly(0, 1);
+    }
+  }
+  
+  @Nested
+  class MapFusion {
+    @Test
+    void consecutiveMapsAreFusedIntoOneNode() {
+      final IO<Integer> io = IO.pure("abc").map(String::length).map(length -> length * 2);
+      
+      Assertions.assertThat(io).isInstanceOf(IO.Map.class);
+      Assertions.assertThat(((IO.Map<?, ?>) io).io()).isInstanceOf(IO.Pure.class);
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(6);
+    }
+    
+    @Test
+    void mapIsNotAppliedUntilRun() {
+      final List<String> log = new ArrayList<>();
+      final IO<String> io = IO.pure("a").map(value -> {
+        log.add(value);
+        return value;
+      });
+      
+      Assertions.assertThat(log).isEmpty();
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("a");
+      Assertions.assertThat(log).containsExactly("a");
+    }
+    
+    @Test
+    void longMapChainIsStackSafe() {
+      IO<Integer> io = IO.delay(() -> 0);
+      for (int i = 0; i < DEPTH; i++) {
+        io = io.map(value -> value + 1);
+      }
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(DEPTH);
+    }
+    
+    @Test
+    void mapsInterleavedWithFlatMapsApplyInOrder() {
+      final IO<String> io = IO.pure("a")
+                              .map(value -> value + "b")
+                              .flatMap(value -> IO.pure(value + "c").map(inner -> inner + "d"))
+                              .map(value -> value + "e");
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("abcde");
+    }
+  }
+  
+  @Nested
+  class Fibers {
+    @Test
+    void joinReturnsTheResultOfAStartedFiber() {
+      final IO<Integer> io = IO.delay(() -> 21).start().flatMap(fiber -> fiber.join().map(value -> value * 2));
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(42);
+    }
+    
+    @Test
+    void joinRethrowsTheFailureOfAStartedFiber() {
+      final IO<Integer> failing = IO.delay(() -> {
+        throw new IllegalStateException("boom");
+      });
+      final IO<Integer> io = failing.start().flatMap(Fiber::join);
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+    
+    @Test
+    void startedFibersRunOnVirtualThreads() {
+      final IO<Boolean> io = IO.delay(() -> Thread.currentThread().isVirtual()).start().flatMap(Fiber::join);
+      
+      Assertions.assertThat(io.unsafeRunSync()).isTrue();
+    }
+    
+    @Test
+    void unsafeToCompletableFutureCompletesWithTheResult() {
+      final CompletableFuture<Integer> future = rightNested(DEPTH, 0).unsafeToCompletableFuture();
+      
+      Assertions.assertThat(future).succeedsWithin(10, TimeUnit.SECONDS).isEqualTo(DEPTH);
+    }
+    
+    @Test
+    void unsafeRunAsyncReportsTheOutcome() {
+      final CompletableFuture<Either<Throwable, String>> success = new CompletableFuture<>();
+      final CompletableFuture<Either<Throwable, String>> failure = new CompletableFuture<>();
+      final IllegalStateException error = new IllegalStateException("boom");
+      
+      IO.pure("a").unsafeRunAsync(success::complete);
+      IO.<String>delay(() -> {
+        throw error;
+      }).unsafeRunAsync(failure::complete);
+      
+      Assertions.assertThat(success).succeedsWithin(10, TimeUnit.SECONDS).isEqualTo(new Right<>("a"));
+      Assertions.assertThat(failure).succeedsWithin(10, TimeUnit.SECONDS).isEqualTo(new Left<>(error));
+    }
+    
+    @Test
+    void cancelStopsARunningFiber() {
+      final IO<Unit> io = spin().start().flatMap(fiber -> fiber.cancel().flatMap(unit -> fiber.join()));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(CancellationException.class);
+    }
+    
+    @Test
+    void manyFibersCanBeStartedAndJoined() {
+      final int fibers = 10_000;
+      final AtomicInteger counter = new AtomicInteger();
+      IO<Integer> io = IO.pure(0);
+      for (int i = 0; i < fibers; i++) {
+        io = io.flatMap(sum -> IO.delay(counter::incrementAndGet).start().flatMap(Fiber::join).map(value -> sum + 1));
+      }
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(fibers);
+      Assertions.assertThat(counter).hasValue(fibers);
+    }
+    
+    @Test
+    void fibersRunOnTheExecutorOfTheRuntime() {
+      final ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        final IORuntime runtime = IORuntime.of(executor);
+        final IO<String> io = IO.delay(() -> Thread.currentThread().getName()).start().flatMap(Fiber::join);
+        
+        Assertions.assertThat(io.unsafeRunSync(runtime)).startsWith("pool-");
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+  
+  @Nested
+  class Parallel {
+    private static IO<Integer> sleepy(final int value, final long millis) {
+      return IO.delay(() -> {
+        try {
+          Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return value;
+      });
+    }
+    
+    @Test
+    void parMapNRunsComputationsConcurrently() {
+      final CountDownLatch latch = new CountDownLatch(3);
+      final NonNullFunction<Integer, IO<Integer>> meet = value -> IO.delay(() -> {
+        latch.countDown();
+        try {
+          return latch.await(10, TimeUnit.SECONDS) ? value : -1;
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return -1;
+        }
+      });
+      
+      final IO<Integer> io = IO.parMap3(meet.apply(1), meet.apply(2), meet.apply(3), (a, b, c) -> a + b + c);
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(6);
+    }
+    
+    @Test
+    void parMapCombinesResultsInArgumentOrder() {
+      final IO<String> io = IO.parMap4(
+          sleepy(1, 40).map(String::valueOf),
+          sleepy(2, 30).map(String::valueOf),
+          sleepy(3, 20).map(String::valueOf),
+          sleepy(4, 10).map(String::valueOf),
+          (a, b, c, d) -> a + b + c + d
+      );
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("1234");
+    }
+    
+    @Test
+    void parTraverseKeepsInputOrder() {
+      final List<Integer> values = IntStream.range(0, 1_000).boxed().toList();
+      
+      final IO<List<Integer>> io = IO.parTraverse(values, value -> sleepy(value * 2, value % 7));
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(values.stream().map(value -> value * 2).toList());
+    }
+    
+    @Test
+    void parSequenceOfNothingIsEmpty() {
+      Assertions.assertThat(IO.parSequence(List.<IO<Integer>>of()).unsafeRunSync()).isEmpty();
+    }
+    
+    @Test
+    void parTraverseNBoundsConcurrency() {
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger peak = new AtomicInteger();
+      final List<Integer> values = IntStream.range(0, 64).boxed().toList();
+      
+      final IO<List<Integer>> io = IO.parTraverseN(4, values, value -> IO.delay(running::incrementAndGet)
+                                                                      .map(current -> peak.accumulateAndGet(current, Math::max))
+                                                                      .flatMap(ignored -> sleepy(value, 2))
+                                                                      .map(result -> {
+                                                                        running.decrementAndGet();
+                                                                        return result;
+                                                                      }));
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(values);
+      Assertions.assertThat(peak.get()).isBetween(1, 4);
+    }
+    
+    @Test
+    void parTraverseNRejectsNonPositiveConcurrency() {
+      Assertions.assertThatThrownBy(() -> IO.parTraverseN(0, List.of(1), IO::pure))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void failureCancelsSiblings() {
+      final AtomicInteger completed = new AtomicInteger();
+      final IO<Integer> failing = IO.delay(() -> {
+        throw new IllegalStateException("boom");
+      });
+      final IO<Integer> slow = spin().map(unit -> completed.incrementAndGet());
+      
+      final IO<List<Integer>> io = IO.parSequence(List.of(slow, failing, slow));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+      Assertions.assertThat(completed).hasValue(0);
+    }
+    
+    @Test
+    void parallelApplicativeRunsBothSides() {
+      final CountDownLatch latch = new CountDownLatch(2);
+      final IO<Boolean> side = IO.delay(() -> {
+        latch.countDown();
+        try {
+          return latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      });
+      
+      final IO<Boolean> io = IO.parallel()
+                               .ap(side, side.map(left -> (NonNullFunction<Boolean, Boolean>) right -> left && right))
+                               .fix();
+      
+      Assertions.assertThat(io.unsafeRunSync()).isTrue();
+    }
+  }
+  
+  @Nested
+  class Async {
+    @Test
+    void asyncResumesWithTheValuePassedToTheCallback() {
+      final IO<String> io = IO.<String>async(
+          callback -> CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS)
+                                       .execute(() -> callback.accept(Either.right("done")))
+      ).map(String::toUpperCase);
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("DONE");
+    }
+    
+    @Test
+    void asyncCompletedDuringRegistrationContinuesInline() {
+      IO<Integer> io = IO.pure(0);
+      for (int i = 0; i < DEPTH; i++) {
+        io = io.flatMap(value -> IO.async(callback -> callback.accept(Either.right(value + 1))));
+      }
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(DEPTH);
+    }
+    
+    @Test
+    void asyncFailsWithTheErrorPassedToTheCallback() {
+      final IO<String> io = IO.async(callback -> callback.accept(Either.left(new IllegalStateException("boom"))));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+    
+    @Test
+    void onlyTheFirstCallbackCounts() {
+      final IO<String> io = IO.async(callback -> {
+        callback.accept(Either.right("first"));
+        callback.accept(Either.right("second"));
+        callback.accept(Either.left(new IllegalStateException("third")));
+      });
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("first");
+    }
+    
+    @Test
+    void fromCompletableFutureAwaitsTheFuture() {
+      final IO<Integer> io = IO.fromCompletableFuture(IO.delay(() -> CompletableFuture.supplyAsync(() -> 42)));
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(42);
+    }
+    
+    @Test
+    void fromCompletableFutureFailsWithTheCauseOfTheFailure() {
+      final IO<Integer> io = IO.fromCompletableFuture(IO.delay(() -> CompletableFuture.supplyAsync(() -> {
+        throw new IllegalStateException("boom");
+      })));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+    
+    @Test
+    void fromCompletableFutureStartsTheFutureWhenRun() {
+      final AtomicInteger started = new AtomicInteger();
+      final IO<Integer> io = IO.fromCompletableFuture(
+          IO.delay(() -> CompletableFuture.completedFuture(started.incrementAndGet()))
+      );
+      
+      Assertions.assertThat(started).hasValue(0);
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void suspendedFibersDoNotHoldOnToThreads() {
+      final ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        final IORuntime runtime = IORuntime.of(executor);
+        final CompletableFuture<Integer> gate = new CompletableFuture<>();
+        final List<Integer> values = IntStream.range(0, 100).boxed().toList();
+        final IO<List<Integer>> waiting = IO.parTraverse(
+            values,
+            value -> IO.fromCompletableFuture(IO.pure(gate)).map(offset -> value + offset)
+        );
+        final IO<List<Integer>> io = waiting.start().flatMap(
+            fiber -> IO.delay(() -> gate.complete(1)).flatMap(completed -> fiber.join())
+        );
+        
+        Assertions.assertThat(io.unsafeRunSync(runtime)).isEqualTo(values.stream().map(value -> value + 1).toList());
+      } finally {
+        executor.shutdown();
+      }
+    }
+    
+    @Test
+    void cancelingASuspendedFiberStopsItRightAway() {
+      final IO<String> never = IO.async(callback -> { });
+      final IO<String> io = never.start().flatMap(fiber -> fiber.cancel().flatMap(unit -> fiber.join()));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(CancellationException.class);
+    }
+  }
+  
+  @Nested
+  class ErrorHandling {
+    private final IllegalStateException boom = new IllegalStateException("boom");
+    
+    @Test
+    void raiseErrorFailsTheComputation() {
+      Assertions.assertThatThrownBy(() -> IO.raiseError(boom).unsafeRunSync()).isSameAs(boom);
+    }
+    
+    @Test
+    void errorsSkipContinuationsUpToTheNearestHandler() {
+      final List<String> log = new ArrayList<>();
+      final IO<String> io = IO.<String>raiseError(boom)
+                              .map(value -> {
+                                log.add("map");
+                                return value;
+                              })
+                              .flatMap(value -> {
+                                log.add("flatMap");
+                                return IO.pure(value);
+                              })
+                              .handleErrorWith(error -> IO.pure(error.getMessage()))
+                              .map(value -> value + "!");
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("boom!");
+      Assertions.assertThat(log).isEmpty();
+    }
+    
+    @Test
+    void thrownExceptionsAreRaisedIntoTheErrorChannel() {
+      final IO<Integer> fromThunk = IO.<Integer>delay(() -> {
+        throw boom;
+      }).handleError(error -> 1);
+      final IO<Integer> fromMap = IO.pure(1).<Integer>map(value -> {
+        throw boom;
+      }).handleError(error -> 2);
+      final IO<Integer> fromBind = IO.pure(1).<Integer>flatMap(value -> {
+        throw boom;
+      }).handleError(error -> 3);
+      
+      Assertions.assertThat(fromThunk.unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(fromMap.unsafeRunSync()).isEqualTo(2);
+      Assertions.assertThat(fromBind.unsafeRunSync()).isEqualTo(3);
+    }
+    
+    @Test
+    void handlersAreNotCalledOnSuccess() {
+      final AtomicInteger calls = new AtomicInteger();
+      final IO<Integer> io = IO.pure(1).handleErrorWith(error -> IO.delay(calls::incrementAndGet)).map(value -> value + 1);
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(2);
+      Assertions.assertThat(calls).hasValue(0);
+    }
+    
+    @Test
+    void failingHandlersAreCaughtByOuterHandlers() {
+      final IO<String> io = IO.<String>raiseError(boom)
+                              .handleErrorWith(error -> IO.raiseError(new IllegalArgumentException("inner")))
+                              .flatMap(IO::pure)
+                              .handleErrorWith(error -> {
+                                throw new UnsupportedOperationException(error.getMessage());
+                              })
+                              .handleError(Throwable::getMessage);
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo("inner");
+    }
+    
+    @Test
+    void unwindingADeepStackIsStackSafe() {
+      IO<Integer> io = IO.raiseError(boom);
+      for (int i = 0; i < DEPTH; i++) {
+        io = io.flatMap(value -> IO.pure(value + 1));
+      }
+      
+      Assertions.assertThat(io.handleError(error -> -1).unsafeRunSync()).isEqualTo(-1);
+    }
+    
+    @Test
+    void attemptMaterializesTheOutcome() {
+      Assertions.assertThat(IO.pure("a").attempt().unsafeRunSync()).isEqualTo(Either.right("a"));
+      Assertions.assertThat(IO.<String>raiseError(boom).attempt().unsafeRunSync()).isEqualTo(Either.left(boom));
+    }
+    
+    @Test
+    void attemptTryCatchesExceptionsOnly() {
+      final AssertionError fatal = new AssertionError("fatal");
+      
+      Assertions.assertThat(IO.pure("a").attemptTry().unsafeRunSync()).isEqualTo(Try.success("a"));
+      Assertions.assertThat(IO.<String>raiseError(boom).attemptTry().unsafeRunSync()).isEqualTo(Try.failure(boom));
+      Assertions.assertThatThrownBy(() -> IO.<String>raiseError(fatal).attemptTry().unsafeRunSync()).isSameAs(fatal);
+    }
+    
+    @Test
+    void fromEitherAndFromTryRoundTrip() {
+      Assertions.assertThat(IO.fromEither(Either.right("a")).unsafeRunSync()).isEqualTo("a");
+      Assertions.assertThat(IO.fromEither(Either.left(boom)).attempt().unsafeRunSync()).isEqualTo(Either.left(boom));
+      Assertions.assertThat(IO.fromTry(Try.success("a")).unsafeRunSync()).isEqualTo("a");
+      Assertions.assertThat(IO.fromTry(Try.failure(boom)).attemptTry().unsafeRunSync()).isEqualTo(Try.failure(boom));
+    }
+    
+    @Test
+    void asyncFailuresCanBeRecovered() {
+      final IO<String> inline = IO.<String>async(callback -> callback.accept(Either.left(boom))).handleError(Throwable::getMessage);
+      final IO<String> resumed = IO.fromCompletableFuture(IO.delay(() -> CompletableFuture.<String>supplyAsync(() -> {
+        throw boom;
+      }))).handleError(Throwable::getMessage);
+      
+      Assertions.assertThat(inline.unsafeRunSync()).isEqualTo("boom");
+      Assertions.assertThat(resumed.unsafeRunSync()).isEqualTo("boom");
+    }
+    
+    @Test
+    void parallelFailuresCanBeRecovered() {
+      final IO<List<Integer>> io = IO.parSequence(List.of(IO.pure(1), IO.<Integer>raiseError(boom)));
+      
+      Assertions.assertThat(io.attempt().unsafeRunSync()).isEqualTo(Either.left(boom));
+    }
+    
+    @Test
+    void stacklessExceptionsHaveNoStackTrace() {
+      final StacklessException error = new StacklessException("domain", boom);
+      error.addSuppressed(new IllegalArgumentException());
+      
+      Assertions.assertThat(error.getStackTrace()).isEmpty();
+      Assertions.assertThat(error.getSuppressed()).isEmpty();
+      Assertions.assertThat(error).hasMessage("domain").hasCause(boom);
+    }
+  }
+  
+  @Nested
+  class Cancellation {
+    private static IO<Unit> counting(final AtomicInteger counter) {
+      return IO.delay(() -> {
+        counter.incrementAndGet();
+        return Unit.UNIT;
+      });
+    }
+    
+    @Test
+    void sleepWaitsForTheDuration() {
+      final long start = System.nanoTime();
+      
+      IO.sleep(Duration.ofMillis(50)).unsafeRunSync();
+      
+      Assertions.assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+    
+    @Test
+    void timeoutFailsSlowComputations() {
+      final IO<Unit> io = IO.sleep(Duration.ofSeconds(30)).timeout(Duration.ofMillis(20));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).hasCauseInstanceOf(TimeoutException.class);
+    }
+    
+    @Test
+    void timeoutToFallsBackOnlyWhenTheTimeRunsOut() {
+      Assertions.assertThat(IO.pure("fast").timeoutTo(Duration.ofSeconds(30), IO.pure("fallback")).unsafeRunSync())
+                .isEqualTo("fast");
+      Assertions.assertThat(IO.sleep(Duration.ofSeconds(30)).map(unit -> "slow").timeoutTo(Duration.ofMillis(20), IO.pure("fallback")).unsafeRunSync())
+                .isEqualTo("fallback");
+    }
+    
+    @Test
+    void raceCancelsTheLoserAndRunsItsFinalizers() {
+      final AtomicInteger finalized = new AtomicInteger();
+      final IO<Either<Unit, String>> io = IO.race(
+          IO.sleep(Duration.ofSeconds(30)).onCancel(counting(finalized)),
+          IO.sleep(Duration.ofMillis(10)).map(unit -> "right")
+      );
+      
+      Assertions.assertThat(io.unsafeRunSync()).isEqualTo(Either.right("right"));
+      Assertions.assertThat(finalized).hasValue(1);
+    }
+    
+    @Test
+    void raceFailsWithTheFirstFailure() {
+      final IllegalStateException boom = new IllegalStateException("boom");
+      final IO<Either<Unit, Unit>> io = IO.race(IO.sleep(Duration.ofSeconds(30)), IO.raiseError(boom));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isSameAs(boom);
+    }
+    
+    @Test
+    void bothProducesBothResults() {
+      Assertions.assertThat(IO.both(IO.pure(1), IO.pure("a")).unsafeRunSync()).isEqualTo(Tuple2.of(1, "a"));
+    }
+    
+    @Test
+    void guaranteeRunsOnSuccessFailureAndCancellation() {
+      final AtomicInteger finalized = new AtomicInteger();
+      
+      IO.pure(1).guarantee(counting(finalized)).unsafeRunSync();
+      IO.raiseError(new IllegalStateException()).guarantee(counting(finalized)).attempt().unsafeRunSync();
+      final Deferred<Unit> entered = Deferred.unsafe();
+      entered.complete(Unit.UNIT)
+             .flatMap(completed -> spin())
+             .guarantee(counting(finalized))
+             .start()
+             .flatMap(fiber -> entered.get().flatMap(unit -> fiber.cancel()))
+             .unsafeRunSync();
+      
+      Assertions.assertThat(finalized).hasValue(3);
+    }
+    
+    @Test
+    void onCancelOnlyRunsOnCancellation() {
+      final AtomicInteger finalized = new AtomicInteger();
+      
+      IO.pure(1).onCancel(counting(finalized)).unsafeRunSync();
+      final Deferred<Unit> entered = Deferred.unsafe();
+      entered.complete(Unit.UNIT)
+             .flatMap(completed -> IO.sleep(Duration.ofSeconds(30)))
+             .onCancel(counting(finalized))
+             .start()
+             .flatMap(fiber -> entered.get().flatMap(unit -> fiber.cancel()))
+             .unsafeRunSync();
+      
+      Assertions.assertThat(finalized).hasValue(1);
+    }
+    
+    @Test
+    void finalizersRunInReverseOrderEvenIfOneFails() {
+      final List<String> log = new ArrayList<>();
+      final Deferred<Unit> entered = Deferred.unsafe();
+      final IO<Unit> io = entered.complete(Unit.UNIT)
+                                 .flatMap(completed -> IO.sleep(Duration.ofSeconds(30)))
+                                 .onCancel(IO.delay(() -> {
+                                   log.add("inner");
+                                   return Unit.UNIT;
+                                 }))
+                                 .onCancel(IO.raiseError(new IllegalStateException("finalizer")))
+                                 .onCancel(IO.delay(() -> {
+                                   log.add("outer");
+                                   return Unit.UNIT;
+                                 }));
+      
+      io.start().flatMap(fiber -> entered.get().flatMap(unit -> fiber.cancel())).unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("inner", "outer");
+    }
+    
+    @Test
+    void uncancelableRegionsRunToCompletion() {
+      final AtomicInteger completed = new AtomicInteger();
+      final IO<Unit> io = IO.sleep(Duration.ofMillis(50)).flatMap(unit -> counting(completed)).uncancelable();
+      
+      io.start().flatMap(fiber -> IO.sleep(Duration.ofMillis(10)).flatMap(unit -> fiber.cancel())).unsafeRunSync();
+      
+      Assertions.assertThat(completed).hasValue(1);
+    }
+    
+    @Test
+    void pollMakesPartOfAnUncancelableRegionCancelable() {
+      final AtomicInteger completed = new AtomicInteger();
+      final IO<Unit> io = IO.uncancelable(poll -> poll.apply(IO.sleep(Duration.ofSeconds(30))).flatMap(unit -> counting(completed)));
+      
+      io.start().flatMap(fiber -> IO.sleep(Duration.ofMillis(10)).flatMap(unit -> fiber.cancel())).timeout(Duration.ofSeconds(10)).unsafeRunSync();
+      
+      Assertions.assertThat(completed).hasValue(0);
+    }
+    
+    @Test
+    void cancelingAParallelBatchCancelsItsWorkers() {
+      final AtomicInteger finalized = new AtomicInteger();
+      final IO<Unit> worker = IO.sleep(Duration.ofSeconds(30)).onCancel(counting(finalized));
+      final IO<List<Unit>> io = IO.parSequence(List.of(worker, worker, worker));
+      
+      io.start().flatMap(fiber -> IO.sleep(Duration.ofMillis(50)).flatMap(unit -> fiber.cancel())).unsafeRunSync();
+      
+      Assertions.assertThat(finalized).hasValue(3);
+    }
+    
+    @Test
+    void sleepingFibersDoNotHoldThreads() {
+      final List<IO<Unit>> sleepers = IntStream.range(0, 10_000).mapToObj(i -> IO.sleep(Duration.ofMillis(20))).toList();
+      final ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        final IO<List<Unit>> io = IO.parSequence(sleepers).timeout(Duration.ofSeconds(10));
+        
+        Assertions.assertThat(io.unsafeRunSync(IORuntime.of(executor))).hasSize(10_000);
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+  
+  @Nested
+  class Bracket {
+    @Test
+    void releasesAfterSuccessFailureAndCancellation() {
+      final List<String> log = new ArrayList<>();
+      final IO<String> acquire = IO.delay(() -> {
+        log.add("acquire");
+        return "resource";
+      });
+      final NonNullFunction<String, IO<Unit>> release = resource -> IO.delay(() -> {
+        log.add("release");
+        return Unit.UNIT;
+      });
+      
+      IO.bracket(acquire, IO::pure, release).unsafeRunSync();
+      IO.bracket(acquire, resource -> IO.<String>raiseError(new IllegalStateException()), release).attempt().unsafeRunSync();
+      IO.bracket(acquire, resource -> IO.sleep(Duration.ofSeconds(30)), release)
+        .start()
+        .flatMap(fiber -> IO.sleep(Duration.ofMillis(10)).flatMap(unit -> fiber.cancel()))
+        .unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("acquire", "release", "acquire", "release", "acquire", "release");
+    }
+    
+    @Test
+    void doesNotReleaseWhenAcquisitionFails() {
+      final AtomicInteger released = new AtomicInteger();
+      final IO<String> io = IO.bracket(IO.<String>raiseError(new IllegalStateException("acquire")), IO::pure, resource -> IO.delay(() -> {
+        released.incrementAndGet();
+        return Unit.UNIT;
+      }));
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).hasMessage("acquire");
+      Assertions.assertThat(released).hasValue(0);
+    }
+  }
+  
+  @Nested
+  class Caching {
+    private IO<Integer> slowCount(final AtomicInteger runs) {
+      return IO.sleep(Duration.ofMillis(30)).flatMap(unit -> IO.delay(runs::incrementAndGet));
+    }
+    
+    @Test
+    void memoizeRunsTheComputationOnce() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> memoized = IO.delay(runs::incrementAndGet).memoize();
+      
+      Assertions.assertThat(memoized.flatMap(first -> memoized).flatMap(second -> memoized).unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(runs).hasValue(1);
+    }
+    
+    @Test
+    void concurrentFirstRunsShareASingleComputation() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> memoized = slowCount(runs).memoize();
+      
+      final List<Integer> results = IO.parSequence(Collections.nCopies(50, memoized)).unsafeRunSync();
+      
+      Assertions.assertThat(results).hasSize(50).containsOnly(1);
+      Assertions.assertThat(runs).hasValue(1);
+    }
+    
+    @Test
+    void memoizeDoesNotRememberFailures() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> memoized = IO.delay(() -> {
+        if (runs.incrementAndGet() == 1) {
+          throw new IllegalStateException("first");
+        }
+        return runs.get();
+      }).memoize();
+      
+      Assertions.assertThatThrownBy(memoized::unsafeRunSync).hasMessage("first");
+      Assertions.assertThat(memoized.unsafeRunSync()).isEqualTo(2);
+      Assertions.assertThat(memoized.unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void cancelingTheFirstRunDoesNotCancelTheSharedComputation() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> memoized = slowCount(runs).memoize();
+      
+      memoized.start().flatMap(fiber -> IO.sleep(Duration.ofMillis(5)).flatMap(unit -> fiber.cancel())).unsafeRunSync();
+      
+      Assertions.assertThat(memoized.unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(runs).hasValue(1);
+    }
+    
+    @Test
+    void cachedForRunsAgainOnceTheResultExpires() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> cached = IO.delay(runs::incrementAndGet).cachedFor(Duration.ofMillis(50));
+      
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(1);
+      IO.sleep(Duration.ofMillis(80)).unsafeRunSync();
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void staleResultsAreServedWhileRefreshing() {
+      final AtomicInteger runs = new AtomicInteger();
+      final IO<Integer> cached = slowCount(runs).cachedFor(Duration.ofMillis(20), true);
+      
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(1);
+      IO.sleep(Duration.ofMillis(40)).unsafeRunSync();
+      final long start = System.nanoTime();
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(System.nanoTime() - start).isLessThan(Duration.ofMillis(30).toNanos());
+      IO.sleep(Duration.ofMillis(60)).unsafeRunSync();
+      Assertions.assertThat(cached.unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void cachedForRejectsNonPositiveTtls() {
+      Assertions.assertThatThrownBy(() -> IO.unit().cachedFor(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void expiriesAreComputedFromNegativeClockReadings() {
+      final long ttl = Duration.ofSeconds(1).toNanos();
+      
+      Assertions.assertThat(IOCache.expiry(-5_000_000_000L, ttl)).isEqualTo(-4_000_000_000L);
+      Assertions.assertThat(IOCache.expiry(Long.MAX_VALUE - 10, ttl)).isEqualTo(Long.MIN_VALUE + ttl - 11);
+      Assertions.assertThat(IOCache.expiry(-5_000_000_000L, Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class QueueTests {
+  
+  private static IO<Unit> offerAll(final Queue<Integer> queue, final int from, final int to) {
+    IO<Unit> io = IO.unit();
+    for (int i = from; i < to; i++) {
+      final int element = i;
+      io = io.flatMap(unit -> queue.offer(element));
+    }
+    return io;
+  }
+  
+  private static IO<List<Integer>> takeN(final Queue<Integer> queue, final int count) {
+    return IO.parSequence(Collections.nCopies(count, queue.take()));
+  }
+  
+  @Nested
+  class Bounded {
+    @Test
+    void elementsAreTakenInOrder() {
+      final List<Integer> taken = Queue.<Integer>bounded(16).flatMap(
+          queue -> offerAll(queue, 0, 10).flatMap(unit -> {
+            IO<List<Integer>> io = IO.pure(new ArrayList<>());
+            for (int i = 0; i < 10; i++) {
+              io = io.flatMap(list -> queue.take().map(element -> {
+                list.add(element);
+                return list;
+              }));
+            }
+            return io;
+          })
+      ).unsafeRunSync();
+      
+      Assertions.assertThat(taken).containsExactlyElementsOf(IntStream.range(0, 10).boxed().toList());
+    }
+    
+    @Test
+    void tryOfferFailsWhenFull() {
+      final Queue<Integer> queue = Queue.<Integer>bounded(2).unsafeRunSync();
+      
+      Assertions.assertThat(queue.tryOffer(1).unsafeRunSync()).isTrue();
+      Assertions.assertThat(queue.tryOffer(2).unsafeRunSync()).isTrue();
+      Assertions.assertThat(queue.tryOffer(3).unsafeRunSync()).isFalse();
+      Assertions.assertThat(queue.size().unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void offerWaitsForRoom() {
+      final Queue<Integer> queue = Queue.<Integer>bounded(1).unsafeRunSync();
+      queue.offer(1).unsafeRunSync();
+      
+      final Fiber<Unit> offering = queue.offer(2).start().unsafeRunSync();
+      IO.sleep(Duration.ofMillis(20)).unsafeRunSync();
+      
+      Assertions.assertThat(queue.size().unsafeRunSync()).isEqualTo(1);
+      Assertions.assertThat(queue.take().flatMap(first -> offering.join().flatMap(unit -> queue.take()))
+                                 .unsafeRunSync()).isEqualTo(2);
+    }
+    
+    @Test
+    void takeWaitsForAnElement() {
+      final Queue<String> queue = Queue.<String>bounded(4).unsafeRunSync();
+      
+      final Fiber<String> taking = queue.take().start().unsafeRunSync();
+      IO.sleep(Duration.ofMillis(20)).unsafeRunSync();
+      queue.offer("late").unsafeRunSync();
+      
+      Assertions.assertThat(taking.join().unsafeRunSync()).isEqualTo("late");
+    }
+    
+    @Test
+    void manyProducersAndConsumersExchangeEveryElement() {
+      final int producers = 16;
+      final int perProducer = 500;
+      final Queue<Integer> queue = Queue.<Integer>bounded(8).unsafeRunSync();
+      final List<IO<Unit>> producing = IntStream.range(0, producers)
+                                                .mapToObj(p -> offerAll(queue, p * perProducer, (p + 1) * perProducer))
+                                                .toList();
+      
+      final List<Integer> taken = IO.parMap2(IO.parSequence(producing), takeN(queue, producers * perProducer), (units, elements) -> elements)
+                                    .unsafeRunSync();
+      
+      Assertions.assertThat(taken).containsExactlyInAnyOrderElementsOf(
+          IntStream.range(0, producers * perProducer).boxed().toList()
+      );
+    }
+    
+    @Test
+    void canceledTakersDoNotSwallowElements() {
+      final Queue<String> queue = Queue.<String>bounded(4).unsafeRunSync();
+      
+      final Either<String, Unit> winner = IO.race(queue.take(), IO.sleep(Duration.ofMillis(20))).unsafeRunSync();
+      queue.offer("kept").unsafeRunSync();
+      
+      Assertions.assertThat(winner).isEqualTo(Either.right(Unit.UNIT));
+      Assertions.assertThat(queue.take().unsafeRunSync()).isEqualTo("kept");
+    }
+    
+    @Test
+    void capacityMustBePositive() {
+      Assertions.assertThatThrownBy(() -> Queue.bounded(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+  
+  @Nested
+  class Unbounded {
+    @Test
+    void offerNeverWaits() {
+      final Queue<Integer> queue = Queue.<Integer>unbounded().unsafeRunSync();
+      
+      offerAll(queue, 0, 10_000).unsafeRunSync();
+      
+      Assertions.assertThat(queue.size().unsafeRunSync()).isEqualTo(10_000);
+      Assertions.assertThat(queue.tryTake().unsafeRunSync()).isEqualTo(Option.present(0));
+    }
+    
+    @Test
+    void tryTakeOnAnEmptyQueueProducesNothing() {
+      final Queue<Integer> queue = Queue.<Integer>unbounded().unsafeRunSync();
+      
+      Assertions.assertThat(queue.tryTake().unsafeRunSync()).isEqualTo(Option.empty());
+    }
+    
+    @Test
+    void waitingTakersAreWoken() {
+      final Queue<Integer> queue = Queue.<Integer>unbounded().unsafeRunSync();
+      
+      final Fiber<List<Integer>> taking = takeN(queue, 100).start().unsafeRunSync();
+      offerAll(queue, 0, 100).unsafeRunSync();
+      
+      Assertions.assertThat(taking.join().unsafeRunSync()).containsExactlyInAnyOrderElementsOf(
+          IntStream.range(0, 100).boxed().toList()
+      );
+    }
+  }
+}
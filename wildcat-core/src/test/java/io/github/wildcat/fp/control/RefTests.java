@@ -0,0 +1,54 @@
+package io.github.wildcat.fp.control;
+
+import java.util.Collections;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RefTests {
+  
+  @Test
+  void getReadsTheCurrentValue() {
+    final IO<Integer> io = Ref.of(1).flatMap(ref -> ref.set(2).flatMap(unit -> ref.get()));
+    
+    Assertions.assertThat(io.unsafeRunSync()).isEqualTo(2);
+  }
+  
+  @Test
+  void getAndSetProducesThePreviousValue() {
+    final IO<Tuple2<String, String>> io = Ref.of("a").flatMap(
+        ref -> ref.getAndSet("b").flatMap(previous -> ref.get().map(current -> Tuple2.of(previous, current)))
+    );
+    
+    Assertions.assertThat(io.unsafeRunSync()).isEqualTo(Tuple2.of("a", "b"));
+  }
+  
+  @Test
+  void updateVariantsProduceTheExpectedValues() {
+    final Ref<Integer> ref = Ref.unsafe(1);
+    
+    Assertions.assertThat(ref.updateAndGet(value -> value + 1).unsafeRunSync()).isEqualTo(2);
+    Assertions.assertThat(ref.getAndUpdate(value -> value * 10).unsafeRunSync()).isEqualTo(2);
+    Assertions.assertThat(ref.get().unsafeRunSync()).isEqualTo(20);
+  }
+  
+  @Test
+  void modifyProducesTheResultAlongsideTheNewValue() {
+    final Ref<Integer> ref = Ref.unsafe(5);
+    
+    final String result = ref.modify(value -> Tuple2.of(value - 1, "was " + value)).unsafeRunSync();
+    
+    Assertions.assertThat(result).isEqualTo("was 5");
+    Assertions.assertThat(ref.get().unsafeRunSync()).isEqualTo(4);
+  }
+  
+  @Test
+  void concurrentUpdatesAreNotLost() {
+    final Ref<Integer> ref = Ref.unsafe(0);
+    final List<IO<Unit>> updates = Collections.nCopies(64, ref.update(value -> value + 1));
+    
+    IO.parTraverse(Collections.nCopies(100, IO.parSequence(updates)), io -> io).unsafeRunSync();
+    
+    Assertions.assertThat(ref.get().unsafeRunSync()).isEqualTo(6_400);
+  }
+}
@@ -0,0 +1,200 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ResourceTests {
+  
+  private static Resource<String> logged(final String name, final List<String> log) {
+    return Resource.make(
+        IO.delay(() -> {
+          log.add("acquire " + name);
+          return name;
+        }),
+        value -> IO.delay(() -> {
+          log.add("release " + name);
+          return Unit.UNIT;
+        })
+    );
+  }
+  
+  @Nested
+  class Composition {
+    @Test
+    void nestedResourcesAreReleasedInReverseOrder() {
+      final List<String> log = new ArrayList<>();
+      final Resource<String> both = logged("a", log).flatMap(a -> logged("b", log).map(b -> a + b));
+      
+      final String result = both.use(value -> IO.delay(() -> {
+        log.add("use " + value);
+        return value;
+      })).unsafeRunSync();
+      
+      Assertions.assertThat(result).isEqualTo("ab");
+      Assertions.assertThat(log).containsExactly("acquire a", "acquire b", "use ab", "release b", "release a");
+    }
+    
+    @Test
+    void acquiredResourcesAreReleasedWhenALaterAcquisitionFails() {
+      final List<String> log = new ArrayList<>();
+      final Resource<String> failing = logged("a", log).flatMap(
+          a -> Resource.eval(IO.<String>raiseError(new IllegalStateException("b")))
+      );
+      
+      Assertions.assertThat(failing.use(IO::pure).attempt().unsafeRunSync()).isInstanceOf(Either.Left.class);
+      Assertions.assertThat(log).containsExactly("acquire a", "release a");
+    }
+    
+    @Test
+    void resourcesAreReleasedWhenTheUseIsCanceled() {
+      final List<String> log = new CopyOnWriteArrayList<>();
+      final IO<Unit> io = logged("a", log).use(value -> IO.sleep(Duration.ofSeconds(30)));
+      
+      io.start().flatMap(fiber -> IO.sleep(Duration.ofMillis(10)).flatMap(unit -> fiber.cancel())).unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("acquire a", "release a");
+    }
+    
+    @Test
+    void fromAutoCloseableClosesOnRelease() {
+      final AtomicInteger closed = new AtomicInteger();
+      final AutoCloseable closeable = closed::incrementAndGet;
+      
+      Resource.fromAutoCloseable(IO.pure(closeable)).use(value -> IO.unit()).unsafeRunSync();
+      
+      Assertions.assertThat(closed).hasValue(1);
+    }
+    
+    @Test
+    void monadInstanceComposesResources() {
+      final List<String> log = new ArrayList<>();
+      final Resource<String> resource = Resource.monad().flatMap(logged("a", log), a -> logged("b", log)).fix();
+      
+      Assertions.assertThat(resource.use(IO::pure).unsafeRunSync()).isEqualTo("b");
+      Assertions.assertThat(log).containsExactly("acquire a", "acquire b", "release b", "release a");
+    }
+  }
+  
+  @Nested
+  class Pool {
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    
+    private Resource<ResourcePool<Integer>> pool(final ResourcePool.Settings settings) {
+      return ResourcePool.make(IO.delay(created::incrementAndGet), value -> IO.delay(() -> {
+        destroyed.incrementAndGet();
+        return Unit.UNIT;
+      }), settings);
+    }
+    
+    @Test
+    void neverHandsOutMoreThanMaxSizeResources() {
+      final AtomicInteger inUse = new AtomicInteger();
+      final AtomicInteger peak = new AtomicInteger();
+      
+      final List<Integer> results = pool(ResourcePool.Settings.of(4)).use(pool -> IO.parTraverse(
+          IntStream.range(0, 200).boxed().toList(),
+          i -> pool.resource().use(value -> IO.delay(() -> peak.accumulateAndGet(inUse.incrementAndGet(), Math::max))
+                                             .flatMap(current -> IO.sleep(Duration.ofMillis(1)))
+                                             .map(unit -> {
+                                               inUse.decrementAndGet();
+                                               return i;
+                                             }))
+      )).unsafeRunSync();
+      
+      Assertions.assertThat(results).hasSize(200);
+      Assertions.assertThat(peak.get()).isBetween(1, 4);
+      Assertions.assertThat(created.get()).isLessThanOrEqualTo(4);
+    }
+    
+    @Test
+    void reusesReturnedResources() {
+      final IO<Integer> borrowTwice = pool(ResourcePool.Settings.of(4)).use(
+          pool -> pool.resource().use(IO::pure).flatMap(first -> pool.resource().use(second -> IO.pure(second - first)))
+      );
+      
+      Assertions.assertThat(borrowTwice.unsafeRunSync()).isEqualTo(0);
+      Assertions.assertThat(created).hasValue(1);
+    }
+    
+    @Test
+    void createsTheMinimumSizeUpFrontAndDestroysEverythingOnRelease() {
+      final ResourcePool.Settings settings = new ResourcePool.Settings(3, 5, Duration.ofMinutes(1), Duration.ofSeconds(1));
+      
+      final int size = pool(settings).use(ResourcePool::size).unsafeRunSync();
+      
+      Assertions.assertThat(size).isEqualTo(3);
+      Assertions.assertThat(destroyed).hasValue(3);
+    }
+    
+    @Test
+    void evictsIdleResourcesDownToTheMinimumSize() {
+      final ResourcePool.Settings settings = new ResourcePool.Settings(1, 4, Duration.ofMillis(50), Duration.ofSeconds(1));
+      
+      final int size = pool(settings).use(pool -> IO.parSequence(List.of(
+          pool.resource().use(value -> IO.sleep(Duration.ofMillis(10))),
+          pool.resource().use(value -> IO.sleep(Duration.ofMillis(10))),
+          pool.resource().use(value -> IO.sleep(Duration.ofMillis(10)))
+      )).flatMap(units -> IO.sleep(Duration.ofMillis(300))).flatMap(unit -> pool.size())).unsafeRunSync();
+      
+      Assertions.assertThat(size).isEqualTo(1);
+    }
+    
+    @Test
+    void failsToAcquireWhenThePoolStaysExhausted() {
+      final ResourcePool.Settings settings = new ResourcePool.Settings(0, 1, Duration.ofMinutes(1), Duration.ofMillis(50));
+      
+      final Either<Throwable, Integer> outcome = pool(settings).use(
+          pool -> pool.resource().use(held -> pool.resource().use(IO::pure)).attempt()
+      ).unsafeRunSync();
+      
+      Assertions.assertThat(outcome).isInstanceOfSatisfying(
+          Either.Left.class,
+          left -> Assertions.assertThat(left.value()).isInstanceOf(TimeoutException.class)
+      );
+    }
+    
+    @Test
+    void handsTheSlotOfAFailedCreationToAWaitingBorrower() {
+      final ResourcePool.Settings settings = new ResourcePool.Settings(0, 1, Duration.ofMinutes(1), Duration.ofSeconds(10));
+      final Deferred<Unit> entered = Deferred.unsafe();
+      final Deferred<Unit> gate = Deferred.unsafe();
+      final AtomicInteger attempts = new AtomicInteger();
+      final IO<Integer> create = IO.defer(() -> attempts.incrementAndGet() == 1
+                                                ? entered.complete(Unit.UNIT)
+                                                         .flatMap(completed -> gate.get())
+                                                         .flatMap(unit -> IO.raiseError(new IllegalStateException("create failed")))
+                                                : IO.pure(attempts.get()));
+      
+      final Integer borrowed = ResourcePool.make(create, value -> IO.unit(), settings).use(
+          pool -> pool.resource().use(IO::pure).attempt().start().flatMap(
+              failing -> entered.get()
+                                .flatMap(unit -> pool.resource().use(IO::pure).start())
+                                // Gives the second borrower time to start waiting; it gets a resource either way.
+                                .flatMap(waiting -> IO.sleep(Duration.ofMillis(20))
+                                                      .flatMap(unit -> gate.complete(Unit.UNIT))
+                                                      .flatMap(completed -> failing.join())
+                                                      .flatMap(outcome -> waiting.join()))
+          )
+      ).unsafeRunSync();
+      
+      Assertions.assertThat(borrowed).isEqualTo(2);
+    }
+    
+    @Test
+    void rejectsInconsistentSettings() {
+      Assertions.assertThatThrownBy(() -> new ResourcePool.Settings(2, 1, Duration.ofMinutes(1), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+      Assertions.assertThatThrownBy(() -> new ResourcePool.Settings(0, 1, Duration.ZERO, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ScheduleTests {
+
+  private static List<Duration> delays(final Schedule schedule, final int max) {
+    final Schedule.Decider decider = schedule.start();
+    final List<Duration> delays = new ArrayList<>();
+    for (int i = 0; i < max; i++) {
+      final Duration delay = decider.next(0);
+      if (delay == null) {
+        break;
+      }
+      delays.add(delay);
+    }
+    return delays;
+  }
+
+  private static Duration millis(final long millis) {
+    return Duration.ofMillis(millis);
+  }
+
+  private static IO<Integer> failingTimes(final int failures, final AtomicInteger attempts) {
+    return IO.defer(() -> attempts.incrementAndGet() <= failures
+                          ? IO.raiseError(new IllegalStateException("attempt " + attempts.get()))
+                          : IO.pure(attempts.get()));
+  }
+
+  @Nested
+  class Policies {
+    @Test
+    void recursStopsAfterTheGivenNumberOfRecurrences() {
+      Assertions.assertThat(delays(Schedule.recurs(3), 10)).containsExactly(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+      Assertions.assertThat(delays(Schedule.recurs(0), 10)).isEmpty();
+    }
+
+    @Test
+    void fixedAlwaysWaitsTheSameTime() {
+      Assertions.assertThat(delays(Schedule.fixed(millis(5)), 3)).containsExactly(millis(5), millis(5), millis(5));
+    }
+
+    @Test
+    void exponentialGrowsByItsFactor() {
+      Assertions.assertThat(delays(Schedule.exponential(millis(10)), 4))
+                .containsExactly(millis(10), millis(20), millis(40), millis(80));
+      Assertions.assertThat(delays(Schedule.exponential(millis(10), 3.0), 3))
+                .containsExactly(millis(10), millis(30), millis(90));
+    }
+
+    @Test
+    void exponentialSaturatesInsteadOfOverflowing() {
+      final List<Duration> delays = delays(Schedule.exponential(Duration.ofDays(1)), 100);
+
+      Assertions.assertThat(delays.get(99)).isEqualTo(Duration.ofNanos(Long.MAX_VALUE));
+    }
+
+    @Test
+    void fibonacciFollowsTheSequence() {
+      Assertions.assertThat(delays(Schedule.fibonacci(millis(1)), 6))
+                .containsExactly(millis(1), millis(1), millis(2), millis(3), millis(5), millis(8));
+    }
+
+    @Test
+    void decorrelatedJitterStaysWithinItsBounds() {
+      for (final Duration delay : delays(Schedule.decorrelatedJitter(millis(10), millis(100)), 1000)) {
+        Assertions.assertThat(delay).isBetween(millis(10), millis(100));
+      }
+    }
+
+    @Test
+    void jitteredStaysWithinHalfOfTheDelay() {
+      for (final Duration delay : delays(Schedule.fixed(millis(100)).jittered(), 1000)) {
+        Assertions.assertThat(delay).isBetween(millis(50), millis(150));
+      }
+    }
+
+    @Test
+    void maxDelayCapsEveryDelay() {
+      Assertions.assertThat(delays(Schedule.exponential(millis(10)).maxDelay(millis(25)), 4))
+                .containsExactly(millis(10), millis(20), millis(25), millis(25));
+    }
+
+    @Test
+    void upToStopsOnceTheBudgetIsSpent() {
+      final Schedule.Decider decider = Schedule.fixed(millis(10)).upTo(millis(100)).start();
+
+      Assertions.assertThat(decider.next(millis(50).toNanos())).isEqualTo(millis(10));
+      Assertions.assertThat(decider.next(millis(90).toNanos())).isEqualTo(millis(10));
+      Assertions.assertThat(decider.next(millis(95).toNanos())).isNull();
+    }
+
+    @Test
+    void upToDoesNotOverflowOnHugeDelays() {
+      final Schedule.Decider decider = Schedule.fixed(Duration.ofNanos(Long.MAX_VALUE - 1))
+                                               .upTo(Duration.ofNanos(Long.MAX_VALUE))
+                                               .start();
+
+      Assertions.assertThat(decider.next(10)).isNull();
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+      Assertions.assertThatThrownBy(() -> Schedule.recurs(-1)).isInstanceOf(IllegalArgumentException.class);
+      Assertions.assertThatThrownBy(() -> Schedule.fixed(millis(-1))).isInstanceOf(IllegalArgumentException.class);
+      Assertions.assertThatThrownBy(() -> Schedule.exponential(millis(1), 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+      Assertions.assertThatThrownBy(() -> Schedule.decorrelatedJitter(millis(10), millis(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  class Composition {
+    @Test
+    void andThenContinuesWithTheNextSchedule() {
+      final Schedule schedule = Schedule.fixed(millis(1)).intersect(Schedule.recurs(2))
+                                        .andThen(Schedule.fixed(millis(5)).intersect(Schedule.recurs(1)));
+
+      Assertions.assertThat(delays(schedule, 10)).containsExactly(millis(1), millis(1), millis(5));
+    }
+
+    @Test
+    void intersectRecursWhileBothDoWithTheLongerDelay() {
+      final Schedule schedule = Schedule.exponential(millis(1)).intersect(Schedule.fixed(millis(3)))
+                                        .intersect(Schedule.recurs(4));
+
+      Assertions.assertThat(delays(schedule, 10)).containsExactly(millis(3), millis(3), millis(4), millis(8));
+    }
+
+    @Test
+    void unionRecursWhileEitherDoesWithTheShorterDelay() {
+      final Schedule schedule = Schedule.fixed(millis(5)).intersect(Schedule.recurs(4))
+                                        .union(Schedule.fixed(millis(2)).intersect(Schedule.recurs(2)));
+
+      Assertions.assertThat(delays(schedule, 10)).containsExactly(millis(2), millis(2), millis(5), millis(5));
+    }
+
+    @Test
+    void everyRunStartsAfresh() {
+      final Schedule schedule = Schedule.exponential(millis(1)).intersect(Schedule.recurs(2));
+
+      Assertions.assertThat(delays(schedule, 10)).containsExactly(millis(1), millis(2));
+      Assertions.assertThat(delays(schedule, 10)).containsExactly(millis(1), millis(2));
+    }
+  }
+
+  @Nested
+  class RetryAndRepeat {
+    @Test
+    void retryRunsAgainUntilSuccess() {
+      final AtomicInteger attempts = new AtomicInteger();
+
+      final int result = failingTimes(3, attempts).retry(Schedule.fixed(millis(1)).intersect(Schedule.recurs(5)))
+                                                  .unsafeRunSync();
+
+      Assertions.assertThat(result).isEqualTo(4);
+      Assertions.assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void retryRaisesTheLastFailureOnceTheScheduleStops() {
+      final AtomicInteger attempts = new AtomicInteger();
+
+      final Either<Throwable, Integer> result = failingTimes(10, attempts).retry(Schedule.recurs(2))
+                                                                         .attempt()
+                                                                         .unsafeRunSync();
+
+      Assertions.assertThat(attempts).hasValue(3);
+      Assertions.assertThat(result.fold(Throwable::getMessage, String::valueOf)).isEqualTo("attempt 3");
+    }
+
+    @Test
+    void retryWaitsBetweenAttempts() {
+      final AtomicInteger attempts = new AtomicInteger();
+      final long started = System.nanoTime();
+
+      failingTimes(2, attempts).retry(Schedule.exponential(millis(20))).unsafeRunSync();
+
+      Assertions.assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(millis(60));
+    }
+
+    @Test
+    void retryStopsWhenTheBudgetIsSpent() {
+      final AtomicInteger attempts = new AtomicInteger();
+
+      final Either<Throwable, Integer> result = failingTimes(Integer.MAX_VALUE, attempts)
+          .retry(Schedule.fixed(millis(10)).upTo(millis(50)))
+          .attempt()
+          .unsafeRunSync();
+
+      Assertions.assertThat(result).isInstanceOf(Either.Left.class);
+      Assertions.assertThat(attempts.get()).isBetween(2, 6);
+    }
+
+    @Test
+    void repeatRunsAgainWhileTheScheduleRecurs() {
+      final AtomicInteger runs = new AtomicInteger();
+
+      final int result = IO.delay(runs::incrementAndGet).repeat(Schedule.recurs(4)).unsafeRunSync();
+
+      Assertions.assertThat(result).isEqualTo(5);
+      Assertions.assertThat(runs).hasValue(5);
+    }
+
+    @Test
+    void repeatStopsOnFailure() {
+      final AtomicInteger attempts = new AtomicInteger();
+
+      final Either<Throwable, Integer> result = IO.defer(() -> attempts.incrementAndGet() == 3
+                                                               ? IO.<Integer>raiseError(new IllegalStateException("boom"))
+                                                               : IO.pure(attempts.get()))
+                                                  .repeat(Schedule.forever())
+                                                  .attempt()
+                                                  .unsafeRunSync();
+
+      Assertions.assertThat(result).isInstanceOf(Either.Left.class);
+      Assertions.assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void longRepetitionsRunInConstantStackSpace() {
+      final AtomicInteger runs = new AtomicInteger();
+
+      IO.delay(runs::incrementAndGet).repeat(Schedule.recurs(100_000)).unsafeRunSync();
+
+      Assertions.assertThat(runs).hasValue(100_001);
+    }
+  }
+}
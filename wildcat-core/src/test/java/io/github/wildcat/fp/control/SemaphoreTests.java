@@ -0,0 +1,97 @@
+package io.github.wildcat.fp.control;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SemaphoreTests {
+  
+  private static IO<Unit> pause() {
+    return IO.sleep(Duration.ofMillis(20));
+  }
+  
+  @Test
+  void withPermitLimitsConcurrency() {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    final IO<Unit> task = IO.delay(() -> peak.accumulateAndGet(running.incrementAndGet(), Math::max))
+                            .flatMap(value -> IO.sleep(Duration.ofMillis(5)))
+                            .flatMap(unit -> IO.delay(running::decrementAndGet))
+                            .map(value -> Unit.UNIT);
+    
+    final long available = Semaphore.make(3).flatMap(
+        semaphore -> IO.parSequence(Collections.nCopies(30, semaphore.withPermit(task))).flatMap(units -> semaphore.available())
+    ).unsafeRunSync();
+    
+    Assertions.assertThat(peak.get()).isBetween(1, 3);
+    Assertions.assertThat(available).isEqualTo(3L);
+  }
+  
+  @Test
+  void permitsAreGrantedInOrder() {
+    final List<Integer> order = new CopyOnWriteArrayList<>();
+    final Semaphore semaphore = Semaphore.make(0).unsafeRunSync();
+    
+    final Fiber<Boolean> big = semaphore.acquireN(2).flatMap(unit -> IO.delay(() -> order.add(2))).start().unsafeRunSync();
+    pause().unsafeRunSync();
+    final Fiber<Boolean> small = semaphore.acquire().flatMap(unit -> IO.delay(() -> order.add(1))).start().unsafeRunSync();
+    pause().unsafeRunSync();
+    semaphore.release().flatMap(unit -> pause()).unsafeRunSync();
+    
+    Assertions.assertThat(order).isEmpty();
+    
+    semaphore.release().flatMap(unit -> big.join()).flatMap(added -> pause()).unsafeRunSync();
+    
+    Assertions.assertThat(order).containsExactly(2);
+    
+    semaphore.release().flatMap(unit -> small.join()).unsafeRunSync();
+    
+    Assertions.assertThat(order).containsExactly(2, 1);
+  }
+  
+  @Test
+  void tryAcquireDoesNotOvertakeWaitingFibers() {
+    final IO<Boolean> io = Semaphore.make(1).flatMap(
+        semaphore -> semaphore.acquireN(2).start().flatMap(
+            waiting -> pause().flatMap(unit -> semaphore.tryAcquire()).flatMap(acquired -> waiting.cancel().map(unit -> acquired))
+        )
+    );
+    
+    Assertions.assertThat(io.unsafeRunSync()).isFalse();
+  }
+  
+  @Test
+  void canceledWaitersDoNotKeepPermits() {
+    final long available = Semaphore.make(1).flatMap(
+        semaphore -> semaphore.acquireN(2).start().flatMap(
+            waiting -> pause().flatMap(unit -> waiting.cancel())
+                              .flatMap(unit -> semaphore.release())
+                              .flatMap(unit -> semaphore.available())
+        )
+    ).unsafeRunSync();
+    
+    Assertions.assertThat(available).isEqualTo(2L);
+  }
+  
+  @Test
+  void cancelingTheHeadWaiterUnblocksTheOnesBehindIt() {
+    final IO<Unit> io = Semaphore.make(1).flatMap(
+        semaphore -> semaphore.acquireN(5).start().flatMap(
+            big -> pause().flatMap(unit -> semaphore.acquire().start()).flatMap(
+                small -> pause().flatMap(unit -> big.cancel()).flatMap(unit -> small.join())
+            )
+        )
+    );
+    
+    Assertions.assertThat(io.timeout(Duration.ofSeconds(5)).unsafeRunSync()).isEqualTo(Unit.UNIT);
+  }
+  
+  @Test
+  void negativePermitsAreRejected() {
+    Assertions.assertThatThrownBy(() -> Semaphore.make(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
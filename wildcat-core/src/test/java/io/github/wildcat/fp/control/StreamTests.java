@@ -0,0 +1,585 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class StreamTests {
+  
+  private static Stream<String> logged(final String name, final List<String> log) {
+    return Stream.bracket(
+        IO.delay(() -> {
+          log.add("acquire " + name);
+          return name;
+        }),
+        value -> IO.delay(() -> {
+          log.add("release " + name);
+          return Unit.UNIT;
+        })
+    );
+  }
+  
+  @Nested
+  class Construction {
+    @Test
+    void ofEmitsTheGivenElements() {
+      Assertions.assertThat(Stream.of(1, 2, 3).toList().unsafeRunSync()).containsExactly(1, 2, 3);
+    }
+    
+    @Test
+    void emptyEmitsNothing() {
+      Assertions.assertThat(Stream.<Integer>empty().toList().unsafeRunSync()).isEmpty();
+    }
+    
+    @Test
+    void rangeIsEmittedInChunks() {
+      final List<Integer> sizes = Stream.range(0, 2_500).chunks().map(Chunk::size).toList().unsafeRunSync();
+      
+      Assertions.assertThat(sizes).containsExactly(1024, 1024, 452);
+    }
+    
+    @Test
+    void fromIterableIteratesOnEveryRun() {
+      final Stream<Integer> stream = Stream.fromIterable(List.of(1, 2, 3));
+      
+      Assertions.assertThat(stream.toList().unsafeRunSync()).containsExactly(1, 2, 3);
+      Assertions.assertThat(stream.toList().unsafeRunSync()).containsExactly(1, 2, 3);
+    }
+    
+    @Test
+    void unfoldChunkEvalStopsWhenNothingIsProduced() {
+      final Stream<Integer> stream = Stream.unfoldChunkEval(0, n -> IO.pure(
+          n < 3 ? Option.present(Tuple2.of(Chunk.of(n, n), n + 1)) : Option.empty()
+      ));
+      
+      Assertions.assertThat(stream.toList().unsafeRunSync()).containsExactly(0, 0, 1, 1, 2, 2);
+    }
+    
+    @Test
+    void evalRunsTheComputationOnEveryRun() {
+      final AtomicInteger runs = new AtomicInteger();
+      final Stream<Integer> stream = Stream.eval(IO.delay(runs::incrementAndGet));
+      
+      stream.drain().unsafeRunSync();
+      stream.drain().unsafeRunSync();
+      
+      Assertions.assertThat(runs).hasValue(2);
+    }
+  }
+  
+  @Nested
+  class Transformation {
+    @Test
+    void mapAndFilterApplyToEveryElement() {
+      final List<Integer> result = Stream.range(0, 10).map(n -> n * 3).filter(n -> n % 2 == 0).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(0, 6, 12, 18, 24);
+    }
+    
+    @Test
+    void flatMapConcatenatesTheProducedStreams() {
+      final List<Integer> result = Stream.of(1, 2, 3).flatMap(n -> Stream.of(n, n * 10)).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(1, 10, 2, 20, 3, 30);
+    }
+    
+    @Test
+    void evalMapRunsTheComputationsInOrder() {
+      final List<Integer> seen = new ArrayList<>();
+      
+      final List<Integer> result = Stream.range(0, 5).evalMap(n -> IO.delay(() -> {
+        seen.add(n);
+        return n + 1;
+      })).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(1, 2, 3, 4, 5);
+      Assertions.assertThat(seen).containsExactly(0, 1, 2, 3, 4);
+    }
+    
+    @Test
+    void takeStopsAnInfiniteStream() {
+      final List<Integer> result = Stream.iterate(1, n -> n * 2).take(5).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(1, 2, 4, 8, 16);
+    }
+    
+    @Test
+    void takeDoesNotPullMoreThanNeeded() {
+      final AtomicInteger pulled = new AtomicInteger();
+      
+      Stream.repeatEval(IO.delay(pulled::incrementAndGet)).take(3).drain().unsafeRunSync();
+      
+      Assertions.assertThat(pulled).hasValue(3);
+    }
+    
+    @Test
+    void evalMapRunsOnlyTheComputationsOfThePulledElements() {
+      final AtomicInteger run = new AtomicInteger();
+      
+      final List<Integer> result = Stream.range(0, 100)
+                                         .evalMap(n -> IO.delay(() -> {
+                                           run.incrementAndGet();
+                                           return n;
+                                         }))
+                                         .take(1)
+                                         .toList()
+                                         .unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(0);
+      Assertions.assertThat(run).hasValue(1);
+    }
+    
+    @Test
+    void evalMapStopsRunningComputationsAfterTakeWhileFails() {
+      final AtomicInteger run = new AtomicInteger();
+      
+      Stream.range(0, 100).evalMap(n -> IO.delay(() -> {
+        run.incrementAndGet();
+        return n;
+      })).takeWhile(n -> n < 3).drain().unsafeRunSync();
+      
+      Assertions.assertThat(run).hasValue(4);
+    }
+    
+    @Test
+    void dropSkipsTheFirstElements() {
+      Assertions.assertThat(Stream.range(0, 3_000).drop(2_998).toList().unsafeRunSync()).containsExactly(2_998, 2_999);
+    }
+    
+    @Test
+    void takeWhileStopsAtTheFirstFailingElement() {
+      final List<Integer> result = Stream.of(1, 2, 3, 1).takeWhile(n -> n < 3).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(1, 2);
+    }
+    
+    @Test
+    void throughAppliesAReusablePipe() {
+      final NonNullFunction<Stream<Integer>, Stream<String>> describe = stream -> stream.filter(n -> n > 1).map(n -> "#" + n);
+      
+      Assertions.assertThat(Stream.of(1, 2, 3).through(describe).toList().unsafeRunSync()).containsExactly("#2", "#3");
+    }
+    
+    @Test
+    void appendConcatenatesStreams() {
+      Assertions.assertThat(Stream.of(1).append(Stream.of(2, 3)).toList().unsafeRunSync()).containsExactly(1, 2, 3);
+    }
+  }
+  
+  @Nested
+  class Compilation {
+    @Test
+    void foldCombinesEveryElement() {
+      Assertions.assertThat(Stream.range(1, 101).fold(0, Integer::sum).unsafeRunSync()).isEqualTo(5_050);
+    }
+    
+    @Test
+    void longStreamsRunInConstantStack() {
+      final long count = Stream.range(0, 5_000_000).filter(n -> n % 5 == 0).count().unsafeRunSync();
+      
+      Assertions.assertThat(count).isEqualTo(1_000_000);
+    }
+    
+    @Test
+    void deeplyRecursiveStreamsAreStackSafe() {
+      final Long count = countdown(100_000).count().unsafeRunSync();
+      
+      Assertions.assertThat(count).isEqualTo(100_000);
+    }
+    
+    @Test
+    void leftNestedAppendsTakeConstantTimePerStream() {
+      Stream<Integer> stream = Stream.empty();
+      for (int i = 0; i < 100_000; i++) {
+        stream = stream.append(Stream.emits(List.of(i)));
+      }
+      
+      final long sum = stream.fold(0L, (total, n) -> total + n).unsafeRunSync();
+      
+      Assertions.assertThat(sum).isEqualTo(4_999_950_000L);
+    }
+    
+    private Stream<Integer> countdown(final int n) {
+      return n == 0 ? Stream.empty() : Stream.emit(n).append(Stream.suspend(() -> countdown(n - 1)));
+    }
+    
+    @Test
+    void instancesAgreeWithTheMethods() {
+      final Stream<Integer> stream = Stream.functor().map(Stream.of(1, 2, 3), n -> n * 2).fix();
+      
+      Assertions.assertThat(Stream.foldable().foldLeft(stream, 0, Integer::sum)).isEqualTo(12);
+    }
+  }
+  
+  @Nested
+  class Resources {
+    @Test
+    void resourcesAreReleasedOnceUsed() {
+      final List<String> log = new ArrayList<>();
+      
+      logged("a", log).flatMap(a -> Stream.eval(IO.delay(() -> {
+        log.add("use " + a);
+        return a;
+      }))).append(Stream.eval(IO.delay(() -> {
+        log.add("after");
+        return "after";
+      }))).drain().unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("acquire a", "use a", "release a", "after");
+    }
+    
+    @Test
+    void nestedResourcesAreReleasedInReverseOrder() {
+      final List<String> log = new ArrayList<>();
+      
+      logged("a", log).flatMap(a -> logged("b", log)).drain().unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("acquire a", "acquire b", "release b", "release a");
+    }
+    
+    @Test
+    void resourcesAreReleasedWhenTheStreamIsCutShort() {
+      final List<String> log = new ArrayList<>();
+      
+      logged("a", log).flatMap(a -> Stream.iterate(0, n -> n + 1)).take(10).drain().unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("acquire a", "release a");
+    }
+    
+    @Test
+    void resourcesAreReleasedWhenTheStreamFails() {
+      final List<String> log = new ArrayList<>();
+      final IO<Unit> io = logged("a", log).flatMap(
+          a -> Stream.eval(IO.<String>raiseError(new IllegalStateException("boom")))
+      ).drain();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(IllegalStateException.class);
+      Assertions.assertThat(log).containsExactly("acquire a", "release a");
+    }
+    
+    @Test
+    void resourceStreamsFollowTheResource() {
+      final List<String> log = new ArrayList<>();
+      final Resource<String> resource = Resource.make(
+          IO.delay(() -> {
+            log.add("open");
+            return "file";
+          }),
+          value -> IO.delay(() -> {
+            log.add("close");
+            return Unit.UNIT;
+          })
+      );
+      
+      final List<String> result = Stream.resource(resource).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly("file");
+      Assertions.assertThat(log).containsExactly("open", "close");
+    }
+    
+    @Test
+    void onFinalizeRunsOnceTheStreamIsDone() {
+      final List<String> log = new ArrayList<>();
+      
+      Stream.of(1, 2).evalMap(n -> IO.delay(() -> {
+        log.add("element " + n);
+        return n;
+      })).onFinalize(IO.delay(() -> {
+        log.add("finalized");
+        return Unit.UNIT;
+      })).drain().unsafeRunSync();
+      
+      Assertions.assertThat(log).containsExactly("element 1", "element 2", "finalized");
+    }
+  }
+  
+  @Nested
+  class Concurrency {
+    @Test
+    void mergeEmitsTheElementsOfEveryStream() {
+      final List<Integer> result = Stream.merge(List.of(
+          Stream.range(0, 1_000),
+          Stream.range(1_000, 2_000),
+          Stream.range(2_000, 3_000)
+      )).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 3_000).boxed().toList());
+    }
+    
+    @Test
+    void mergeKeepsTheOrderOfEachStream() {
+      final List<Integer> result = Stream.of(1, 3, 5).evalMap(n -> IO.sleep(Duration.ofMillis(2)).map(unit -> n))
+          .merge(Stream.of(2, 4, 6).evalMap(n -> IO.sleep(Duration.ofMillis(3)).map(unit -> n)))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result.stream().filter(n -> n % 2 == 1).toList()).containsExactly(1, 3, 5);
+      Assertions.assertThat(result.stream().filter(n -> n % 2 == 0).toList()).containsExactly(2, 4, 6);
+    }
+    
+    @Test
+    void mergeFailsWhenAStreamFails() {
+      final IO<Unit> io = Stream.iterate(0, n -> n + 1)
+          .merge(Stream.eval(IO.<Integer>raiseError(new IllegalStateException("boom"))))
+          .drain();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void mergedStreamsAreReleasedWhenTheMergeIsCutShort() {
+      final List<String> log = Collections.synchronizedList(new ArrayList<>());
+      
+      final List<Integer> result = logged("a", log).flatMap(a -> Stream.iterate(0, n -> n + 1))
+          .merge(logged("b", log).flatMap(b -> Stream.iterate(0, n -> n + 1)))
+          .take(10)
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result).hasSize(10);
+      Assertions.assertThat(log).containsExactlyInAnyOrder("acquire a", "release a", "acquire b", "release b");
+    }
+    
+    @Test
+    void broadcastThroughSendsEveryElementToEveryPipe() {
+      final List<NonNullFunction<Stream<Integer>, Stream<String>>> pipes = List.of(
+          stream -> stream.map(n -> "a" + n),
+          stream -> stream.filter(n -> n % 2 == 0).map(n -> "b" + n)
+      );
+      
+      final List<String> result = Stream.range(0, 5).broadcastThrough(pipes).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactlyInAnyOrder("a0", "a1", "a2", "a3", "a4", "b0", "b2", "b4");
+    }
+    
+    @Test
+    void broadcastThroughPullsTheSourceOnce() {
+      final AtomicInteger pulled = new AtomicInteger();
+      final List<NonNullFunction<Stream<Integer>, Stream<Integer>>> pipes = List.of(stream -> stream, stream -> stream);
+      
+      final long count = Stream.range(0, 100).evalMap(n -> IO.delay(() -> {
+        pulled.incrementAndGet();
+        return n;
+      })).broadcastThrough(pipes).count().unsafeRunSync();
+      
+      Assertions.assertThat(count).isEqualTo(200L);
+      Assertions.assertThat(pulled).hasValue(100);
+    }
+    
+    @Test
+    void aPipeThatStopsEarlyDoesNotHoldBackTheOthers() {
+      final List<NonNullFunction<Stream<Integer>, Stream<Integer>>> pipes = List.of(
+          stream -> stream.take(1),
+          stream -> stream.filter(n -> n == 9_999)
+      );
+      
+      final List<Integer> result = Stream.range(0, 10_000).chunks().flatMap(chunk -> Stream.emits(chunk.toList()))
+          .broadcastThrough(pipes)
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactlyInAnyOrder(0, 9_999);
+    }
+    
+    @Test
+    void parEvalMapKeepsTheOrderOfTheElements() {
+      final List<Integer> result = Stream.range(0, 50)
+          .parEvalMap(8, n -> IO.sleep(Duration.ofMillis(50 - n)).map(unit -> n * 2))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result).isEqualTo(IntStream.range(0, 50).map(n -> n * 2).boxed().toList());
+    }
+    
+    @Test
+    void parEvalMapRunsTheComputationsConcurrently() {
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maximum = new AtomicInteger();
+      final IO<Unit> step = IO.delay(() -> maximum.accumulateAndGet(running.incrementAndGet(), Math::max))
+          .flatMap(n -> IO.sleep(Duration.ofMillis(5)))
+          .guarantee(IO.delay(() -> {
+            running.decrementAndGet();
+            return Unit.UNIT;
+          }));
+      
+      Stream.range(0, 40).parEvalMap(4, n -> step).drain().unsafeRunSync();
+      
+      Assertions.assertThat(maximum.get()).isBetween(2, 4);
+    }
+    
+    @Test
+    void parEvalMapFailsWithTheFirstFailureInOrder() {
+      final IO<Unit> io = Stream.range(0, 10).parEvalMap(4, n -> n == 3
+          ? IO.<Integer>raiseError(new IllegalStateException("boom"))
+          : IO.pure(n)
+      ).drain();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void parEvalMapUnorderedEmitsResultsAsTheyAreReady() {
+      final List<Integer> result = Stream.of(30, 1, 15)
+          .parEvalMapUnordered(3, n -> IO.sleep(Duration.ofMillis(n * 10L)).map(unit -> n))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactly(1, 15, 30);
+    }
+    
+    @Test
+    void parEvalMapUnorderedEmitsEveryResult() {
+      final List<Integer> result = Stream.range(0, 5_000).parEvalMapUnordered(16, n -> IO.delay(() -> n + 1)).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).containsExactlyInAnyOrderElementsOf(IntStream.range(1, 5_001).boxed().toList());
+    }
+    
+    @Test
+    void parEvalMapIsCanceledWhenCutShort() {
+      final AtomicInteger started = new AtomicInteger();
+      
+      final List<Integer> result = Stream.iterate(0, n -> n + 1).parEvalMapUnordered(4, n -> IO.delay(() -> {
+        started.incrementAndGet();
+        return n;
+      })).take(20).toList().unsafeRunSync();
+      
+      Assertions.assertThat(result).hasSize(20);
+      Assertions.assertThat(started.get()).isLessThan(1_000);
+    }
+  }
+  
+  @Nested
+  class Windowing {
+    private static <A extends Object> List<List<A>> lists(final List<Chunk<A>> chunks) {
+      return chunks.stream().map(Chunk::toList).toList();
+    }
+    
+    @Test
+    void chunkNRegroupsTheElementsWhateverTheirChunks() {
+      final List<Chunk<Integer>> result = Stream.of(1, 2).append(Stream.of(3, 4, 5, 6, 7)).append(Stream.of(8))
+          .chunkN(3)
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7, 8));
+    }
+    
+    @Test
+    void chunkNOfAnEmptyStreamEmitsNothing() {
+      Assertions.assertThat(Stream.<Integer>empty().chunkN(3).toList().unsafeRunSync()).isEmpty();
+      Assertions.assertThatThrownBy(() -> Stream.of(1).chunkN(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void slidingEmitsOverlappingWindows() {
+      final List<Chunk<Integer>> result = Stream.of(1, 2).append(Stream.of(3, 4, 5)).sliding(3, 1).toList().unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2, 3), List.of(2, 3, 4), List.of(3, 4, 5));
+    }
+    
+    @Test
+    void slidingEmitsTheElementsLeftAsALastWindow() {
+      final List<Chunk<Integer>> result = Stream.range(1, 6).sliding(2, 2).toList().unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+      Assertions.assertThat(lists(Stream.of(1, 2).sliding(3, 1).toList().unsafeRunSync())).containsExactly(List.of(1, 2));
+    }
+    
+    @Test
+    void slidingSkipsTheElementsBetweenDistantWindows() {
+      final List<Chunk<Integer>> result = Stream.of(1, 2, 3, 4).append(Stream.of(5, 6, 7)).sliding(2, 3).toList().unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2), List.of(4, 5), List.of(7));
+      Assertions.assertThat(lists(Stream.range(1, 7).sliding(2, 3).toList().unsafeRunSync())).containsExactly(List.of(1, 2), List.of(4, 5));
+    }
+    
+    @Test
+    void groupAdjacentByGroupsRunsOfEqualKeysAcrossChunks() {
+      final List<Tuple2<Boolean, Chunk<Integer>>> result = Stream.of(2, 4, 1).append(Stream.of(3, 5)).append(Stream.of(6))
+          .groupAdjacentBy(n -> n % 2 == 0)
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result.stream().map(group -> Tuple2.of(group.a(), group.b().toList())).toList()).containsExactly(
+          Tuple2.of(true, List.of(2, 4)),
+          Tuple2.of(false, List.of(1, 3, 5)),
+          Tuple2.of(true, List.of(6))
+      );
+    }
+    
+    @Test
+    void groupWithinEmitsFullChunksRightAway() {
+      final List<Chunk<Integer>> result = Stream.range(0, 10).groupWithin(4, Duration.ofHours(1)).toList().unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9));
+    }
+    
+    @Test
+    void groupWithinEmitsWhatArrivedOnceTheTimeoutIsOver() {
+      final List<Chunk<Integer>> result = Stream.of(1, 2)
+          .append(Stream.eval(IO.sleep(Duration.ofMillis(300)).map(unit -> 3)))
+          .groupWithin(10, Duration.ofMillis(50))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2), List.of(3));
+    }
+    
+    @Test
+    void groupWithinEmitsEveryElementInOrder() {
+      final List<Chunk<Integer>> result = Stream.range(0, 5_000)
+          .chunkN(7)
+          .evalMap(chunk -> IO.sleep(Duration.ofNanos(chunk.get(0) % 100 == 0 ? 1_000_000 : 0)).map(unit -> chunk))
+          .flatMap(Stream::chunk)
+          .groupWithin(64, Duration.ofMillis(1))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result.stream().mapToInt(Chunk::size).max().orElse(0)).isBetween(1, 64);
+      Assertions.assertThat(result.stream().flatMap(chunk -> chunk.toList().stream()).toList())
+          .isEqualTo(IntStream.range(0, 5_000).boxed().toList());
+    }
+    
+    @Test
+    void groupWithinFailsWhenTheStreamFails() {
+      final IO<Unit> io = Stream.of(1, 2).append(Stream.eval(IO.<Integer>raiseError(new IllegalStateException("boom"))))
+          .groupWithin(10, Duration.ofSeconds(1))
+          .drain();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void groupWithinStopsPullingWhenCutShort() {
+      final List<String> log = Collections.synchronizedList(new ArrayList<>());
+      
+      final List<Chunk<Integer>> result = logged("source", log).flatMap(name -> Stream.iterate(0, n -> n + 1))
+          .groupWithin(100, Duration.ofMillis(10))
+          .take(3)
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(result).hasSize(3);
+      Assertions.assertThat(log).containsExactly("acquire source", "release source");
+    }
+    
+    @Test
+    void tumblingWindowsGroupTheElementsOfEveryPeriod() {
+      final List<Chunk<Integer>> result = Stream.of(1, 2)
+          .append(Stream.eval(IO.sleep(Duration.ofMillis(250)).map(unit -> 3)))
+          .append(Stream.of(4))
+          .tumblingWindows(Duration.ofMillis(100))
+          .toList()
+          .unsafeRunSync();
+      
+      Assertions.assertThat(lists(result)).containsExactly(List.of(1, 2), List.of(3, 4));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package io.github.wildcat.fp.control;
+
+import io.github.wildcat.fp.collections.Chain;
+import io.github.wildcat.fp.collections.NonEmptyChain;
+import io.github.wildcat.fp.collections.Vector;
+import io.github.wildcat.fp.fns.nonnull.NonNullFunction;
+import io.github.wildcat.fp.typeclasses.core.Semigroup;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ValidatedTests {
+  
+  private static Validated<NonEmptyChain<String>, Integer> positive(final int value) {
+    return value > 0 ? Validated.valid(value) : Validated.invalidChain("not positive: " + value);
+  }
+  
+  @Nested
+  class Accumulation {
+    @Test
+    void map2CombinesValidValues() {
+      final Validated<NonEmptyChain<String>, Integer> sum = Validated.map2(positive(1), positive(2), NonEmptyChain.semigroup(), Integer::sum);
+      
+      Assertions.assertThat(sum).isEqualTo(Validated.valid(3));
+    }
+    
+    @Test
+    void map4KeepsEveryErrorInOrder() {
+      final Validated<NonEmptyChain<String>, Integer> sum = Validated.map4(
+          positive(-1),
+          positive(2),
+          positive(0),
+          positive(-3),
+          NonEmptyChain.semigroup(),
+          (a, b, c, d) -> a + b + c + d
+      );
+      
+      Assertions.assertThat(sum).isEqualTo(Validated.invalid(NonEmptyChain.of("not positive: -1", "not positive: 0", "not positive: -3")));
+    }
+    
+    @Test
+    void apPutsTheErrorsOfTheFunctionFirst() {
+      final Validated<String, NonNullFunction<? super Integer, ? extends Integer>> function = Validated.invalid("function");
+      final Semigroup<String> semigroup = (a, b) -> a + "," + b;
+      
+      final Validated<String, Integer> result = Validated.<String, Integer>invalid("value").ap(function, semigroup);
+      
+      Assertions.assertThat(result).isEqualTo(Validated.invalid("function,value"));
+    }
+    
+    @Test
+    void andThenStopsAtTheFirstError() {
+      final Validated<String, Integer> result = Validated.<String, Integer>invalid("first")
+          .andThen(value -> Validated.invalid("second"));
+      
+      Assertions.assertThat(result).isEqualTo(Validated.invalid("first"));
+    }
+  }
+  
+  @Nested
+  class Traversal {
+    @Test
+    void aPayloadOfValidFieldsIsCollectedInOrder() {
+      final List<Integer> fields = IntStream.rangeClosed(1, 200).boxed().toList();
+      
+      final Validated<NonEmptyChain<String>, Vector<Integer>> result = Validated.traverse(fields, ValidatedTests::positive, NonEmptyChain.semigroup());
+      
+      Assertions.assertThat(result.map(Vector::size)).isEqualTo(Validated.valid(200));
+    }
+    
+    @Test
+    void aPayloadWithInvalidFieldsCollectsOnlyTheErrors() {
+      final List<Integer> fields = IntStream.range(0, 200).map(i -> i % 50 == 0 ? -i : i).boxed().toList();
+      
+      final Validated<NonEmptyChain<String>, Vector<Integer>> result = Validated.traverse(fields, ValidatedTests::positive, NonEmptyChain.semigroup());
+      
+      Assertions.assertThat(result.fold(NonEmptyChain::toChain, valid -> Chain.<String>empty()))
+          .isEqualTo(Chain.of("not positive: 0", "not positive: -50", "not positive: -100", "not positive: -150"));
+    }
+    
+    @Test
+    void sequenceCollectsTheValidValues() {
+      final Validated<String, Vector<Integer>> result = Validated.sequence(
+          List.of(Validated.<String, Integer>valid(1), Validated.valid(2)),
+          String::concat
+      );
+      
+      Assertions.assertThat(result.map(Vector::size)).isEqualTo(Validated.valid(2));
+    }
+  }
+  
+  @Nested
+  class Conversions {
+    @Test
+    void eithersConvertBothWays() {
+      final Either<String, Integer> right = Either.right(1);
+      final Either<String, Integer> left = Either.left("error");
+      
+      Assertions.assertThat(Validated.fromEither(right)).isEqualTo(Validated.valid(1));
+      Assertions.assertThat(Validated.fromEither(left).toEither()).isEqualTo(left);
+    }
+    
+    @Test
+    void triesConvertBothWays() {
+      final IllegalStateException exception = new IllegalStateException("boom");
+      
+      Assertions.assertThat(Validated.fromTry(Try.failure(exception))).isEqualTo(Validated.invalid(exception));
+      Assertions.assertThat(Validated.<Exception, Integer>valid(1).toTry(error -> error)).isEqualTo(Try.success(1));
+    }
+    
+    @Test
+    void errorsCanBeMovedIntoAChain() {
+      Assertions.assertThat(Validated.<String, Integer>invalid("error").toChain()).isEqualTo(Validated.invalidChain("error"));
+    }
+  }
+  
+  @Nested
+  class Instances {
+    @Test
+    void bifunctorMapsTheSideThatIsPresent() {
+      final Validated<Integer, String> valid = Validated.bifunctor().bimap(Validated.<String, Integer>valid(1), String::length, Object::toString).fix();
+      final Validated<Integer, Integer> invalid = Validated.functor2().mapA(Validated.<String, Integer>invalid("four"), String::length).fix();
+      
+      Assertions.assertThat(valid).isEqualTo(Validated.valid("1"));
+      Assertions.assertThat(invalid).isEqualTo(Validated.invalid(4));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package io.github.wildcat.fp.io;
+
+import io.github.wildcat.fp.control.IO;
+import io.github.wildcat.fp.control.Stream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FilesTests {
+  
+  @TempDir
+  Path directory;
+  
+  private Path file(final String name, final int size) throws Exception {
+    final byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) i;
+    }
+    return java.nio.file.Files.write(directory.resolve(name), bytes);
+  }
+  
+  private static byte[] bytes(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+  
+  @Nested
+  class Reading {
+    @Test
+    void readChunksSplitsTheFileIntoBuffers() throws Exception {
+      final Path file = file("data", 10);
+      
+      final List<Integer> sizes = Files.readChunks(file, 4).map(ByteBuffer::remaining).toList().unsafeRunSync();
+      final List<ByteBuffer> buffers = Files.readChunks(file, 4).toList().unsafeRunSync();
+      
+      Assertions.assertThat(sizes).containsExactly(4, 4, 2);
+      Assertions.assertThat(bytes(buffers.get(2))).containsExactly(8, 9);
+    }
+    
+    @Test
+    void readChunksProducesReadOnlyBuffers() throws Exception {
+      final ByteBuffer buffer = Files.readChunks(file("data", 4), 4).toList().unsafeRunSync().get(0);
+      
+      Assertions.assertThat(buffer.isReadOnly()).isTrue();
+    }
+    
+    @Test
+    void anEmptyFileProducesNoBuffers() throws Exception {
+      Assertions.assertThat(Files.readChunks(file("empty", 0), 4).toList().unsafeRunSync()).isEmpty();
+    }
+    
+    @Test
+    void readingAMissingFileFails() {
+      final IO<List<ByteBuffer>> io = Files.readChunks(directory.resolve("missing"), 4).toList();
+      
+      Assertions.assertThatThrownBy(io::unsafeRunSync).hasCauseInstanceOf(NoSuchFileException.class);
+    }
+    
+    @Test
+    void theChunkSizeMustBePositive() {
+      Assertions.assertThatThrownBy(() -> Files.readChunks(directory.resolve("data"), 0))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+  
+  @Nested
+  class Writing {
+    @Test
+    void writeAllWritesEveryBufferInOrder() throws Exception {
+      final Path file = directory.resolve("out");
+      final ByteBuffer first = ByteBuffer.wrap(new byte[] {1, 2});
+      final ByteBuffer second = ByteBuffer.wrap(new byte[] {3});
+      
+      final long written = Files.writeAll(file, Stream.of(first, second).append(Stream.of(first))).unsafeRunSync();
+      
+      Assertions.assertThat(written).isEqualTo(5L);
+      Assertions.assertThat(java.nio.file.Files.readAllBytes(file)).containsExactly(1, 2, 3, 1, 2);
+      Assertions.assertThat(first.remaining()).isEqualTo(2);
+    }
+    
+    @Test
+    void writeAllTruncatesByDefault() throws Exception {
+      final Path file = file("out", 10);
+      
+      Files.writeAll(file, Stream.of(ByteBuffer.wrap(new byte[] {7}))).unsafeRunSync();
+      
+      Assertions.assertThat(java.nio.file.Files.readAllBytes(file)).containsExactly(7);
+    }
+    
+    @Test
+    void writeAllFollowsTheGivenOptions() throws Exception {
+      final Path file = file("out", 2);
+      
+      Files.writeAll(file, Stream.of(ByteBuffer.wrap(new byte[] {7})), StandardOpenOption.APPEND).unsafeRunSync();
+      
+      Assertions.assertThat(java.nio.file.Files.readAllBytes(file)).containsExactly(0, 1, 7);
+    }
+    
+    @Test
+    void readAndWriteRoundTrip() throws Exception {
+      final Path source = file("in", 100_000);
+      final Path target = directory.resolve("out");
+      
+      Files.writeAll(target, Files.readChunks(source, 4_096)).unsafeRunSync();
+      
+      Assertions.assertThat(java.nio.file.Files.mismatch(source, target)).isEqualTo(-1L);
+    }
+  }
+  
+  @Nested
+  class Transferring {
+    @Test
+    void copyTransfersTheWholeFile() throws Exception {
+      final Path source = file("in", 100_000);
+      final Path target = directory.resolve("out");
+      
+      final long copied = Files.copy(source, target).unsafeRunSync();
+      
+      Assertions.assertThat(copied).isEqualTo(100_000L);
+      Assertions.assertThat(java.nio.file.Files.mismatch(source, target)).isEqualTo(-1L);
+    }
+    
+    @Test
+    void transferToStartsFromTheCurrentPosition() throws Exception {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      
+      try (FileChannel channel = FileChannel.open(file("in", 10))) {
+        channel.position(6);
+        final long copied = Files.transferTo(channel, Channels.newChannel(out)).unsafeRunSync();
+        
+        Assertions.assertThat(copied).isEqualTo(4L);
+        Assertions.assertThat(channel.position()).isEqualTo(10L);
+      }
+      Assertions.assertThat(out.toByteArray()).containsExactly(6, 7, 8, 9);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.wildcat.fp.io;
+
+import io.github.wildcat.fp.control.Stream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class TextTests {
+  
+  private static Stream<ByteBuffer> split(final String text, final int... sizes) {
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    int offset = 0;
+    for (final int size : sizes) {
+      buffers.add(ByteBuffer.wrap(bytes, offset, size));
+      offset += size;
+    }
+    buffers.add(ByteBuffer.wrap(bytes, offset, bytes.length - offset));
+    return Stream.emits(buffers);
+  }
+  
+  private static List<String> strings(final Stream<CharSequence> text) {
+    return text.map(CharSequence::toString).toList().unsafeRunSync();
+  }
+  
+  @Nested
+  class Decoding {
+    @Test
+    void decodeProducesTheTextOfEveryBuffer() {
+      final List<String> text = strings(split("hello world", 5).through(Text.utf8Decode()));
+      
+      Assertions.assertThat(text).containsExactly("hello", " world");
+    }
+    
+    @Test
+    void charactersSplitBetweenBuffersAreDecodedWhole() {
+      final String text = "a€b😀c";
+      
+      for (int first = 0; first <= 10; first++) {
+        final List<String> decoded = strings(split(text, first).through(Text.utf8Decode()));
+        
+        Assertions.assertThat(String.join("", decoded)).isEqualTo(text);
+      }
+    }
+    
+    @Test
+    void charactersSplitBetweenManyBuffersAreDecodedWhole() {
+      final List<String> decoded = strings(split("😀!", 1, 1, 1, 1).through(Text.utf8Decode()));
+      
+      Assertions.assertThat(decoded).containsExactly("😀", "!");
+    }
+    
+    @Test
+    void truncatedInputIsReplaced() {
+      final List<String> decoded = strings(split("a€", 2).take(1).through(Text.utf8Decode()));
+      
+      Assertions.assertThat(String.join("", decoded)).isEqualTo("a�");
+    }
+    
+    @Test
+    void decodingLeavesTheBuffersUnchanged() {
+      final ByteBuffer buffer = ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8));
+      
+      strings(Stream.of(buffer).through(Text.utf8Decode()));
+      
+      Assertions.assertThat(buffer.remaining()).isEqualTo(3);
+    }
+  }
+  
+  @Nested
+  class Lines {
+    @Test
+    void linesSplitsOnLineEnds() {
+      final List<String> lines = strings(Stream.<CharSequence>of("a\nbb\r\n\nc").through(Text.lines()));
+      
+      Assertions.assertThat(lines).containsExactly("a", "bb", "", "c");
+    }
+    
+    @Test
+    void aFinalLineEndDoesNotStartAnotherLine() {
+      final List<String> lines = strings(Stream.<CharSequence>of("a\n", "b\n").through(Text.lines()));
+      
+      Assertions.assertThat(lines).containsExactly("a", "b");
+    }
+    
+    @Test
+    void linesSpanningSequencesAreJoined() {
+      final List<String> lines = strings(Stream.<CharSequence>of("ab", "c\r", "\nd", "e").through(Text.lines()));
+      
+      Assertions.assertThat(lines).containsExactly("abc", "de");
+    }
+    
+    @Test
+    void decodedLinesStayValidOnceTheStreamMovesOn() {
+      final List<String> lines = strings(
+          split("first line\nsecond ", 4, 4).append(split("line\nthird\n")).through(Text.utf8Decode()).through(Text.lines())
+      );
+      
+      Assertions.assertThat(lines).containsExactly("first line", "second line", "third");
+    }
+    
+    @Test
+    void everyRunSplitsAnew() {
+      final Stream<CharSequence> lines = Stream.<CharSequence>of("a\nb").through(Text.lines());
+      
+      Assertions.assertThat(strings(lines)).containsExactly("a", "b");
+      Assertions.assertThat(strings(lines)).containsExactly("a", "b");
+    }
+  }
+}